@@ -4,6 +4,7 @@ plugins {
     alias(libs.plugins.algomate)
     alias(libs.plugins.jagr)
     alias(libs.plugins.javafxplugin)
+    alias(libs.plugins.jmh)
 }
 
 exercise {
@@ -41,6 +42,12 @@ javafx {
     modules("javafx.controls", "javafx.fxml", "javafx.swing", "javafx.media")
 }
 
+// Benchmarks in src/jmh/java, run with "./gradlew jmh"; results are written to build/results/jmh
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    resultFormat.set("JSON")
+}
+
 jagr {
     graders {
         val graderPublic by getting {
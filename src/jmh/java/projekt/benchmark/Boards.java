@@ -0,0 +1,108 @@
+package projekt.benchmark;
+
+import projekt.controller.GameController;
+import projekt.model.GameRandom;
+import projekt.model.GameState;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.ResourceType;
+import projekt.model.buildings.Edge;
+
+import java.util.ArrayList;
+
+/**
+ * Creates the boards the benchmarks run on.
+ */
+final class Boards {
+
+    /**
+     * The seed all boards and games are generated from, so every run measures the same board.
+     */
+    static final long SEED = 42;
+
+    /**
+     * The amount of each resource every player starts with.
+     */
+    static final int STARTING_RESOURCES = 10;
+
+    private Boards() {
+    }
+
+    /**
+     * Creates a mid-game board with the given radius and number of players.
+     * Every player owns {@link #STARTING_RESOURCES} of each resource and two villages with a road attached,
+     * spread over the board. The game is in its first regular round and its player controllers are initialized.
+     *
+     * @param radius  the radius of the grid, center is included
+     * @param players the number of players
+     * @return the game controller of the game
+     */
+    static GameController createGame(final int radius, final int players) {
+        final GameRandom random = new GameRandom(SEED);
+        final HexGridImpl grid = new HexGridImpl(radius, random);
+        final GameState state = new GameState(grid, new ArrayList<>());
+        final GameController gameController = new GameController(state, random);
+        for (int i = 1; i <= players; i++) {
+            final Player player = new PlayerImpl.Builder(i, random.colors()).build(grid);
+            for (final ResourceType resourceType : ResourceType.values()) {
+                player.addResource(resourceType, STARTING_RESOURCES);
+            }
+            state.addPlayer(player);
+        }
+        gameController.initPlayerControllers();
+        gameController.getRoundCounterProperty().set(1);
+
+        final int villages = 2 * players;
+        final int stride = Math.max(grid.getTopology().intersectionCount() / villages, 1);
+        for (int village = 0; village < villages; village++) {
+            placeVillage(grid, state.getPlayers().get(village % players), village * stride);
+        }
+        return gameController;
+    }
+
+    /**
+     * Resets the resources of all players of the given game to {@link #STARTING_RESOURCES} of each resource.
+     *
+     * @param gameController the game controller of the game
+     */
+    static void resetResources(final GameController gameController) {
+        for (final Player player : gameController.getState().getPlayers()) {
+            for (final ResourceType resourceType : ResourceType.values()) {
+                final int amount = player.getResources().getOrDefault(resourceType, 0);
+                if (amount > STARTING_RESOURCES) {
+                    player.removeResource(resourceType, amount - STARTING_RESOURCES);
+                } else if (amount < STARTING_RESOURCES) {
+                    player.addResource(resourceType, STARTING_RESOURCES - amount);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places a village with a road attached for the given player on the first intersection,
+     * starting at the given id, that is free and not adjacent to another settlement.
+     *
+     * @param grid   the grid
+     * @param player the player
+     * @param start  the id of the intersection to start searching at
+     */
+    private static void placeVillage(final HexGridImpl grid, final Player player, final int start) {
+        final int count = grid.getTopology().intersectionCount();
+        for (int i = 0; i < count; i++) {
+            final Intersection intersection = grid.getIntersectionById((start + i) % count);
+            if (!intersection.hasSettlement()
+                && intersection.getAdjacentIntersections().stream().noneMatch(Intersection::hasSettlement)
+                && intersection.placeVillage(player, true)) {
+                for (final Edge edge : intersection.getConnectedEdges()) {
+                    if (!edge.hasRoad()) {
+                        edge.getRoadOwnerProperty().setValue(player);
+                        return;
+                    }
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import projekt.Config;
+import projekt.controller.GameController;
+import projekt.model.Player;
+import projekt.simulation.SimulationResult;
+import projekt.simulation.SimulationRunner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks resource distribution and complete headless games.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    @Param({"3", "10", "25", "50"})
+    int radius;
+
+    @Param({"2", "4"})
+    int players;
+
+    private GameController gameController;
+    private SimulationRunner simulationRunner;
+
+    /**
+     * Creates a mid-game board with the first player active, and a runner for games with the same settings.
+     */
+    @Setup
+    public void setUp() {
+        gameController = Boards.createGame(radius, players);
+        final Player player = gameController.getState().getPlayers().get(0);
+        gameController.getActivePlayerControllerProperty().setValue(gameController.getPlayerControllers().get(player));
+        simulationRunner = new SimulationRunner.Builder().players(players).gridRadius(radius).build();
+    }
+
+    /**
+     * Resets the resources of all players, so they do not grow without bound over the iterations.
+     */
+    @Setup(Level.Iteration)
+    public void resetResources() {
+        Boards.resetResources(gameController);
+    }
+
+    /**
+     * Measures {@link GameController#distributeResources(int)} for every possible dice roll.
+     */
+    @Benchmark
+    public void distributeResources() {
+        for (int roll = Config.NUMBER_OF_DICE; roll <= Config.NUMBER_OF_DICE * Config.DICE_SIDES; roll++) {
+            gameController.distributeResources(roll);
+        }
+    }
+
+    /**
+     * Measures a complete game between {@linkplain projekt.controller.BasicAiController basic AI players},
+     * from the placement of the first villages until a player has won or the round limit is reached.
+     *
+     * @return the result of the game
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SimulationResult fullGame() {
+        return simulationRunner.run(Boards.SEED);
+    }
+}
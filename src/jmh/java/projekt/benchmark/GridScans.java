@@ -0,0 +1,99 @@
+package projekt.benchmark;
+
+import projekt.model.HexGrid;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.TilePosition;
+import projekt.model.buildings.Edge;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes the legal moves of a player the way {@link projekt.controller.PlayerController} did before adjacency was
+ * cached and legal moves were indexed: by scanning the whole grid, and resolving the adjacency of every intersection
+ * through the maps of the grid on every query, like {@link projekt.model.IntersectionImpl} used to.
+ * Serves as the baseline the benchmarks of the current implementation are compared with.
+ */
+final class GridScans {
+
+    private GridScans() {
+    }
+
+    /**
+     * Returns the intersections the given player can build a village on in a regular turn.
+     *
+     * @param grid   the grid
+     * @param player the player
+     * @return the intersections
+     */
+    static Set<Intersection> buildableVillageIntersections(final HexGrid grid, final Player player) {
+        return grid.getIntersections().values().stream()
+            .filter(intersection -> intersection.getSettlement() == null)
+            .filter(intersection -> adjacentIntersections(grid, intersection).stream()
+                .noneMatch(Intersection::hasSettlement))
+            .filter(intersection -> connectedEdges(grid, intersection).stream()
+                .anyMatch(edge -> edge.hasRoad() && edge.getRoadOwner().equals(player)))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the edges the given player can build a road on in a regular turn.
+     *
+     * @param grid   the grid
+     * @param player the player
+     * @return the edges
+     */
+    static Set<Edge> buildableRoadEdges(final HexGrid grid, final Player player) {
+        return grid.getEdges().values().stream()
+            .filter(edge -> !edge.hasRoad())
+            .filter(edge -> connectedRoads(grid, edge, player).size() < 4)
+            .filter(edge -> !connectedRoads(grid, edge, player).isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the intersections adjacent to the given one by scanning all intersections of the grid.
+     */
+    private static Set<Intersection> adjacentIntersections(final HexGrid grid, final Intersection intersection) {
+        final List<TilePosition> positions = List.copyOf(intersection.getAdjacentTilePositions());
+        return grid.getIntersections().entrySet().stream()
+            .filter(entry -> entry.getKey().containsAll(Set.of(positions.get(0), positions.get(1)))
+                || entry.getKey().containsAll(Set.of(positions.get(1), positions.get(2)))
+                || entry.getKey().containsAll(Set.of(positions.get(2), positions.get(0))))
+            .map(Map.Entry::getValue)
+            .filter(Predicate.not(intersection::equals))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the edges connected to the given intersection by looking them up in the edges of the grid.
+     */
+    private static Set<Edge> connectedEdges(final HexGrid grid, final Intersection intersection) {
+        final List<TilePosition> positions = List.copyOf(intersection.getAdjacentTilePositions());
+        return Stream.of(
+                Set.of(positions.get(1), positions.get(2)),
+                Set.of(positions.get(2), positions.get(0)),
+                Set.of(positions.get(0), positions.get(1))
+            )
+            .filter(grid.getEdges()::containsKey)
+            .map(grid.getEdges()::get)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the roads of the given player connected to the given edge, looking up the intersections of the edge
+     * and their edges in the maps of the grid.
+     */
+    private static Set<Edge> connectedRoads(final HexGrid grid, final Edge edge, final Player player) {
+        return edge.getIntersections().stream()
+            .map(intersection -> grid.getIntersections().get(intersection.getAdjacentTilePositions()))
+            .flatMap(intersection -> connectedEdges(grid, intersection).stream())
+            .filter(connectedEdge -> connectedEdge.hasRoad() && connectedEdge.getRoadOwner().equals(player))
+            .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,114 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import projekt.Config;
+import projekt.model.GameRandom;
+import projekt.model.GameState;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.buildings.Edge;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the construction of a {@link HexGridImpl} and the adjacency queries on its intersections and edges.
+ * The queries are measured for all intersections or edges of the grid at once, so their time grows with the
+ * size of the board.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexGridBenchmark {
+
+    @Param({"3", "10", "25", "50"})
+    int radius;
+
+    @Param({"2", "4"})
+    int players;
+
+    private HexGridImpl grid;
+    private Player player;
+
+    /**
+     * Creates a mid-game board.
+     */
+    @Setup
+    public void setUp() {
+        final GameState state = Boards.createGame(radius, players).getState();
+        grid = (HexGridImpl) state.getGrid();
+        player = state.getPlayers().get(0);
+    }
+
+    /**
+     * Measures the construction of a grid, including its topology and indexes.
+     *
+     * @return the grid
+     */
+    @Benchmark
+    public HexGridImpl construct() {
+        return new HexGridImpl(radius, new GameRandom(Boards.SEED));
+    }
+
+    /**
+     * Measures {@link HexGridImpl#getTiles(int)} for every possible dice roll.
+     *
+     * @param blackhole the blackhole consuming the results
+     */
+    @Benchmark
+    public void tilesByRollNumber(final Blackhole blackhole) {
+        for (int roll = Config.NUMBER_OF_DICE; roll <= Config.NUMBER_OF_DICE * Config.DICE_SIDES; roll++) {
+            blackhole.consume(grid.getTiles(roll));
+        }
+    }
+
+    /**
+     * Measures {@link Intersection#getAdjacentIntersections()} on every intersection.
+     *
+     * @param blackhole the blackhole consuming the results
+     */
+    @Benchmark
+    public void adjacentIntersections(final Blackhole blackhole) {
+        for (int id = 0; id < grid.getTopology().intersectionCount(); id++) {
+            blackhole.consume(grid.getIntersectionById(id).getAdjacentIntersections());
+        }
+    }
+
+    /**
+     * Measures {@link Edge#getIntersections()} on every edge.
+     *
+     * @param blackhole the blackhole consuming the results
+     */
+    @Benchmark
+    public void edgeIntersections(final Blackhole blackhole) {
+        for (int id = 0; id < grid.getTopology().edgeCount(); id++) {
+            blackhole.consume(grid.getEdgeById(id).getIntersections());
+        }
+    }
+
+    /**
+     * Measures {@link Edge#getConnectedRoads(Player)} on every edge for the first player.
+     *
+     * @param blackhole the blackhole consuming the results
+     */
+    @Benchmark
+    public void connectedRoads(final Blackhole blackhole) {
+        for (int id = 0; id < grid.getTopology().edgeCount(); id++) {
+            blackhole.consume(grid.getEdgeById(id).getConnectedRoads(player));
+        }
+    }
+}
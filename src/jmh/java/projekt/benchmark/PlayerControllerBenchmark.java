@@ -0,0 +1,108 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.PlayerObjective;
+import projekt.model.HexGrid;
+import projekt.model.Player;
+import projekt.model.ResourceType;
+import projekt.model.buildings.Edge;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the queries a {@link PlayerController} answers during a turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerControllerBenchmark {
+
+    @Param({"3", "10", "25", "50"})
+    int radius;
+
+    @Param({"2", "4"})
+    int players;
+
+    private PlayerController playerController;
+    private HexGrid grid;
+    private Player player;
+    private Edge edge;
+    private boolean regularTurn;
+
+    /**
+     * Creates a mid-game board.
+     */
+    @Setup
+    public void setUp() {
+        final GameController gameController = Boards.createGame(radius, players);
+        grid = gameController.getState().getGrid();
+        player = gameController.getState().getPlayers().get(0);
+        playerController = gameController.getPlayerControllers().get(player);
+        edge = player.getRoads().values().iterator().next().getConnectedEdges().stream()
+            .filter(connectedEdge -> !connectedEdge.hasRoad())
+            .findFirst()
+            .orElseThrow();
+    }
+
+    /**
+     * Measures a full player state update, which is triggered by every change of the objective.
+     * The benchmark alternates between a regular turn and being idle, so every invocation changes the objective.
+     */
+    @Benchmark
+    public void updatePlayerState() {
+        regularTurn = !regularTurn;
+        playerController.setPlayerObjective(regularTurn ? PlayerObjective.REGULAR_TURN : PlayerObjective.IDLE);
+    }
+
+    /**
+     * Baseline for {@link #updatePlayerState()}: computes the legal builds of the player by scanning the grid,
+     * as player state updates did before adjacency was cached and legal moves were indexed, see {@link GridScans}.
+     *
+     * @param blackhole the blackhole consuming the results
+     */
+    @Benchmark
+    public void updatePlayerStateByScanBaseline(final Blackhole blackhole) {
+        blackhole.consume(GridScans.buildableVillageIntersections(grid, player));
+        blackhole.consume(GridScans.buildableRoadEdges(grid, player));
+    }
+
+    /**
+     * Measures a full player state update after a road of the player was built or removed,
+     * so the legal moves next to it have to be updated first.
+     * The benchmark alternates between building the road in a regular turn and removing it while being idle.
+     */
+    @Benchmark
+    public void updatePlayerStateAfterRoadChange() {
+        regularTurn = !regularTurn;
+        edge.getRoadOwnerProperty().setValue(regularTurn ? player : null);
+        playerController.setPlayerObjective(regularTurn ? PlayerObjective.REGULAR_TURN : PlayerObjective.IDLE);
+    }
+
+    /**
+     * Measures {@link Player#getTradeRatio(ResourceType)} for every resource type.
+     *
+     * @param blackhole the blackhole consuming the results
+     */
+    @Benchmark
+    public void tradeRatio(final Blackhole blackhole) {
+        for (final ResourceType resourceType : ResourceType.values()) {
+            blackhole.consume(player.getTradeRatio(resourceType));
+        }
+    }
+}
@@ -3,13 +3,16 @@ package projekt;
 import org.tudalgo.algoutils.student.io.PropertyUtils;
 import projekt.model.DevelopmentCardType;
 import projekt.model.ResourceType;
+import projekt.model.ResourceVector;
 import projekt.model.TilePosition;
 import projekt.model.buildings.Port;
 import projekt.model.buildings.Settlement;
 import projekt.model.tiles.Tile;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -18,11 +21,13 @@ import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SplittableRandom;
 import java.util.Spliterators;
 import java.util.TreeMap;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -50,7 +55,8 @@ public final class Config {
     private static final Properties DEVELOPMENT_CARD_RATIO_PROPERTIES = PropertyUtils.getProperties("development_card_ratios.properties");
 
     /**
-     * The global source of randomness.
+     * A JVM-wide source of randomness for the user interface.
+     * Games draw from their own {@link projekt.model.GameRandom} instead.
      */
     public static final Random RANDOM = new Random();
 
@@ -69,6 +75,16 @@ public final class Config {
      */
     public static final int REQUIRED_VICTORY_POINTS = 10;
 
+    /**
+     * How many victory points the largest army and the longest road are worth.
+     */
+    public static final int BONUS_VICTORY_POINTS = 2;
+
+    /**
+     * Minimum amount of knights a player must have played to hold the largest army.
+     */
+    public static final int LARGEST_ARMY_MIN_KNIGHTS = 3;
+
     /**
      * The number of dice rolled each round.
      */
@@ -84,6 +100,113 @@ public final class Config {
      */
     public static final int GRID_RADIUS = 3;
 
+    /**
+     * The system property overriding {@link #GRID_RADIUS} for games created by the user interface,
+     * e.g., {@code -Dprojekt.gridRadius=20} to play on a large board.
+     */
+    public static final String GRID_RADIUS_PROPERTY = "projekt.gridRadius";
+
+    /**
+     * Returns the radius of the grid for games created by the user interface.
+     * This is the value of the system property {@link #GRID_RADIUS_PROPERTY} if it is set
+     * to a positive number, otherwise {@link #GRID_RADIUS}.
+     *
+     * @return the radius of the grid, center is included
+     */
+    public static int gridRadius() {
+        final int radius = Integer.getInteger(GRID_RADIUS_PROPERTY, GRID_RADIUS);
+        return radius > 0 ? radius : GRID_RADIUS;
+    }
+
+    /**
+     * The system property selecting the canvas renderer for the board, e.g., {@code -Dprojekt.canvasRenderer=true}
+     * on large boards, where a node per tile, intersection and edge makes zooming and panning slow.
+     */
+    public static final String CANVAS_RENDERER_PROPERTY = "projekt.canvasRenderer";
+
+    /**
+     * Returns whether the board is drawn on a single canvas instead of a node per element.
+     * This is the case if the system property {@link #CANVAS_RENDERER_PROPERTY} is {@code true}.
+     *
+     * @return whether the board is drawn on a canvas
+     * @see projekt.view.HexGridCanvas
+     */
+    public static boolean canvasRenderer() {
+        return Boolean.getBoolean(CANVAS_RENDERER_PROPERTY);
+    }
+
+    /**
+     * The zoom level of the board below which labels and the connections of ports are not rendered.
+     */
+    public static final double LABEL_MIN_SCALE = 0.6;
+
+    /**
+     * The system property overriding {@link #LABEL_MIN_SCALE}, e.g., {@code -Dprojekt.labelMinScale=0.8}.
+     */
+    public static final String LABEL_MIN_SCALE_PROPERTY = "projekt.labelMinScale";
+
+    /**
+     * Returns the zoom level of the board below which labels and the connections of ports are not rendered.
+     * This is the value of the system property {@link #LABEL_MIN_SCALE_PROPERTY} if it is set
+     * to a positive number, otherwise {@link #LABEL_MIN_SCALE}.
+     *
+     * @return the minimum scale of labels
+     * @see projekt.view.LevelOfDetail
+     */
+    public static double labelMinScale() {
+        return positiveDouble(LABEL_MIN_SCALE_PROPERTY, LABEL_MIN_SCALE);
+    }
+
+    /**
+     * The zoom level of the board below which icons are not rendered and tiles and ports are plain fills.
+     */
+    public static final double ICON_MIN_SCALE = 0.35;
+
+    /**
+     * The system property overriding {@link #ICON_MIN_SCALE}, e.g., {@code -Dprojekt.iconMinScale=0.5}.
+     */
+    public static final String ICON_MIN_SCALE_PROPERTY = "projekt.iconMinScale";
+
+    /**
+     * Returns the zoom level of the board below which icons are not rendered and tiles and ports are plain fills.
+     * This is the value of the system property {@link #ICON_MIN_SCALE_PROPERTY} if it is set
+     * to a positive number, otherwise {@link #ICON_MIN_SCALE}.
+     *
+     * @return the minimum scale of icons
+     * @see projekt.view.LevelOfDetail
+     */
+    public static double iconMinScale() {
+        return positiveDouble(ICON_MIN_SCALE_PROPERTY, ICON_MIN_SCALE);
+    }
+
+    /**
+     * The system property enabling the event log, e.g., {@code -Dprojekt.eventLogDirectory=logs} to record every
+     * game in a new file in the directory {@code logs}, which can be read with {@link projekt.controller.GameReplay}.
+     */
+    public static final String EVENT_LOG_DIRECTORY_PROPERTY = "projekt.eventLogDirectory";
+
+    /**
+     * Returns the directory the events of every game are recorded in.
+     * This is the value of the system property {@link #EVENT_LOG_DIRECTORY_PROPERTY} if it is set to a non-empty
+     * path, otherwise {@code null}, and no events are recorded.
+     *
+     * @return the directory or {@code null}
+     * @see projekt.controller.GameController#setEventLog(projekt.controller.GameEventLog)
+     */
+    public static Path eventLogDirectory() {
+        final String directory = System.getProperty(EVENT_LOG_DIRECTORY_PROPERTY, "");
+        return directory.isBlank() ? null : Path.of(directory);
+    }
+
+    private static double positiveDouble(final String property, final double defaultValue) {
+        try {
+            final double value = Double.parseDouble(System.getProperty(property, Double.toString(defaultValue)));
+            return value > 0 ? value : defaultValue;
+        } catch (final NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
 
     // Roads and settlements
 
@@ -92,6 +215,11 @@ public final class Config {
      */
     public static final int MAX_ROADS = 15;
 
+    /**
+     * Minimum amount of connected roads needed to hold the longest road.
+     */
+    public static final int LONGEST_ROAD_MIN_LENGTH = 5;
+
     /**
      * The amount of resources needed to build a road.
      */
@@ -100,6 +228,11 @@ public final class Config {
         ResourceType.CLAY, 1
     );
 
+    /**
+     * {@link #ROAD_BUILDING_COST} as a {@link ResourceVector}.
+     */
+    public static final ResourceVector ROAD_BUILDING_COST_VECTOR = ResourceVector.costOf(ROAD_BUILDING_COST);
+
     /**
      * Maximum amount of villages a player can place / own.
      */
@@ -126,6 +259,17 @@ public final class Config {
         )
     );
 
+    /**
+     * {@link #SETTLEMENT_BUILDING_COST} as {@link ResourceVector}s.
+     */
+    public static final Map<Settlement.Type, ResourceVector> SETTLEMENT_BUILDING_COST_VECTORS =
+        Collections.unmodifiableMap(SETTLEMENT_BUILDING_COST.entrySet().stream().collect(Collectors.toMap(
+            Map.Entry::getKey,
+            entry -> ResourceVector.costOf(entry.getValue()),
+            (first, second) -> first,
+            () -> new EnumMap<>(Settlement.Type.class)
+        )));
+
 
     // Tiles
 
@@ -145,10 +289,21 @@ public final class Config {
      * The probability of a tile type to be picked is the same as defined by the rules of the base game.
      *
      * @return A supplier returning randomly picked tile types
-     * @see #makeSupplier(SortedMap, boolean)
+     * @see #makeSupplier(SortedMap, boolean, RandomGenerator)
      */
     public static Supplier<Tile.Type> generateTileTypes() {
-        return makeSupplier(TILE_RATIOS, true);
+        return generateTileTypes(new SplittableRandom());
+    }
+
+    /**
+     * Create a new generator for tile types that draws from the given source of randomness.
+     *
+     * @param random the source of randomness
+     * @return A supplier returning randomly picked tile types
+     * @see #generateTileTypes()
+     */
+    public static Supplier<Tile.Type> generateTileTypes(final RandomGenerator random) {
+        return makeSupplier(TILE_RATIOS, true, random);
     }
 
     /**
@@ -158,15 +313,26 @@ public final class Config {
      * as defined by the rules of the base game.
      *
      * @return A supplier returning randomly picked roll numbers
-     * @see #makeSupplier(SortedMap, boolean)
+     * @see #makeSupplier(SortedMap, boolean, RandomGenerator)
      */
     public static Supplier<Integer> generateRollNumbers() {
+        return generateRollNumbers(new SplittableRandom());
+    }
+
+    /**
+     * Creates a new supplier returning randomly picked roll numbers that draws from the given source of randomness.
+     *
+     * @param random the source of randomness
+     * @return A supplier returning randomly picked roll numbers
+     * @see #generateRollNumbers()
+     */
+    public static Supplier<Integer> generateRollNumbers(final RandomGenerator random) {
         final Map<Integer, Integer> ratios = IntStream.iterate(NUMBER_OF_DICE, i -> i >= NUMBER_OF_DICE && i <= NUMBER_OF_DICE * DICE_SIDES, i -> i + 1)
             .filter(i -> i != 7)
             .mapToObj(i -> Map.entry(i, i == NUMBER_OF_DICE || i == NUMBER_OF_DICE * DICE_SIDES ? 1 : 2))
             .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
 
-        return makeSupplier(new TreeMap<>(ratios), true);
+        return makeSupplier(new TreeMap<>(ratios), true, random);
     }
 
     /**
@@ -183,15 +349,41 @@ public final class Config {
      * @see TilePosition
      */
     public static BiFunction<TilePosition, TilePosition.EdgeDirection, Port> generatePortMapper() {
+        return generatePortMapper(new SplittableRandom());
+    }
+
+    /**
+     * Creates a port mapper that draws from the given source of randomness.
+     *
+     * @param random the source of randomness
+     * @return the BiFunction
+     * @see #generatePortMapper()
+     */
+    public static BiFunction<TilePosition, TilePosition.EdgeDirection, Port> generatePortMapper(final RandomGenerator random) {
+        return generatePortMapper(GRID_RADIUS, random);
+    }
+
+    /**
+     * Creates a port mapper for a grid with the given radius that draws from the given source of randomness.
+     *
+     * @param gridRadius the radius of the grid, center is included
+     * @param random     the source of randomness
+     * @return the BiFunction
+     * @see #generatePortMapper()
+     */
+    public static BiFunction<TilePosition, TilePosition.EdgeDirection, Port> generatePortMapper(
+        final int gridRadius,
+        final RandomGenerator random
+    ) {
         final Iterator<ResourceType> resourceTypes = Spliterators.iterator(Arrays.spliterator(ResourceType.values()));
         final Set<Set<TilePosition>> visitedIntersections = new HashSet<>();
-        final Predicate<TilePosition> isOutsideGrid = tilePosition -> abs(tilePosition.q()) >= GRID_RADIUS
-            || abs(tilePosition.r()) >= GRID_RADIUS
-            || abs(tilePosition.s()) >= GRID_RADIUS;
+        final Predicate<TilePosition> isOutsideGrid = tilePosition -> abs(tilePosition.q()) >= gridRadius
+            || abs(tilePosition.r()) >= gridRadius
+            || abs(tilePosition.s()) >= gridRadius;
         final Predicate<TilePosition> isOnEdge = tilePosition -> !(
-            abs(tilePosition.q()) < GRID_RADIUS - 1
-                && abs(tilePosition.r()) < GRID_RADIUS - 1
-                && abs(tilePosition.s()) < GRID_RADIUS - 1
+            abs(tilePosition.q()) < gridRadius - 1
+                && abs(tilePosition.r()) < gridRadius - 1
+                && abs(tilePosition.s()) < gridRadius - 1
         )
             && !isOutsideGrid.test(tilePosition);
         final BiFunction<TilePosition, TilePosition.EdgeDirection, Set<Set<TilePosition>>> mapToIntersectionsPositions =
@@ -208,9 +400,9 @@ public final class Config {
                 return null;
             }
 
-            if (RANDOM.nextDouble() < 0.65) {  // place port?
+            if (random.nextDouble() < 0.65) {  // place port?
                 visitedIntersections.addAll(intersectionPositions);
-                if (resourceTypes.hasNext() && RANDOM.nextBoolean()) { // place specialized port?
+                if (resourceTypes.hasNext() && random.nextBoolean()) { // place specialized port?
                     return new Port(2, resourceTypes.next());
                 } else {
                     return new Port(3);
@@ -233,6 +425,11 @@ public final class Config {
         ResourceType.ORE, 1
     );
 
+    /**
+     * {@link #DEVELOPMENT_CARD_COST} as a {@link ResourceVector}.
+     */
+    public static final ResourceVector DEVELOPMENT_CARD_COST_VECTOR = ResourceVector.costOf(DEVELOPMENT_CARD_COST);
+
     /**
      * The ratio / frequency of occurrence of each {@link projekt.model.DevelopmentCardType}.
      */
@@ -249,10 +446,36 @@ public final class Config {
      * The probability of a card to be picked is the same as defined by the rules of the base game.
      *
      * @return A supplier returning randomly picked development cards
-     * @see #makeSupplier(SortedMap, boolean)
+     * @see #makeSupplier(SortedMap, boolean, RandomGenerator)
      */
     public static Supplier<DevelopmentCardType> developmentCardGenerator() {
-        return makeSupplier(DEVELOPMENT_CARD_RATIOS, false);
+        return developmentCardGenerator(new SplittableRandom());
+    }
+
+    /**
+     * Create a new generator for development cards that draws from the given source of randomness.
+     *
+     * @param random the source of randomness
+     * @return A supplier returning randomly picked development cards
+     * @see #developmentCardGenerator()
+     */
+    public static Supplier<DevelopmentCardType> developmentCardGenerator(final RandomGenerator random) {
+        return makeSupplier(DEVELOPMENT_CARD_RATIOS, false, random);
+    }
+
+
+    // Dice
+
+    /**
+     * Creates a new supplier returning the sum of {@link #NUMBER_OF_DICE} dice with {@link #DICE_SIDES} sides each.
+     *
+     * @param random the source of randomness
+     * @return A supplier returning dice rolls
+     */
+    public static Supplier<Integer> generateDiceRolls(final RandomGenerator random) {
+        return () -> IntStream.rangeClosed(1, NUMBER_OF_DICE)
+            .map(i -> random.nextInt(1, DICE_SIDES + 1))
+            .sum();
     }
 
 
@@ -265,9 +488,14 @@ public final class Config {
      *
      * @param ratios        mappings of keys to their respective ratio
      * @param enableCounter whether to enable the counter / log
+     * @param random        the source of randomness
      * @return a supplier returning chosen keys
      */
-    private static <T> Supplier<T> makeSupplier(final SortedMap<T, Integer> ratios, final boolean enableCounter) {
+    private static <T> Supplier<T> makeSupplier(
+        final SortedMap<T, Integer> ratios,
+        final boolean enableCounter,
+        final RandomGenerator random
+    ) {
         final Map<T, Integer> counter = new HashMap<>();
         final int sum = ratios.values().stream().mapToInt(i -> i).sum();
         return () -> {
@@ -276,7 +504,7 @@ public final class Config {
                 if (enableCounter && counter.equals(ratios)) {
                     counter.clear();
                 }
-                final int d = RANDOM.nextInt(sum);
+                final int d = random.nextInt(sum);
                 int start = 0;
                 int bound = 0;
 
@@ -0,0 +1,171 @@
+package projekt.controller;
+
+import projekt.controller.actions.PlayerAction;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the actions a {@link PlayerController} received and rejected and the limits of its
+ * {@link ActionRetryPolicy} it reached, per {@link PlayerObjective}.
+ * The counters are written by the game loop thread and may be read from any thread.
+ */
+public final class ActionMetrics {
+
+    private static final PlayerObjective[] OBJECTIVES = PlayerObjective.values();
+
+    private final AtomicLongArray triggers = new AtomicLongArray(OBJECTIVES.length);
+    private final AtomicLongArray rejections = new AtomicLongArray(OBJECTIVES.length);
+    private final AtomicLongArray timeouts = new AtomicLongArray(OBJECTIVES.length);
+    private final AtomicLongArray fallbacks = new AtomicLongArray(OBJECTIVES.length);
+    private volatile String lastRejection;
+    private volatile String lastFallback;
+
+    /**
+     * Records that an action for the given objective was received.
+     *
+     * @param objective the objective
+     */
+    void triggered(final PlayerObjective objective) {
+        triggers.incrementAndGet(objective.ordinal());
+    }
+
+    /**
+     * Records that an action for the given objective was rejected.
+     *
+     * @param objective the objective
+     * @param reason    the reason the action was rejected
+     */
+    void rejected(final PlayerObjective objective, final String reason) {
+        rejections.incrementAndGet(objective.ordinal());
+        lastRejection = reason;
+    }
+
+    /**
+     * Records that no legal action for the given objective was received in time.
+     *
+     * @param objective the objective
+     */
+    void timedOut(final PlayerObjective objective) {
+        timeouts.incrementAndGet(objective.ordinal());
+    }
+
+    /**
+     * Records that a fallback action was executed for the given objective.
+     *
+     * @param objective the objective
+     * @param action    the fallback action
+     */
+    void fellBack(final PlayerObjective objective, final PlayerAction action) {
+        fallbacks.incrementAndGet(objective.ordinal());
+        lastFallback = String.valueOf(action);
+    }
+
+    /**
+     * Returns the number of received actions.
+     *
+     * @return the number of received actions
+     */
+    public long getTriggers() {
+        return sum(triggers);
+    }
+
+    /**
+     * Returns the number of received actions for the given objective.
+     *
+     * @param objective the objective
+     * @return the number of received actions
+     */
+    public long getTriggers(final PlayerObjective objective) {
+        return triggers.get(objective.ordinal());
+    }
+
+    /**
+     * Returns the number of rejected actions.
+     *
+     * @return the number of rejected actions
+     */
+    public long getRejections() {
+        return sum(rejections);
+    }
+
+    /**
+     * Returns the number of rejected actions for the given objective.
+     *
+     * @param objective the objective
+     * @return the number of rejected actions
+     */
+    public long getRejections(final PlayerObjective objective) {
+        return rejections.get(objective.ordinal());
+    }
+
+    /**
+     * Returns the number of objectives no legal action was received for in time.
+     *
+     * @return the number of timeouts
+     */
+    public long getTimeouts() {
+        return sum(timeouts);
+    }
+
+    /**
+     * Returns the number of times no legal action for the given objective was received in time.
+     *
+     * @param objective the objective
+     * @return the number of timeouts
+     */
+    public long getTimeouts(final PlayerObjective objective) {
+        return timeouts.get(objective.ordinal());
+    }
+
+    /**
+     * Returns the number of fallback actions executed.
+     *
+     * @return the number of fallback actions
+     */
+    public long getFallbacks() {
+        return sum(fallbacks);
+    }
+
+    /**
+     * Returns the number of fallback actions executed for the given objective.
+     *
+     * @param objective the objective
+     * @return the number of fallback actions
+     */
+    public long getFallbacks(final PlayerObjective objective) {
+        return fallbacks.get(objective.ordinal());
+    }
+
+    /**
+     * Returns the reason the last action was rejected.
+     *
+     * @return the reason, {@code null} if no action was rejected yet
+     */
+    public String getLastRejection() {
+        return lastRejection;
+    }
+
+    /**
+     * Returns the last fallback action executed.
+     *
+     * @return the fallback action, {@code null} if none was executed yet
+     */
+    public String getLastFallback() {
+        return lastFallback;
+    }
+
+    private static long sum(final AtomicLongArray counters) {
+        long sum = 0;
+        for (int i = 0; i < counters.length(); i++) {
+            sum += counters.get(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ActionMetrics[triggers=%d, rejections=%d, timeouts=%d, fallbacks=%d]",
+                             getTriggers(), getRejections(), getTimeouts(), getFallbacks()
+        );
+    }
+}
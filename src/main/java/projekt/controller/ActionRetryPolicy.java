@@ -0,0 +1,69 @@
+package projekt.controller;
+
+import java.time.Duration;
+
+/**
+ * Limits how long a {@link PlayerController} waits for a legal action for a single objective.
+ * Once a player has sent {@code maxRejections} illegal actions for an objective, or no legal action was received
+ * within {@code timeout}, the controller stops waiting and executes an action chosen by the {@code fallback}.
+ *
+ * At least one of the limits has to be set, so a player that keeps sending illegal actions cannot stall the game.
+ *
+ * @param maxRejections the number of illegal actions accepted per objective, {@code 0} for no limit
+ * @param timeout       the time to wait for a legal action per objective, {@link Duration#ZERO} for no limit;
+ *                      applies to all games, including {@linkplain GameController#isHeadless() headless} ones,
+ *                      where it limits the decisions of the AI and the actions it sends
+ * @param fallback      how the action is chosen once the limit is reached
+ * @see GameController#setActionRetryPolicy(ActionRetryPolicy)
+ */
+public record ActionRetryPolicy(int maxRejections, Duration timeout, Fallback fallback) {
+
+    /**
+     * The default policy: at most 100 illegal actions per objective, no timeout, falling back to ending the turn.
+     */
+    public static final ActionRetryPolicy DEFAULT = new ActionRetryPolicy(100, Duration.ZERO, Fallback.END_TURN);
+
+    /**
+     * Creates a new policy.
+     *
+     * @param maxRejections the number of illegal actions accepted per objective, {@code 0} for no limit
+     * @param timeout       the time to wait for a legal action per objective, {@link Duration#ZERO} for no limit
+     * @param fallback      how the action is chosen once the limit is reached
+     * @throws IllegalArgumentException if the number of rejections or the timeout is negative, or neither is limited
+     */
+    public ActionRetryPolicy {
+        if (maxRejections < 0) {
+            throw new IllegalArgumentException("Number of rejections must not be negative");
+        }
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        if (maxRejections == 0 && timeout.isZero()) {
+            throw new IllegalArgumentException("Either the number of rejections or the timeout must be limited");
+        }
+    }
+
+    /**
+     * Returns whether this policy limits the time to wait for an action.
+     *
+     * @return whether there is a timeout
+     */
+    public boolean hasTimeout() {
+        return !timeout.isZero();
+    }
+
+    /**
+     * The ways a {@link PlayerController} chooses an action once the limit of a policy is reached.
+     */
+    public enum Fallback {
+        /**
+         * Ends the turn, or declines a trade or stealing, where the objective allows it.
+         * Otherwise, e.g., when a village has to be placed, a random legal action is executed.
+         */
+        END_TURN,
+        /**
+         * Executes a random legal action.
+         */
+        RANDOM_ACTION
+    }
+}
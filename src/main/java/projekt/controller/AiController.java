@@ -8,8 +8,10 @@ import projekt.model.HexGrid;
  * Represents an AI controller that can execute actions based on a player's
  * objective.
  * Gets all information that could be needed to execute actions.
- * Automatically subscribes to the player objective property to execute actions
- * when the player's objective changes.
+ * Automatically subscribes to the player objective property, so the
+ * {@link PlayerController} asks it to execute actions when the player's
+ * objective has changed. Every such decision runs as a task of its own, see
+ * {@link GameThreads#startDecision(Runnable)}, and is cancelled by interrupting it.
  */
 public abstract class AiController {
     protected final PlayerController playerController;
@@ -17,11 +19,13 @@ public abstract class AiController {
     protected final GameState gameState;
     protected final Property<PlayerController> activePlayerController;
 
+    private boolean objectiveChanged;
+
     /**
      * Creates a new AI controller with the given player controller, hex grid, game
      * state and active player controller.
      * Adds a subscription to the player objective property to execute actions when
-     * the player's objective changes.
+     * the player's objective has changed.
      *
      * @param playerController       the player controller
      * @param hexGrid                the hex grid
@@ -36,7 +40,18 @@ public abstract class AiController {
         this.hexGrid = hexGrid;
         this.gameState = gameState;
         this.activePlayerController = activePlayerController;
-        playerController.getPlayerObjectiveProperty().subscribe(this::executeActionBasedOnObjective);
+        playerController.getPlayerObjectiveProperty().subscribe(objective -> objectiveChanged = true);
+    }
+
+    /**
+     * Returns whether the player's objective has changed since the last call.
+     *
+     * @return whether the objective has changed
+     */
+    boolean takeObjectiveChanged() {
+        final boolean changed = objectiveChanged;
+        objectiveChanged = false;
+        return changed;
     }
 
     /**
@@ -0,0 +1,32 @@
+package projekt.controller;
+
+import javafx.beans.property.Property;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+
+/**
+ * Creates the {@link AiController} of an AI player.
+ * The parameters match the constructor of {@link AiController}, so constructor references like
+ * {@code BasicAiController::new} can be used as factories.
+ *
+ * @see GameController#setAiControllerFactory(AiControllerFactory)
+ */
+@FunctionalInterface
+public interface AiControllerFactory {
+
+    /**
+     * Creates a new AI controller for the given player controller.
+     *
+     * @param playerController       the player controller the AI acts for
+     * @param hexGrid                the hex grid
+     * @param gameState              the game state
+     * @param activePlayerController the active player controller
+     * @return the new AI controller
+     */
+    AiController create(
+        PlayerController playerController,
+        HexGrid hexGrid,
+        GameState gameState,
+        Property<PlayerController> activePlayerController
+    );
+}
@@ -1,7 +1,6 @@
 package projekt.controller;
 
 import javafx.beans.property.Property;
-import projekt.Config;
 import projekt.controller.actions.AcceptTradeAction;
 import projekt.controller.actions.BuildRoadAction;
 import projekt.controller.actions.BuildVillageAction;
@@ -65,7 +64,7 @@ public class BasicAiController extends AiController {
             selectRobberTileAction();
         }
         if (actions.contains(AcceptTradeAction.class)) {
-            playerController.triggerAction(new AcceptTradeAction(Config.RANDOM.nextBoolean()));
+            playerController.triggerAction(new AcceptTradeAction(playerController.getRandom().nextBoolean()));
         }
         if (actions.contains(StealCardAction.class)) {
             stealCardAction();
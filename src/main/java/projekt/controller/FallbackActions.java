@@ -0,0 +1,150 @@
+package projekt.controller;
+
+import projekt.controller.actions.AcceptTradeAction;
+import projekt.controller.actions.BuildRoadAction;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.actions.SelectCardsAction;
+import projekt.controller.actions.SelectRobberTileAction;
+import projekt.controller.actions.StealCardAction;
+import projekt.controller.actions.UpgradeVillageAction;
+import projekt.model.Player;
+import projekt.model.PlayerState;
+import projekt.model.ResourceType;
+import projekt.model.TilePosition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses the action a {@link PlayerController} executes when the limit of its {@link ActionRetryPolicy} is reached.
+ * The actions are chosen from the player's current {@link PlayerState}, so they are legal.
+ */
+final class FallbackActions {
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+
+    private FallbackActions() {
+    }
+
+    /**
+     * Chooses an action for the given objective.
+     *
+     * @param playerController the controller of the player to choose the action for
+     * @param objective        the objective of the player
+     * @param fallback         how the action is chosen
+     * @return the action or {@code null} if there is no legal action for the objective
+     */
+    static PlayerAction choose(
+        final PlayerController playerController,
+        final PlayerObjective objective,
+        final ActionRetryPolicy.Fallback fallback
+    ) {
+        final RandomGenerator random = playerController.getRandom();
+        final PlayerState state = playerController.getPlayerState();
+        final boolean passive = fallback == ActionRetryPolicy.Fallback.END_TURN;
+        return switch (objective) {
+            case DICE_ROLL -> new RollDiceAction();
+            case PLACE_VILLAGE -> pick(state.buildableVillageIntersections(), BuildVillageAction::new, random);
+            case PLACE_ROAD -> pick(state.buildableRoadEdges(), BuildRoadAction::new, random);
+            case DROP_CARDS -> new SelectCardsAction(selectCards(playerController.getPlayer(), state.cardsToSelect(), random));
+            case SELECT_CARDS -> new SelectCardsAction(selectCards(null, state.cardsToSelect(), random));
+            case SELECT_ROBBER_TILE -> selectRobberTile(playerController, random);
+            case SELECT_CARD_TO_STEAL -> passive ? new EndTurnAction() : stealCard(state, random);
+            case ACCEPT_TRADE -> new AcceptTradeAction(false);
+            case REGULAR_TURN -> passive ? new EndTurnAction() : regularTurnAction(state, random);
+            case IDLE -> null;
+        };
+    }
+
+    /**
+     * Chooses a random building action from the given state, or ending the turn.
+     *
+     * @param state  the state of the player
+     * @param random the source of randomness
+     * @return the action
+     */
+    private static PlayerAction regularTurnAction(final PlayerState state, final RandomGenerator random) {
+        final List<Supplier<PlayerAction>> actions = new ArrayList<>();
+        actions.add(EndTurnAction::new);
+        state.buildableVillageIntersections().forEach(intersection -> actions.add(() -> new BuildVillageAction(intersection)));
+        state.upgradableVillageIntersections().forEach(intersection -> actions.add(() -> new UpgradeVillageAction(intersection)));
+        state.buildableRoadEdges().forEach(edge -> actions.add(() -> new BuildRoadAction(edge)));
+        return actions.get(random.nextInt(actions.size())).get();
+    }
+
+    /**
+     * Chooses a random resource of a random player to steal from, or ending the turn if there is none.
+     *
+     * @param state  the state of the player
+     * @param random the source of randomness
+     * @return the action
+     */
+    private static PlayerAction stealCard(final PlayerState state, final RandomGenerator random) {
+        final List<StealCardAction> actions = new ArrayList<>();
+        for (final Player victim : state.playersToStealFrom()) {
+            for (final ResourceType resourceType : RESOURCE_TYPES) {
+                if (victim.getResources().getOrDefault(resourceType, 0) > 0) {
+                    actions.add(new StealCardAction(resourceType, victim));
+                }
+            }
+        }
+        return actions.isEmpty() ? new EndTurnAction() : actions.get(random.nextInt(actions.size()));
+    }
+
+    /**
+     * Chooses a random tile other than the one the robber is on.
+     *
+     * @param playerController the controller of the player
+     * @param random           the source of randomness
+     * @return the action or {@code null} if there is no other tile
+     */
+    private static PlayerAction selectRobberTile(final PlayerController playerController, final RandomGenerator random) {
+        final var grid = playerController.getPlayer().getHexGrid();
+        final List<TilePosition> positions = new ArrayList<>(grid.getTiles().keySet());
+        positions.remove(grid.getRobberPosition());
+        return positions.isEmpty() ? null : new SelectRobberTileAction(positions.get(random.nextInt(positions.size())));
+    }
+
+    /**
+     * Selects the given number of random cards.
+     *
+     * @param owner  the player whose resources the cards are taken from, {@code null} to select any resources
+     * @param amount the number of cards
+     * @param random the source of randomness
+     * @return the selected cards
+     */
+    private static Map<ResourceType, Integer> selectCards(final Player owner, final int amount, final RandomGenerator random) {
+        final List<ResourceType> cards = new ArrayList<>();
+        for (final ResourceType resourceType : RESOURCE_TYPES) {
+            final int available = owner == null ? amount : owner.getResources().getOrDefault(resourceType, 0);
+            for (int i = 0; i < available; i++) {
+                cards.add(resourceType);
+            }
+        }
+        final Map<ResourceType, Integer> selected = new HashMap<>();
+        for (int i = 0; i < amount && !cards.isEmpty(); i++) {
+            selected.merge(cards.remove(random.nextInt(cards.size())), 1, Integer::sum);
+        }
+        return selected;
+    }
+
+    private static <T> PlayerAction pick(
+        final Collection<T> candidates,
+        final Function<T, PlayerAction> action,
+        final RandomGenerator random
+    ) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return action.apply(new ArrayList<>(candidates).get(random.nextInt(candidates.size())));
+    }
+}
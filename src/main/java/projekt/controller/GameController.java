@@ -12,20 +12,29 @@ import projekt.controller.actions.AcceptTradeAction;
 import projekt.controller.actions.IllegalActionException;
 import projekt.controller.actions.PlayerAction;
 import projekt.model.DevelopmentCardType;
+import projekt.model.GameRandom;
 import projekt.model.GameState;
+import projekt.model.HexGrid;
 import projekt.model.HexGridImpl;
 import projekt.model.Player;
+import projekt.model.RandomStream;
 import projekt.model.ResourceType;
+import projekt.model.VictoryPointLedger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import static projekt.controller.PlayerObjective.*;
 
@@ -42,66 +51,127 @@ public class GameController {
     private final Supplier<Integer> dice;
     private final IntegerProperty currentDiceRoll = new SimpleIntegerProperty(0);
     private final List<AiController> aiControllers = new ArrayList<>();
-    private final Supplier<DevelopmentCardType> availableDevelopmentCards = Config.developmentCardGenerator();
+    private final Supplier<DevelopmentCardType> availableDevelopmentCards;
+    private final GameRandom random;
     private final IntegerProperty roundCounter = new SimpleIntegerProperty(0);
 
     private final Property<PlayerController> activePlayerControllerProperty = new SimpleObjectProperty<>();
 
+    private boolean headless = false;
+    private int roundLimit = 0;
+    private AiControllerFactory aiControllerFactory = BasicAiController::new;
+    private ActionRetryPolicy actionRetryPolicy = ActionRetryPolicy.DEFAULT;
+    private GameEventLog eventLog;
+    private boolean eventLogOwned;
+    private SavedGame savedGame;
+    private int firstTurn;
+
     /**
      * Initializes the {@link GameController} with the given {@link GameState},
-     * {@link PlayerController}s and dice.
+     * {@link PlayerController}s, dice and source of randomness.
+     * Development cards are drawn from the respective stream of the given {@link GameRandom}.
      *
      * @param state             The {@link GameState}.
      * @param playerControllers The {@link PlayerController}s.
      * @param dice              The dice.
+     * @param random            The source of randomness of the game.
      */
-    public GameController(
+    private GameController(
         final GameState state,
         final Map<Player, PlayerController> playerControllers,
-        final Supplier<Integer> dice
+        final Supplier<Integer> dice,
+        final GameRandom random
     ) {
         this.state = state;
         this.playerControllers = playerControllers;
         this.dice = dice;
+        this.random = random;
+        this.availableDevelopmentCards = Config.developmentCardGenerator(random.developmentCards());
+    }
+
+    /**
+     * Initializes the {@link GameController} with the given {@link GameState},
+     * {@link PlayerController}s and dice.
+     *
+     * @param state             The {@link GameState}.
+     * @param playerControllers The {@link PlayerController}s.
+     * @param dice              The dice.
+     */
+    public GameController(
+        final GameState state,
+        final Map<Player, PlayerController> playerControllers,
+        final Supplier<Integer> dice
+    ) {
+        this(state, playerControllers, dice, GameRandom.create());
+    }
+
+    /**
+     * Initializes the {@link GameController} with the given {@link GameState} and source of randomness.
+     * The dice and development cards draw from the respective streams of the given {@link GameRandom}.
+     * The {@link PlayerController}s are initialized with an empty {@link LinkedHashMap},
+     * so players take their turns in the order they were added to the {@link GameState}.
+     *
+     * @param state  The {@link GameState}.
+     * @param random The source of randomness of the game.
+     */
+    public GameController(final GameState state, final GameRandom random) {
+        this(state, new LinkedHashMap<>(), Config.generateDiceRolls(random.dice()), random);
+    }
+
+    /**
+     * Initializes the {@link GameController} with a new {@link GameState} restored from the given saved game.
+     * The dice, development cards and players draw from copies of the saved sources of randomness.
+     * <p>
+     * {@link #startGame()} continues the game at the start of the saved active player's turn in the saved round,
+     * or at the start of the saved round if there is no active player. Villages and roads a player already placed
+     * in the first round are not placed again. A game saved when a turn starts, i.e., when the objective of the
+     * active player becomes {@link PlayerObjective#DICE_ROLL}, or while a player places villages and roads in the
+     * first round therefore continues exactly as the original game would have. A game saved at another point of a
+     * turn, e.g., while another player drops cards, plays that turn again from the saved state.
+     *
+     * @param savedGame The saved game.
+     * @see SavedGame#of(GameController)
+     */
+    public GameController(final SavedGame savedGame) {
+        this(savedGame.toGameState(), savedGame.random());
+        this.savedGame = savedGame;
+        this.roundCounter.set(savedGame.roundCounter());
+        this.firstTurn = Math.max(savedGame.activePlayer(), 0);
     }
 
     /**
      * Initializes the {@link GameController} with the given {@link GameState} and
      * dice.
-     * The {@link PlayerController}s are initialized with an empty {@link HashMap}.
+     * The {@link PlayerController}s are initialized with an empty {@link LinkedHashMap}.
      *
      * @param state The {@link GameState}.
      * @param dice  The dice.
      */
     public GameController(final GameState state, final Supplier<Integer> dice) {
-        this.state = state;
-        this.dice = dice;
-        this.playerControllers = new HashMap<>();
+        this(state, new LinkedHashMap<>(), dice);
     }
 
     /**
      * Initializes the {@link GameController} with the given {@link GameState}.
-     * The dice is initialized with the Random from {@link Config#RANDOM} and
+     * The dice is initialized with a new {@link GameRandom} and
      * respects the configured dice sides and number of dice.
      *
      * @param state The {@link GameState}.
-     * @see #GameController(GameState, Supplier)
+     * @see #GameController(GameState, GameRandom)
      */
     public GameController(final GameState state) {
-        this(state, () -> IntStream.rangeClosed(1, Config.NUMBER_OF_DICE)
-            .map(i -> Config.RANDOM.nextInt(1, Config.DICE_SIDES + 1))
-            .sum());
+        this(state, GameRandom.create());
     }
 
     /**
      * Initializes the {@link GameController} with a new {@link GameState} that has
      * a new {@link HexGridImpl} that uses the radius from
-     * {@link Config#GRID_RADIUS} and an empty list of {@link Player}s.
+     * {@link Config#gridRadius()} and an empty list of {@link Player}s.
      *
      * @see #GameController(GameState)
      */
     public GameController() {
-        this(new GameState(new HexGridImpl(Config.GRID_RADIUS), new ArrayList<>()));
+        this(new GameState(new HexGridImpl(Config.gridRadius()), new ArrayList<>()));
     }
 
     /**
@@ -110,9 +180,15 @@ public class GameController {
     public void initPlayerControllers() {
         for (final Player player : state.getPlayers()) {
             playerControllers.put(player, new PlayerController(this, player));
+            if (savedGame != null) {
+                final RandomStream random = savedGame.getPlayerRandom(state.getPlayers().indexOf(player));
+                if (random != null) {
+                    playerControllers.get(player).restoreRandom(random);
+                }
+            }
             if (player.isAi()) {
-                aiControllers.add(new BasicAiController(playerControllers.get(player), state.getGrid(), state,
-                                                        activePlayerControllerProperty
+                aiControllers.add(aiControllerFactory.create(playerControllers.get(player), state.getGrid(), state,
+                                                             activePlayerControllerProperty
                 ));
             }
         }
@@ -127,6 +203,15 @@ public class GameController {
         return state;
     }
 
+    /**
+     * Returns the source of randomness of this game.
+     *
+     * @return the source of randomness
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
     /**
      * Returns the {@link PlayerController}s
      *
@@ -172,6 +257,118 @@ public class GameController {
         return roundCounter;
     }
 
+    /**
+     * Returns whether this game runs headless.
+     *
+     * @return whether this game runs headless
+     * @see #setHeadless(boolean)
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Sets whether this game runs headless, i.e., without a user interface and without human players.
+     * In a headless game, executed actions are not logged and waiting for an action never blocks:
+     * if no action is queued, the {@link AiController} of the player is asked again and if it
+     * still does not provide one, a {@link GameStalledException} is thrown.
+     *
+     * @param headless whether this game runs headless
+     */
+    public void setHeadless(final boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Returns the maximum number of regular rounds played, {@code 0} if there is no limit.
+     *
+     * @return the round limit
+     */
+    public int getRoundLimit() {
+        return roundLimit;
+    }
+
+    /**
+     * Sets the maximum number of regular rounds played.
+     * If no player has won after this many rounds, {@link #startGame()} returns without a winner.
+     *
+     * @param roundLimit the round limit, {@code 0} for no limit
+     */
+    public void setRoundLimit(final int roundLimit) {
+        if (roundLimit < 0) {
+            throw new IllegalArgumentException("Round limit must not be negative");
+        }
+        this.roundLimit = roundLimit;
+    }
+
+    /**
+     * Returns the policy the {@link PlayerController}s of this game use when a player does not provide a legal action.
+     *
+     * @return the policy
+     * @see #setActionRetryPolicy(ActionRetryPolicy)
+     */
+    public ActionRetryPolicy getActionRetryPolicy() {
+        return actionRetryPolicy;
+    }
+
+    /**
+     * Sets the policy the {@link PlayerController}s of this game use when a player does not provide a legal action.
+     * Defaults to {@link ActionRetryPolicy#DEFAULT}.
+     *
+     * @param actionRetryPolicy the policy
+     */
+    public void setActionRetryPolicy(final ActionRetryPolicy actionRetryPolicy) {
+        this.actionRetryPolicy = actionRetryPolicy;
+    }
+
+    /**
+     * Returns the log the events of this game are recorded in.
+     *
+     * @return the log or {@code null} if the events are not recorded
+     */
+    public GameEventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Sets the log the events of this game are recorded in.
+     * The log should be created for this game right before it is set, so it starts with the current state.
+     * It is flushed when {@link #startGame()} returns; closing it is up to the caller.
+     * <p>
+     * If no log is set and {@link Config#eventLogDirectory()} is, {@link #startGame()} records the game in a new
+     * file in that directory and closes it when it returns.
+     *
+     * @param eventLog the log, {@code null} to stop recording
+     */
+    public void setEventLog(final GameEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Sets the factory used by {@link #initPlayerControllers()} to create the {@link AiController}s of AI players.
+     * Defaults to {@link BasicAiController}.
+     *
+     * @param aiControllerFactory the factory
+     */
+    public void setAiControllerFactory(final AiControllerFactory aiControllerFactory) {
+        this.aiControllerFactory = aiControllerFactory;
+    }
+
+    /**
+     * Returns the {@link AiController} of the given {@link PlayerController}.
+     *
+     * @param playerController the {@link PlayerController}
+     * @return the {@link AiController} or {@code null} if the player is not controlled by an AI
+     */
+    AiController getAiController(final PlayerController playerController) {
+        for (final AiController aiController : aiControllers) {
+            if (aiController.playerController == playerController) {
+                return aiController;
+            }
+        }
+        return null;
+    }
+
     /**
      * Sets the active {@link PlayerController} {@link Property} to the
      * {@link PlayerController} of the given {@link Player}.
@@ -201,35 +398,43 @@ public class GameController {
 
     /**
      * Returns the {@link Player}s that have reached the victory condition.
+     * On a {@link HexGridImpl}, the victory points including bonuses are read from its {@link VictoryPointLedger}.
      *
      * @return The {@link Player}s that have reached the victory condition.
      */
     public Set<Player> getWinners() {
+        if (getState().getGrid() instanceof final HexGridImpl grid) {
+            final VictoryPointLedger ledger = grid.getVictoryPointLedger();
+            return getState().getPlayers()
+                .stream()
+                .filter(player -> ledger.getTotalVictoryPoints(player) >= Config.REQUIRED_VICTORY_POINTS)
+                .collect(Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new), Collections::unmodifiableSet));
+        }
+
         final Player playerWithMostKnightsPlayed = getState().getPlayers()
             .stream()
-            .filter(player -> player.getKnightsPlayed() >= 3)
+            .filter(player -> player.getKnightsPlayed() >= Config.LARGEST_ARMY_MIN_KNIGHTS)
             .max(Comparator.comparingInt(Player::getKnightsPlayed))
             .orElse(null);
-        final Player playerWithLongestRoad = null; // TODO: uncomment code if getLongestRoad(Player) is implemented in
-        // HexGrid
-        // getState().getPlayers()
-        // .stream()
-        // .max(Comparator.comparingInt(player ->
-        // player.getHexGrid().getLongestRoad(player).size()))
-        // .orElse(null);
+        final Player playerWithLongestRoad = getState().getPlayers()
+            .stream()
+            .filter(player -> getState().getGrid().getLongestRoad(player).size() >= Config.LONGEST_ROAD_MIN_LENGTH)
+            .max(Comparator.comparingInt(player -> getState().getGrid().getLongestRoad(player).size()))
+            .orElse(null);
 
         return getState().getPlayers()
             .stream()
             .filter(player -> (
                 player.getVictoryPoints()
-                    + (player == playerWithMostKnightsPlayed ? 2 : 0)
-                    + (player == playerWithLongestRoad ? 2 : 0)
+                    + (player == playerWithMostKnightsPlayed ? Config.BONUS_VICTORY_POINTS : 0)
+                    + (player == playerWithLongestRoad ? Config.BONUS_VICTORY_POINTS : 0)
             ) >= Config.REQUIRED_VICTORY_POINTS)
-            .collect(Collectors.toUnmodifiableSet());
+            .collect(Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new), Collections::unmodifiableSet));
     }
 
     /**
      * Starts the game.
+     * The game ends as soon as a player has won or the {@linkplain #setRoundLimit(int) round limit} is reached.
      *
      * @throws IllegalStateException If there are less {@link Player}s than
      *                               configured.
@@ -242,31 +447,85 @@ public class GameController {
         if (playerControllers.isEmpty()) {
             initPlayerControllers();
         }
+        openConfiguredEventLog();
+
+        try {
+            if (roundCounter.get() == 0) {
+                firstRound();
+
+                roundCounter.set(1);
+            }
+            while (getWinners().isEmpty() && (roundLimit == 0 || roundCounter.get() <= roundLimit)) {
+                for (final PlayerController playerController : remainingTurns()) {
+                    GameThreads.checkCancelled();
+                    withActivePlayer(playerController, () -> {
+                        // Dice roll
+                        playerController.waitForNextAction(PlayerObjective.DICE_ROLL);
+                        final var diceRoll = currentDiceRoll.get();
+
+                        if (diceRoll == 7) {
+                            diceRollSeven();
+                        } else {
+                            distributeResources(diceRoll);
+                        }
+                        // Regular turn
+                        regularTurn();
+                    });
+                }
+                roundCounter.set(roundCounter.get() + 1);
+            }
 
-        firstRound();
-
-        roundCounter.set(1);
-        while (getWinners().isEmpty()) {
-            for (final PlayerController playerController : playerControllers.values()) {
-                withActivePlayer(playerController, () -> {
-                    // Dice roll
-                    playerController.waitForNextAction(PlayerObjective.DICE_ROLL);
-                    final var diceRoll = currentDiceRoll.get();
-
-                    if (diceRoll == 7) {
-                        diceRollSeven();
-                    } else {
-                        distributeResources(diceRoll);
-                    }
-                    // Regular turn
-                    regularTurn();
-                });
+            // Game End
+            final Set<Player> winners = getWinners();
+            if (!winners.isEmpty()) {
+                getState().setWinner(winners.iterator().next());
             }
-            roundCounter.set(roundCounter.get() + 1);
+        } finally {
+            finishEventLog();
         }
+    }
 
-        // Game End
-        getState().setWinner(getWinners().iterator().next());
+    /**
+     * Starts recording the events of this game in a new file in {@link Config#eventLogDirectory()},
+     * unless it is not set or a log was {@linkplain #setEventLog(GameEventLog) set} already.
+     *
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    private void openConfiguredEventLog() {
+        final Path directory = Config.eventLogDirectory();
+        if (eventLog != null || directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            eventLog = GameEventLog.create(Files.createTempFile(directory, "game-", ".events"), this);
+            eventLogOwned = true;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not create event log", e);
+        }
+    }
+
+    /**
+     * Closes the log opened by {@link #openConfiguredEventLog()} and flushes a log set by the caller,
+     * so the log is complete once the game has ended.
+     *
+     * @throws UncheckedIOException if writing fails
+     */
+    private void finishEventLog() {
+        if (eventLog == null) {
+            return;
+        }
+        try {
+            if (eventLogOwned) {
+                eventLog.close();
+                eventLog = null;
+                eventLogOwned = false;
+            } else {
+                eventLog.flush();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not write event log", e);
+        }
     }
 
     /**
@@ -308,23 +567,43 @@ public class GameController {
      */
     @StudentImplementationRequired("H2.1")
     private void firstRound() {
-        playerControllers
-            .values()
+        remainingTurns()
             .forEach(value -> withActivePlayer(value, this::firstActions));
     }
 
     /**
-     * Initiates the actions for the activePlayerController at the beginning of the game
+     * Initiates the actions for the activePlayerController at the beginning of the game.
+     * Villages and roads the player already placed, e.g., before the game was saved, are skipped.
      */
     private void firstActions() {
         if (getActivePlayerController() == null) return;
 
+        final Player player = getActivePlayerController().getPlayer();
+        final int villages = player.getSettlements().size();
+        final int roads = player.getRoads().size();
         for (int i = 0; i < 2; i++) {
-            getActivePlayerController().waitForNextAction(PLACE_VILLAGE);
-            getActivePlayerController().waitForNextAction(PLACE_ROAD);
+            if (i >= villages) {
+                getActivePlayerController().waitForNextAction(PLACE_VILLAGE);
+            }
+            if (i >= roads) {
+                getActivePlayerController().waitForNextAction(PLACE_ROAD);
+            }
         }
     }
 
+    /**
+     * Returns the {@link PlayerController}s in turn order, starting with the player whose turn a
+     * {@linkplain #GameController(SavedGame) resumed} game continues with the first time it is called.
+     *
+     * @return the {@link PlayerController}s whose turns are left in the current round
+     */
+    private List<PlayerController> remainingTurns() {
+        final List<PlayerController> turns = List.copyOf(playerControllers.values());
+        final int first = firstTurn;
+        firstTurn = 0;
+        return turns.subList(first, turns.size());
+    }
+
     /**
      * Offer the trade to all players that can accept the trade. As soon as one
      * player accepts the trade, the offering player can continue with his round.
@@ -432,10 +711,12 @@ public class GameController {
     @StudentImplementationRequired("H2.2")
     public void distributeResources(final int diceRoll) {
         // TODO: H2.2 check, done
-        activePlayerControllerProperty
-            .getValue()
-            .getPlayer()
-            .getHexGrid()
+        final HexGrid grid = activePlayerControllerProperty.getValue().getPlayer().getHexGrid();
+        if (grid instanceof final HexGridImpl hexGridImpl) {
+            hexGridImpl.getProductionTable().distribute(diceRoll);
+            return;
+        }
+        grid
             .getTiles(diceRoll)
             .stream()
             .filter(x -> !(x.hasRobber()))
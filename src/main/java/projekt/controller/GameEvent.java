@@ -0,0 +1,146 @@
+package projekt.controller;
+
+import projekt.model.BoardTopology;
+import projekt.model.DevelopmentCardType;
+import projekt.model.ResourceType;
+
+import java.util.Map;
+
+/**
+ * An event of a game, as recorded in a {@link GameEventLog}.
+ * Players are referred to by their index in the game's list of players,
+ * intersections, edges and tiles by their {@link BoardTopology} id, like in a {@link GameSnapshot}.
+ * <p>
+ * Events are recorded when their effect on the game takes place, so actions that trigger further actions,
+ * like playing a development card or offering a trade, are recorded before the actions they trigger.
+ */
+public sealed interface GameEvent {
+
+    /**
+     * Returns the index of the player who caused the event.
+     *
+     * @return the player's index
+     */
+    int player();
+
+    /**
+     * The player rolled the dice.
+     *
+     * @param player the player's index
+     * @param roll   the dice roll
+     */
+    record DiceRolled(int player, int roll) implements GameEvent {
+    }
+
+    /**
+     * The player placed a village.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     */
+    record VillageBuilt(int player, int intersection) implements GameEvent {
+    }
+
+    /**
+     * The player upgraded a village to a city.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     */
+    record VillageUpgraded(int player, int intersection) implements GameEvent {
+    }
+
+    /**
+     * The player placed a road.
+     *
+     * @param player the player's index
+     * @param edge   the edge's id
+     */
+    record RoadBuilt(int player, int edge) implements GameEvent {
+    }
+
+    /**
+     * The player moved the robber.
+     *
+     * @param player the player's index
+     * @param tile   the id of the tile the robber was moved to
+     */
+    record RobberMoved(int player, int tile) implements GameEvent {
+    }
+
+    /**
+     * The player stole a resource from another player.
+     *
+     * @param player       the stealing player's index
+     * @param victim       the index of the player stolen from
+     * @param resourceType the stolen resource
+     */
+    record CardStolen(int player, int victim, ResourceType resourceType) implements GameEvent {
+    }
+
+    /**
+     * The player selected resources, to drop them or for a development card.
+     *
+     * @param player    the player's index
+     * @param resources the selected resources
+     */
+    record CardsSelected(int player, Map<ResourceType, Integer> resources) implements GameEvent {
+    }
+
+    /**
+     * The player offered a trade to the other players.
+     *
+     * @param player  the player's index
+     * @param offer   the offered resources
+     * @param request the requested resources
+     */
+    record TradeOffered(int player, Map<ResourceType, Integer> offer, Map<ResourceType, Integer> request)
+        implements GameEvent {
+    }
+
+    /**
+     * The player declined a trade offered by another player.
+     *
+     * @param player the declining player's index
+     */
+    record TradeDeclined(int player) implements GameEvent {
+    }
+
+    /**
+     * Resources were traded, with the bank or because a player accepted a trade offer.
+     *
+     * @param player  the index of the player who offered the trade
+     * @param partner the index of the player who accepted the trade, {@link BoardTopology#NONE} for the bank
+     * @param offer   the resources the offering player handed over
+     * @param request the resources the offering player received
+     */
+    record Traded(int player, int partner, Map<ResourceType, Integer> offer, Map<ResourceType, Integer> request)
+        implements GameEvent {
+    }
+
+    /**
+     * The player bought a development card.
+     *
+     * @param player   the player's index
+     * @param cardType the drawn development card
+     */
+    record DevelopmentCardBought(int player, DevelopmentCardType cardType) implements GameEvent {
+    }
+
+    /**
+     * The player played a development card.
+     *
+     * @param player   the player's index
+     * @param cardType the played development card
+     */
+    record DevelopmentCardPlayed(int player, DevelopmentCardType cardType) implements GameEvent {
+    }
+
+    /**
+     * The player ended their turn, or declined to steal a card.
+     *
+     * @param player the player's index
+     */
+    record TurnEnded(int player) implements GameEvent {
+    }
+}
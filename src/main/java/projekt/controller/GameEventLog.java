@@ -0,0 +1,302 @@
+package projekt.controller;
+
+import projekt.model.DevelopmentCardType;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.ResourceType;
+import projekt.model.TilePosition;
+import projekt.model.buildings.Edge;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * An append-only binary log of the {@link GameEvent}s of a game.
+ * The log starts with a {@link GameSnapshot} of the game at the time the log was created, followed by the events
+ * in the order they took place. It is written while the game is played and read with {@link GameReplay}.
+ * <p>
+ * Every event is written as a tag byte, the player's index and the fields of the event, so a game of a hundred
+ * rounds takes a few kilobytes.
+ *
+ * @see GameController#setEventLog(GameEventLog)
+ */
+public final class GameEventLog implements AutoCloseable {
+
+    static final int MAGIC = 0x43544C47;
+    static final int VERSION = 2;
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final DevelopmentCardType[] DEVELOPMENT_CARD_TYPES = DevelopmentCardType.values();
+
+    private static final int DICE_ROLLED = 0;
+    private static final int VILLAGE_BUILT = 1;
+    private static final int VILLAGE_UPGRADED = 2;
+    private static final int ROAD_BUILT = 3;
+    private static final int ROBBER_MOVED = 4;
+    private static final int CARD_STOLEN = 5;
+    private static final int CARDS_SELECTED = 6;
+    private static final int TRADE_OFFERED = 7;
+    private static final int TRADE_DECLINED = 8;
+    private static final int TRADED = 9;
+    private static final int DEVELOPMENT_CARD_BOUGHT = 10;
+    private static final int DEVELOPMENT_CARD_PLAYED = 11;
+    private static final int TURN_ENDED = 12;
+
+    private final DataOutputStream out;
+    private final GameSnapshot initialState;
+    private int eventCount;
+
+    /**
+     * Creates a new log of the given game and writes its current state to the given stream.
+     * The log must be {@linkplain GameController#setEventLog(GameEventLog) set} on the game to record its events.
+     *
+     * @param out            the stream to write to
+     * @param gameController the game, its grid must be a {@link projekt.model.HexGridImpl}
+     * @throws IOException if writing fails
+     */
+    public GameEventLog(final OutputStream out, final GameController gameController) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.initialState = GameSnapshot.of(
+            gameController.getState(),
+            gameController.getRoundCounterProperty().get() == 0
+        );
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+        initialState.writeTo(this.out);
+    }
+
+    /**
+     * Creates a new log of the given game in the given file, replacing the file if it exists.
+     *
+     * @param path           the file
+     * @param gameController the game
+     * @return the log
+     * @throws IOException if the file cannot be written
+     * @see #GameEventLog(OutputStream, GameController)
+     */
+    public static GameEventLog create(final Path path, final GameController gameController) throws IOException {
+        return new GameEventLog(Files.newOutputStream(path), gameController);
+    }
+
+    /**
+     * Returns the state of the game at the time this log was created.
+     *
+     * @return the initial state
+     */
+    public GameSnapshot getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * Returns the number of events appended to this log.
+     *
+     * @return the number of events
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Appends the given event to this log.
+     *
+     * @param event the event
+     * @throws UncheckedIOException if writing fails
+     */
+    public void append(final GameEvent event) {
+        try {
+            writeEvent(out, event);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        eventCount++;
+    }
+
+    /**
+     * Writes all buffered events to the underlying stream.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Writes all buffered events and closes the underlying stream.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // Conversion of the objects of the game
+
+    /**
+     * Returns the index of the given player.
+     *
+     * @param player the player
+     * @return the player's index
+     */
+    int playerIndex(final Player player) {
+        return initialState.getPlayerIndex(player);
+    }
+
+    /**
+     * Returns the id of the given intersection.
+     *
+     * @param intersection the intersection
+     * @return the intersection's id
+     */
+    int intersectionId(final Intersection intersection) {
+        final Iterator<TilePosition> positions = intersection.getAdjacentTilePositions().iterator();
+        return initialState.getTopology().intersectionId(positions.next(), positions.next(), positions.next());
+    }
+
+    /**
+     * Returns the id of the given edge.
+     *
+     * @param edge the edge
+     * @return the edge's id
+     */
+    int edgeId(final Edge edge) {
+        return initialState.getTopology().edgeId(edge.getPosition1(), edge.getPosition2());
+    }
+
+    /**
+     * Returns the id of the tile at the given position.
+     *
+     * @param position the position
+     * @return the tile's id
+     */
+    int tileId(final TilePosition position) {
+        return initialState.getTopology().tileId(position);
+    }
+
+    // Encoding
+
+    /**
+     * Writes the given event.
+     *
+     * @param out   the output
+     * @param event the event
+     * @throws IOException if writing fails
+     */
+    static void writeEvent(final DataOutput out, final GameEvent event) throws IOException {
+        if (event instanceof GameEvent.DiceRolled diceRolled) {
+            writeTag(out, DICE_ROLLED, event);
+            out.writeByte(diceRolled.roll());
+        } else if (event instanceof GameEvent.VillageBuilt villageBuilt) {
+            writeTag(out, VILLAGE_BUILT, event);
+            out.writeInt(villageBuilt.intersection());
+        } else if (event instanceof GameEvent.VillageUpgraded villageUpgraded) {
+            writeTag(out, VILLAGE_UPGRADED, event);
+            out.writeInt(villageUpgraded.intersection());
+        } else if (event instanceof GameEvent.RoadBuilt roadBuilt) {
+            writeTag(out, ROAD_BUILT, event);
+            out.writeInt(roadBuilt.edge());
+        } else if (event instanceof GameEvent.RobberMoved robberMoved) {
+            writeTag(out, ROBBER_MOVED, event);
+            out.writeInt(robberMoved.tile());
+        } else if (event instanceof GameEvent.CardStolen cardStolen) {
+            writeTag(out, CARD_STOLEN, event);
+            out.writeByte(cardStolen.victim());
+            out.writeByte(cardStolen.resourceType().ordinal());
+        } else if (event instanceof GameEvent.CardsSelected cardsSelected) {
+            writeTag(out, CARDS_SELECTED, event);
+            writeResources(out, cardsSelected.resources());
+        } else if (event instanceof GameEvent.TradeOffered tradeOffered) {
+            writeTag(out, TRADE_OFFERED, event);
+            writeResources(out, tradeOffered.offer());
+            writeResources(out, tradeOffered.request());
+        } else if (event instanceof GameEvent.TradeDeclined) {
+            writeTag(out, TRADE_DECLINED, event);
+        } else if (event instanceof GameEvent.Traded traded) {
+            writeTag(out, TRADED, event);
+            out.writeByte(traded.partner());
+            writeResources(out, traded.offer());
+            writeResources(out, traded.request());
+        } else if (event instanceof GameEvent.DevelopmentCardBought developmentCardBought) {
+            writeTag(out, DEVELOPMENT_CARD_BOUGHT, event);
+            out.writeByte(developmentCardBought.cardType().ordinal());
+        } else if (event instanceof GameEvent.DevelopmentCardPlayed developmentCardPlayed) {
+            writeTag(out, DEVELOPMENT_CARD_PLAYED, event);
+            out.writeByte(developmentCardPlayed.cardType().ordinal());
+        } else if (event instanceof GameEvent.TurnEnded) {
+            writeTag(out, TURN_ENDED, event);
+        } else {
+            throw new IllegalArgumentException("Unknown event " + event);
+        }
+    }
+
+    /**
+     * Reads an event written by {@link #writeEvent(DataOutput, GameEvent)}.
+     *
+     * @param in  the input
+     * @param tag the tag of the event, which has already been read
+     * @return the event
+     * @throws IOException if reading fails or the input does not contain a valid event
+     */
+    static GameEvent readEvent(final DataInput in, final int tag) throws IOException {
+        final int player = in.readByte();
+        try {
+            return switch (tag) {
+                case DICE_ROLLED -> new GameEvent.DiceRolled(player, in.readByte());
+                case VILLAGE_BUILT -> new GameEvent.VillageBuilt(player, in.readInt());
+                case VILLAGE_UPGRADED -> new GameEvent.VillageUpgraded(player, in.readInt());
+                case ROAD_BUILT -> new GameEvent.RoadBuilt(player, in.readInt());
+                case ROBBER_MOVED -> new GameEvent.RobberMoved(player, in.readInt());
+                case CARD_STOLEN -> new GameEvent.CardStolen(player, in.readByte(), RESOURCE_TYPES[in.readByte()]);
+                case CARDS_SELECTED -> new GameEvent.CardsSelected(player, readResources(in));
+                case TRADE_OFFERED -> new GameEvent.TradeOffered(player, readResources(in), readResources(in));
+                case TRADE_DECLINED -> new GameEvent.TradeDeclined(player);
+                case TRADED -> new GameEvent.Traded(player, in.readByte(), readResources(in), readResources(in));
+                case DEVELOPMENT_CARD_BOUGHT -> new GameEvent.DevelopmentCardBought(
+                    player,
+                    DEVELOPMENT_CARD_TYPES[in.readByte()]
+                );
+                case DEVELOPMENT_CARD_PLAYED -> new GameEvent.DevelopmentCardPlayed(
+                    player,
+                    DEVELOPMENT_CARD_TYPES[in.readByte()]
+                );
+                case TURN_ENDED -> new GameEvent.TurnEnded(player);
+                default -> throw new IOException("Unknown event tag " + tag);
+            };
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Invalid event", e);
+        }
+    }
+
+    private static void writeTag(final DataOutput out, final int tag, final GameEvent event) throws IOException {
+        out.writeByte(tag);
+        out.writeByte(event.player());
+    }
+
+    private static void writeResources(final DataOutput out, final Map<ResourceType, Integer> resources)
+    throws IOException {
+        for (final ResourceType resourceType : RESOURCE_TYPES) {
+            out.writeShort(resources.getOrDefault(resourceType, 0));
+        }
+    }
+
+    private static Map<ResourceType, Integer> readResources(final DataInput in) throws IOException {
+        final Map<ResourceType, Integer> resources = new HashMap<>();
+        for (final ResourceType resourceType : RESOURCE_TYPES) {
+            final int amount = in.readShort();
+            if (amount != 0) {
+                resources.put(resourceType, amount);
+            }
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,82 @@
+package projekt.controller;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs many games concurrently in one process.
+ * Every game runs in its own {@link GameScope}. Where the runtime supports virtual threads, a game waiting for
+ * the action of a human player parks its virtual thread and does not occupy a platform thread.
+ * <p>
+ * The {@link AiController}s of a game do not decide on its game loop thread: every decision runs as a task of its
+ * own, see {@link GameThreads#startDecision(Runnable)}, and the game loop only parks while it waits. A decision that
+ * misses the timeout of the game's {@link ActionRetryPolicy} is cancelled and replaced by a fallback action,
+ * and cancelling a game also cancels the decision it waits for.
+ * <p>
+ * Closing the host cancels all games that are still running and waits for them to end.
+ */
+public final class GameHost implements AutoCloseable {
+
+    private final Set<GameScope> games = ConcurrentHashMap.newKeySet();
+    private final AtomicLong gameIds = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Starts the given game in a new scope.
+     * The scope is removed from this host as soon as the game has ended.
+     *
+     * @param gameController the controller of the game to start
+     * @return the scope the game runs in, e.g., to {@linkplain GameScope#join() wait for} or
+     *     {@linkplain GameScope#cancel() cancel} the game
+     * @throws IllegalStateException if this host is closed
+     */
+    public GameScope start(final GameController gameController) {
+        return start(gameController::startGame);
+    }
+
+    /**
+     * Starts the given task, which plays a game on the calling thread, in a new scope.
+     * The scope is removed from this host as soon as the task has ended.
+     *
+     * @param game the task playing the game
+     * @return the scope the game runs in
+     * @throws IllegalStateException if this host is closed
+     */
+    public GameScope start(final Runnable game) {
+        if (closed) {
+            throw new IllegalStateException("Game host is closed");
+        }
+        final GameScope scope = new GameScope("Game-" + gameIds.incrementAndGet());
+        games.add(scope);
+        scope.fork(() -> {
+            try {
+                game.run();
+            } finally {
+                games.remove(scope);
+            }
+        });
+        return scope;
+    }
+
+    /**
+     * Returns the scopes of the games that are currently running.
+     *
+     * @return an unmodifiable view of the running games
+     */
+    public Set<GameScope> getGames() {
+        return Collections.unmodifiableSet(games);
+    }
+
+    /**
+     * Cancels all running games and waits until they have ended.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (final GameScope game : games) {
+            game.close();
+        }
+    }
+}
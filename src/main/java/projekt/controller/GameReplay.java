@@ -0,0 +1,272 @@
+package projekt.controller;
+
+import projekt.controller.actions.IllegalActionException;
+import projekt.model.BoardTopology;
+import projekt.model.GameState;
+import projekt.model.ResourceType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a game recorded in a {@link GameEventLog}.
+ * The events are applied to {@link GameSnapshot}s without a user interface, {@link PlayerController}s or AI,
+ * so a game is replayed in a fraction of the time it took to play. Every {@code checkpointInterval} events,
+ * the snapshot is kept as a checkpoint, so the state after any event is reached from the closest checkpoint by
+ * applying at most {@code checkpointInterval - 1} events.
+ * <p>
+ * The regular turns of a game are numbered from {@code 0} in the order they were played; each one starts with
+ * a {@link GameEvent.DiceRolled} event. The placements of the first round precede the first turn.
+ */
+public final class GameReplay {
+
+    /**
+     * The default number of events between two checkpoints.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 256;
+
+    private final GameSnapshot initialState;
+    private final List<GameEvent> events;
+    private final int checkpointInterval;
+    private final GameSnapshot[] checkpoints;
+    private final int[] turnStarts;
+    private final GameSnapshot finalState;
+
+    /**
+     * Replays the given events, starting with the given state.
+     *
+     * @param initialState       the state of the game before the first event
+     * @param events             the events
+     * @param checkpointInterval the number of events between two checkpoints
+     * @throws IllegalArgumentException if the interval is not positive or an event cannot be applied
+     */
+    public GameReplay(final GameSnapshot initialState, final List<GameEvent> events, final int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.initialState = initialState;
+        this.events = List.copyOf(events);
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints = new GameSnapshot[this.events.size() / checkpointInterval + 1];
+
+        final List<Integer> turns = new ArrayList<>();
+        GameSnapshot state = initialState;
+        for (int i = 0; i < this.events.size(); i++) {
+            if (i % checkpointInterval == 0) {
+                checkpoints[i / checkpointInterval] = state;
+            }
+            if (this.events.get(i) instanceof GameEvent.DiceRolled) {
+                turns.add(i);
+            }
+            state = apply(state, i);
+        }
+        if (this.events.size() % checkpointInterval == 0) {
+            checkpoints[checkpoints.length - 1] = state;
+        }
+        this.turnStarts = turns.stream().mapToInt(Integer::intValue).toArray();
+        this.finalState = state;
+    }
+
+    /**
+     * Replays the given events with the {@linkplain #DEFAULT_CHECKPOINT_INTERVAL default checkpoint interval}.
+     *
+     * @param initialState the state of the game before the first event
+     * @param events       the events
+     * @throws IllegalArgumentException if an event cannot be applied
+     */
+    public GameReplay(final GameSnapshot initialState, final List<GameEvent> events) {
+        this(initialState, events, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Reads and replays the log written by a {@link GameEventLog}.
+     * A truncated last event, e.g., of a game that was not closed properly, is ignored.
+     *
+     * @param in                 the stream to read from
+     * @param checkpointInterval the number of events between two checkpoints
+     * @return the replay
+     * @throws IOException              if reading fails or the stream does not contain a log
+     * @throws IllegalArgumentException if an event cannot be applied
+     */
+    public static GameReplay read(final InputStream in, final int checkpointInterval) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != GameEventLog.MAGIC) {
+            throw new IOException("Not a game event log");
+        }
+        final int version = data.readUnsignedShort();
+        if (version != GameEventLog.VERSION) {
+            throw new IOException("Unsupported game event log version " + version);
+        }
+        final GameSnapshot initialState = GameSnapshot.readFrom(data);
+        final List<GameEvent> events = new ArrayList<>();
+        for (int tag = data.read(); tag >= 0; tag = data.read()) {
+            try {
+                events.add(GameEventLog.readEvent(data, tag));
+            } catch (final EOFException e) {
+                break;
+            }
+        }
+        return new GameReplay(initialState, events, checkpointInterval);
+    }
+
+    /**
+     * Reads and replays the log in the given file with the
+     * {@linkplain #DEFAULT_CHECKPOINT_INTERVAL default checkpoint interval}.
+     *
+     * @param path the file
+     * @return the replay
+     * @throws IOException              if reading fails or the file does not contain a log
+     * @throws IllegalArgumentException if an event cannot be applied
+     * @see #read(InputStream, int)
+     */
+    public static GameReplay read(final Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in, DEFAULT_CHECKPOINT_INTERVAL);
+        }
+    }
+
+    /**
+     * Returns the recorded events.
+     *
+     * @return an unmodifiable list of the events
+     */
+    public List<GameEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the number of regular turns played.
+     *
+     * @return the number of turns
+     */
+    public int getTurnCount() {
+        return turnStarts.length;
+    }
+
+    /**
+     * Returns the index of the first event of the given turn, its dice roll.
+     *
+     * @param turn the turn
+     * @return the index of the event
+     * @throws IndexOutOfBoundsException if there is no such turn
+     */
+    public int getTurnStart(final int turn) {
+        return turnStarts[turn];
+    }
+
+    /**
+     * Returns the state of the game before the first event.
+     *
+     * @return the initial state
+     */
+    public GameSnapshot getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * Returns the state of the game after all events.
+     *
+     * @return the final state
+     */
+    public GameSnapshot getFinalState() {
+        return finalState;
+    }
+
+    /**
+     * Returns the state of the game after the given number of events.
+     *
+     * @param eventCount the number of events
+     * @return the state
+     * @throws IndexOutOfBoundsException if there are less events
+     */
+    public GameSnapshot getState(final int eventCount) {
+        if (eventCount < 0 || eventCount > events.size()) {
+            throw new IndexOutOfBoundsException(eventCount);
+        }
+        GameSnapshot state = checkpoints[eventCount / checkpointInterval];
+        for (int i = eventCount / checkpointInterval * checkpointInterval; i < eventCount; i++) {
+            state = apply(state, i);
+        }
+        return state;
+    }
+
+    /**
+     * Returns the state of the game at the start of the given turn, before the dice were rolled.
+     *
+     * @param turn the turn
+     * @return the state
+     * @throws IndexOutOfBoundsException if there is no such turn
+     */
+    public GameSnapshot getStateAtTurn(final int turn) {
+        return getState(getTurnStart(turn));
+    }
+
+    /**
+     * Returns a new, independent game state matching the state of the game after the given number of events.
+     *
+     * @param eventCount the number of events
+     * @return the game state
+     * @throws IndexOutOfBoundsException if there are less events
+     * @see GameSnapshot#toGameState()
+     */
+    public GameState toGameState(final int eventCount) {
+        return getState(eventCount).toGameState();
+    }
+
+    /**
+     * Returns the state after the event with the given index has been applied to the given state.
+     *
+     * @param state the state before the event
+     * @param index the index of the event
+     * @return the new state
+     * @throws IllegalArgumentException if the event cannot be applied
+     */
+    private GameSnapshot apply(final GameSnapshot state, final int index) {
+        final GameEvent event = events.get(index);
+        try {
+            return apply(state, event);
+        } catch (final IllegalActionException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format("Event %d (%s) cannot be replayed", index, event), e);
+        }
+    }
+
+    private static GameSnapshot apply(final GameSnapshot state, final GameEvent event) throws IllegalActionException {
+        final int player = event.player();
+        if (event instanceof GameEvent.DiceRolled diceRolled) {
+            return state.withFirstRound(false).rollDice(diceRolled.roll());
+        } else if (event instanceof GameEvent.VillageBuilt villageBuilt) {
+            return state.placeVillage(player, villageBuilt.intersection());
+        } else if (event instanceof GameEvent.VillageUpgraded villageUpgraded) {
+            return state.placeCity(player, villageUpgraded.intersection());
+        } else if (event instanceof GameEvent.RoadBuilt roadBuilt) {
+            return state.placeRoad(player, roadBuilt.edge());
+        } else if (event instanceof GameEvent.RobberMoved robberMoved) {
+            return state.moveRobber(robberMoved.tile());
+        } else if (event instanceof GameEvent.CardStolen cardStolen) {
+            return state.stealCard(player, cardStolen.victim(), cardStolen.resourceType());
+        } else if (event instanceof GameEvent.CardsSelected cardsSelected) {
+            return state.selectCards(player, cardsSelected.resources());
+        } else if (event instanceof GameEvent.Traded traded) {
+            if (traded.partner() != BoardTopology.NONE) {
+                return state.tradeWithPlayer(player, traded.partner(), traded.offer(), traded.request());
+            }
+            final Map.Entry<ResourceType, Integer> offer = traded.offer().entrySet().iterator().next();
+            final ResourceType request = traded.request().keySet().iterator().next();
+            return state.tradeWithBank(player, offer.getKey(), offer.getValue(), request);
+        } else if (event instanceof GameEvent.DevelopmentCardBought developmentCardBought) {
+            return state.buyDevelopmentCard(player, developmentCardBought.cardType());
+        } else if (event instanceof GameEvent.DevelopmentCardPlayed developmentCardPlayed) {
+            return state.playDevelopmentCard(player, developmentCardPlayed.cardType());
+        }
+        // offering and declining trades and ending turns do not change the state
+        return state;
+    }
+}
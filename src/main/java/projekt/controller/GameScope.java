@@ -0,0 +1,146 @@
+package projekt.controller;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The threads of a single game, modelled after structured concurrency: threads are {@linkplain #fork(Runnable) forked}
+ * into the scope, and the scope does not end before all of them have ended.
+ * If one of them fails, the scope records the failure and {@linkplain #cancel() cancels} the others,
+ * so a game never keeps running with parts of it missing.
+ * <p>
+ * Threads are created by {@link GameThreads}, so they are virtual threads where the runtime supports them.
+ * Cancelling interrupts the threads; a game loop notices this before its next turn or action, or while waiting
+ * for the action of a player, and ends with a {@link java.util.concurrent.CancellationException}, which is not
+ * recorded as a failure since the scope was cancelled.
+ */
+public final class GameScope implements AutoCloseable {
+
+    private final String name;
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new scope.
+     *
+     * @param name the name of the scope, used to name its threads
+     */
+    public GameScope(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of this scope.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Starts a new thread in this scope running the given task.
+     *
+     * @param task the task to run
+     * @return the started thread
+     * @throws IllegalStateException if this scope is cancelled or closed
+     */
+    public Thread fork(final Runnable task) {
+        if (cancelled || closed) {
+            throw new IllegalStateException(String.format("Scope %s does not accept new threads", name));
+        }
+        final Thread thread = GameThreads.newThread(name + "-" + threads.size(), () -> {
+            try {
+                task.run();
+            } catch (final Throwable e) {
+                if (!cancelled && failure.compareAndSet(null, e)) {
+                    cancel();
+                }
+            }
+        });
+        threads.add(thread);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Waits until all threads of this scope have ended.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void join() throws InterruptedException {
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Interrupts all threads of this scope. Threads forked after cancelling are rejected.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (final Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Returns whether this scope was cancelled, either explicitly or because a thread failed.
+     *
+     * @return whether this scope was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns whether all threads of this scope have ended.
+     *
+     * @return whether this scope is done
+     */
+    public boolean isDone() {
+        for (final Thread thread : threads) {
+            if (thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the exception the first failed thread of this scope ended with.
+     *
+     * @return the exception, {@code null} if no thread has failed
+     */
+    public Throwable getFailure() {
+        return failure.get();
+    }
+
+    /**
+     * Cancels this scope if it is not done yet and waits until all of its threads have ended.
+     * If the calling thread is interrupted while waiting, it keeps waiting and its interrupt status is restored.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (!isDone()) {
+            cancel();
+        }
+        boolean interrupted = false;
+        for (final Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,1277 @@
+package projekt.controller;
+
+import javafx.scene.paint.Color;
+import projekt.Config;
+import projekt.controller.actions.BuildRoadAction;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.IllegalActionException;
+import projekt.controller.actions.PlayDevelopmentCardAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.SelectCardsAction;
+import projekt.controller.actions.SelectRobberTileAction;
+import projekt.controller.actions.StealCardAction;
+import projekt.controller.actions.TradeAction;
+import projekt.controller.actions.UpgradeVillageAction;
+import projekt.model.BoardTopology;
+import projekt.model.DevelopmentCardType;
+import projekt.model.GameState;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.ResourceType;
+import projekt.model.TilePosition;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Port;
+import projekt.model.buildings.Settlement;
+import projekt.model.tiles.Tile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * A compact, immutable copy of the mutable part of a game: roads, settlements, the robber and the hands of all
+ * players. Everything is bit-packed into a single {@code long[]}, so copying a snapshot is a single array clone;
+ * the parts that never change during a game (tiles, roll numbers, ports and players) are shared between all
+ * snapshots of a game.
+ * <p>
+ * Snapshots are meant for AI search, {@linkplain GameReplay replays} and {@linkplain SavedGame save files}:
+ * {@link #apply(int, PlayerAction)} and the other transitions return a new snapshot and leave this one untouched.
+ * Players are referred to by their index in {@link GameState#getPlayers()}, intersections, edges and tiles by their
+ * {@link BoardTopology} id.
+ * <p>
+ * The rules match those of {@link PlayerController}. Actions that depend on chance are split up:
+ * the dice are applied with {@link #rollDice(int)} and bought development cards with
+ * {@link #buyDevelopmentCard(int, DevelopmentCardType)}.
+ * Trades between players and the JavaFX state of the game (colors aside) are not part of a snapshot.
+ */
+public final class GameSnapshot {
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final DevelopmentCardType[] DEVELOPMENT_CARD_TYPES = DevelopmentCardType.values();
+    private static final Settlement.Type[] SETTLEMENT_TYPES = Settlement.Type.values();
+    private static final Tile.Type[] TILE_TYPES = Tile.Type.values();
+    private static final Map<Integer, BoardTopology> TOPOLOGIES = new ConcurrentHashMap<>();
+
+    private static final int ROAD_BITS = 3;
+    private static final int SETTLEMENT_BITS = 5;
+    private static final int SETTLEMENT_OWNER_BITS = 3;
+    private static final int RESOURCE_BITS = Long.SIZE / RESOURCE_TYPES.length;
+    private static final int DEVELOPMENT_CARD_BITS = Long.SIZE / DEVELOPMENT_CARD_TYPES.length;
+
+    private static final int HEADER = 0;
+    private static final int ROBBER_BITS = 16;
+    private static final int NO_ROBBER = (1 << ROBBER_BITS) - 1;
+    private static final int FIRST_ROUND_SHIFT = 16;
+    private static final int FREE_ROADS_SHIFT = 17;
+    private static final int SELECTION_SHIFT = 19;
+
+    private static final int SELECTION_DROP = 0;
+    private static final int SELECTION_INVENTION = 1;
+    private static final int SELECTION_MONOPOLY = 2;
+
+    private static final int WORDS_PER_PLAYER = 4;
+    private static final int RESOURCES = 0;
+    private static final int DEVELOPMENT_CARDS = 1;
+    private static final int PLAYED_DEVELOPMENT_CARDS = 2;
+    private static final int PIECES = 3;
+    private static final int PIECE_BITS = 8;
+    private static final int ROADS = 0;
+
+    private static final int[] ROAD_COST = costOf(Config.ROAD_BUILDING_COST);
+    private static final int[] VILLAGE_COST = costOf(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.VILLAGE));
+    private static final int[] CITY_COST = costOf(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.CITY));
+    private static final int[] DEVELOPMENT_CARD_COST = costOf(Config.DEVELOPMENT_CARD_COST);
+
+    private final Layout layout;
+    private final long[] data;
+
+    private GameSnapshot(final Layout layout, final long[] data) {
+        this.layout = layout;
+        this.data = data;
+    }
+
+    /**
+     * Creates a snapshot of the given game state outside of the first round.
+     *
+     * @param state the game state, its grid must be a {@link HexGridImpl}
+     * @return the snapshot
+     * @see #of(GameState, boolean)
+     */
+    public static GameSnapshot of(final GameState state) {
+        return of(state, false);
+    }
+
+    /**
+     * Creates a snapshot of the given game state.
+     *
+     * @param state      the game state, its grid must be a {@link HexGridImpl}
+     * @param firstRound whether the game is in its first round, in which villages and roads are placed for free
+     * @return the snapshot
+     * @throws IllegalArgumentException if the grid is not a {@link HexGridImpl} or a player holds more cards
+     *                                  than a snapshot can store
+     */
+    public static GameSnapshot of(final GameState state, final boolean firstRound) {
+        if (!(state.getGrid() instanceof HexGridImpl grid)) {
+            throw new IllegalArgumentException("Snapshots require a HexGridImpl");
+        }
+        final Layout layout = Layout.of(grid, state.getPlayers());
+        final GameSnapshot snapshot = new GameSnapshot(layout, new long[layout.length]);
+        final long[] data = snapshot.data;
+        final BoardTopology topology = layout.topology;
+
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            final Player owner = grid.getEdgeById(edge).getRoadOwner();
+            if (owner != null && layout.playerIndex(owner) != BoardTopology.NONE) {
+                snapshot.setRoad(edge, layout.playerIndex(owner));
+            }
+        }
+        for (int intersection = 0; intersection < topology.intersectionCount(); intersection++) {
+            final Settlement settlement = grid.getIntersectionById(intersection).getSettlement();
+            if (settlement != null && layout.playerIndex(settlement.owner()) != BoardTopology.NONE) {
+                snapshot.setSettlement(intersection, layout.playerIndex(settlement.owner()), settlement.type());
+            }
+        }
+        final TilePosition robber = grid.getRobberPosition();
+        final int robberTile = robber == null ? BoardTopology.NONE : topology.tileId(robber);
+        data[HEADER] = (robberTile == BoardTopology.NONE ? NO_ROBBER : robberTile)
+            | (firstRound ? 1L : 0L) << FIRST_ROUND_SHIFT;
+
+        for (int player = 0; player < layout.players.size(); player++) {
+            final Player source = layout.players.get(player);
+            for (final ResourceType resourceType : RESOURCE_TYPES) {
+                snapshot.setCount(player, RESOURCES, RESOURCE_BITS, resourceType.ordinal(),
+                                  source.getResources().getOrDefault(resourceType, 0));
+            }
+            for (final DevelopmentCardType cardType : DEVELOPMENT_CARD_TYPES) {
+                snapshot.setCount(player, DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS, cardType.ordinal(),
+                                  source.getDevelopmentCards().getOrDefault(cardType, 0));
+            }
+            snapshot.setCount(player, PLAYED_DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS,
+                              DevelopmentCardType.KNIGHT.ordinal(), source.getKnightsPlayed());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Creates a new, independent game state with a new grid and new players that matches this snapshot.
+     * Cities with reactor cannot be built through the public API and are restored as cities.
+     * Of the played development cards, snapshots only know the knights.
+     *
+     * @return the new game state
+     */
+    public GameState toGameState() {
+        final BoardTopology topology = layout.topology;
+        final HexGridImpl grid = createGrid(topology.radius(), layout.tileTypes, layout.rollNumbers, layout.ports);
+        final GameState state = new GameState(grid, new ArrayList<>());
+        final List<Player> players = new ArrayList<>(layout.playerInfos.length);
+        for (int player = 0; player < layout.playerInfos.length; player++) {
+            final PlayerInfo source = layout.playerInfos[player];
+            final Player target = new PlayerImpl.Builder(source.id())
+                .name(source.name())
+                .color(source.color())
+                .ai(source.ai())
+                .build(grid);
+            for (final ResourceType resourceType : RESOURCE_TYPES) {
+                final int amount = getResource(player, resourceType);
+                if (amount > 0) {
+                    target.addResource(resourceType, amount);
+                }
+            }
+            for (final DevelopmentCardType cardType : DEVELOPMENT_CARD_TYPES) {
+                for (int i = getDevelopmentCards(player, cardType); i > 0; i--) {
+                    target.addDevelopmentCard(cardType);
+                }
+            }
+            for (int i = getKnightsPlayed(player); i > 0; i--) {
+                target.addDevelopmentCard(DevelopmentCardType.KNIGHT);
+                target.removeDevelopmentCard(DevelopmentCardType.KNIGHT);
+            }
+            state.addPlayer(target);
+            players.add(target);
+        }
+
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            final int owner = getRoadOwner(edge);
+            if (owner != BoardTopology.NONE) {
+                grid.getEdgeById(edge).getRoadOwnerProperty().setValue(players.get(owner));
+            }
+        }
+        for (int intersection = 0; intersection < topology.intersectionCount(); intersection++) {
+            final int owner = getSettlementOwner(intersection);
+            if (owner != BoardTopology.NONE) {
+                final Player player = players.get(owner);
+                grid.getIntersectionById(intersection).placeVillage(player, true);
+                if (getSettlementType(intersection) != Settlement.Type.VILLAGE) {
+                    grid.getIntersectionById(intersection).upgradeSettlement(player);
+                }
+            }
+        }
+        final int robberTile = getRobberTile();
+        grid.setRobberPosition(robberTile == BoardTopology.NONE ? null : topology.tilePosition(robberTile));
+        return state;
+    }
+
+    // Queries
+
+    /**
+     * Returns the topology of the grid this snapshot was taken of.
+     *
+     * @return the topology
+     */
+    public BoardTopology getTopology() {
+        return layout.topology;
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return layout.playerInfos.length;
+    }
+
+    /**
+     * Returns the index of the given player.
+     *
+     * @param player the player
+     * @return the index of the player, {@link BoardTopology#NONE} if the player is not part of this game,
+     *     which is the case for all players if the snapshot was {@linkplain #readFrom(ByteBuffer) read}
+     */
+    public int getPlayerIndex(final Player player) {
+        return layout.playerIndex(player);
+    }
+
+    /**
+     * Returns whether the game is in its first round.
+     *
+     * @return whether the game is in its first round
+     */
+    public boolean isFirstRound() {
+        return (data[HEADER] >>> FIRST_ROUND_SHIFT & 1) != 0;
+    }
+
+    /**
+     * Returns the owner of the road on the given edge.
+     *
+     * @param edge the edge's id
+     * @return the index of the owner, {@link BoardTopology#NONE} if there is no road
+     */
+    public int getRoadOwner(final int edge) {
+        return get(data, layout.roads, ROAD_BITS, edge) - 1;
+    }
+
+    /**
+     * Returns the owner of the settlement on the given intersection.
+     *
+     * @param intersection the intersection's id
+     * @return the index of the owner, {@link BoardTopology#NONE} if there is no settlement
+     */
+    public int getSettlementOwner(final int intersection) {
+        return (get(data, layout.settlements, SETTLEMENT_BITS, intersection) & (1 << SETTLEMENT_OWNER_BITS) - 1) - 1;
+    }
+
+    /**
+     * Returns the type of the settlement on the given intersection.
+     *
+     * @param intersection the intersection's id
+     * @return the type of the settlement, {@code null} if there is no settlement
+     */
+    public Settlement.Type getSettlementType(final int intersection) {
+        final int type = get(data, layout.settlements, SETTLEMENT_BITS, intersection) >>> SETTLEMENT_OWNER_BITS;
+        return type == 0 ? null : SETTLEMENT_TYPES[type - 1];
+    }
+
+    /**
+     * Returns the tile the robber is on.
+     *
+     * @return the tile's id, {@link BoardTopology#NONE} if the robber is not on the grid
+     */
+    public int getRobberTile() {
+        final int robber = (int) data[HEADER] & NO_ROBBER;
+        return robber == NO_ROBBER ? BoardTopology.NONE : robber;
+    }
+
+    /**
+     * Returns the amount of the given resource the given player holds.
+     *
+     * @param player       the player's index
+     * @param resourceType the resource
+     * @return the amount
+     */
+    public int getResource(final int player, final ResourceType resourceType) {
+        return getCount(player, RESOURCES, RESOURCE_BITS, resourceType.ordinal());
+    }
+
+    /**
+     * Returns the total number of resource cards the given player holds.
+     *
+     * @param player the player's index
+     * @return the number of resource cards
+     */
+    public int getTotalResources(final int player) {
+        int total = 0;
+        for (final ResourceType resourceType : RESOURCE_TYPES) {
+            total += getResource(player, resourceType);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of development cards of the given type the given player holds.
+     *
+     * @param player   the player's index
+     * @param cardType the type of development card
+     * @return the number of cards
+     */
+    public int getDevelopmentCards(final int player, final DevelopmentCardType cardType) {
+        return getCount(player, DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS, cardType.ordinal());
+    }
+
+    /**
+     * Returns the number of knight cards the given player has played.
+     *
+     * @param player the player's index
+     * @return the number of knights played
+     */
+    public int getKnightsPlayed(final int player) {
+        return getCount(player, PLAYED_DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS, DevelopmentCardType.KNIGHT.ordinal());
+    }
+
+    /**
+     * Returns the victory points of the given player, counted like {@link Player#getVictoryPoints()}.
+     *
+     * @param player the player's index
+     * @return the victory points
+     */
+    public int getVictoryPoints(final int player) {
+        int victoryPoints = getDevelopmentCards(player, DevelopmentCardType.VICTORY_POINTS);
+        for (final Settlement.Type type : SETTLEMENT_TYPES) {
+            victoryPoints += countSettlements(player, type) * type.resourceAmount;
+        }
+        return victoryPoints;
+    }
+
+    /**
+     * Returns the ratio at which the given player can trade the given resource with the bank,
+     * determined like {@link Player#getTradeRatio(ResourceType)}.
+     *
+     * @param player       the player's index
+     * @param resourceType the resource to trade
+     * @return the trade ratio
+     */
+    public int getTradeRatio(final int player, final ResourceType resourceType) {
+        int ratio = 4;
+        for (int intersection = 0; intersection < layout.topology.intersectionCount(); intersection++) {
+            final Port port = layout.intersectionPorts[intersection];
+            if (port != null && getSettlementOwner(intersection) == player) {
+                if (port.resourceType() == null) {
+                    ratio = Math.min(ratio, 3);
+                } else if (port.resourceType() == resourceType) {
+                    return 2;
+                }
+            }
+        }
+        return ratio;
+    }
+
+    // Legality checks
+
+    /**
+     * Returns whether the given player may place a village on the given intersection.
+     * The intersection and its neighbours must be free of settlements and, outside the first round,
+     * the player needs a road at the intersection and the resources for a village.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     * @return whether the village may be built
+     */
+    public boolean canBuildVillage(final int player, final int intersection) {
+        if (getSettlementOwner(intersection) != BoardTopology.NONE || countSettlements(player, Settlement.Type.VILLAGE) >= Config.MAX_VILLAGES) {
+            return false;
+        }
+        final BoardTopology topology = layout.topology;
+        boolean connected = false;
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int neighbour = topology.intersectionNeighbour(intersection, i);
+            if (neighbour != BoardTopology.NONE && getSettlementOwner(neighbour) != BoardTopology.NONE) {
+                return false;
+            }
+            final int edge = topology.intersectionEdge(intersection, i);
+            connected |= edge != BoardTopology.NONE && getRoadOwner(edge) == player;
+        }
+        return isFirstRound() || connected && hasResources(player, VILLAGE_COST);
+    }
+
+    /**
+     * Returns whether the given player may upgrade the village on the given intersection to a city.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     * @return whether the village may be upgraded
+     */
+    public boolean canUpgradeVillage(final int player, final int intersection) {
+        return getSettlementOwner(intersection) == player
+            && getSettlementType(intersection) == Settlement.Type.VILLAGE
+            && countSettlements(player, Settlement.Type.CITY) < Config.MAX_CITIES
+            && hasResources(player, CITY_COST);
+    }
+
+    /**
+     * Returns whether the given player may place a road on the given edge.
+     * In the first round, the edge must be next to a settlement of the player without roads;
+     * afterwards, like in {@link PlayerController#buildRoad(TilePosition, TilePosition)}, one of its intersections
+     * must hold a settlement of the player, or no settlement and one of the player's roads. The edge must be next
+     * to at most three of the player's roads, and the player needs the resources for a road, unless a road
+     * building card is being played.
+     *
+     * @param player the player's index
+     * @param edge   the edge's id
+     * @return whether the road may be built
+     */
+    public boolean canBuildRoad(final int player, final int edge) {
+        if (getRoadOwner(edge) != BoardTopology.NONE || countRoads(player) >= Config.MAX_ROADS) {
+            return false;
+        }
+        final int intersection0 = layout.topology.edgeIntersection(edge, 0);
+        final int intersection1 = layout.topology.edgeIntersection(edge, 1);
+        if (isFirstRound()) {
+            return isUnconnectedSettlement(player, intersection0) || isUnconnectedSettlement(player, intersection1);
+        }
+        final int connectedRoads = countRoadsAt(player, intersection0) + countRoadsAt(player, intersection1);
+        return (canExtendRoadsAt(player, intersection0) || canExtendRoadsAt(player, intersection1))
+            && connectedRoads < 4
+            && (getFreeRoads() > 0 || hasResources(player, ROAD_COST));
+    }
+
+    // Transitions
+
+    /**
+     * Returns the snapshot after the given player executed the given action.
+     * Supported are building and upgrading, moving the robber, stealing, selecting cards, trading with the bank,
+     * playing development cards and ending the turn.
+     *
+     * @param player the player's index
+     * @param action the action
+     * @return the new snapshot
+     * @throws IllegalActionException   if the action is not allowed
+     * @throws IllegalArgumentException if the action is not supported by snapshots
+     */
+    public GameSnapshot apply(final int player, final PlayerAction action) throws IllegalActionException {
+        if (action instanceof BuildVillageAction buildVillageAction) {
+            return buildVillage(player, intersectionId(buildVillageAction.intersection()));
+        } else if (action instanceof UpgradeVillageAction upgradeVillageAction) {
+            return upgradeVillage(player, intersectionId(upgradeVillageAction.intersection()));
+        } else if (action instanceof BuildRoadAction buildRoadAction) {
+            final Edge edge = buildRoadAction.edge();
+            return buildRoad(player, layout.topology.edgeId(edge.getPosition1(), edge.getPosition2()));
+        } else if (action instanceof SelectRobberTileAction selectRobberTileAction) {
+            return moveRobber(layout.topology.tileId(selectRobberTileAction.tilePosition()));
+        } else if (action instanceof StealCardAction stealCardAction) {
+            return stealCard(player, layout.playerIndex(stealCardAction.playerToStealFrom()), stealCardAction.resourceToSteal());
+        } else if (action instanceof SelectCardsAction selectCardsAction) {
+            return selectCards(player, selectCardsAction.selectedCards());
+        } else if (action instanceof TradeAction tradeAction && tradeAction.payload().withBank()) {
+            final Map.Entry<ResourceType, Integer> offer = tradeAction.payload().offer().entrySet().iterator().next();
+            final ResourceType request = tradeAction.payload().request().keySet().iterator().next();
+            return tradeWithBank(player, offer.getKey(), offer.getValue(), request);
+        } else if (action instanceof PlayDevelopmentCardAction playDevelopmentCardAction) {
+            return playDevelopmentCard(player, playDevelopmentCardAction.developmentCard());
+        } else if (action instanceof EndTurnAction) {
+            return this;
+        }
+        throw new IllegalArgumentException(String.format("%s cannot be applied to a snapshot", action));
+    }
+
+    /**
+     * Returns the snapshot after the given player placed a village on the given intersection.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     * @return the new snapshot
+     * @throws IllegalActionException if the village may not be built
+     * @see #canBuildVillage(int, int)
+     */
+    public GameSnapshot buildVillage(final int player, final int intersection) throws IllegalActionException {
+        if (!canBuildVillage(player, intersection)) {
+            throw new IllegalActionException("Cannot build village");
+        }
+        return placeVillage(player, intersection);
+    }
+
+    /**
+     * Returns the snapshot after the given player placed a village on the given intersection,
+     * without checking whether the village may be built there.
+     * Used to replay games, whose actions have already been checked by a {@link PlayerController}.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     * @return the new snapshot
+     */
+    GameSnapshot placeVillage(final int player, final int intersection) {
+        final GameSnapshot next = copy();
+        if (!isFirstRound()) {
+            next.pay(player, VILLAGE_COST);
+        }
+        next.setSettlement(intersection, player, Settlement.Type.VILLAGE);
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player upgraded the village on the given intersection to a city.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     * @return the new snapshot
+     * @throws IllegalActionException if the village may not be upgraded
+     * @see #canUpgradeVillage(int, int)
+     */
+    public GameSnapshot upgradeVillage(final int player, final int intersection) throws IllegalActionException {
+        if (!canUpgradeVillage(player, intersection)) {
+            throw new IllegalActionException("Cannot upgrade village");
+        }
+        return placeCity(player, intersection);
+    }
+
+    /**
+     * Returns the snapshot after the given player upgraded the village on the given intersection to a city,
+     * without checking whether the village may be upgraded.
+     *
+     * @param player       the player's index
+     * @param intersection the intersection's id
+     * @return the new snapshot
+     * @see #placeVillage(int, int)
+     */
+    GameSnapshot placeCity(final int player, final int intersection) {
+        final GameSnapshot next = copy();
+        next.pay(player, CITY_COST);
+        next.setSettlement(intersection, player, Settlement.Type.CITY);
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player placed a road on the given edge.
+     *
+     * @param player the player's index
+     * @param edge   the edge's id
+     * @return the new snapshot
+     * @throws IllegalActionException if the road may not be built
+     * @see #canBuildRoad(int, int)
+     */
+    public GameSnapshot buildRoad(final int player, final int edge) throws IllegalActionException {
+        if (!canBuildRoad(player, edge)) {
+            throw new IllegalActionException("Cannot build road");
+        }
+        return placeRoad(player, edge);
+    }
+
+    /**
+     * Returns the snapshot after the given player placed a road on the given edge,
+     * without checking whether the road may be built there.
+     *
+     * @param player the player's index
+     * @param edge   the edge's id
+     * @return the new snapshot
+     * @see #placeVillage(int, int)
+     */
+    GameSnapshot placeRoad(final int player, final int edge) {
+        final GameSnapshot next = copy();
+        if (getFreeRoads() > 0) {
+            next.setHeader(FREE_ROADS_SHIFT, 2, getFreeRoads() - 1);
+        } else if (!isFirstRound()) {
+            next.pay(player, ROAD_COST);
+        }
+        next.setRoad(edge, player);
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the robber has been moved to the given tile.
+     *
+     * @param tile the tile's id
+     * @return the new snapshot
+     * @throws IllegalActionException if the tile is not part of the grid
+     */
+    public GameSnapshot moveRobber(final int tile) throws IllegalActionException {
+        if (tile < 0 || tile >= layout.topology.tileCount()) {
+            throw new IllegalActionException("Tile is not part of the grid");
+        }
+        final GameSnapshot next = copy();
+        next.data[HEADER] = next.data[HEADER] & ~NO_ROBBER | tile;
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player stole a resource from another player.
+     *
+     * @param player       the stealing player's index
+     * @param victim       the index of the player to steal from
+     * @param resourceType the resource to steal
+     * @return the new snapshot
+     * @throws IllegalActionException if the other player does not have the resource
+     */
+    public GameSnapshot stealCard(final int player, final int victim, final ResourceType resourceType)
+    throws IllegalActionException {
+        if (victim == BoardTopology.NONE || getResource(victim, resourceType) == 0) {
+            throw new IllegalActionException("Player does not have the selected resource");
+        }
+        final GameSnapshot next = copy();
+        next.addResource(victim, resourceType, -1);
+        next.addResource(player, resourceType, 1);
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player selected the given resources.
+     * Unless a development card is being played, the selected resources are dropped;
+     * after an invention card they are added to the player's hand and after a monopoly card
+     * all other players hand over their cards of the selected resource.
+     *
+     * @param player    the player's index
+     * @param resources the selected resources
+     * @return the new snapshot
+     * @throws IllegalActionException if the player cannot drop the selected resources
+     */
+    public GameSnapshot selectCards(final int player, final Map<ResourceType, Integer> resources)
+    throws IllegalActionException {
+        final GameSnapshot next = copy();
+        next.setHeader(SELECTION_SHIFT, 2, SELECTION_DROP);
+        switch ((int) (data[HEADER] >>> SELECTION_SHIFT & 3)) {
+            case SELECTION_INVENTION -> {
+                for (final Map.Entry<ResourceType, Integer> entry : resources.entrySet()) {
+                    next.addResource(player, entry.getKey(), entry.getValue());
+                }
+            }
+            case SELECTION_MONOPOLY -> {
+                final ResourceType resourceType = resources.keySet().iterator().next();
+                for (int other = 0; other < getPlayerCount(); other++) {
+                    if (other != player) {
+                        final int amount = getResource(other, resourceType);
+                        next.addResource(other, resourceType, -amount);
+                        next.addResource(player, resourceType, amount);
+                    }
+                }
+            }
+            default -> {
+                final int[] amounts = costOf(resources);
+                if (!hasResources(player, amounts)) {
+                    throw new IllegalActionException("Player does not have the selected resources");
+                }
+                next.pay(player, amounts);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player traded with the bank.
+     *
+     * @param player      the player's index
+     * @param offerType   the resource to offer
+     * @param offerAmount the amount to offer, a multiple of the player's trade ratio
+     * @param request     the resource to receive
+     * @return the new snapshot
+     * @throws IllegalActionException if the trade is not possible
+     */
+    public GameSnapshot tradeWithBank(
+        final int player,
+        final ResourceType offerType,
+        final int offerAmount,
+        final ResourceType request
+    ) throws IllegalActionException {
+        final int ratio = getTradeRatio(player, offerType);
+        if (offerAmount % ratio != 0 || getResource(player, offerType) < offerAmount) {
+            throw new IllegalActionException("Trade is not possible");
+        }
+        final GameSnapshot next = copy();
+        next.addResource(player, offerType, -offerAmount);
+        next.addResource(player, request, offerAmount / ratio);
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player traded with another player.
+     *
+     * @param player  the index of the player offering the trade
+     * @param partner the index of the player accepting the trade
+     * @param offer   the resources the offering player hands over
+     * @param request the resources the offering player receives
+     * @return the new snapshot
+     * @throws IllegalActionException if one of the players does not have the resources
+     */
+    public GameSnapshot tradeWithPlayer(
+        final int player,
+        final int partner,
+        final Map<ResourceType, Integer> offer,
+        final Map<ResourceType, Integer> request
+    ) throws IllegalActionException {
+        final int[] offerAmounts = costOf(offer);
+        final int[] requestAmounts = costOf(request);
+        if (!hasResources(player, offerAmounts) || !hasResources(partner, requestAmounts)) {
+            throw new IllegalActionException("Trade is not possible");
+        }
+        final GameSnapshot next = copy();
+        next.pay(player, offerAmounts);
+        next.pay(partner, requestAmounts);
+        for (final ResourceType resourceType : RESOURCE_TYPES) {
+            next.addResource(player, resourceType, requestAmounts[resourceType.ordinal()]);
+            next.addResource(partner, resourceType, offerAmounts[resourceType.ordinal()]);
+        }
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player bought the given development card.
+     *
+     * @param player   the player's index
+     * @param cardType the drawn development card
+     * @return the new snapshot
+     * @throws IllegalActionException if the player cannot afford a development card
+     */
+    public GameSnapshot buyDevelopmentCard(final int player, final DevelopmentCardType cardType)
+    throws IllegalActionException {
+        if (!hasResources(player, DEVELOPMENT_CARD_COST)) {
+            throw new IllegalActionException("Cannot buy development card");
+        }
+        final GameSnapshot next = copy();
+        next.pay(player, DEVELOPMENT_CARD_COST);
+        next.setCount(player, DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS, cardType.ordinal(),
+                      getDevelopmentCards(player, cardType) + 1);
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given player played the given development card.
+     * The effect of the card is completed by the following actions: moving the robber and stealing after a knight,
+     * two free roads after road building and selecting cards after invention and monopoly.
+     *
+     * @param player   the player's index
+     * @param cardType the development card to play
+     * @return the new snapshot
+     * @throws IllegalActionException if the player does not have the card
+     */
+    public GameSnapshot playDevelopmentCard(final int player, final DevelopmentCardType cardType)
+    throws IllegalActionException {
+        if (getDevelopmentCards(player, cardType) == 0) {
+            throw new IllegalActionException("Player does not have the selected development card");
+        }
+        final GameSnapshot next = copy();
+        next.setCount(player, DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS, cardType.ordinal(),
+                      getDevelopmentCards(player, cardType) - 1);
+        next.setCount(player, PLAYED_DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS, cardType.ordinal(),
+                      getCount(player, PLAYED_DEVELOPMENT_CARDS, DEVELOPMENT_CARD_BITS, cardType.ordinal()) + 1);
+        switch (cardType) {
+            case ROAD_BUILDING -> next.setHeader(FREE_ROADS_SHIFT, 2, 2);
+            case INVENTION -> next.setHeader(SELECTION_SHIFT, 2, SELECTION_INVENTION);
+            case MONOPOLY -> next.setHeader(SELECTION_SHIFT, 2, SELECTION_MONOPOLY);
+            default -> {}
+        }
+        return next;
+    }
+
+    /**
+     * Returns the snapshot after the given dice roll distributed its resources,
+     * like {@link GameController#distributeResources(int)}.
+     * A roll of seven distributes nothing; the robber is moved with {@link #moveRobber(int)}.
+     *
+     * @param roll the dice roll
+     * @return the new snapshot
+     */
+    public GameSnapshot rollDice(final int roll) {
+        if (roll < 0 || roll >= layout.tilesByRoll.length || layout.tilesByRoll[roll].length == 0) {
+            return this;
+        }
+        final GameSnapshot next = copy();
+        final BoardTopology topology = layout.topology;
+        final int robberTile = getRobberTile();
+        for (final int tile : layout.tilesByRoll[roll]) {
+            if (tile == robberTile) {
+                continue;
+            }
+            final ResourceType resourceType = layout.tileTypes[tile].resourceType;
+            for (final TilePosition.IntersectionDirection direction : TilePosition.IntersectionDirection.values()) {
+                final int intersection = topology.tileIntersection(tile, direction);
+                final int owner = getSettlementOwner(intersection);
+                if (owner != BoardTopology.NONE) {
+                    next.addResource(owner, resourceType, getSettlementType(intersection).resourceAmount);
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given first round flag.
+     *
+     * @param firstRound whether the game is in its first round
+     * @return the new snapshot
+     */
+    public GameSnapshot withFirstRound(final boolean firstRound) {
+        if (firstRound == isFirstRound()) {
+            return this;
+        }
+        final GameSnapshot next = copy();
+        next.setHeader(FIRST_ROUND_SHIFT, 1, firstRound ? 1 : 0);
+        return next;
+    }
+
+    // Serialization
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} writes.
+     *
+     * @return the size of this snapshot in bytes
+     */
+    public int encodedSize() {
+        int size = Integer.BYTES + Byte.BYTES;
+        for (final PlayerInfo player : layout.playerInfos) {
+            size += Integer.BYTES + Short.BYTES + player.name().getBytes(StandardCharsets.UTF_8).length
+                + 4 * Double.BYTES + Byte.BYTES;
+        }
+        return size + 2 * layout.tileTypes.length + 2 * layout.ports.length + layout.intersectionPorts.length
+            + Long.BYTES * data.length;
+    }
+
+    /**
+     * Writes this snapshot, including the parts shared with the other snapshots of the game, to the given buffer.
+     * The buffer must have at least {@link #encodedSize()} bytes remaining.
+     *
+     * @param buffer the buffer
+     * @see #readFrom(ByteBuffer)
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        buffer.putInt(layout.topology.radius());
+        buffer.put((byte) layout.playerInfos.length);
+        for (final PlayerInfo player : layout.playerInfos) {
+            final byte[] name = player.name().getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(player.id());
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+            buffer.putDouble(player.color().getRed());
+            buffer.putDouble(player.color().getGreen());
+            buffer.putDouble(player.color().getBlue());
+            buffer.putDouble(player.color().getOpacity());
+            buffer.put((byte) (player.ai() ? 1 : 0));
+        }
+        for (int tile = 0; tile < layout.tileTypes.length; tile++) {
+            buffer.put((byte) layout.tileTypes[tile].ordinal());
+            buffer.put((byte) layout.rollNumbers[tile]);
+        }
+        for (final Port port : layout.ports) {
+            buffer.put((byte) (port == null ? 0 : port.ratio()));
+            buffer.put((byte) (port == null || port.resourceType() == null ? -1 : port.resourceType().ordinal()));
+        }
+        // the port of an intersection is stored as the index of the connected edge it belongs to
+        for (int intersection = 0; intersection < layout.intersectionPorts.length; intersection++) {
+            buffer.put((byte) layout.intersectionPortEdge(intersection));
+        }
+        for (final long word : data) {
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * Writes this snapshot to the given output, preceded by its size.
+     *
+     * @param out the output
+     * @throws IOException if writing fails
+     * @see #readFrom(DataInput)
+     */
+    public void writeTo(final DataOutput out) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(encodedSize());
+        writeTo(buffer);
+        out.writeInt(buffer.capacity());
+        out.write(buffer.array());
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(ByteBuffer)}.
+     * No grid or players are created, so reading is cheap enough to load thousands of snapshots at once;
+     * {@link #toGameState()} creates them when needed.
+     *
+     * @param buffer the buffer, positioned at the start of the snapshot
+     * @return the snapshot
+     * @throws IOException if the buffer does not contain a valid snapshot
+     */
+    public static GameSnapshot readFrom(final ByteBuffer buffer) throws IOException {
+        try {
+            final int radius = buffer.getInt();
+            if (radius < 1) {
+                throw new IOException("Invalid grid radius " + radius);
+            }
+            final int playerCount = Byte.toUnsignedInt(buffer.get());
+            final PlayerInfo[] playerInfos = new PlayerInfo[playerCount];
+            for (int player = 0; player < playerCount; player++) {
+                final int id = buffer.getInt();
+                final byte[] name = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(name);
+                final Color color = new Color(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+                playerInfos[player] = new PlayerInfo(id, new String(name, StandardCharsets.UTF_8), color, buffer.get() != 0);
+            }
+            final BoardTopology topology = topologyOf(radius);
+            final Tile.Type[] tileTypes = new Tile.Type[topology.tileCount()];
+            final int[] rollNumbers = new int[topology.tileCount()];
+            for (int tile = 0; tile < tileTypes.length; tile++) {
+                tileTypes[tile] = TILE_TYPES[Byte.toUnsignedInt(buffer.get())];
+                rollNumbers[tile] = Byte.toUnsignedInt(buffer.get());
+            }
+            final Port[] ports = new Port[topology.edgeCount()];
+            for (int edge = 0; edge < ports.length; edge++) {
+                final int ratio = Byte.toUnsignedInt(buffer.get());
+                final int resourceType = buffer.get();
+                if (ratio != 0) {
+                    ports[edge] = resourceType < 0 ? new Port(ratio) : new Port(ratio, RESOURCE_TYPES[resourceType]);
+                }
+            }
+            final Port[] intersectionPorts = new Port[topology.intersectionCount()];
+            for (int intersection = 0; intersection < intersectionPorts.length; intersection++) {
+                final int index = buffer.get();
+                if (index != BoardTopology.NONE) {
+                    intersectionPorts[intersection] = ports[topology.intersectionEdge(intersection, index)];
+                }
+            }
+
+            final Layout layout = new Layout(topology, List.of(), playerInfos, tileTypes, rollNumbers, ports,
+                                             intersectionPorts);
+            final long[] data = new long[layout.length];
+            buffer.asLongBuffer().get(data);
+            buffer.position(buffer.position() + Long.BYTES * data.length);
+            return new GameSnapshot(layout, data);
+        } catch (final BufferUnderflowException e) {
+            throw new IOException("Snapshot is truncated", e);
+        } catch (final ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Invalid snapshot", e);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in the input
+     * @return the snapshot
+     * @throws IOException if reading fails or the input does not contain a valid snapshot
+     * @see #readFrom(ByteBuffer)
+     */
+    public static GameSnapshot readFrom(final DataInput in) throws IOException {
+        final int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid snapshot size " + size);
+        }
+        final byte[] bytes = new byte[size];
+        in.readFully(bytes);
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o
+            || o instanceof GameSnapshot other && layout == other.layout && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    // Internals
+
+    private static HexGridImpl createGrid(
+        final int radius,
+        final Tile.Type[] tileTypes,
+        final int[] rollNumbers,
+        final Port[] ports
+    ) {
+        final BoardTopology topology = topologyOf(radius);
+        final Iterator<Integer> rollNumberIterator = Arrays.stream(rollNumbers).filter(rollNumber -> rollNumber != 0)
+            .iterator();
+        final Iterator<Tile.Type> tileTypeIterator = Arrays.asList(tileTypes).iterator();
+        return new HexGridImpl(
+            radius,
+            rollNumberIterator::next,
+            tileTypeIterator::next,
+            (position, direction) -> ports[topology.edgeId(position, direction)]
+        );
+    }
+
+    private static BoardTopology topologyOf(final int radius) {
+        return TOPOLOGIES.computeIfAbsent(radius, BoardTopology::new);
+    }
+
+    private GameSnapshot copy() {
+        return new GameSnapshot(layout, data.clone());
+    }
+
+    private int getFreeRoads() {
+        return (int) (data[HEADER] >>> FREE_ROADS_SHIFT & 3);
+    }
+
+    private void setHeader(final int shift, final int bits, final int value) {
+        final long mask = ((1L << bits) - 1) << shift;
+        data[HEADER] = data[HEADER] & ~mask | (long) value << shift;
+    }
+
+    private void setRoad(final int edge, final int player) {
+        set(data, layout.roads, ROAD_BITS, edge, player + 1);
+        setCount(player, PIECES, PIECE_BITS, ROADS, countRoads(player) + 1);
+    }
+
+    private void setSettlement(final int intersection, final int player, final Settlement.Type type) {
+        final int oldOwner = getSettlementOwner(intersection);
+        if (oldOwner != BoardTopology.NONE) {
+            final Settlement.Type oldType = getSettlementType(intersection);
+            setCount(oldOwner, PIECES, PIECE_BITS, oldType.ordinal() + 1, countSettlements(oldOwner, oldType) - 1);
+        }
+        set(data, layout.settlements, SETTLEMENT_BITS, intersection,
+            (type.ordinal() + 1) << SETTLEMENT_OWNER_BITS | player + 1);
+        setCount(player, PIECES, PIECE_BITS, type.ordinal() + 1, countSettlements(player, type) + 1);
+    }
+
+    private int countSettlements(final int player, final Settlement.Type type) {
+        return getCount(player, PIECES, PIECE_BITS, type.ordinal() + 1);
+    }
+
+    private int countRoads(final int player) {
+        return getCount(player, PIECES, PIECE_BITS, ROADS);
+    }
+
+    private int countRoadsAt(final int player, final int intersection) {
+        int count = 0;
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int edge = layout.topology.intersectionEdge(intersection, i);
+            if (edge != BoardTopology.NONE && getRoadOwner(edge) == player) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean canExtendRoadsAt(final int player, final int intersection) {
+        final int owner = getSettlementOwner(intersection);
+        return owner == player || owner == BoardTopology.NONE && countRoadsAt(player, intersection) > 0;
+    }
+
+    private boolean isUnconnectedSettlement(final int player, final int intersection) {
+        if (getSettlementOwner(intersection) != player) {
+            return false;
+        }
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int edge = layout.topology.intersectionEdge(intersection, i);
+            if (edge != BoardTopology.NONE && getRoadOwner(edge) != BoardTopology.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int intersectionId(final Intersection intersection) {
+        final Iterator<TilePosition> positions = intersection.getAdjacentTilePositions().iterator();
+        return layout.topology.intersectionId(positions.next(), positions.next(), positions.next());
+    }
+
+    private boolean hasResources(final int player, final int[] amounts) {
+        for (int resource = 0; resource < amounts.length; resource++) {
+            if (getCount(player, RESOURCES, RESOURCE_BITS, resource) < amounts[resource]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void pay(final int player, final int[] amounts) {
+        for (int resource = 0; resource < amounts.length; resource++) {
+            if (amounts[resource] != 0) {
+                addResource(player, RESOURCE_TYPES[resource], -amounts[resource]);
+            }
+        }
+    }
+
+    private void addResource(final int player, final ResourceType resourceType, final int amount) {
+        setCount(player, RESOURCES, RESOURCE_BITS, resourceType.ordinal(), getResource(player, resourceType) + amount);
+    }
+
+    private int getCount(final int player, final int word, final int bits, final int index) {
+        return get(data, layout.playerOffset(player) + word, bits, index);
+    }
+
+    private void setCount(final int player, final int word, final int bits, final int index, final int value) {
+        if (value < 0 || value >= 1 << bits) {
+            throw new IllegalArgumentException(String.format("Count %d does not fit into a snapshot", value));
+        }
+        set(data, layout.playerOffset(player) + word, bits, index, value);
+    }
+
+    private static int get(final long[] data, final int offset, final int bits, final int index) {
+        final int perWord = Long.SIZE / bits;
+        return (int) (data[offset + index / perWord] >>> index % perWord * bits) & (1 << bits) - 1;
+    }
+
+    private static void set(final long[] data, final int offset, final int bits, final int index, final int value) {
+        final int perWord = Long.SIZE / bits;
+        final int shift = index % perWord * bits;
+        final long mask = ((1L << bits) - 1) << shift;
+        data[offset + index / perWord] = data[offset + index / perWord] & ~mask | (long) value << shift;
+    }
+
+    private static int[] costOf(final Map<ResourceType, Integer> cost) {
+        final int[] amounts = new int[RESOURCE_TYPES.length];
+        for (final Map.Entry<ResourceType, Integer> entry : cost.entrySet()) {
+            amounts[entry.getKey().ordinal()] += entry.getValue();
+        }
+        return amounts;
+    }
+
+    /**
+     * The identity of a player, as needed to recreate them.
+     *
+     * @param id    the player's id
+     * @param name  the player's name
+     * @param color the player's color
+     * @param ai    whether the player is controlled by an AI
+     */
+    private record PlayerInfo(int id, String name, Color color, boolean ai) {
+    }
+
+    /**
+     * The parts of a game that do not change while it is played and the positions of the packed fields.
+     * Shared by all snapshots of a game.
+     */
+    private static final class Layout {
+
+        private final BoardTopology topology;
+        private final List<Player> players;
+        private final PlayerInfo[] playerInfos;
+        private final Tile.Type[] tileTypes;
+        private final int[] rollNumbers;
+        private final int[][] tilesByRoll;
+        private final Port[] ports;
+        private final Port[] intersectionPorts;
+
+        private final int roads;
+        private final int settlements;
+        private final int playerWords;
+        private final int length;
+
+        /**
+         * Creates a new layout.
+         *
+         * @param topology          the topology of the grid
+         * @param players           the players of a running game, empty if the layout was read
+         * @param playerInfos       the identities of the players
+         * @param tileTypes         the types of the tiles
+         * @param rollNumbers       the roll numbers of the tiles
+         * @param ports             the ports of the edges
+         * @param intersectionPorts the ports of the intersections
+         */
+        private Layout(
+            final BoardTopology topology,
+            final List<Player> players,
+            final PlayerInfo[] playerInfos,
+            final Tile.Type[] tileTypes,
+            final int[] rollNumbers,
+            final Port[] ports,
+            final Port[] intersectionPorts
+        ) {
+            if (playerInfos.length >= 1 << SETTLEMENT_OWNER_BITS) {
+                throw new IllegalArgumentException("Too many players for a snapshot");
+            }
+            this.topology = topology;
+            this.players = List.copyOf(players);
+            this.playerInfos = playerInfos;
+            this.tileTypes = tileTypes;
+            this.rollNumbers = rollNumbers;
+            this.ports = ports;
+            this.intersectionPorts = intersectionPorts;
+            final int maxRoll = Arrays.stream(rollNumbers).max().orElse(0);
+            this.tilesByRoll = new int[maxRoll + 1][];
+            for (int roll = 0; roll <= maxRoll; roll++) {
+                final int currentRoll = roll;
+                tilesByRoll[roll] = IntStream.range(0, tileTypes.length)
+                    .filter(tile -> rollNumbers[tile] == currentRoll && tileTypes[tile].resourceType != null)
+                    .toArray();
+            }
+
+            this.roads = HEADER + 1;
+            this.settlements = roads + words(topology.edgeCount(), ROAD_BITS);
+            this.playerWords = settlements + words(topology.intersectionCount(), SETTLEMENT_BITS);
+            this.length = playerWords + WORDS_PER_PLAYER * playerInfos.length;
+        }
+
+        /**
+         * Creates the layout of a game played on the given grid.
+         *
+         * @param grid    the grid
+         * @param players the players
+         * @return the layout
+         */
+        private static Layout of(final HexGridImpl grid, final List<Player> players) {
+            final BoardTopology topology = grid.getTopology();
+            final PlayerInfo[] playerInfos = players.stream()
+                .map(player -> new PlayerInfo(player.getID(), player.getName(), player.getColor(), player.isAi()))
+                .toArray(PlayerInfo[]::new);
+            final Tile.Type[] tileTypes = new Tile.Type[topology.tileCount()];
+            final int[] rollNumbers = new int[topology.tileCount()];
+            for (int tile = 0; tile < tileTypes.length; tile++) {
+                tileTypes[tile] = grid.getTileById(tile).getType();
+                rollNumbers[tile] = grid.getTileById(tile).getRollNumber();
+            }
+            final Port[] ports = new Port[topology.edgeCount()];
+            for (int edge = 0; edge < ports.length; edge++) {
+                ports[edge] = grid.getEdgeById(edge).getPort();
+            }
+            final Port[] intersectionPorts = new Port[topology.intersectionCount()];
+            for (int intersection = 0; intersection < intersectionPorts.length; intersection++) {
+                intersectionPorts[intersection] = grid.getIntersectionById(intersection).getPort();
+            }
+            return new Layout(topology, players, playerInfos, tileTypes, rollNumbers, ports, intersectionPorts);
+        }
+
+        private int playerOffset(final int player) {
+            return playerWords + WORDS_PER_PLAYER * player;
+        }
+
+        private int playerIndex(final Player player) {
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i) == player) {
+                    return i;
+                }
+            }
+            return BoardTopology.NONE;
+        }
+
+        /**
+         * Returns the index of the connected edge whose port the given intersection has.
+         *
+         * @param intersection the intersection's id
+         * @return the index, {@link BoardTopology#NONE} if the intersection has no port
+         */
+        private int intersectionPortEdge(final int intersection) {
+            if (intersectionPorts[intersection] != null) {
+                for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+                    final int edge = topology.intersectionEdge(intersection, i);
+                    if (edge != BoardTopology.NONE && ports[edge] == intersectionPorts[intersection]) {
+                        return i;
+                    }
+                }
+            }
+            return BoardTopology.NONE;
+        }
+
+        private static int words(final int entries, final int bits) {
+            final int perWord = Long.SIZE / bits;
+            return (entries + perWord - 1) / perWord;
+        }
+    }
+}
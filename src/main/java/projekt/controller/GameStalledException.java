@@ -0,0 +1,17 @@
+package projekt.controller;
+
+/**
+ * An exception that is thrown when a player in a headless game does not provide an action.
+ *
+ * @see GameController#setHeadless(boolean)
+ */
+public class GameStalledException extends RuntimeException {
+    /**
+     * Creates a new game stalled exception.
+     *
+     * @param message The message of the exception.
+     */
+    public GameStalledException(final String message) {
+        super(message);
+    }
+}
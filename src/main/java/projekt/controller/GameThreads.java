@@ -0,0 +1,112 @@
+package projekt.controller;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Creates the threads game loops run on.
+ * On a runtime that supports virtual threads (Java 21 and later), game threads are virtual: a game waiting for
+ * an action parks without occupying a platform thread, so thousands of concurrent games only cost the memory of
+ * their state and stacks. On older runtimes, game threads are platform daemon threads.
+ * <p>
+ * A game is cancelled by interrupting its thread. The game loop and the players check for this before every turn
+ * and action, see {@link #checkCancelled()}.
+ * <p>
+ * The decisions of {@link AiController}s do not run on the game thread but as tasks of their own, see
+ * {@link #startDecision(Runnable)}. The game thread only parks while it waits for a decision, so it can give up on
+ * a decision that takes too long, or be cancelled while waiting, even if the AI never returns.
+ * <p>
+ * The project targets Java 17, so virtual threads are looked up reflectively instead of being referenced directly.
+ */
+public final class GameThreads {
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle UNSTARTED;
+    private static final Executor DECISIONS;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle unstarted = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            final Class<?> virtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilder));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+        } catch (final ReflectiveOperationException e) {
+            // virtual threads are not supported by this runtime
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+        DECISIONS = isVirtual()
+            ? task -> newThread("AiDecision", task).start()
+            : Executors.newCachedThreadPool(task -> newThread("AiDecision", task));
+    }
+
+    private GameThreads() {
+    }
+
+    /**
+     * Returns whether game threads are virtual threads on this runtime.
+     *
+     * @return whether virtual threads are used
+     */
+    public static boolean isVirtual() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Ends the game running on the current thread if the thread was interrupted, e.g., because the
+     * {@link GameScope} of the game was cancelled. The interrupt status is kept.
+     *
+     * @throws CancellationException if the current thread was interrupted
+     */
+    static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Game was cancelled");
+        }
+    }
+
+    /**
+     * Starts the given decision of an {@link AiController} as a task of its own.
+     * On a runtime that supports virtual threads, every decision gets a new virtual thread, otherwise decisions
+     * share a pool of platform daemon threads. Cancelling the returned future interrupts the decision.
+     *
+     * @param decision the decision
+     * @return the future of the decision
+     */
+    static Future<?> startDecision(final Runnable decision) {
+        final FutureTask<Void> task = new FutureTask<>(decision, null);
+        DECISIONS.execute(task);
+        return task;
+    }
+
+    /**
+     * Creates a new, unstarted game thread running the given task.
+     *
+     * @param name the name of the thread
+     * @param task the task to run
+     * @return the new thread
+     */
+    public static Thread newThread(final String name, final Runnable task) {
+        final Thread thread;
+        if (isVirtual()) {
+            try {
+                thread = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(), task);
+            } catch (final Throwable e) {
+                throw new IllegalStateException("Could not create virtual thread", e);
+            }
+        } else {
+            thread = new Thread(task);
+            thread.setDaemon(true);
+        }
+        thread.setName(name);
+        return thread;
+    }
+}
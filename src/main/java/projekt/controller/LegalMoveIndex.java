@@ -0,0 +1,272 @@
+package projekt.controller;
+
+import projekt.model.BoardListener;
+import projekt.model.BoardTopology;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.TilePosition;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keeps track of where a single {@link Player} may build villages, cities and roads.
+ * The index listens to the {@link HexGridImpl} it was created for and, whenever a road or settlement changes,
+ * only re-evaluates the intersections and edges next to the change.
+ * The sets it returns are immutable, iterate in id order and are reused until one of their elements changes.
+ * <p>
+ * The rules match those of {@link PlayerController}: a village needs an intersection without settlement and
+ * without adjacent settlements (and a connected road of the player, except in the first round),
+ * a road needs an empty edge next to one to three of the player's roads
+ * (in the first round: next to a settlement of the player without any roads).
+ * Whether the player can afford a building is not part of the index.
+ */
+final class LegalMoveIndex implements BoardListener {
+
+    private final HexGridImpl grid;
+    private final BoardTopology topology;
+    private final Player player;
+
+    private final int[] roadsAt;
+    private final int[] playerRoadsAt;
+
+    private final BitSet villageSites = new BitSet();
+    private final BitSet connectedVillageSites = new BitSet();
+    private final BitSet upgradeableVillages = new BitSet();
+    private final BitSet firstRoundRoadSites = new BitSet();
+    private final BitSet roadSites = new BitSet();
+
+    private Set<Intersection> villageSitesView;
+    private Set<Intersection> connectedVillageSitesView;
+    private Set<Intersection> upgradeableVillagesView;
+    private Set<Edge> firstRoundRoadSitesView;
+    private Set<Edge> roadSitesView;
+
+    /**
+     * Creates a new index for the given player and registers it with the given grid.
+     *
+     * @param grid   the grid to index
+     * @param player the player to index the legal moves of
+     */
+    LegalMoveIndex(final HexGridImpl grid, final Player player) {
+        this.grid = grid;
+        this.topology = grid.getTopology();
+        this.player = player;
+        this.roadsAt = new int[topology.intersectionCount()];
+        this.playerRoadsAt = new int[topology.intersectionCount()];
+        rebuild();
+        grid.addBoardListener(this);
+    }
+
+    /**
+     * Returns all intersections where the player may place a village.
+     *
+     * @param firstRound whether it is the first round, in which no connected road is needed
+     * @return the intersections
+     */
+    Set<Intersection> getBuildableVillageIntersections(final boolean firstRound) {
+        if (firstRound) {
+            if (villageSitesView == null) {
+                villageSitesView = intersectionsOf(villageSites);
+            }
+            return villageSitesView;
+        }
+        if (connectedVillageSitesView == null) {
+            connectedVillageSitesView = intersectionsOf(connectedVillageSites);
+        }
+        return connectedVillageSitesView;
+    }
+
+    /**
+     * Returns all intersections with a village of the player.
+     *
+     * @return the intersections
+     */
+    Set<Intersection> getUpgradeableVillageIntersections() {
+        if (upgradeableVillagesView == null) {
+            upgradeableVillagesView = intersectionsOf(upgradeableVillages);
+        }
+        return upgradeableVillagesView;
+    }
+
+    /**
+     * Returns all edges where the player may place a road.
+     *
+     * @param firstRound whether it is the first round
+     * @return the edges
+     */
+    Set<Edge> getBuildableRoadEdges(final boolean firstRound) {
+        if (firstRound) {
+            if (firstRoundRoadSitesView == null) {
+                firstRoundRoadSitesView = edgesOf(firstRoundRoadSites);
+            }
+            return firstRoundRoadSitesView;
+        }
+        if (roadSitesView == null) {
+            roadSitesView = edgesOf(roadSites);
+        }
+        return roadSitesView;
+    }
+
+    @Override
+    public void roadChanged(final Edge edge, final Player oldOwner, final Player newOwner) {
+        final int id = topology.edgeId(edge.getPosition1(), edge.getPosition2());
+        final int roads = (newOwner != null ? 1 : 0) - (oldOwner != null ? 1 : 0);
+        final int playerRoads = (player.equals(newOwner) ? 1 : 0) - (player.equals(oldOwner) ? 1 : 0);
+        for (int i = 0; i < 2; i++) {
+            final int intersection = topology.edgeIntersection(id, i);
+            roadsAt[intersection] += roads;
+            playerRoadsAt[intersection] += playerRoads;
+        }
+        for (int i = 0; i < 2; i++) {
+            final int intersection = topology.edgeIntersection(id, i);
+            updateIntersection(intersection);
+            updateEdgesAt(intersection);
+        }
+    }
+
+    @Override
+    public void settlementChanged(
+        final Intersection intersection,
+        final Settlement oldSettlement,
+        final Settlement newSettlement
+    ) {
+        final Iterator<TilePosition> positions = intersection.getAdjacentTilePositions().iterator();
+        final int id = topology.intersectionId(positions.next(), positions.next(), positions.next());
+        updateIntersection(id);
+        updateEdgesAt(id);
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int neighbour = topology.intersectionNeighbour(id, i);
+            if (neighbour != BoardTopology.NONE) {
+                updateIntersection(neighbour);
+            }
+        }
+    }
+
+    @Override
+    public void elementsReplaced() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes the whole index from the current state of the grid.
+     */
+    private void rebuild() {
+        for (int intersection = 0; intersection < topology.intersectionCount(); intersection++) {
+            roadsAt[intersection] = 0;
+            playerRoadsAt[intersection] = 0;
+        }
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            final Player owner = grid.getEdgeById(edge).getRoadOwner();
+            if (owner != null) {
+                for (int i = 0; i < 2; i++) {
+                    final int intersection = topology.edgeIntersection(edge, i);
+                    roadsAt[intersection]++;
+                    if (player.equals(owner)) {
+                        playerRoadsAt[intersection]++;
+                    }
+                }
+            }
+        }
+        for (int intersection = 0; intersection < topology.intersectionCount(); intersection++) {
+            updateIntersection(intersection);
+        }
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            updateEdge(edge);
+        }
+    }
+
+    /**
+     * Re-evaluates whether a village may be placed on or upgraded at the given intersection.
+     *
+     * @param id the intersection's id
+     */
+    private void updateIntersection(final int id) {
+        final Intersection intersection = grid.getIntersectionById(id);
+        boolean free = !intersection.hasSettlement();
+        for (int i = 0; free && i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int neighbour = topology.intersectionNeighbour(id, i);
+            free = neighbour == BoardTopology.NONE || !grid.getIntersectionById(neighbour).hasSettlement();
+        }
+        final boolean village = intersection.playerHasSettlement(player)
+            && intersection.getSettlement().type() == Settlement.Type.VILLAGE;
+
+        if (update(villageSites, id, free)) {
+            villageSitesView = null;
+        }
+        if (update(connectedVillageSites, id, free && playerRoadsAt[id] > 0)) {
+            connectedVillageSitesView = null;
+        }
+        if (update(upgradeableVillages, id, village)) {
+            upgradeableVillagesView = null;
+        }
+    }
+
+    /**
+     * Re-evaluates all edges connected to the given intersection.
+     *
+     * @param intersection the intersection's id
+     */
+    private void updateEdgesAt(final int intersection) {
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int edge = topology.intersectionEdge(intersection, i);
+            if (edge != BoardTopology.NONE) {
+                updateEdge(edge);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates whether a road may be placed on the given edge.
+     *
+     * @param id the edge's id
+     */
+    private void updateEdge(final int id) {
+        final boolean empty = !grid.getEdgeById(id).hasRoad();
+        final int intersection0 = topology.edgeIntersection(id, 0);
+        final int intersection1 = topology.edgeIntersection(id, 1);
+        final int connectedRoads = playerRoadsAt[intersection0] + playerRoadsAt[intersection1];
+        final boolean firstRoundSite = empty && (isUnconnectedSettlement(intersection0) || isUnconnectedSettlement(intersection1));
+
+        if (update(firstRoundRoadSites, id, firstRoundSite)) {
+            firstRoundRoadSitesView = null;
+        }
+        if (update(roadSites, id, empty && connectedRoads > 0 && connectedRoads < 4)) {
+            roadSitesView = null;
+        }
+    }
+
+    private boolean isUnconnectedSettlement(final int intersection) {
+        return roadsAt[intersection] == 0 && grid.getIntersectionById(intersection).playerHasSettlement(player);
+    }
+
+    private static boolean update(final BitSet bits, final int index, final boolean value) {
+        if (bits.get(index) == value) {
+            return false;
+        }
+        bits.set(index, value);
+        return true;
+    }
+
+    private Set<Intersection> intersectionsOf(final BitSet ids) {
+        final Set<Intersection> intersections = new LinkedHashSet<>();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            intersections.add(grid.getIntersectionById(id));
+        }
+        return Collections.unmodifiableSet(intersections);
+    }
+
+    private Set<Edge> edgesOf(final BitSet ids) {
+        final Set<Edge> edges = new LinkedHashSet<>();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            edges.add(grid.getEdgeById(id));
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+}
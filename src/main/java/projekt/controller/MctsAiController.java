@@ -0,0 +1,531 @@
+package projekt.controller;
+
+import javafx.beans.property.Property;
+import projekt.controller.actions.AcceptTradeAction;
+import projekt.controller.actions.BuildRoadAction;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.actions.SelectCardsAction;
+import projekt.controller.actions.SelectRobberTileAction;
+import projekt.controller.actions.StealCardAction;
+import projekt.controller.actions.TradeAction;
+import projekt.controller.actions.UpgradeVillageAction;
+import projekt.model.BoardTopology;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.ResourceType;
+import projekt.model.TilePosition.IntersectionDirection;
+import projekt.model.TradePayload;
+import projekt.model.buildings.Edge;
+import projekt.model.tiles.Tile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * An AI controller that chooses its builds with a Monte Carlo tree search.
+ * For every decision of a regular turn, several independent searches are run in parallel, each from the same
+ * {@link GameSnapshot} of the game with its own random stream (root parallelism). Their root statistics are
+ * merged and the most visited move is played. Since the searches share no state, the work scales with the
+ * number of cores, and with an iteration budget the decision only depends on the game's random streams.
+ * <p>
+ * Decisions outside of the regular turn, like the initial placement or the robber, use simple heuristics.
+ * <p>
+ * The constructor uses the default settings, so {@code MctsAiController::new} can be used as an
+ * {@link AiControllerFactory}. Other settings are configured with a {@link Builder}:
+ * <pre>{@code
+ * AiControllerFactory factory = new MctsAiController.Builder()
+ *     .timeBudget(Duration.ofMillis(200))
+ *     .iterations(0)
+ *     .build();
+ * }</pre>
+ */
+public class MctsAiController extends AiController {
+
+    /**
+     * The default number of iterations per decision.
+     */
+    public static final int DEFAULT_ITERATIONS = 1000;
+
+    /**
+     * The default number of rounds played by a rollout before the position is evaluated.
+     */
+    public static final int DEFAULT_ROLLOUT_ROUNDS = 20;
+
+    /**
+     * The default exploration constant of the UCT formula.
+     */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    private static final int MAX_BUILDS_PER_TURN = 10;
+
+    private final HexGridImpl grid;
+    private final Settings settings;
+    private int turnBuilds;
+
+    /**
+     * Creates a new MctsAiController with the default settings.
+     *
+     * @param playerController       the player controller this belongs to
+     * @param hexGrid                the hex grid, must be a {@link HexGridImpl}
+     * @param gameState              the game state
+     * @param activePlayerController the active player controller
+     * @throws IllegalArgumentException if the hex grid is not a {@link HexGridImpl}
+     */
+    public MctsAiController(
+        final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+        final Property<PlayerController> activePlayerController
+    ) {
+        this(playerController, hexGrid, gameState, activePlayerController, new Builder().settings());
+    }
+
+    private MctsAiController(
+        final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+        final Property<PlayerController> activePlayerController, final Settings settings
+    ) {
+        super(playerController, hexGrid, gameState, activePlayerController);
+        if (!(hexGrid instanceof final HexGridImpl hexGridImpl)) {
+            throw new IllegalArgumentException("Monte Carlo tree search requires a HexGridImpl");
+        }
+        this.grid = hexGridImpl;
+        this.settings = settings;
+    }
+
+    @Override
+    protected void executeActionBasedOnObjective(final PlayerObjective objective) {
+        switch (objective) {
+            case DICE_ROLL -> {
+                turnBuilds = 0;
+                playerController.triggerAction(new RollDiceAction());
+            }
+            case PLACE_VILLAGE -> placeVillage();
+            case PLACE_ROAD -> placeRoad();
+            case REGULAR_TURN -> playTurn();
+            case DROP_CARDS -> dropCards();
+            case SELECT_CARDS -> selectCards();
+            case SELECT_ROBBER_TILE -> selectRobberTile();
+            case SELECT_CARD_TO_STEAL -> stealCard();
+            case ACCEPT_TRADE -> playerController.triggerAction(new AcceptTradeAction(false));
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Plays the next action of a regular turn: searches for the best build or trade from a new snapshot of the game
+     * and triggers it, or ends the turn if that is the best move.
+     * Only one action is triggered per prompt, so every search starts from the game as the {@link PlayerController}
+     * left it, including actions it rejected.
+     */
+    private void playTurn() {
+        final GameSnapshot snapshot = GameSnapshot.of(gameState);
+        final int player = snapshot.getPlayerIndex(playerController.getPlayer());
+        final int move = turnBuilds < MAX_BUILDS_PER_TURN ? search(snapshot, player) : MctsSearch.END_TURN;
+        if (MctsSearch.type(move) == MctsSearch.END_TURN) {
+            playerController.triggerAction(new EndTurnAction());
+            return;
+        }
+        turnBuilds++;
+        playerController.triggerAction(toAction(snapshot, move));
+    }
+
+    /**
+     * Runs the parallel searches for the given player and returns the most visited root move.
+     *
+     * @param snapshot the current state
+     * @param player   the player's index
+     * @return the chosen move
+     */
+    private int search(final GameSnapshot snapshot, final int player) {
+        final RandomGenerator random = playerController.getRandom();
+        final int workers = settings.parallelism();
+        final int iterations = settings.iterations() == 0 ? 0 : Math.max(1, settings.iterations() / workers);
+        final long deadline = settings.timeBudget() == 0 ? 0 : System.nanoTime() + settings.timeBudget();
+
+        final List<MctsSearch> searches = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            searches.add(new MctsSearch(snapshot, player, settings, new SplittableRandom(random.nextLong())));
+        }
+        final int[] moves = searches.get(0).getMoves();
+        if (moves.length == 1) {
+            return moves[0];
+        }
+
+        final List<ForkJoinTask<double[][]>> tasks = new ArrayList<>(workers);
+        for (final MctsSearch search : searches) {
+            tasks.add(ForkJoinTask.adapt(() -> search.run(iterations, deadline)));
+        }
+        final double[] visits = new double[moves.length];
+        final double[] values = new double[moves.length];
+        for (final ForkJoinTask<double[][]> task : ForkJoinTask.invokeAll(tasks)) {
+            final double[][] statistics = task.join();
+            for (int m = 0; m < moves.length; m++) {
+                visits[m] += statistics[0][m];
+                values[m] += statistics[1][m];
+            }
+        }
+
+        int best = 0;
+        for (int m = 1; m < moves.length; m++) {
+            if (visits[m] > visits[best]
+                || visits[m] == visits[best] && values[m] * visits[best] > values[best] * visits[m]) {
+                best = m;
+            }
+        }
+        return moves[best];
+    }
+
+    /**
+     * Returns the action performing the given search move.
+     *
+     * @param snapshot the state the move is made in
+     * @param move     the move
+     * @return the action
+     */
+    private PlayerAction toAction(final GameSnapshot snapshot, final int move) {
+        final int id = MctsSearch.id(move);
+        final int player = snapshot.getPlayerIndex(playerController.getPlayer());
+        return switch (MctsSearch.type(move)) {
+            case MctsSearch.VILLAGE -> new BuildVillageAction(grid.getIntersectionById(id));
+            case MctsSearch.CITY -> new UpgradeVillageAction(grid.getIntersectionById(id));
+            case MctsSearch.ROAD -> new BuildRoadAction(grid.getEdgeById(id));
+            case MctsSearch.TRADE -> new TradeAction(new TradePayload(
+                Map.of(MctsSearch.offer(move), snapshot.getTradeRatio(player, MctsSearch.offer(move))),
+                Map.of(MctsSearch.request(move), 1),
+                true,
+                playerController.getPlayer()
+            ));
+            default -> new EndTurnAction();
+        };
+    }
+
+    /**
+     * Places a village on the buildable intersection with the best production.
+     */
+    private void placeVillage() {
+        final Collection<Intersection> buildable = playerController.getPlayerState().buildableVillageIntersections();
+        final BoardTopology topology = grid.getTopology();
+        Intersection best = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (int intersection = 0; intersection < topology.intersectionCount(); intersection++) {
+            final Intersection candidate = grid.getIntersectionById(intersection);
+            final int score = intersectionScore(intersection);
+            if (buildable.contains(candidate) && score > bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        if (best != null) {
+            playerController.triggerAction(new BuildVillageAction(best));
+        }
+    }
+
+    /**
+     * Places a road leading to the free intersection with the best production.
+     */
+    private void placeRoad() {
+        final Collection<Edge> buildable = playerController.getPlayerState().buildableRoadEdges();
+        final GameSnapshot snapshot = GameSnapshot.of(gameState);
+        final BoardTopology topology = grid.getTopology();
+        Edge best = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            final Edge candidate = grid.getEdgeById(edge);
+            if (!buildable.contains(candidate)) {
+                continue;
+            }
+            int score = 0;
+            for (int i = 0; i < 2; i++) {
+                final int intersection = topology.edgeIntersection(edge, i);
+                if (isFreeSite(snapshot, intersection)) {
+                    score = Math.max(score, intersectionScore(intersection));
+                }
+            }
+            if (score > bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        if (best != null) {
+            playerController.triggerAction(new BuildRoadAction(best));
+        }
+    }
+
+    /**
+     * Drops the required number of cards, always from the resource the player has the most of.
+     */
+    private void dropCards() {
+        final Map<ResourceType, Integer> remaining = new EnumMap<>(ResourceType.class);
+        remaining.putAll(playerController.getPlayer().getResources());
+        final Map<ResourceType, Integer> selected = new EnumMap<>(ResourceType.class);
+        for (int i = 0; i < playerController.getPlayerState().cardsToSelect(); i++) {
+            ResourceType most = null;
+            for (final ResourceType resourceType : ResourceType.values()) {
+                if (remaining.getOrDefault(resourceType, 0) > 0
+                    && (most == null || remaining.get(resourceType) > remaining.get(most))) {
+                    most = resourceType;
+                }
+            }
+            if (most == null) {
+                break;
+            }
+            remaining.merge(most, -1, Integer::sum);
+            selected.merge(most, 1, Integer::sum);
+        }
+        playerController.triggerAction(new SelectCardsAction(selected));
+    }
+
+    /**
+     * Selects the required number of cards of the resource the player has the least of.
+     */
+    private void selectCards() {
+        final Map<ResourceType, Integer> resources = playerController.getPlayer().getResources();
+        ResourceType least = ResourceType.values()[0];
+        for (final ResourceType resourceType : ResourceType.values()) {
+            if (resources.getOrDefault(resourceType, 0) < resources.getOrDefault(least, 0)) {
+                least = resourceType;
+            }
+        }
+        playerController.triggerAction(
+            new SelectCardsAction(Map.of(least, playerController.getPlayerState().cardsToSelect())));
+    }
+
+    /**
+     * Moves the robber to the tile that blocks the most production of other players
+     * and none of this player's.
+     */
+    private void selectRobberTile() {
+        final GameSnapshot snapshot = GameSnapshot.of(gameState);
+        final int player = snapshot.getPlayerIndex(playerController.getPlayer());
+        final BoardTopology topology = grid.getTopology();
+        int best = BoardTopology.NONE;
+        int bestScore = Integer.MIN_VALUE;
+        for (int tile = 0; tile < topology.tileCount(); tile++) {
+            if (tile == snapshot.getRobberTile()) {
+                continue;
+            }
+            final int pips = pips(grid.getTileById(tile));
+            int score = 0;
+            for (final IntersectionDirection direction : IntersectionDirection.values()) {
+                final int intersection = topology.tileIntersection(tile, direction);
+                final int owner = snapshot.getSettlementOwner(intersection);
+                if (owner == player) {
+                    score -= 10 * pips;
+                } else if (owner != BoardTopology.NONE) {
+                    score += pips * snapshot.getSettlementType(intersection).resourceAmount;
+                }
+            }
+            if (score > bestScore) {
+                best = tile;
+                bestScore = score;
+            }
+        }
+        playerController.triggerAction(new SelectRobberTileAction(topology.tilePosition(best)));
+    }
+
+    /**
+     * Steals the most common resource of the player with the most victory points.
+     */
+    private void stealCard() {
+        Player victim = null;
+        for (final Player player : playerController.getPlayerState().playersToStealFrom()) {
+            if (player.getResources().values().stream().anyMatch(amount -> amount > 0)
+                && (victim == null || player.getVictoryPoints() > victim.getVictoryPoints())) {
+                victim = player;
+            }
+        }
+        if (victim == null) {
+            playerController.triggerAction(new EndTurnAction());
+            return;
+        }
+        ResourceType most = null;
+        for (final ResourceType resourceType : ResourceType.values()) {
+            final int amount = victim.getResources().getOrDefault(resourceType, 0);
+            if (amount > 0 && (most == null || amount > victim.getResources().get(most))) {
+                most = resourceType;
+            }
+        }
+        playerController.triggerAction(new StealCardAction(most, victim));
+    }
+
+    /**
+     * Returns whether a village could be built on the given intersection according to the distance rule.
+     *
+     * @param snapshot     the current state
+     * @param intersection the intersection's id
+     * @return whether the intersection and its neighbours are free
+     */
+    private static boolean isFreeSite(final GameSnapshot snapshot, final int intersection) {
+        if (snapshot.getSettlementOwner(intersection) != BoardTopology.NONE) {
+            return false;
+        }
+        final BoardTopology topology = snapshot.getTopology();
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int neighbour = topology.intersectionNeighbour(intersection, i);
+            if (neighbour != BoardTopology.NONE && snapshot.getSettlementOwner(neighbour) != BoardTopology.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the production value of the given intersection: the probability of its tiles' roll numbers
+     * in 36ths, plus a bonus for every distinct resource.
+     *
+     * @param intersection the intersection's id
+     * @return the production value
+     */
+    private int intersectionScore(final int intersection) {
+        final BoardTopology topology = grid.getTopology();
+        final boolean[] resources = new boolean[ResourceType.values().length];
+        int score = 0;
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int tileId = topology.intersectionTile(intersection, i);
+            if (tileId == BoardTopology.NONE) {
+                continue;
+            }
+            final Tile tile = grid.getTileById(tileId);
+            score += pips(tile);
+            if (tile.getType().resourceType != null && !resources[tile.getType().resourceType.ordinal()]) {
+                resources[tile.getType().resourceType.ordinal()] = true;
+                score++;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Returns the number of dice combinations out of 36 that produce on the given tile.
+     *
+     * @param tile the tile
+     * @return the number of combinations
+     */
+    private static int pips(final Tile tile) {
+        return tile.getType().resourceType == null ? 0 : Math.max(0, 6 - Math.abs(7 - tile.getRollNumber()));
+    }
+
+    /**
+     * The settings of the search.
+     *
+     * @param iterations    the total number of iterations per decision, {@code 0} for no limit
+     * @param timeBudget    the time per decision in nanoseconds, {@code 0} for no limit
+     * @param parallelism   the number of searches run in parallel
+     * @param rolloutRounds the number of rounds a rollout plays before the position is evaluated
+     * @param exploration   the exploration constant of the UCT formula
+     */
+    record Settings(int iterations, long timeBudget, int parallelism, int rolloutRounds, double exploration) {}
+
+    /**
+     * Builder for factories of {@link MctsAiController}s.
+     */
+    public static class Builder {
+        private int iterations = DEFAULT_ITERATIONS;
+        private Duration timeBudget = Duration.ZERO;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int rolloutRounds = DEFAULT_ROLLOUT_ROUNDS;
+        private double exploration = DEFAULT_EXPLORATION;
+
+        /**
+         * Sets the total number of iterations per decision, divided among the parallel searches.
+         *
+         * @param iterations the number of iterations, {@code 0} for no limit
+         * @return this builder
+         */
+        public Builder iterations(final int iterations) {
+            if (iterations < 0) {
+                throw new IllegalArgumentException("Iterations must not be negative");
+            }
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Sets the time per decision.
+         *
+         * @param timeBudget the time budget, {@link Duration#ZERO} for no limit
+         * @return this builder
+         */
+        public Builder timeBudget(final Duration timeBudget) {
+            if (timeBudget.isNegative()) {
+                throw new IllegalArgumentException("Time budget must not be negative");
+            }
+            this.timeBudget = timeBudget;
+            return this;
+        }
+
+        /**
+         * Sets the number of searches run in parallel per decision.
+         * Defaults to the number of available processors.
+         *
+         * @param parallelism the number of searches
+         * @return this builder
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the number of rounds a rollout plays before the position is evaluated.
+         *
+         * @param rolloutRounds the number of rounds
+         * @return this builder
+         */
+        public Builder rolloutRounds(final int rolloutRounds) {
+            if (rolloutRounds < 0) {
+                throw new IllegalArgumentException("Rollout rounds must not be negative");
+            }
+            this.rolloutRounds = rolloutRounds;
+            return this;
+        }
+
+        /**
+         * Sets the exploration constant of the UCT formula.
+         *
+         * @param exploration the exploration constant
+         * @return this builder
+         */
+        public Builder exploration(final double exploration) {
+            if (exploration < 0) {
+                throw new IllegalArgumentException("Exploration must not be negative");
+            }
+            this.exploration = exploration;
+            return this;
+        }
+
+        /**
+         * Creates a new factory for {@link MctsAiController}s with the current settings.
+         *
+         * @return the new factory
+         * @throws IllegalArgumentException if neither an iteration nor a time budget is set
+         */
+        public AiControllerFactory build() {
+            if (iterations == 0 && timeBudget.isZero()) {
+                throw new IllegalArgumentException("Either iterations or a time budget must be set");
+            }
+            final Settings settings = settings();
+            return (playerController, hexGrid, gameState, activePlayerController) ->
+                new MctsAiController(playerController, hexGrid, gameState, activePlayerController, settings);
+        }
+
+        private Settings settings() {
+            return new Settings(iterations, timeBudget.toNanos(), parallelism, rolloutRounds, exploration);
+        }
+    }
+}
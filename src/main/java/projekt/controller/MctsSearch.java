@@ -0,0 +1,412 @@
+package projekt.controller;
+
+import projekt.Config;
+import projekt.controller.actions.IllegalActionException;
+import projekt.model.BoardTopology;
+import projekt.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A single Monte Carlo tree search over the moves of one player's turn.
+ * The tree contains the player's own builds within the current turn; once the turn is ended,
+ * the rest of the game is played out by a fast random policy on {@link GameSnapshot}s.
+ * <p>
+ * A search is single-threaded. {@link MctsAiController} runs several independent searches in parallel
+ * (root parallelism) and merges their root statistics, which requires every search of a decision
+ * to start from the same root and therefore to produce the same {@linkplain #getMoves() root moves}.
+ * <p>
+ * Moves are encoded as {@code type << 16 | id}, where the type is one of {@link #END_TURN}, {@link #VILLAGE},
+ * {@link #CITY}, {@link #ROAD} or {@link #TRADE}. For builds, the id is the intersection's or edge's
+ * {@link BoardTopology} id; for trades with the bank, it is {@code offer.ordinal() << 3 | request.ordinal()}.
+ */
+final class MctsSearch {
+
+    static final int END_TURN = 0;
+    static final int VILLAGE = 1;
+    static final int CITY = 2;
+    static final int ROAD = 3;
+    static final int TRADE = 4;
+
+    private static final int TYPE_SHIFT = 16;
+    private static final int ID_MASK = (1 << TYPE_SHIFT) - 1;
+    private static final int RESOURCE_SHIFT = 3;
+    private static final int RESOURCE_MASK = (1 << RESOURCE_SHIFT) - 1;
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final int MAX_BUILDS_PER_TURN = 10;
+    private static final double ROAD_PROBABILITY = 0.5;
+
+    private final int player;
+    private final int players;
+    private final MctsAiController.Settings settings;
+    private final RandomGenerator random;
+    private final Node root;
+    private final int[] candidates;
+    private final List<Node> path = new ArrayList<>();
+
+    /**
+     * Creates a new search.
+     *
+     * @param rootState the state at the start of the decision
+     * @param player    the index of the player to search for
+     * @param settings  the settings of the search
+     * @param random    the source of randomness of this search
+     */
+    MctsSearch(
+        final GameSnapshot rootState,
+        final int player,
+        final MctsAiController.Settings settings,
+        final RandomGenerator random
+    ) {
+        this.player = player;
+        this.players = rootState.getPlayerCount();
+        this.settings = settings;
+        this.random = random;
+        final BoardTopology topology = rootState.getTopology();
+        this.candidates = new int[Math.max(
+            Math.max(topology.intersectionCount(), topology.edgeCount()), RESOURCE_TYPES.length * RESOURCE_TYPES.length)];
+        this.root = new Node(END_TURN, rootState, legalMoves(rootState));
+    }
+
+    /**
+     * Returns the moves available at the root, in a fixed order.
+     *
+     * @return the root moves
+     */
+    int[] getMoves() {
+        return root.untried.clone();
+    }
+
+    /**
+     * Runs iterations until the given number is reached or the deadline has passed.
+     *
+     * @param iterations the maximum number of iterations, {@code 0} for no limit
+     * @param deadline   the {@link System#nanoTime()} at which to stop, {@code 0} for no deadline
+     * @return the number of visits and the total reward of each {@linkplain #getMoves() root move}
+     */
+    double[][] run(final int iterations, final long deadline) {
+        final int[] moves = getMoves();
+        for (int i = 0; (iterations == 0 || i < iterations) && (deadline == 0 || System.nanoTime() < deadline); i++) {
+            iterate();
+        }
+        final double[][] statistics = new double[2][moves.length];
+        for (int c = 0; c < root.childCount; c++) {
+            final Node child = root.children[c];
+            for (int m = 0; m < moves.length; m++) {
+                if (moves[m] == child.move) {
+                    statistics[0][m] = child.visits;
+                    statistics[1][m] = child.value;
+                }
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the state after the given player made the given move.
+     *
+     * @param state  the state
+     * @param player the player's index
+     * @param move   the move
+     * @return the new state
+     */
+    static GameSnapshot apply(final GameSnapshot state, final int player, final int move) {
+        try {
+            return switch (type(move)) {
+                case VILLAGE -> state.buildVillage(player, id(move));
+                case CITY -> state.upgradeVillage(player, id(move));
+                case ROAD -> state.buildRoad(player, id(move));
+                case TRADE -> state.tradeWithBank(
+                    player, offer(move), state.getTradeRatio(player, offer(move)), request(move));
+                default -> state;
+            };
+        } catch (final IllegalActionException e) {
+            throw new IllegalStateException("Search produced an illegal move", e);
+        }
+    }
+
+    static int type(final int move) {
+        return move >>> TYPE_SHIFT;
+    }
+
+    static int id(final int move) {
+        return move & ID_MASK;
+    }
+
+    static ResourceType offer(final int move) {
+        return RESOURCE_TYPES[id(move) >>> RESOURCE_SHIFT];
+    }
+
+    static ResourceType request(final int move) {
+        return RESOURCE_TYPES[id(move) & RESOURCE_MASK];
+    }
+
+    private static int trade(final ResourceType offer, final ResourceType request) {
+        return move(TRADE, offer.ordinal() << RESOURCE_SHIFT | request.ordinal());
+    }
+
+    private static int move(final int type, final int id) {
+        return type << TYPE_SHIFT | id;
+    }
+
+    /**
+     * Runs one iteration: selection, expansion, simulation and backpropagation.
+     */
+    private void iterate() {
+        path.clear();
+        Node node = root;
+        path.add(node);
+        while (node.untriedCount == 0 && node.childCount > 0) {
+            node = select(node);
+            path.add(node);
+        }
+        if (node.untriedCount > 0) {
+            final int index = random.nextInt(node.untriedCount);
+            final int move = node.untried[index];
+            node.untried[index] = node.untried[--node.untriedCount];
+            node.untried[node.untriedCount] = move;
+            final GameSnapshot state = apply(node.state, player, move);
+            final Node child = new Node(move, state, type(move) == END_TURN ? new int[0] : legalMoves(state));
+            node.addChild(child);
+            node = child;
+            path.add(node);
+        }
+
+        final double reward = simulate(node);
+        for (final Node visited : path) {
+            visited.visits++;
+            visited.value += reward;
+        }
+    }
+
+    private Node select(final Node node) {
+        final double logVisits = Math.log(node.visits);
+        Node best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < node.childCount; c++) {
+            final Node child = node.children[c];
+            final double score = child.value / child.visits
+                + settings.exploration() * Math.sqrt(logVisits / child.visits);
+            if (score > bestScore) {
+                bestScore = score;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays the game out from the given node and returns the reward for the searching player.
+     *
+     * @param node the node to start from
+     * @return the reward, between {@code 0} and {@code 1}
+     */
+    private double simulate(final Node node) {
+        GameSnapshot state = node.state;
+        if (node != root && type(node.move) != END_TURN) {
+            state = playTurn(state, player, node.depth());
+        }
+        int current = player;
+        for (int turn = 0; turn < settings.rolloutRounds() * players; turn++) {
+            if (state.getVictoryPoints(current) >= Config.REQUIRED_VICTORY_POINTS) {
+                return current == player ? 1 : 0;
+            }
+            current = (current + 1) % players;
+            state = rollDice(state);
+            state = playTurn(state, current, 0);
+        }
+        if (state.getVictoryPoints(current) >= Config.REQUIRED_VICTORY_POINTS) {
+            return current == player ? 1 : 0;
+        }
+        int bestOther = 0;
+        for (int other = 0; other < players; other++) {
+            if (other != player) {
+                bestOther = Math.max(bestOther, state.getVictoryPoints(other));
+            }
+        }
+        final double lead = state.getVictoryPoints(player) - bestOther;
+        return Math.max(0, Math.min(1, 0.5 + lead / (2.0 * Config.REQUIRED_VICTORY_POINTS)));
+    }
+
+    /**
+     * Rolls the dice: distributes resources or, on a seven, moves the robber to a random other tile.
+     *
+     * @param state the state
+     * @return the new state
+     */
+    private GameSnapshot rollDice(final GameSnapshot state) {
+        int roll = 0;
+        for (int i = 0; i < Config.NUMBER_OF_DICE; i++) {
+            roll += random.nextInt(1, Config.DICE_SIDES + 1);
+        }
+        if (roll != 7) {
+            return state.rollDice(roll);
+        }
+        final int tiles = state.getTopology().tileCount();
+        int tile = random.nextInt(tiles);
+        if (tile == state.getRobberTile()) {
+            tile = (tile + 1) % tiles;
+        }
+        try {
+            return state.moveRobber(tile);
+        } catch (final IllegalActionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Plays the rest of a turn with the rollout policy: upgrade a village if possible, else build a village
+     * if possible, else build a road with some probability, else trade the most common resource for the
+     * rarest one, else end the turn.
+     *
+     * @param state  the state
+     * @param player the player whose turn it is
+     * @param builds the number of builds already made in this turn
+     * @return the state at the end of the turn
+     */
+    private GameSnapshot playTurn(GameSnapshot state, final int player, final int builds) {
+        for (int i = builds; i < MAX_BUILDS_PER_TURN; i++) {
+            int count = collect(state, player, CITY);
+            if (count == 0) {
+                count = collect(state, player, VILLAGE);
+            }
+            if (count == 0 && random.nextDouble() < ROAD_PROBABILITY) {
+                count = collect(state, player, ROAD);
+            }
+            if (count > 0) {
+                state = apply(state, player, candidates[random.nextInt(count)]);
+                continue;
+            }
+            final int trade = policyTrade(state, player);
+            if (trade == END_TURN) {
+                break;
+            }
+            state = apply(state, player, trade);
+        }
+        return state;
+    }
+
+    /**
+     * Returns the trade of the rollout policy: the resource the player has the most of, if it can be traded,
+     * for the resource the player has the least of.
+     *
+     * @param state  the state
+     * @param player the player's index
+     * @return the trade, or {@link #END_TURN} if there is none
+     */
+    private static int policyTrade(final GameSnapshot state, final int player) {
+        ResourceType offer = null;
+        ResourceType request = null;
+        for (final ResourceType resourceType : RESOURCE_TYPES) {
+            final int amount = state.getResource(player, resourceType);
+            if (amount >= state.getTradeRatio(player, resourceType)
+                && (offer == null || amount > state.getResource(player, offer))) {
+                offer = resourceType;
+            }
+            if (request == null || amount < state.getResource(player, request)) {
+                request = resourceType;
+            }
+        }
+        return offer == null || offer == request ? END_TURN : trade(offer, request);
+    }
+
+
+    /**
+     * Collects the legal moves of the given type into {@link #candidates}.
+     *
+     * @param state  the state
+     * @param player the player's index
+     * @param type   the type of move
+     * @return the number of collected moves
+     */
+    private int collect(final GameSnapshot state, final int player, final int type) {
+        final BoardTopology topology = state.getTopology();
+        int count = 0;
+        if (type == TRADE) {
+            for (final ResourceType offer : RESOURCE_TYPES) {
+                if (state.getResource(player, offer) < state.getTradeRatio(player, offer)) {
+                    continue;
+                }
+                for (final ResourceType request : RESOURCE_TYPES) {
+                    if (request != offer) {
+                        candidates[count++] = trade(offer, request);
+                    }
+                }
+            }
+        } else if (type == ROAD) {
+            for (int edge = 0; edge < topology.edgeCount(); edge++) {
+                if (state.canBuildRoad(player, edge)) {
+                    candidates[count++] = move(ROAD, edge);
+                }
+            }
+        } else {
+            for (int intersection = 0; intersection < topology.intersectionCount(); intersection++) {
+                if (type == CITY ? state.canUpgradeVillage(player, intersection) : state.canBuildVillage(player, intersection)) {
+                    candidates[count++] = move(type, intersection);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns all legal moves of the searching player in the given state, ending the turn first.
+     *
+     * @param state the state
+     * @return the legal moves
+     */
+    private int[] legalMoves(final GameSnapshot state) {
+        final BoardTopology topology = state.getTopology();
+        final int[] moves = new int[
+            1 + topology.intersectionCount() + topology.edgeCount() + RESOURCE_TYPES.length * RESOURCE_TYPES.length];
+        int count = 0;
+        moves[count++] = move(END_TURN, 0);
+        for (final int type : new int[] {CITY, VILLAGE, ROAD, TRADE}) {
+            final int collected = collect(state, player, type);
+            System.arraycopy(candidates, 0, moves, count, collected);
+            count += collected;
+        }
+        final int[] result = new int[count];
+        System.arraycopy(moves, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * A node of the search tree: the state after a sequence of the searching player's moves within the turn.
+     */
+    private static final class Node {
+
+        private final int move;
+        private final GameSnapshot state;
+        private final int[] untried;
+        private int untriedCount;
+        private Node[] children;
+        private int childCount;
+        private Node parent;
+        private int visits;
+        private double value;
+
+        private Node(final int move, final GameSnapshot state, final int[] untried) {
+            this.move = move;
+            this.state = state;
+            this.untried = untried;
+            this.untriedCount = untried.length;
+            this.children = new Node[untried.length];
+        }
+
+        private void addChild(final Node child) {
+            child.parent = this;
+            children[childCount++] = child;
+        }
+
+        private int depth() {
+            int depth = 0;
+            for (Node node = parent; node != null; node = node.parent) {
+                depth++;
+            }
+            return depth;
+        }
+    }
+}
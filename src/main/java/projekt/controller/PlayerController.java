@@ -5,13 +5,20 @@ import javafx.beans.property.SimpleObjectProperty;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import org.tudalgo.algoutils.student.annotation.StudentImplementationRequired;
 import projekt.Config;
+import projekt.controller.actions.EndTurnAction;
 import projekt.controller.actions.IllegalActionException;
 import projekt.controller.actions.PlayerAction;
+import projekt.model.BoardTopology;
 import projekt.model.DevelopmentCardType;
+import projekt.model.GameRandom;
+import projekt.model.HexGridImpl;
 import projekt.model.Intersection;
 import projekt.model.Player;
+import projekt.model.PlayerImpl;
 import projekt.model.PlayerState;
+import projekt.model.RandomStream;
 import projekt.model.ResourceType;
+import projekt.model.ResourceVector;
 import projekt.model.TilePosition;
 import projekt.model.TradePayload;
 import projekt.model.buildings.Edge;
@@ -24,8 +31,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +59,8 @@ public class PlayerController {
 
     private final BlockingDeque<PlayerAction> actions = new LinkedBlockingDeque<>();
 
+    private final ActionMetrics actionMetrics = new ActionMetrics();
+
     private final Property<PlayerState> playerStateProperty = new SimpleObjectProperty<>();
 
     private final Property<PlayerObjective> playerObjectiveProperty = new SimpleObjectProperty<>(PlayerObjective.IDLE);
@@ -61,6 +77,10 @@ public class PlayerController {
 
     private int cardsToSelect = 0;
 
+    private LegalMoveIndex legalMoveIndex;
+
+    private RandomStream random;
+
     /**
      * Creates a new {@link PlayerController} with the given {@link GameController}
      * and {@link Player}.
@@ -89,6 +109,48 @@ public class PlayerController {
         return player;
     }
 
+    /**
+     * Returns this player's own stream of randomness, e.g., for the decisions of an {@link AiController}.
+     * The stream is forked from the game's {@link GameRandom} on first use.
+     *
+     * @return the stream
+     */
+    public RandomGenerator getRandom() {
+        if (random == null) {
+            random = gameController.getRandom().fork();
+        }
+        return random;
+    }
+
+    /**
+     * Returns this player's stream of randomness if it has been forked already.
+     *
+     * @return the stream or {@code null} if it has not been used yet
+     * @see SavedGame#of(GameController)
+     */
+    RandomStream getForkedRandom() {
+        return random;
+    }
+
+    /**
+     * Replaces this player's stream of randomness with the given one, e.g., when resuming a saved game.
+     *
+     * @param random the stream
+     */
+    void restoreRandom(final RandomStream random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns the counters of the actions this controller rejected and the fallback actions it executed.
+     *
+     * @return the metrics
+     * @see GameController#setActionRetryPolicy(ActionRetryPolicy)
+     */
+    public ActionMetrics getActionMetrics() {
+        return actionMetrics;
+    }
+
     /**
      * Returns a {@link Property} with the current {@link PlayerState}.
      *
@@ -139,6 +201,19 @@ public class PlayerController {
         return gameController.getRoundCounterProperty().get() == 0;
     }
 
+    /**
+     * Returns the {@link LegalMoveIndex} of the {@link Player}, creating it on first use.
+     * The index is only available if the game is played on a {@link HexGridImpl}.
+     *
+     * @return the index or {@code null} if it is not available
+     */
+    private LegalMoveIndex getLegalMoveIndex() {
+        if (legalMoveIndex == null && gameController.getState().getGrid() instanceof HexGridImpl grid) {
+            legalMoveIndex = new LegalMoveIndex(grid, player);
+        }
+        return legalMoveIndex;
+    }
+
     /**
      * Updates the {@link #playerStateProperty} with the current
      * {@link PlayerState}.
@@ -200,11 +275,25 @@ public class PlayerController {
             .toList();
     }
 
+    /**
+     * Appends the event created by the given function to the {@linkplain GameController#getEventLog() event log}
+     * of the game, if there is one.
+     *
+     * @param event the function creating the event from the log
+     */
+    private void logEvent(final Function<GameEventLog, GameEvent> event) {
+        final GameEventLog eventLog = gameController.getEventLog();
+        if (eventLog != null) {
+            eventLog.append(event.apply(eventLog));
+        }
+    }
+
     /**
      * Rolls the dice.
      */
     public void rollDice() {
-        gameController.castDice();
+        final int roll = gameController.castDice();
+        logEvent(log -> new GameEvent.DiceRolled(log.playerIndex(player), roll));
     }
 
     /**
@@ -222,6 +311,8 @@ public class PlayerController {
         }
         if (PlayerObjective.DROP_CARDS.equals(playerObjectiveProperty.getValue())) {
             dropSelectedResources(selectedResources);
+        } else {
+            logEvent(log -> new GameEvent.CardsSelected(log.playerIndex(player), selectedResources));
         }
         this.selectedResources = selectedResources;
     }
@@ -252,6 +343,90 @@ public class PlayerController {
         return actions.take();
     }
 
+    /**
+     * Takes the next action from the queue without blocking.
+     *
+     * @return The next action
+     * @throws GameStalledException if there is no action in the queue
+     */
+    private PlayerAction pollNextAction() {
+        final PlayerAction action = actions.poll();
+        if (action == null) {
+            throw new GameStalledException(String.format("No action for objective %s [%s]",
+                                                         playerObjectiveProperty.getValue(), player.getName()
+            ));
+        }
+        return action;
+    }
+
+    /**
+     * Lets the given AI decide on the given objective if the objective has changed since its last decision,
+     * and again if no action is queued afterwards.
+     *
+     * @param aiController the AI of the {@link Player}
+     * @param objective    the current objective
+     * @param policy       the action retry policy of the game
+     * @param deadline     the {@link System#nanoTime()} at which the policy's timeout ends
+     * @return whether the AI decided in time
+     * @throws InterruptedException if the thread of the game is interrupted while waiting
+     */
+    private boolean awaitAiDecisions(
+        final AiController aiController,
+        final PlayerObjective objective,
+        final ActionRetryPolicy policy,
+        final long deadline
+    ) throws InterruptedException {
+        if (aiController.takeObjectiveChanged() && !awaitAiDecision(aiController, objective, policy, deadline)) {
+            return false;
+        }
+        return !actions.isEmpty() || awaitAiDecision(aiController, objective, policy, deadline);
+    }
+
+    /**
+     * Starts a decision of the given AI on the given objective as a task of its own, see
+     * {@link GameThreads#startDecision(Runnable)}, and waits for it, at most until the deadline if the policy
+     * has a timeout. The decision is cancelled if it misses the deadline or the thread of the game is interrupted.
+     *
+     * @param aiController the AI of the {@link Player}
+     * @param objective    the current objective
+     * @param policy       the action retry policy of the game
+     * @param deadline     the {@link System#nanoTime()} at which the policy's timeout ends
+     * @return whether the AI decided in time
+     * @throws InterruptedException if the thread of the game is interrupted while waiting
+     */
+    private boolean awaitAiDecision(
+        final AiController aiController,
+        final PlayerObjective objective,
+        final ActionRetryPolicy policy,
+        final long deadline
+    ) throws InterruptedException {
+        final Future<?> decision = GameThreads.startDecision(
+            () -> aiController.executeActionBasedOnObjective(objective)
+        );
+        try {
+            if (policy.hasTimeout()) {
+                decision.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } else {
+                decision.get();
+            }
+            return true;
+        } catch (final TimeoutException e) {
+            decision.cancel(true);
+            return false;
+        } catch (final InterruptedException e) {
+            decision.cancel(true);
+            throw e;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof final RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof final Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     /**
      * Waits for the next action and executes it.
      *
@@ -270,32 +445,114 @@ public class PlayerController {
      * If a {@link IllegalActionException} is thrown, the action is ignored and the
      * next action is awaited. This is done to ensure only allowed actions are
      * executed.
+     * How many actions are ignored and how long is waited is limited by the
+     * {@linkplain GameController#getActionRetryPolicy() action retry policy} of the game. Once a limit is
+     * reached, a fallback action is executed instead.
+     * The decisions of an {@link AiController} run as tasks of their own while this thread waits for them,
+     * so the timeout of the policy also ends a decision that does not return.
      *
      * @return the executed action
+     * @throws GameStalledException  if no action could be executed
+     * @throws CancellationException if the thread of the game is interrupted
      */
     @DoNotTouch
     public PlayerAction waitForNextAction() {
-        try {
-            oldResources = new HashMap<>(player.getResources());
-            // blocking, waiting for viewing thread
-            final PlayerAction action = blockingGetNextAction();
+        final ActionRetryPolicy policy = gameController.getActionRetryPolicy();
+        final long deadline = System.nanoTime() + policy.timeout().toNanos();
+        final AiController aiController = gameController.getAiController(this);
+        int rejections = 0;
+        while (true) {
+            GameThreads.checkCancelled();
+            final PlayerObjective objective = playerObjectiveProperty.getValue();
+            if (policy.hasTimeout() && deadline - System.nanoTime() <= 0) {
+                actionMetrics.timedOut(objective);
+                return executeFallbackAction(objective, policy);
+            }
+            try {
+                oldResources = new HashMap<>(player.getResources());
+                final PlayerAction action;
+                if (aiController != null && !awaitAiDecisions(aiController, objective, policy, deadline)) {
+                    actionMetrics.timedOut(objective);
+                    return executeFallbackAction(objective, policy);
+                }
+                if (gameController.isHeadless()) {
+                    action = pollNextAction();
+                } else if (policy.hasTimeout()) {
+                    action = actions.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (action == null) {
+                        actionMetrics.timedOut(objective);
+                        return executeFallbackAction(objective, policy);
+                    }
+                } else {
+                    // blocking, waiting for viewing thread
+                    action = blockingGetNextAction();
+                }
 
-            System.out.println("TRIGGER " + action + " [" + player.getName() + "]");
+                actionMetrics.triggered(objective);
 
-            if (!playerObjectiveProperty.getValue().allowedActions.contains(action.getClass())) {
-                throw new IllegalActionException(String.format("Illegal Action %s performed. Allowed Actions: %s",
-                                                               action, playerObjectiveProperty.getValue().getAllowedActions()
-                ));
+                if (!objective.allowedActions.contains(action.getClass())) {
+                    throw new IllegalActionException(String.format("Illegal Action %s performed. Allowed Actions: %s",
+                                                                   action, objective.getAllowedActions()
+                    ));
+                }
+                execute(action);
+                updatePlayerState();
+                return action;
+            } catch (final IllegalActionException e) {
+                // Ignore and keep going, unless the player keeps sending illegal actions
+                actionMetrics.rejected(objective, e.getMessage());
+                if (policy.maxRejections() > 0 && ++rejections >= policy.maxRejections()) {
+                    return executeFallbackAction(objective, policy);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final CancellationException cancellation = new CancellationException("Game was cancelled");
+                cancellation.initCause(e);
+                throw cancellation;
             }
-            action.execute(this);
-            updatePlayerState();
-            return action;
+        }
+    }
+
+    /**
+     * Discards all queued actions and executes the fallback action of the given policy for the given objective.
+     *
+     * @param objective the objective no legal action was received for
+     * @param policy    the policy
+     * @return the executed action
+     * @throws GameStalledException if there is no fallback action or it could not be executed
+     */
+    private PlayerAction executeFallbackAction(final PlayerObjective objective, final ActionRetryPolicy policy) {
+        actions.clear();
+        oldResources = new HashMap<>(player.getResources());
+        final PlayerAction action = FallbackActions.choose(this, objective, policy.fallback());
+        if (action == null) {
+            throw new GameStalledException(String.format("No fallback action for objective %s [%s]",
+                                                         objective, player.getName()
+            ));
+        }
+        actionMetrics.fellBack(objective, action);
+        try {
+            execute(action);
         } catch (final IllegalActionException e) {
-            // Ignore and keep going
-            e.printStackTrace();
-            return waitForNextAction();
-        } catch (final InterruptedException e) {
-            throw new RuntimeException("Main thread was interrupted!", e);
+            throw new GameStalledException(String.format("Fallback action %s for objective %s failed [%s]: %s",
+                                                         action, objective, player.getName(), e.getMessage()
+            ));
+        }
+        updatePlayerState();
+        return action;
+    }
+
+    /**
+     * Executes the given action.
+     * Since ending the turn has no effect of its own, its event is logged here.
+     *
+     * @param action the action
+     * @throws IllegalActionException if the action is not allowed
+     */
+    private void execute(final PlayerAction action) throws IllegalActionException {
+        action.execute(this);
+        if (action instanceof EndTurnAction) {
+            logEvent(log -> new GameEvent.TurnEnded(log.playerIndex(player)));
         }
     }
 
@@ -315,6 +572,10 @@ public class PlayerController {
         if (!canBuildVillage()) {
             return Set.of();
         }
+        final LegalMoveIndex index = getLegalMoveIndex();
+        if (index != null) {
+            return index.getBuildableVillageIntersections(isFirstRound());
+        }
         Stream<Intersection> intersections = gameController.getState().getGrid().getIntersections().values().stream()
             .filter(intersection -> intersection.getSettlement() == null).filter(intersection -> intersection
                 .getAdjacentIntersections().stream().noneMatch(Intersection::hasSettlement));
@@ -338,11 +599,9 @@ public class PlayerController {
         // TODO: H2.4 check done
 
         //checks if player has all necessary  resources.
-        Map<ResourceType,Integer> currentResources =this.getPlayer().getResources();
-        Map<ResourceType,Integer> villageCost = Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.VILLAGE);
         return (getPlayer().getRemainingVillages() > 0)
             && ( playerObjectiveProperty.getValue() == PlayerObjective.PLACE_VILLAGE
-            ||  villageCost.keySet().stream().allMatch( x->{return(currentResources.get(x) == null)? false : currentResources.get(x) >= villageCost.get(x); })     );
+            || canAfford(Config.SETTLEMENT_BUILDING_COST_VECTORS.get(Settlement.Type.VILLAGE)));
 
     }
 
@@ -377,8 +636,9 @@ public class PlayerController {
 
             if(  !(playerObjectiveProperty.getValue() == PlayerObjective.PLACE_VILLAGE)  ){
                 //create village at cost.
-                player.removeResources(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.VILLAGE));
+                pay(Config.SETTLEMENT_BUILDING_COST_VECTORS.get(Settlement.Type.VILLAGE));
             }
+            logEvent(log -> new GameEvent.VillageBuilt(log.playerIndex(player), log.intersectionId(intersection)));
 
     }
 
@@ -391,6 +651,10 @@ public class PlayerController {
         if (!canUpgradeVillage()) {
             return Set.of();
         }
+        final LegalMoveIndex index = getLegalMoveIndex();
+        if (index != null) {
+            return index.getUpgradeableVillageIntersections();
+        }
         return player.getSettlements().stream().filter(settlement -> settlement.type() == Settlement.Type.VILLAGE)
             .map(Settlement::intersection).collect(Collectors.toUnmodifiableSet());
     }
@@ -403,10 +667,12 @@ public class PlayerController {
      * @return whether the {@link Player} can upgrade a village to a city.
      */
     public boolean canUpgradeVillage() {
-        final var requiredResources = Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.CITY);
-        return player.hasResources(requiredResources) && player.getSettlements().stream()
-            .anyMatch(settlement -> settlement.type() == Settlement.Type.VILLAGE)
-            && player.getRemainingCities() > 0;
+        final var requiredResources = Config.SETTLEMENT_BUILDING_COST_VECTORS.get(Settlement.Type.CITY);
+        final LegalMoveIndex index = getLegalMoveIndex();
+        final boolean hasVillage = index != null
+            ? !index.getUpgradeableVillageIntersections().isEmpty()
+            : player.getSettlements().stream().anyMatch(settlement -> settlement.type() == Settlement.Type.VILLAGE);
+        return canAfford(requiredResources) && hasVillage && player.getRemainingCities() > 0;
     }
 
     /**
@@ -427,7 +693,8 @@ public class PlayerController {
             throw new IllegalActionException("Error:T This village cannot be upgraded!");
 
         intersection.upgradeSettlement(player);
-        player.removeResources(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.CITY));
+        pay(Config.SETTLEMENT_BUILDING_COST_VECTORS.get(Settlement.Type.CITY));
+        logEvent(log -> new GameEvent.VillageUpgraded(log.playerIndex(player), log.intersectionId(intersection)));
     }
 
     /**
@@ -444,6 +711,10 @@ public class PlayerController {
         if (!canBuildRoad()) {
             return Set.of();
         }
+        final LegalMoveIndex index = getLegalMoveIndex();
+        if (index != null) {
+            return index.getBuildableRoadEdges(isFirstRound());
+        }
         Stream<Edge> edges = gameController.getState().getGrid().getEdges().values().stream()
             .filter(edge -> !edge.hasRoad());
         if (isFirstRound()) {
@@ -470,13 +741,9 @@ public class PlayerController {
         // TODO: H2.4 check done (maybe redo first Round exeption)
 
             //checks if player has all necessary  resources.
-            Map<ResourceType,Integer> currentResources =this.getPlayer().getResources();
-
             return (getPlayer().getRemainingRoads() > 0)
                 && ( playerObjectiveProperty.getValue() == PlayerObjective.PLACE_ROAD
-                || Config.ROAD_BUILDING_COST.keySet().stream().allMatch(x->{
-                return (currentResources.get(x) == null)? false: Config.ROAD_BUILDING_COST.get(x) <= currentResources.get(x);
-            })  );
+                || canAfford(Config.ROAD_BUILDING_COST_VECTOR));
 
     }
 
@@ -535,12 +802,39 @@ public class PlayerController {
 
 
         if(  !(playerObjectiveProperty.getValue() == PlayerObjective.PLACE_ROAD)  ){
-            player.removeResources(Config.ROAD_BUILDING_COST);
+            pay(Config.ROAD_BUILDING_COST_VECTOR);
             //removes the appropiate ammount of Resources.
         }
+        logEvent(log -> new GameEvent.RoadBuilt(log.playerIndex(player), log.edgeId(roadToBe)));
 
     }
 
+    /**
+     * Returns whether the {@link Player} has at least the given cost.
+     * Uses the allocation-free check of {@link PlayerImpl} when possible.
+     *
+     * @param cost the cost
+     * @return whether the {@link Player} can afford the cost
+     */
+    private boolean canAfford(final ResourceVector cost) {
+        return player instanceof final PlayerImpl playerImpl
+            ? playerImpl.hasResources(cost)
+            : player.hasResources(cost.asMap());
+    }
+
+    /**
+     * Removes the given cost from the {@link Player}'s resources.
+     *
+     * @param cost the cost
+     */
+    private void pay(final ResourceVector cost) {
+        if (player instanceof final PlayerImpl playerImpl) {
+            playerImpl.removeResources(cost);
+        } else {
+            player.removeResources(cost.asMap());
+        }
+    }
+
     // Development card methods
 
     /**
@@ -550,7 +844,7 @@ public class PlayerController {
      * @return whether the {@link Player} can buy a development card.
      */
     public boolean canBuyDevelopmentCard() {
-        return player.hasResources(Config.DEVELOPMENT_CARD_COST);
+        return canAfford(Config.DEVELOPMENT_CARD_COST_VECTOR);
     }
 
     /**
@@ -566,9 +860,10 @@ public class PlayerController {
             throw new IllegalActionException("Cannot buy development card");
         }
 
-        final var requiredResources = Config.DEVELOPMENT_CARD_COST;
-        player.addDevelopmentCard(gameController.drawDevelopmentCard());
-        player.removeResources(requiredResources);
+        final DevelopmentCardType developmentCard = gameController.drawDevelopmentCard();
+        player.addDevelopmentCard(developmentCard);
+        pay(Config.DEVELOPMENT_CARD_COST_VECTOR);
+        logEvent(log -> new GameEvent.DevelopmentCardBought(log.playerIndex(player), developmentCard));
     }
 
     /**
@@ -586,6 +881,7 @@ public class PlayerController {
         if (!getPlayer().removeDevelopmentCard(developmentCard)) {
             throw new IllegalActionException("Player does not have the selected development card");
         }
+        logEvent(log -> new GameEvent.DevelopmentCardPlayed(log.playerIndex(player), developmentCard));
         switch (developmentCard) {
             case KNIGHT -> {
                 waitForNextAction(PlayerObjective.SELECT_ROBBER_TILE);
@@ -611,7 +907,9 @@ public class PlayerController {
                 }
             }
             default -> {
-                System.out.printf("No action for development card type %s registered%n", developmentCard);
+                if (!gameController.isHeadless()) {
+                    System.out.printf("No action for development card type %s registered%n", developmentCard);
+                }
                 return;
             }
         }
@@ -647,6 +945,9 @@ public class PlayerController {
         int numOfResourcesToReceive = offerAmount/tradeRatio;
         player.removeResource(offerType, offerAmount);
         player.addResource(request, numOfResourcesToReceive);
+        logEvent(log -> new GameEvent.Traded(log.playerIndex(player), BoardTopology.NONE,
+                                             Map.of(offerType, offerAmount), Map.of(request, numOfResourcesToReceive)
+        ));
     }
 
     /**
@@ -656,6 +957,7 @@ public class PlayerController {
      * @param request the requested resources
      */
     public void offerTrade(final Map<ResourceType, Integer> offer, final Map<ResourceType, Integer> request) {
+        logEvent(log -> new GameEvent.TradeOffered(log.playerIndex(player), offer, request));
         gameController.offerTrade(player, offer, request);
     }
 
@@ -730,6 +1032,7 @@ public class PlayerController {
         }
         if (!accepted) {
             playerObjectiveProperty.setValue(PlayerObjective.IDLE);
+            logEvent(log -> new GameEvent.TradeDeclined(log.playerIndex(player)));
             return;
         }
 
@@ -745,6 +1048,10 @@ public class PlayerController {
 
         tradingPlayer.removeResources(playerTradingOffer);
         tradingPlayer.addResources(playerTradingRequest);
+        final Player offeringPlayer = tradingPlayer;
+        final Map<ResourceType, Integer> offer = playerTradingOffer;
+        final Map<ResourceType, Integer> request = playerTradingRequest;
+        logEvent(log -> new GameEvent.Traded(log.playerIndex(offeringPlayer), log.playerIndex(player), offer, request));
 
         playerObjectiveProperty.setValue(PlayerObjective.IDLE);
     }
@@ -767,6 +1074,7 @@ public class PlayerController {
         // remove resources from player
         player.removeResources(resourcesToDrop);
         cardsToSelect = 0;
+        logEvent(log -> new GameEvent.CardsSelected(log.playerIndex(player), resourcesToDrop));
     }
 
     /**
@@ -785,6 +1093,9 @@ public class PlayerController {
         playerObjectiveProperty.setValue(PlayerObjective.IDLE);
         // add resource to player
         player.addResource(resourceToSteal, 1);
+        logEvent(log -> new GameEvent.CardStolen(log.playerIndex(player), log.playerIndex(playerToStealFrom),
+                                                 resourceToSteal
+        ));
     }
 
     /**
@@ -794,6 +1105,7 @@ public class PlayerController {
      */
     public void setRobberPosition(final TilePosition position) {
         gameController.getState().getGrid().setRobberPosition(position);
+        logEvent(log -> new GameEvent.RobberMoved(log.playerIndex(player), log.tileId(position)));
     }
 
     /**
@@ -0,0 +1,320 @@
+package projekt.controller;
+
+import projekt.model.BoardTopology;
+import projekt.model.GameRandom;
+import projekt.model.GameState;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.RandomStream;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A game saved to or loaded from a file: the {@link GameSnapshot} of its state, the round counter, the active
+ * player, the holders of the longest road and the largest army and the state of the game's sources of randomness.
+ * A saved game can be {@linkplain GameController#GameController(SavedGame) resumed} and then continues exactly as
+ * the original game would have, including the development cards drawn and the dice rolled.
+ * <p>
+ * A save file holds one or more games in a versioned binary format: a header with the number of games, followed by
+ * the round counter, the active player, the holders and the snapshot, random context and player streams of every
+ * game. Files are written and read through a {@link MappedByteBuffer}, so loading an archive of thousands of games
+ * maps the file once and decodes the games straight from memory.
+ *
+ * @param snapshot          the state of the game
+ * @param roundCounter      the round counter, {@code 0} during the first round
+ * @param activePlayer      the index of the active player, {@link BoardTopology#NONE} if there is none
+ * @param longestRoadHolder the index of the player holding the longest road, {@link BoardTopology#NONE} if nobody
+ *                          holds it
+ * @param largestArmyHolder the index of the player holding the largest army, {@link BoardTopology#NONE} if nobody
+ *                          holds it
+ * @param random            the state of the game's source of randomness, which includes the development card deck
+ * @param playerRandoms     the state of the players' streams of randomness by player index, players that have not
+ *                          used their stream yet have none
+ */
+public record SavedGame(
+    GameSnapshot snapshot,
+    int roundCounter,
+    int activePlayer,
+    int longestRoadHolder,
+    int largestArmyHolder,
+    GameRandom random,
+    Map<Integer, RandomStream> playerRandoms
+) {
+
+    static final int MAGIC = 0x43545356;
+    static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    private static final int GAME_HEADER_SIZE = Integer.BYTES + 3 * Byte.BYTES + Integer.BYTES;
+    private static final int PLAYER_RANDOM_SIZE = Byte.BYTES + RandomStream.ENCODED_SIZE;
+
+    /**
+     * Creates a new saved game. The random context and streams are copied.
+     *
+     * @param snapshot          the state of the game
+     * @param roundCounter      the round counter, {@code 0} during the first round
+     * @param activePlayer      the index of the active player, {@link BoardTopology#NONE} if there is none
+     * @param longestRoadHolder the index of the player holding the longest road, {@link BoardTopology#NONE} if
+     *                          nobody holds it
+     * @param largestArmyHolder the index of the player holding the largest army, {@link BoardTopology#NONE} if
+     *                          nobody holds it
+     * @param random            the state of the game's source of randomness
+     * @param playerRandoms     the state of the players' streams of randomness by player index
+     * @throws IllegalArgumentException if the round counter is negative or a player does not exist
+     */
+    public SavedGame {
+        if (roundCounter < 0) {
+            throw new IllegalArgumentException("Round counter must not be negative");
+        }
+        checkPlayer(snapshot, activePlayer, "Active player");
+        checkPlayer(snapshot, longestRoadHolder, "Longest road holder");
+        checkPlayer(snapshot, largestArmyHolder, "Largest army holder");
+        if (random == null) {
+            throw new IllegalArgumentException("Random context must not be null");
+        }
+        random = random.copy();
+        final Map<Integer, RandomStream> streams = new TreeMap<>();
+        for (final Map.Entry<Integer, RandomStream> entry : playerRandoms.entrySet()) {
+            if (entry.getKey() < 0 || entry.getKey() >= snapshot.getPlayerCount()) {
+                throw new IllegalArgumentException("Player does not exist: " + entry.getKey());
+            }
+            streams.put(entry.getKey(), entry.getValue().copy());
+        }
+        playerRandoms = Map.copyOf(streams);
+    }
+
+    private static void checkPlayer(final GameSnapshot snapshot, final int player, final String role) {
+        if (player < BoardTopology.NONE || player >= snapshot.getPlayerCount()) {
+            throw new IllegalArgumentException(String.format("%s does not exist: %d", role, player));
+        }
+    }
+
+    /**
+     * Saves the current state of the given game.
+     * A game saved when a turn starts, e.g., from a listener of a player's objective, is resumed exactly;
+     * see {@link GameController#GameController(SavedGame)}.
+     *
+     * @param gameController the game, its grid must be a {@link HexGridImpl}
+     * @return the saved game
+     */
+    public static SavedGame of(final GameController gameController) {
+        final int roundCounter = gameController.getRoundCounterProperty().get();
+        final GameState state = gameController.getState();
+        final HexGridImpl grid = (HexGridImpl) state.getGrid();
+        final GameSnapshot snapshot = GameSnapshot.of(state, roundCounter == 0);
+        final PlayerController activePlayerController = gameController.getActivePlayerController();
+        final Map<Integer, RandomStream> playerRandoms = new TreeMap<>();
+        for (final PlayerController playerController : gameController.getPlayerControllers().values()) {
+            final RandomStream stream = playerController.getForkedRandom();
+            if (stream != null) {
+                playerRandoms.put(snapshot.getPlayerIndex(playerController.getPlayer()), stream);
+            }
+        }
+        return new SavedGame(
+            snapshot,
+            roundCounter,
+            activePlayerController == null
+                ? BoardTopology.NONE
+                : snapshot.getPlayerIndex(activePlayerController.getPlayer()),
+            snapshot.getPlayerIndex(grid.getLongestRoadHolder()),
+            snapshot.getPlayerIndex(grid.getVictoryPointLedger().getLargestArmyHolder()),
+            gameController.getRandom(),
+            playerRandoms
+        );
+    }
+
+    /**
+     * Returns a copy of the state of the game's source of randomness.
+     *
+     * @return the random context, which may be drawn from without changing this saved game
+     */
+    @Override
+    public GameRandom random() {
+        return random.copy();
+    }
+
+    /**
+     * Returns copies of the state of the players' streams of randomness.
+     *
+     * @return the streams by player index, which may be drawn from without changing this saved game
+     */
+    @Override
+    public Map<Integer, RandomStream> playerRandoms() {
+        final Map<Integer, RandomStream> streams = new TreeMap<>();
+        playerRandoms.forEach((player, stream) -> streams.put(player, stream.copy()));
+        return streams;
+    }
+
+    /**
+     * Returns a copy of the state of the stream of randomness of the given player.
+     *
+     * @param player the index of the player
+     * @return the stream or {@code null} if the player had not used it yet
+     */
+    public RandomStream getPlayerRandom(final int player) {
+        final RandomStream stream = playerRandoms.get(player);
+        return stream == null ? null : stream.copy();
+    }
+
+    /**
+     * Creates a new, independent game state matching this saved game, including the holders of the longest road
+     * and the largest army.
+     *
+     * @return the game state
+     * @see GameSnapshot#toGameState()
+     */
+    public GameState toGameState() {
+        final GameState state = snapshot.toGameState();
+        final HexGridImpl grid = (HexGridImpl) state.getGrid();
+        grid.setLongestRoadHolder(getPlayer(state, longestRoadHolder));
+        grid.getVictoryPointLedger().setLargestArmyHolder(getPlayer(state, largestArmyHolder));
+        return state;
+    }
+
+    /**
+     * Returns the active player of the given state, which must have been created by {@link #toGameState()}.
+     *
+     * @param state the game state
+     * @return the active player or {@code null} if there is none
+     */
+    public Player getActivePlayer(final GameState state) {
+        return getPlayer(state, activePlayer);
+    }
+
+    private static Player getPlayer(final GameState state, final int player) {
+        return player == BoardTopology.NONE ? null : state.getPlayers().get(player);
+    }
+
+    /**
+     * Saves this game to the given file, replacing the file if it exists.
+     *
+     * @param path the file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path path) throws IOException {
+        saveAll(path, List.of(this));
+    }
+
+    /**
+     * Saves the given games to the given file, replacing the file if it exists.
+     *
+     * @param path  the file
+     * @param games the games
+     * @throws IOException if the file cannot be written
+     */
+    public static void saveAll(final Path path, final List<SavedGame> games) throws IOException {
+        final int[] sizes = new int[games.size()];
+        long size = HEADER_SIZE;
+        for (int i = 0; i < sizes.length; i++) {
+            final SavedGame game = games.get(i);
+            sizes[i] = game.snapshot.encodedSize() + GameRandom.ENCODED_SIZE
+                + Byte.BYTES + game.playerRandoms.size() * PLAYER_RANDOM_SIZE;
+            size += GAME_HEADER_SIZE + sizes[i];
+        }
+        try (FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        )) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC);
+            buffer.putShort((short) VERSION);
+            buffer.putInt(games.size());
+            for (int i = 0; i < sizes.length; i++) {
+                final SavedGame game = games.get(i);
+                buffer.putInt(game.roundCounter);
+                buffer.put((byte) game.activePlayer);
+                buffer.put((byte) game.longestRoadHolder);
+                buffer.put((byte) game.largestArmyHolder);
+                buffer.putInt(sizes[i]);
+                game.snapshot.writeTo(buffer);
+                game.random.writeTo(buffer);
+                buffer.put((byte) game.playerRandoms.size());
+                for (final Map.Entry<Integer, RandomStream> entry : new TreeMap<>(game.playerRandoms).entrySet()) {
+                    buffer.put(entry.getKey().byteValue());
+                    entry.getValue().writeTo(buffer);
+                }
+            }
+            buffer.force();
+        }
+    }
+
+    /**
+     * Loads the game saved in the given file.
+     *
+     * @param path the file
+     * @return the game
+     * @throws IOException if the file cannot be read or does not contain exactly one game
+     */
+    public static SavedGame load(final Path path) throws IOException {
+        final List<SavedGame> games = loadAll(path);
+        if (games.size() != 1) {
+            throw new IOException(String.format("Expected one game but found %d", games.size()));
+        }
+        return games.get(0);
+    }
+
+    /**
+     * Loads all games saved in the given file.
+     *
+     * @param path the file
+     * @return the games
+     * @throws IOException if the file cannot be read or does not contain saved games
+     */
+    public static List<SavedGame> loadAll(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a saved game");
+            }
+            final int version = Short.toUnsignedInt(buffer.getShort());
+            if (version != VERSION) {
+                throw new IOException("Unsupported saved game version " + version);
+            }
+            final int count = buffer.getInt();
+            if (count < 0) {
+                throw new IOException("Invalid number of games " + count);
+            }
+            final List<SavedGame> games = new ArrayList<>(Math.min(count, buffer.remaining() / GAME_HEADER_SIZE));
+            for (int i = 0; i < count; i++) {
+                final int roundCounter = buffer.getInt();
+                final int activePlayer = buffer.get();
+                final int longestRoadHolder = buffer.get();
+                final int largestArmyHolder = buffer.get();
+                final int size = buffer.getInt();
+                final int end = buffer.position() + size;
+                try {
+                    final GameSnapshot snapshot = GameSnapshot.readFrom(buffer);
+                    final GameRandom random = GameRandom.readFrom(buffer);
+                    final Map<Integer, RandomStream> playerRandoms = new TreeMap<>();
+                    for (int streams = buffer.get(); streams > 0; streams--) {
+                        final int player = buffer.get();
+                        playerRandoms.put(player, RandomStream.readFrom(buffer));
+                    }
+                    if (buffer.position() != end) {
+                        throw new IOException(String.format("Game %d has an invalid size", i));
+                    }
+                    games.add(new SavedGame(
+                        snapshot, roundCounter, activePlayer, longestRoadHolder, largestArmyHolder, random, playerRandoms
+                    ));
+                } catch (final IllegalArgumentException e) {
+                    throw new IOException(String.format("Game %d is invalid", i), e);
+                }
+            }
+            return games;
+        } catch (final BufferUnderflowException e) {
+            throw new IOException("Saved game is truncated", e);
+        }
+    }
+}
@@ -7,7 +7,10 @@ import javafx.scene.paint.Color;
 import javafx.util.Builder;
 import projekt.Config;
 import projekt.model.GameState;
+import projekt.model.Player;
 import projekt.model.PlayerImpl;
+import projekt.view.HexGridBuilder;
+import projekt.view.IntersectionBuilder;
 import projekt.view.menus.CreateGameBuilder;
 
 /**
@@ -25,6 +28,7 @@ public class CreateGameController implements SceneController {
      */
     public CreateGameController(final GameState gameState) {
         this.gameState = gameState;
+        HexGridBuilder.preloadSprites(gameState.getGrid());
         this.builder = new CreateGameBuilder(
             this.playerBuilderList,
             SceneController::loadMainMenuScene,
@@ -56,7 +60,11 @@ public class CreateGameController implements SceneController {
         if (this.playerBuilderList.size() < Config.MIN_PLAYERS) {
             return false;
         }
-        this.playerBuilderList.forEach(p -> this.gameState.addPlayer(p.build(this.gameState.getGrid())));
+        for (final PlayerImpl.Builder playerBuilder : this.playerBuilderList) {
+            final Player player = playerBuilder.build(this.gameState.getGrid());
+            IntersectionBuilder.preloadSprites(player);
+            this.gameState.addPlayer(player);
+        }
         SceneController.loadGameScene();
         return true;
     }
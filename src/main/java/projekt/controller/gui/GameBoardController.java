@@ -1,6 +1,5 @@
 package projekt.controller.gui;
 
-import javafx.application.Platform;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.Property;
 import javafx.scene.control.Alert;
@@ -12,6 +11,7 @@ import projekt.model.GameState;
 import projekt.model.Player;
 import projekt.model.ResourceType;
 import projekt.view.GameBoardBuilder;
+import projekt.view.UiUpdateBus;
 
 import java.util.Map;
 
@@ -56,19 +56,19 @@ public class GameBoardController implements SceneController {
             if (newValue == null) {
                 return;
             }
-            Platform.runLater(() -> updatePlayerInformation(newValue.getPlayer(), Map.of()));
+            updatePlayerInformation(newValue.getPlayer(), Map.of());
         });
         diceRollProperty.addListener((observable, oldValue, newValue) -> {
             if (newValue == null) {
                 return;
             }
-            Platform.runLater(() -> gameBoardBuilder.setDiceRoll(newValue.intValue()));
+            UiUpdateBus.getInstance().post(diceRollProperty, () -> gameBoardBuilder.setDiceRoll(newValue.intValue()));
         });
         winnerProperty.subscribe((oldValue, newValue) -> {
             if (newValue == null) {
                 return;
             }
-            Platform.runLater(() -> {
+            UiUpdateBus.getInstance().post(winnerProperty, () -> {
                 new Alert(Alert.AlertType.INFORMATION, String.format("Player %s won!", newValue.getName()))
                     .showAndWait();
                 SceneController.loadMainMenuScene();
@@ -78,7 +78,10 @@ public class GameBoardController implements SceneController {
             if (newValue == null) {
                 return;
             }
-            Platform.runLater(() -> gameBoardBuilder.setRoundCounter(newValue.intValue()));
+            UiUpdateBus.getInstance().post(
+                roundCounterProperty,
+                () -> gameBoardBuilder.setRoundCounter(newValue.intValue())
+            );
         });
     }
 
@@ -99,8 +102,10 @@ public class GameBoardController implements SceneController {
      *                         player
      */
     public void updatePlayerInformation(final Player player, final Map<ResourceType, Integer> changedResources) {
-        Platform.runLater(
-            () -> gameBoardBuilder.updatePlayerInformation(player, gameState.getPlayers(), changedResources));
+        UiUpdateBus.getInstance().post(
+            gameBoardBuilder,
+            () -> gameBoardBuilder.updatePlayerInformation(player, gameState.getPlayers(), changedResources)
+        );
     }
 
     @Override
@@ -179,21 +179,35 @@ public class HexGridController implements Controller {
      * Draws all tiles again.
      */
     public void drawTiles() {
-        Platform.runLater(() -> builder.drawTiles());
+        runOnApplicationThread(builder::drawTiles);
     }
 
     /**
      * Draws all intersections again.
      */
     public void drawIntersections() {
-        Platform.runLater(() -> builder.drawIntersections());
+        runOnApplicationThread(builder::drawIntersections);
     }
 
     /**
      * Draws all edges again.
      */
     public void drawEdges() {
-        Platform.runLater(() -> builder.drawEdges());
+        runOnApplicationThread(builder::drawEdges);
+    }
+
+    /**
+     * Runs the given action right away on the JavaFX application thread, so the redraws requested by an action
+     * are merged into the next frame, and posts it to the JavaFX application thread otherwise.
+     *
+     * @param action the action to run
+     */
+    private static void runOnApplicationThread(final Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
     }
 
     @Override
@@ -16,6 +16,7 @@ import projekt.controller.actions.*;
 import projekt.model.*;
 import projekt.model.buildings.Edge;
 import projekt.model.tiles.Tile;
+import projekt.view.UiUpdateBus;
 import projekt.view.gameControls.AcceptTradeDialog;
 import projekt.view.gameControls.PlayerActionsBuilder;
 import projekt.view.gameControls.SelectCardToStealDialog;
@@ -75,11 +76,11 @@ public class PlayerActionsController implements Controller {
                 playerObjectiveSubscription = newValue.getPlayerObjectiveProperty().subscribe((
                                                                                                   oldObjective,
                                                                                                   newObjective
-                                                                                              ) -> Platform.runLater(() -> this.playerObjectiveProperty.setValue(newObjective)));
+                                                                                              ) -> postUpdate(this.playerObjectiveProperty, newObjective));
 
                 playerStateSubscription.unsubscribe();
                 playerStateSubscription = newValue.getPlayerStateProperty().subscribe(
-                    (oldState, newState) -> Platform.runLater(() -> this.playerStateProperty.setValue(newState)));
+                    (oldState, newState) -> postUpdate(this.playerStateProperty, newState));
                 this.playerStateProperty.setValue(newValue.getPlayerStateProperty().getValue());
                 this.playerObjectiveProperty.setValue(newValue.getPlayerObjectiveProperty().getValue());
             });
@@ -110,6 +111,19 @@ public class PlayerActionsController implements Controller {
         );
     }
 
+    /**
+     * Sets the given property to the given value with the next flush of the {@link UiUpdateBus}.
+     * Values posted until then replace each other, so only the latest objective or state of the player
+     * is rendered, and a game loop running ahead of the UI is held back by the bus.
+     *
+     * @param property the property to set on the JavaFX application thread
+     * @param value    the value to set
+     * @param <T>      the type of the value
+     */
+    private <T> void postUpdate(final Property<T> property, final T value) {
+        UiUpdateBus.getInstance().post(property, () -> property.setValue(value));
+    }
+
     /**
      * Updates the UI based on the given objective. This includes enabling and
      * disabling buttons and prompting the user if necessary.
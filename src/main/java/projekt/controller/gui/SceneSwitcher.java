@@ -4,6 +4,8 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import projekt.controller.GameController;
+import projekt.controller.GameHost;
+import projekt.controller.GameScope;
 
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -19,6 +21,7 @@ public class SceneSwitcher {
     private GameController gameController;
     private static SceneSwitcher INSTANCE;
     private final Consumer<GameController> gameLoopStarter;
+    private final GameHost gameHost = new GameHost();
 
     /**
      * Creates a new SceneSwitcher.
@@ -72,7 +75,9 @@ public class SceneSwitcher {
             return new CreateGameController(SceneSwitcher.getInstance().gameController.getState());
         }),
         GAME_BOARD(() -> {
-            SceneSwitcher.getInstance().gameLoopStarter.accept(SceneSwitcher.getInstance().gameController);
+            // games run in the game host, so a game that was left is cancelled instead of running on
+            getInstance().gameHost.getGames().forEach(GameScope::cancel);
+            getInstance().gameHost.start(getInstance().gameController);
             return new GameBoardController(
                 getInstance().gameController.getState(),
                 getInstance().gameController.getActivePlayerControllerProperty(),
@@ -0,0 +1,48 @@
+package projekt.model;
+
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+/**
+ * A listener for changes to the pieces on a {@link HexGridImpl}.
+ * Listeners are registered with {@link HexGridImpl#addBoardListener(BoardListener)} and are notified
+ * synchronously, after the change has been applied.
+ */
+public interface BoardListener {
+
+    /**
+     * Called when the owner of a road changes, i.e., a road is built or removed.
+     *
+     * @param edge     the edge the road is on
+     * @param oldOwner the previous owner, {@code null} if there was no road
+     * @param newOwner the new owner, {@code null} if the road was removed
+     */
+    default void roadChanged(final Edge edge, final Player oldOwner, final Player newOwner) {}
+
+    /**
+     * Called when the settlement on an intersection changes, i.e., it is placed, upgraded or downgraded.
+     *
+     * @param intersection  the intersection the settlement is on
+     * @param oldSettlement the previous settlement, {@code null} if there was none
+     * @param newSettlement the new settlement, {@code null} if it was removed
+     */
+    default void settlementChanged(
+        final Intersection intersection,
+        final Settlement oldSettlement,
+        final Settlement newSettlement
+    ) {}
+
+    /**
+     * Called when the robber moves to another tile.
+     *
+     * @param oldPosition the previous position of the robber, {@code null} if there was none
+     * @param newPosition the new position of the robber, {@code null} if it was removed
+     */
+    default void robberMoved(final TilePosition oldPosition, final TilePosition newPosition) {}
+
+    /**
+     * Called when a tile, intersection or edge of the grid has been replaced by another object.
+     * Any state derived from the grid should be recomputed.
+     */
+    default void elementsReplaced() {}
+}
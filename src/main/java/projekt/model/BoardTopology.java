@@ -0,0 +1,467 @@
+package projekt.model;
+
+import projekt.model.TilePosition.EdgeDirection;
+import projekt.model.TilePosition.IntersectionDirection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The precomputed topology of a hex grid.
+ * Every tile, intersection and edge of a grid with a given radius is assigned a dense id
+ * ({@code 0} to {@code count - 1}) at construction. Adjacency between them is stored in primitive arrays,
+ * so lookups neither allocate nor hash.
+ * <p>
+ * Tile ids follow the order of {@link TilePosition#forEachSpiral}, intersection and edge ids follow
+ * the order in which they are first encountered when visiting the tiles in that order.
+ * Missing neighbours are denoted by {@link #NONE}.
+ */
+public final class BoardTopology {
+
+    /**
+     * The id returned for elements that are not part of the topology.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The number of edges, neighbouring intersections and tiles of an intersection.
+     */
+    public static final int INTERSECTION_DEGREE = 3;
+
+    /**
+     * The number of intersections and edges of a tile.
+     */
+    public static final int TILE_DEGREE = 6;
+
+    private static final int[] DIRECTION_BY_DELTA = new int[9];
+    private static final int[] CORNER_BY_DIRECTIONS = new int[TILE_DEGREE * TILE_DEGREE];
+
+    static {
+        Arrays.fill(DIRECTION_BY_DELTA, NONE);
+        Arrays.fill(CORNER_BY_DIRECTIONS, NONE);
+        for (final EdgeDirection direction : EdgeDirection.values()) {
+            DIRECTION_BY_DELTA[(direction.position.q() + 1) * 3 + direction.position.r() + 1] = direction.ordinal();
+        }
+        for (final IntersectionDirection corner : IntersectionDirection.values()) {
+            CORNER_BY_DIRECTIONS[corner.leftDirection.ordinal() * TILE_DEGREE + corner.rightDirection.ordinal()] = corner.ordinal();
+            CORNER_BY_DIRECTIONS[corner.rightDirection.ordinal() * TILE_DEGREE + corner.leftDirection.ordinal()] = corner.ordinal();
+        }
+    }
+
+    private final int radius;
+    private final int span;
+
+    private final TilePosition[] tilePositions;
+    private final int[] tileIdAt;
+    private final int[] tileIntersections;
+    private final int[] tileEdges;
+
+    private final TilePosition[][] intersectionPositions;
+    private final Set<TilePosition>[] intersectionKeys;
+    private final int[] intersectionIdAt;
+    private final int[] intersectionEdges;
+    private final int[] intersectionNeighbours;
+    private final int[] intersectionTiles;
+
+    private final TilePosition[][] edgePositions;
+    private final Set<TilePosition>[] edgeKeys;
+    private final int[] edgeIdAt;
+    private final int[] edgeIntersections;
+
+    /**
+     * Computes the topology of a grid with the given radius.
+     *
+     * @param radius radius of the grid, center is included
+     */
+    @SuppressWarnings("unchecked")
+    public BoardTopology(final int radius) {
+        this.radius = radius;
+        this.span = 2 * Math.max(radius, 0) + 1;
+
+        final int[] spiral = PackedTilePosition.spiral(PackedTilePosition.CENTER, radius);
+        this.tilePositions = new TilePosition[spiral.length];
+        this.tileIdAt = new int[span * span];
+        Arrays.fill(tileIdAt, NONE);
+        for (int tile = 0; tile < spiral.length; tile++) {
+            tilePositions[tile] = PackedTilePosition.toPosition(spiral[tile]);
+            tileIdAt[cellOf(tilePositions[tile])] = tile;
+        }
+
+        this.intersectionIdAt = new int[span * span * TILE_DEGREE];
+        this.edgeIdAt = new int[span * span * TILE_DEGREE];
+        Arrays.fill(intersectionIdAt, NONE);
+        Arrays.fill(edgeIdAt, NONE);
+        this.tileIntersections = new int[tilePositions.length * TILE_DEGREE];
+        this.tileEdges = new int[tilePositions.length * TILE_DEGREE];
+
+        final TilePosition[][] intersectionBuffer = new TilePosition[tilePositions.length * TILE_DEGREE][];
+        final TilePosition[][] edgeBuffer = new TilePosition[tilePositions.length * TILE_DEGREE][];
+        int intersectionCount = 0;
+        int edgeCount = 0;
+        for (int tile = 0; tile < tilePositions.length; tile++) {
+            final TilePosition position = tilePositions[tile];
+            final int cell = cellOf(position);
+            for (final IntersectionDirection corner : IntersectionDirection.values()) {
+                if (intersectionIdAt[cell * TILE_DEGREE + corner.ordinal()] == NONE) {
+                    final TilePosition[] positions = {
+                        position,
+                        neighbour(position, corner.leftDirection),
+                        neighbour(position, corner.rightDirection)
+                    };
+                    for (int i = 0; i < positions.length; i++) {
+                        final int other = cellOf(positions[i]);
+                        if (other != NONE) {
+                            final int localCorner = cornerOf(positions[i], positions[(i + 1) % 3], positions[(i + 2) % 3]);
+                            intersectionIdAt[other * TILE_DEGREE + localCorner] = intersectionCount;
+                        }
+                    }
+                    intersectionBuffer[intersectionCount++] = positions;
+                }
+                tileIntersections[tile * TILE_DEGREE + corner.ordinal()] = intersectionIdAt[cell * TILE_DEGREE + corner.ordinal()];
+            }
+            for (final EdgeDirection direction : EdgeDirection.values()) {
+                if (edgeIdAt[cell * TILE_DEGREE + direction.ordinal()] == NONE) {
+                    final TilePosition neighbour = neighbour(position, direction);
+                    final int other = cellOf(neighbour);
+                    edgeIdAt[cell * TILE_DEGREE + direction.ordinal()] = edgeCount;
+                    if (other != NONE) {
+                        edgeIdAt[other * TILE_DEGREE + opposite(direction.ordinal())] = edgeCount;
+                    }
+                    edgeBuffer[edgeCount++] = new TilePosition[] {position, neighbour};
+                }
+                tileEdges[tile * TILE_DEGREE + direction.ordinal()] = edgeIdAt[cell * TILE_DEGREE + direction.ordinal()];
+            }
+        }
+
+        this.intersectionPositions = Arrays.copyOf(intersectionBuffer, intersectionCount);
+        this.edgePositions = Arrays.copyOf(edgeBuffer, edgeCount);
+        this.intersectionKeys = new Set[intersectionCount];
+        this.edgeKeys = new Set[edgeCount];
+        this.intersectionEdges = new int[intersectionCount * INTERSECTION_DEGREE];
+        this.intersectionNeighbours = new int[intersectionCount * INTERSECTION_DEGREE];
+        this.intersectionTiles = new int[intersectionCount * INTERSECTION_DEGREE];
+        this.edgeIntersections = new int[edgeCount * 2];
+
+        for (int edge = 0; edge < edgeCount; edge++) {
+            final TilePosition[] positions = edgePositions[edge];
+            final EdgeDirection direction = EdgeDirection.values()[directionOf(positions[0], positions[1])];
+            final int cell = cellOf(positions[0]);
+            edgeKeys[edge] = Set.of(positions);
+            edgeIntersections[edge * 2] = intersectionIdAt[cell * TILE_DEGREE + direction.getLeftIntersection().ordinal()];
+            edgeIntersections[edge * 2 + 1] = intersectionIdAt[cell * TILE_DEGREE + direction.getRightIntersection().ordinal()];
+        }
+        for (int intersection = 0; intersection < intersectionCount; intersection++) {
+            final TilePosition[] positions = intersectionPositions[intersection];
+            intersectionKeys[intersection] = Set.of(positions);
+            for (int i = 0; i < INTERSECTION_DEGREE; i++) {
+                final TilePosition position = positions[i];
+                final TilePosition next = positions[(i + 1) % 3];
+                final int cell = cellOf(position);
+                final int direction = directionOf(position, next);
+                final int slot = intersection * INTERSECTION_DEGREE + i;
+
+                intersectionTiles[slot] = tileIdAt[cell];
+                intersectionEdges[slot] = edgeIdAt[cell * TILE_DEGREE + direction];
+                final EdgeDirection edgeDirection = EdgeDirection.values()[direction];
+                final int left = intersectionIdAt[cell * TILE_DEGREE + edgeDirection.getLeftIntersection().ordinal()];
+                final int right = intersectionIdAt[cell * TILE_DEGREE + edgeDirection.getRightIntersection().ordinal()];
+                intersectionNeighbours[slot] = left == intersection ? right : left;
+            }
+        }
+    }
+
+    /**
+     * Returns the radius of the grid this topology describes, center is included.
+     *
+     * @return the radius
+     */
+    public int radius() {
+        return radius;
+    }
+
+
+    // Tiles
+
+    /**
+     * Returns the number of tiles.
+     *
+     * @return the number of tiles
+     */
+    public int tileCount() {
+        return tilePositions.length;
+    }
+
+    /**
+     * Returns the id of the tile at the given position.
+     *
+     * @param position the position of the tile
+     * @return the tile's id or {@link #NONE} if there is no tile at the given position
+     */
+    public int tileId(final TilePosition position) {
+        return tileId(position.q(), position.r());
+    }
+
+    /**
+     * Returns the id of the tile at the given coordinates.
+     *
+     * @param q the q-coordinate of the tile
+     * @param r the r-coordinate of the tile
+     * @return the tile's id or {@link #NONE} if there is no tile at the given coordinates
+     */
+    public int tileId(final int q, final int r) {
+        final int cell = cellOf(q, r);
+        return cell == NONE ? NONE : tileIdAt[cell];
+    }
+
+    /**
+     * Returns the position of the tile with the given id.
+     *
+     * @param tile the tile's id
+     * @return the tile's position
+     */
+    public TilePosition tilePosition(final int tile) {
+        return tilePositions[tile];
+    }
+
+    /**
+     * Returns the id of the intersection in the given direction of a tile.
+     *
+     * @param tile      the tile's id
+     * @param direction the direction of the intersection
+     * @return the intersection's id
+     */
+    public int tileIntersection(final int tile, final IntersectionDirection direction) {
+        return tileIntersections[tile * TILE_DEGREE + direction.ordinal()];
+    }
+
+    /**
+     * Returns the id of the edge in the given direction of a tile.
+     *
+     * @param tile      the tile's id
+     * @param direction the direction of the edge
+     * @return the edge's id
+     */
+    public int tileEdge(final int tile, final EdgeDirection direction) {
+        return tileEdges[tile * TILE_DEGREE + direction.ordinal()];
+    }
+
+
+    // Intersections
+
+    /**
+     * Returns the number of intersections.
+     *
+     * @return the number of intersections
+     */
+    public int intersectionCount() {
+        return intersectionPositions.length;
+    }
+
+    /**
+     * Returns the id of the intersection between the given positions.
+     *
+     * @param position0 the first position
+     * @param position1 the second position
+     * @param position2 the third position
+     * @return the intersection's id or {@link #NONE} if there is no such intersection
+     */
+    public int intersectionId(final TilePosition position0, final TilePosition position1, final TilePosition position2) {
+        final int cell = cellOf(position0);
+        if (cell == NONE) {
+            return NONE;
+        }
+        final int corner = cornerOf(position0, position1, position2);
+        return corner == NONE ? NONE : intersectionIdAt[cell * TILE_DEGREE + corner];
+    }
+
+    /**
+     * Returns the id of the intersection in the given direction of a position.
+     * In contrast to {@link #tileIntersection(int, IntersectionDirection)}, the position does not need to be a tile.
+     *
+     * @param position  the position
+     * @param direction the direction of the intersection
+     * @return the intersection's id or {@link #NONE} if there is no such intersection
+     */
+    public int intersectionId(final TilePosition position, final IntersectionDirection direction) {
+        final int cell = cellOf(position);
+        return cell == NONE ? NONE : intersectionIdAt[cell * TILE_DEGREE + direction.ordinal()];
+    }
+
+    /**
+     * Returns the positions of the intersection with the given id.
+     *
+     * @param intersection the intersection's id
+     * @return the positions of the intersection
+     */
+    public List<TilePosition> intersectionPositions(final int intersection) {
+        return List.of(intersectionPositions[intersection]);
+    }
+
+    /**
+     * Returns the positions of the intersection with the given id as an immutable set,
+     * as used for keys in {@link HexGrid#getIntersections()}.
+     *
+     * @param intersection the intersection's id
+     * @return the positions of the intersection
+     */
+    public Set<TilePosition> intersectionKey(final int intersection) {
+        return intersectionKeys[intersection];
+    }
+
+    /**
+     * Returns the id of the {@code index}-th edge connected to an intersection.
+     *
+     * @param intersection the intersection's id
+     * @param index        the index, from {@code 0} to {@link #INTERSECTION_DEGREE} (exclusive)
+     * @return the edge's id or {@link #NONE} if the edge is not part of the grid
+     */
+    public int intersectionEdge(final int intersection, final int index) {
+        return intersectionEdges[intersection * INTERSECTION_DEGREE + index];
+    }
+
+    /**
+     * Returns the id of the {@code index}-th intersection adjacent to an intersection.
+     *
+     * @param intersection the intersection's id
+     * @param index        the index, from {@code 0} to {@link #INTERSECTION_DEGREE} (exclusive)
+     * @return the adjacent intersection's id or {@link #NONE} if it is not part of the grid
+     */
+    public int intersectionNeighbour(final int intersection, final int index) {
+        return intersectionNeighbours[intersection * INTERSECTION_DEGREE + index];
+    }
+
+    /**
+     * Returns the id of the {@code index}-th tile adjacent to an intersection.
+     *
+     * @param intersection the intersection's id
+     * @param index        the index, from {@code 0} to {@link #INTERSECTION_DEGREE} (exclusive)
+     * @return the tile's id or {@link #NONE} if the position is outside the grid
+     */
+    public int intersectionTile(final int intersection, final int index) {
+        return intersectionTiles[intersection * INTERSECTION_DEGREE + index];
+    }
+
+
+    // Edges
+
+    /**
+     * Returns the number of edges.
+     *
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return edgePositions.length;
+    }
+
+    /**
+     * Returns the id of the edge between the given positions.
+     *
+     * @param position0 the first position
+     * @param position1 the second position
+     * @return the edge's id or {@link #NONE} if there is no such edge
+     */
+    public int edgeId(final TilePosition position0, final TilePosition position1) {
+        final int cell = cellOf(position0);
+        if (cell == NONE) {
+            return NONE;
+        }
+        final int direction = directionOf(position0, position1);
+        return direction == NONE ? NONE : edgeIdAt[cell * TILE_DEGREE + direction];
+    }
+
+    /**
+     * Returns the id of the edge in the given direction of a position.
+     * In contrast to {@link #tileEdge(int, EdgeDirection)}, the position does not need to be a tile.
+     *
+     * @param position  the position
+     * @param direction the direction of the edge
+     * @return the edge's id or {@link #NONE} if there is no such edge
+     */
+    public int edgeId(final TilePosition position, final EdgeDirection direction) {
+        final int cell = cellOf(position);
+        return cell == NONE ? NONE : edgeIdAt[cell * TILE_DEGREE + direction.ordinal()];
+    }
+
+    /**
+     * Returns the first position of the edge with the given id; this is always a tile.
+     *
+     * @param edge the edge's id
+     * @return the first position
+     */
+    public TilePosition edgePosition1(final int edge) {
+        return edgePositions[edge][0];
+    }
+
+    /**
+     * Returns the second position of the edge with the given id.
+     *
+     * @param edge the edge's id
+     * @return the second position
+     */
+    public TilePosition edgePosition2(final int edge) {
+        return edgePositions[edge][1];
+    }
+
+    /**
+     * Returns the positions of the edge with the given id as an immutable set,
+     * as used for keys in {@link HexGrid#getEdges()}.
+     *
+     * @param edge the edge's id
+     * @return the positions of the edge
+     */
+    public Set<TilePosition> edgeKey(final int edge) {
+        return edgeKeys[edge];
+    }
+
+    /**
+     * Returns the id of the {@code index}-th intersection at the end of an edge.
+     *
+     * @param edge  the edge's id
+     * @param index the index, either {@code 0} or {@code 1}
+     * @return the intersection's id
+     */
+    public int edgeIntersection(final int edge, final int index) {
+        return edgeIntersections[edge * 2 + index];
+    }
+
+
+    // Internals
+
+    private int cellOf(final TilePosition position) {
+        return cellOf(position.q(), position.r());
+    }
+
+    private int cellOf(final int q, final int r) {
+        if (q < -radius || q > radius || r < -radius || r > radius) {
+            return NONE;
+        }
+        return (q + radius) * span + r + radius;
+    }
+
+    private static TilePosition neighbour(final TilePosition position, final EdgeDirection direction) {
+        return PackedTilePosition.position(position.q() + direction.position.q(), position.r() + direction.position.r());
+    }
+
+    private static int directionOf(final TilePosition from, final TilePosition to) {
+        final int dq = to.q() - from.q();
+        final int dr = to.r() - from.r();
+        if (dq < -1 || dq > 1 || dr < -1 || dr > 1) {
+            return NONE;
+        }
+        return DIRECTION_BY_DELTA[(dq + 1) * 3 + dr + 1];
+    }
+
+    private static int cornerOf(final TilePosition position, final TilePosition left, final TilePosition right) {
+        final int leftDirection = directionOf(position, left);
+        final int rightDirection = directionOf(position, right);
+        if (leftDirection == NONE || rightDirection == NONE) {
+            return NONE;
+        }
+        return CORNER_BY_DIRECTIONS[leftDirection * TILE_DEGREE + rightDirection];
+    }
+
+    private static int opposite(final int direction) {
+        return (direction + TILE_DEGREE / 2) % TILE_DEGREE;
+    }
+}
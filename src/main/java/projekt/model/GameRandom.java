@@ -0,0 +1,202 @@
+package projekt.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The source of randomness of a single game.
+ * All streams are split off one {@link RandomStream} seeded with the game's seed, one stream per subsystem,
+ * so the subsystems do not influence each other: for example, generating a larger grid does not change the dice.
+ * Creating two contexts with the same seed yields the same sequences of random values.
+ * The state of all streams can be {@linkplain #writeTo(ByteBuffer) saved}, so a saved game draws the same values
+ * after it is loaded.
+ * <p>
+ * A context belongs to a single game and is not thread-safe. Code running on another thread, such as a parallel
+ * search, should {@linkplain #fork() fork} its own stream first.
+ */
+public final class GameRandom {
+
+    private static final int STREAMS = 7;
+
+    /**
+     * The number of bytes the state of a context takes in a buffer.
+     */
+    public static final int ENCODED_SIZE = Long.BYTES + STREAMS * RandomStream.ENCODED_SIZE;
+
+    private final long seed;
+    private final RandomStream tileTypes;
+    private final RandomStream rollNumbers;
+    private final RandomStream ports;
+    private final RandomStream dice;
+    private final RandomStream developmentCards;
+    private final RandomStream colors;
+    private final RandomStream forks;
+
+    /**
+     * Creates a new context with the given seed.
+     *
+     * @param seed the seed
+     */
+    public GameRandom(final long seed) {
+        final RandomStream root = new RandomStream(seed);
+        this.seed = seed;
+        this.tileTypes = root.split();
+        this.rollNumbers = root.split();
+        this.ports = root.split();
+        this.dice = root.split();
+        this.developmentCards = root.split();
+        this.colors = root.split();
+        this.forks = root.split();
+    }
+
+    private GameRandom(final long seed, final RandomStream[] streams) {
+        this.seed = seed;
+        this.tileTypes = streams[0];
+        this.rollNumbers = streams[1];
+        this.ports = streams[2];
+        this.dice = streams[3];
+        this.developmentCards = streams[4];
+        this.colors = streams[5];
+        this.forks = streams[6];
+    }
+
+    /**
+     * Creates a new context with a random seed.
+     *
+     * @return the new context
+     */
+    public static GameRandom create() {
+        return new GameRandom(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Returns the seed of this context.
+     *
+     * @return the seed
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Returns the stream used to pick tile types.
+     *
+     * @return the stream
+     */
+    public RandomGenerator tileTypes() {
+        return tileTypes;
+    }
+
+    /**
+     * Returns the stream used to pick the roll numbers of tiles.
+     *
+     * @return the stream
+     */
+    public RandomGenerator rollNumbers() {
+        return rollNumbers;
+    }
+
+    /**
+     * Returns the stream used to place ports.
+     *
+     * @return the stream
+     */
+    public RandomGenerator ports() {
+        return ports;
+    }
+
+    /**
+     * Returns the stream used to roll the dice.
+     *
+     * @return the stream
+     */
+    public RandomGenerator dice() {
+        return dice;
+    }
+
+    /**
+     * Returns the stream used to draw development cards.
+     *
+     * @return the stream
+     */
+    public RandomGenerator developmentCards() {
+        return developmentCards;
+    }
+
+    /**
+     * Returns the stream used to pick player colors.
+     *
+     * @return the stream
+     */
+    public RandomGenerator colors() {
+        return colors;
+    }
+
+    /**
+     * Splits off a new independent stream, for example for a player or a worker thread.
+     * Forks are deterministic as long as they are requested in the same order.
+     *
+     * @return the new stream
+     */
+    public RandomStream fork() {
+        return forks.split();
+    }
+
+    /**
+     * Returns a new context in the same state as this one, which draws the same values from now on.
+     *
+     * @return the copy
+     */
+    public GameRandom copy() {
+        final RandomStream[] streams = streams();
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = streams[i].copy();
+        }
+        return new GameRandom(seed, streams);
+    }
+
+    /**
+     * Writes the seed and the state of all streams of this context to the given buffer.
+     *
+     * @param buffer the buffer to write to, with at least {@link #ENCODED_SIZE} bytes remaining
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        buffer.putLong(seed);
+        for (final RandomStream stream : streams()) {
+            stream.writeTo(buffer);
+        }
+    }
+
+    /**
+     * Reads a context written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer the buffer to read from, positioned at the context
+     * @return the context
+     * @throws IllegalArgumentException if the state of a stream is invalid
+     */
+    public static GameRandom readFrom(final ByteBuffer buffer) {
+        final long seed = buffer.getLong();
+        final RandomStream[] streams = new RandomStream[STREAMS];
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = RandomStream.readFrom(buffer);
+        }
+        return new GameRandom(seed, streams);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof GameRandom that && seed == that.seed
+            && Arrays.equals(streams(), that.streams());
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + Arrays.hashCode(streams());
+    }
+
+    private RandomStream[] streams() {
+        return new RandomStream[] {tileTypes, rollNumbers, ports, dice, developmentCards, colors, forks};
+    }
+}
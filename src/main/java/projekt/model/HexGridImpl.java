@@ -2,36 +2,52 @@ package projekt.model;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.Property;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableDoubleValue;
+import javafx.util.Subscription;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import org.tudalgo.algoutils.student.annotation.StudentImplementationRequired;
 import projekt.Config;
 import projekt.model.buildings.Edge;
 import projekt.model.buildings.EdgeImpl;
 import projekt.model.buildings.Port;
+import projekt.model.buildings.Settlement;
 import projekt.model.tiles.Tile;
 import projekt.model.tiles.TileImpl;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Default implementation of {@link HexGrid}.
  */
 public class HexGridImpl implements HexGrid {
 
-    private final Map<TilePosition, Tile> tiles = new HashMap<>();
-    private final Map<Set<TilePosition>, Intersection> intersections = new HashMap<>();
-    private final Map<Set<TilePosition>, Edge> edges = new HashMap<>();
+    private final BoardTopology topology;
+    private final Tile[] tileById;
+    private final Intersection[] intersectionById;
+    private final Edge[] edgeById;
+    private final Map<TilePosition, Tile> tiles;
+    private final Map<Set<TilePosition>, Intersection> intersections;
+    private final Map<Set<TilePosition>, Edge> edges;
+    private final List<BoardListener> boardListeners = new CopyOnWriteArrayList<>();
+    private final Subscription[] roadOwnerSubscriptions;
+    private final Property<?>[] subscribedRoadOwners;
+    private final PieceIndex pieces;
+    private final LongestRoadIndex longestRoads;
+    private final VictoryPointLedger victoryPoints;
+    private final ProductionTable production;
+    private final BiFunction<TilePosition, TilePosition.EdgeDirection, Port> portMapper;
     private TilePosition robberPosition;
     private final ObservableDoubleValue tileWidth;
     private final ObservableDoubleValue tileHeight;
@@ -43,15 +59,83 @@ public class HexGridImpl implements HexGrid {
      * @param radius              radius of the grid, center is included
      * @param rollNumberGenerator a supplier returning a tile's roll number
      * @param tileTypeGenerator   a supplier returning a tile's type
+     * @param portMapper          a function returning the port of an edge, given by a tile and direction,
+     *                            or {@code null} if the edge has no port
      */
-    @DoNotTouch
-    public HexGridImpl(final int radius, final Supplier<Integer> rollNumberGenerator, final Supplier<Tile.Type> tileTypeGenerator) {
+    @SuppressWarnings("unchecked")
+    public HexGridImpl(
+        final int radius,
+        final Supplier<Integer> rollNumberGenerator,
+        final Supplier<Tile.Type> tileTypeGenerator,
+        final BiFunction<TilePosition, TilePosition.EdgeDirection, Port> portMapper
+    ) {
+        this.portMapper = portMapper;
         this.tileHeight = Bindings.createDoubleBinding(() -> tileSize.get() * 2, tileSize);
         this.tileWidth = Bindings.createDoubleBinding(() -> Math.sqrt(3) * tileSize.get(), tileSize);
+        this.topology = new BoardTopology(radius);
+        this.tileById = new Tile[topology.tileCount()];
+        this.intersectionById = new Intersection[topology.intersectionCount()];
+        this.edgeById = new Edge[topology.edgeCount()];
+        this.roadOwnerSubscriptions = new Subscription[topology.edgeCount()];
+        this.subscribedRoadOwners = new Property<?>[topology.edgeCount()];
+        this.tiles = new TopologyMap<>(
+            IntStream.range(0, topology.tileCount()).mapToObj(topology::tilePosition).toArray(TilePosition[]::new),
+            tileById,
+            key -> key instanceof TilePosition position ? topology.tileId(position) : BoardTopology.NONE,
+            this::elementsReplaced
+        );
+        this.intersections = new TopologyMap<>(
+            IntStream.range(0, topology.intersectionCount()).mapToObj(topology::intersectionKey).toArray(Set[]::new),
+            intersectionById,
+            TopologyMap.positionSetIds(topology, 3),
+            this::elementsReplaced
+        );
+        this.edges = new TopologyMap<>(
+            IntStream.range(0, topology.edgeCount()).mapToObj(topology::edgeKey).toArray(Set[]::new),
+            edgeById,
+            TopologyMap.positionSetIds(topology, 2),
+            this::elementsReplaced
+        );
         initTiles(radius, rollNumberGenerator, tileTypeGenerator);
         initIntersections();
         initEdges();
+        initAdjacency();
+        subscribeToRoadOwners();
         initRobber();
+        this.pieces = new PieceIndex(this);
+        this.longestRoads = new LongestRoadIndex(this);
+        this.victoryPoints = new VictoryPointLedger(this);
+        this.production = new ProductionTable(this);
+    }
+
+    /**
+     * Constructs a new hex grid with the specified radius and generators.
+     * The port mapper is taken from {@link Config}.
+     *
+     * @param radius              radius of the grid, center is included
+     * @param rollNumberGenerator a supplier returning a tile's roll number
+     * @param tileTypeGenerator   a supplier returning a tile's type
+     */
+    @DoNotTouch
+    public HexGridImpl(final int radius, final Supplier<Integer> rollNumberGenerator, final Supplier<Tile.Type> tileTypeGenerator) {
+        this(radius, rollNumberGenerator, tileTypeGenerator, Config.generatePortMapper());
+    }
+
+    /**
+     * Constructs a new hex grid with the specified radius.
+     * The generators for roll number, tile type and ports are taken from {@link Config}
+     * and draw from the respective streams of the given {@link GameRandom}.
+     *
+     * @param radius radius of the grid, center is included
+     * @param random the source of randomness of the game
+     */
+    public HexGridImpl(final int radius, final GameRandom random) {
+        this(
+            radius,
+            Config.generateRollNumbers(random.rollNumbers()),
+            Config.generateTileTypes(random.tileTypes()),
+            Config.generatePortMapper(radius, random.ports())
+        );
     }
 
     /**
@@ -59,14 +143,16 @@ public class HexGridImpl implements HexGrid {
      * The generators for roll number and tile type are taken from {@link Config}.
      *
      * @param radius radius of the grid, center is included
+     * @see #HexGridImpl(int, GameRandom)
      */
     @DoNotTouch
     public HexGridImpl(final int radius) {
-        this(radius, Config.generateRollNumbers(), Config.generateTileTypes());
+        this(radius, GameRandom.create());
     }
 
     /**
      * Initializes the tiles in this grid.
+     * Tiles are created in spiral order, which is the order of their ids in the {@link BoardTopology}.
      *
      * @param grid_radius         radius of the grid, center is included
      * @param rollNumberGenerator a supplier returning a tile's roll number
@@ -88,38 +174,79 @@ public class HexGridImpl implements HexGrid {
      */
     @DoNotTouch
     private void initIntersections() {
-        for (final var tile : this.tiles.values()) {
-            Arrays.stream(TilePosition.IntersectionDirection.values())
-                .map(tile::getIntersectionPositions)
-                .forEach(
-                    ps -> this.intersections.putIfAbsent(ps, new IntersectionImpl(this, ps.stream().toList())));
+        for (int id = 0; id < intersectionById.length; id++) {
+            intersectionById[id] = new IntersectionImpl(this, topology.intersectionPositions(id));
         }
     }
 
     /**
      * Initializes the edges in this grid.
+     * The ports of the edges are taken from the port mapper this grid was constructed with.
      */
     @DoNotTouch
     private void initEdges() {
-        final BiFunction<TilePosition, TilePosition.EdgeDirection, Port> portMapper = Config.generatePortMapper();
-
-        for (final var tile : this.tiles.values()) {
-            Arrays.stream(TilePosition.EdgeDirection.values())
-                .forEach(
-                    ed -> this.edges.putIfAbsent(
-                        Set.of(
-                            tile.getPosition(),
-                            TilePosition.neighbour(tile.getPosition(), ed)
-                        ),
-                        new EdgeImpl(
-                            this,
-                            tile.getPosition(),
-                            TilePosition.neighbour(tile.getPosition(), ed),
-                            new SimpleObjectProperty<>(null),
-                            portMapper.apply(tile.getPosition(), ed)
-                        )
-                    )
-                );
+        for (int tile = 0; tile < tileById.length; tile++) {
+            for (final TilePosition.EdgeDirection direction : TilePosition.EdgeDirection.values()) {
+                final int id = topology.tileEdge(tile, direction);
+                if (edgeById[id] == null) {
+                    edgeById[id] = new EdgeImpl(
+                        this,
+                        topology.edgePosition1(id),
+                        topology.edgePosition2(id),
+                        new SimpleObjectProperty<>(null),
+                        portMapper.apply(topology.edgePosition1(id), direction)
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the adjacency of all intersections, so it does not need to be looked up on each query.
+     */
+    private void initAdjacency() {
+        for (final Intersection intersection : intersectionById) {
+            if (intersection instanceof IntersectionImpl intersectionImpl) {
+                intersectionImpl.resolveAdjacency();
+            }
+        }
+    }
+
+    /**
+     * Subscribes to the road owner property of every edge that is not subscribed to yet,
+     * forwarding changes to the {@link BoardListener}s.
+     */
+    private void subscribeToRoadOwners() {
+        for (int id = 0; id < edgeById.length; id++) {
+            final int edgeId = id;
+            final Property<Player> roadOwner = edgeById[id].getRoadOwnerProperty();
+            if (subscribedRoadOwners[id] != roadOwner) {
+                if (roadOwnerSubscriptions[id] != null) {
+                    roadOwnerSubscriptions[id].unsubscribe();
+                }
+                subscribedRoadOwners[id] = roadOwner;
+                roadOwnerSubscriptions[id] = roadOwner.subscribe((oldOwner, newOwner) -> {
+                    for (final BoardListener listener : boardListeners) {
+                        listener.roadChanged(edgeById[edgeId], oldOwner, newOwner);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Called whenever a tile, intersection or edge in this grid is replaced.
+     * Discards the resolved adjacency of all intersections and notifies the {@link BoardListener}s.
+     */
+    private void elementsReplaced() {
+        for (final Intersection intersection : intersectionById) {
+            if (intersection instanceof IntersectionImpl intersectionImpl) {
+                intersectionImpl.invalidateAdjacency();
+            }
+        }
+        subscribeToRoadOwners();
+        for (final BoardListener listener : boardListeners) {
+            listener.elementsReplaced();
         }
     }
 
@@ -128,11 +255,54 @@ public class HexGridImpl implements HexGrid {
      */
     @DoNotTouch
     private void initRobber() {
-        this.tiles.values().stream().filter(tile -> tile.getType() == Tile.Type.DESERT).findAny()
+        Arrays.stream(tileById).filter(tile -> tile.getType() == Tile.Type.DESERT).findAny()
             .ifPresent(tile -> robberPosition = tile.getPosition());
     }
 
 
+    /**
+     * Returns the topology of this grid.
+     * The ids it assigns can be used with {@link #getTileById(int)}, {@link #getIntersectionById(int)}
+     * and {@link #getEdgeById(int)}.
+     *
+     * @return the topology of this grid
+     */
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Registers a listener that is notified about changes to the pieces on this grid.
+     *
+     * @param listener the listener to add
+     */
+    public void addBoardListener(final BoardListener listener) {
+        boardListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeBoardListener(final BoardListener listener) {
+        boardListeners.remove(listener);
+    }
+
+    /**
+     * Notifies the {@link BoardListener}s that the settlement on an intersection has changed.
+     *
+     * @param intersection  the intersection
+     * @param oldSettlement the previous settlement
+     * @param newSettlement the new settlement
+     */
+    void fireSettlementChanged(final Intersection intersection, final Settlement oldSettlement, final Settlement newSettlement) {
+        for (final BoardListener listener : boardListeners) {
+            listener.settlementChanged(intersection, oldSettlement, newSettlement);
+        }
+    }
+
+
     // Tiles
 
     @Override
@@ -172,17 +342,28 @@ public class HexGridImpl implements HexGrid {
 
     @Override
     public Set<Tile> getTiles(final int diceRoll) {
-        return tiles.values().stream().filter(tile -> tile.getRollNumber() == diceRoll).collect(Collectors.toSet());
+        return production.getTiles(diceRoll);
     }
 
     @Override
     public Tile getTileAt(final int q, final int r) {
-        return getTileAt(new TilePosition(q, r));
+        final int id = topology.tileId(q, r);
+        return id == BoardTopology.NONE ? null : tileById[id];
     }
 
     @Override
     public Tile getTileAt(final TilePosition position) {
-        return tiles.get(position);
+        return getTileAt(position.q(), position.r());
+    }
+
+    /**
+     * Returns the tile with the given id.
+     *
+     * @param id the tile's id in this grid's {@link BoardTopology}
+     * @return the tile with the given id
+     */
+    public Tile getTileById(final int id) {
+        return tileById[id];
     }
 
     /**
@@ -194,7 +375,7 @@ public class HexGridImpl implements HexGrid {
      */
     private void addTile(final TilePosition position, final Tile.Type type, final Supplier<Integer> rollNumberGenerator) {
         final int rollNumber = type.resourceType != null ? rollNumberGenerator.get() : 0;
-        tiles.put(position, new TileImpl(position, type, rollNumber, tileHeight, tileWidth, this));
+        tileById[topology.tileId(position)] = new TileImpl(position, type, rollNumber, tileHeight, tileWidth, this);
     }
 
 
@@ -207,7 +388,30 @@ public class HexGridImpl implements HexGrid {
 
     @Override
     public Intersection getIntersectionAt(final TilePosition position0, final TilePosition position1, final TilePosition position2) {
-        return intersections.get(Set.of(position0, position1, position2));
+        final int id = topology.intersectionId(position0, position1, position2);
+        return id == BoardTopology.NONE ? null : intersectionById[id];
+    }
+
+    /**
+     * Returns the intersection in the given direction of the given position.
+     *
+     * @param position  the position
+     * @param direction the direction of the intersection
+     * @return the intersection or {@code null} if there is no such intersection
+     */
+    public Intersection getIntersectionAt(final TilePosition position, final TilePosition.IntersectionDirection direction) {
+        final int id = topology.intersectionId(position, direction);
+        return id == BoardTopology.NONE ? null : intersectionById[id];
+    }
+
+    /**
+     * Returns the intersection with the given id.
+     *
+     * @param id the intersection's id in this grid's {@link BoardTopology}
+     * @return the intersection with the given id
+     */
+    public Intersection getIntersectionById(final int id) {
+        return intersectionById[id];
     }
 
 
@@ -220,30 +424,116 @@ public class HexGridImpl implements HexGrid {
 
     @Override
     public Edge getEdge(final TilePosition position0, final TilePosition position1) {
-        return edges.get(Set.of(position0, position1));
+        final int id = topology.edgeId(position0, position1);
+        return id == BoardTopology.NONE ? null : edgeById[id];
+    }
+
+    /**
+     * Returns the edge in the given direction of the given position.
+     *
+     * @param position  the position
+     * @param direction the direction of the edge
+     * @return the edge or {@code null} if there is no such edge
+     */
+    public Edge getEdge(final TilePosition position, final TilePosition.EdgeDirection direction) {
+        final int id = topology.edgeId(position, direction);
+        return id == BoardTopology.NONE ? null : edgeById[id];
+    }
+
+    /**
+     * Returns the edge with the given id.
+     *
+     * @param id the edge's id in this grid's {@link BoardTopology}
+     * @return the edge with the given id
+     */
+    public Edge getEdgeById(final int id) {
+        return edgeById[id];
     }
 
     @Override
     @StudentImplementationRequired("H1.3")
     public Map<Set<TilePosition>, Edge> getRoads(final Player player) {
-        // TODO: H1.3 check done
-        Map<Set<TilePosition>, Edge> result = new HashMap<>();
-        edges.forEach((a,b)->{
-            if(b.getRoadOwner() == player){
-                result.put(a,b);
-            }
-
-        });
+        return pieces.getRoads(player);
+    }
 
+    /**
+     * Returns the number of roads the given player owns on this grid.
+     *
+     * @param player the player
+     * @return the number of roads
+     */
+    public int countRoads(final Player player) {
+        return pieces.countRoads(player);
+    }
 
+    /**
+     * Returns all settlements the given player owns on this grid.
+     * The set is maintained as settlements are placed, so this method does not scan the grid.
+     *
+     * @param player the player
+     * @return the settlements of the player
+     */
+    public Set<Settlement> getSettlements(final Player player) {
+        return pieces.getSettlements(player);
+    }
 
-        return result;
+    /**
+     * Returns the number of settlements of the given type the given player owns on this grid.
+     *
+     * @param player the player
+     * @param type   the type of settlement
+     * @return the number of settlements
+     */
+    public int countSettlements(final Player player, final Settlement.Type type) {
+        return pieces.countSettlements(player, type);
     }
 
     @Override
     @DoNotTouch
     public List<Edge> getLongestRoad(final Player player) {
-        throw new UnsupportedOperationException("Unimplemented method 'getLongestRoad'");
+        return longestRoads.getLongestRoad(player);
+    }
+
+    /**
+     * Returns the player holding the longest road, i.e., the player who first built the longest road
+     * of at least {@link Config#LONGEST_ROAD_MIN_LENGTH} roads and has not been surpassed since.
+     * The holder is maintained incrementally, so this method runs in constant time.
+     *
+     * @return the holder, {@code null} if nobody holds the longest road
+     */
+    public Player getLongestRoadHolder() {
+        return longestRoads.getHolder();
+    }
+
+    /**
+     * Sets the player holding the longest road. When several players tie for the longest road, the holder cannot
+     * be derived from the board, so restoring a saved game must set it explicitly.
+     *
+     * @param holder the holder, {@code null} if nobody holds the longest road
+     * @throws IllegalArgumentException if the player's road is not the longest of at least
+     *                                  {@link Config#LONGEST_ROAD_MIN_LENGTH} roads, or the holder is {@code null}
+     *                                  although one player's road is the longest
+     */
+    public void setLongestRoadHolder(final Player holder) {
+        longestRoads.setHolder(holder);
+    }
+
+    /**
+     * Returns the ledger keeping the victory points of the players on this grid.
+     *
+     * @return the victory point ledger
+     */
+    public VictoryPointLedger getVictoryPointLedger() {
+        return victoryPoints;
+    }
+
+    /**
+     * Returns the table of resources produced by each dice roll on this grid.
+     *
+     * @return the production table
+     */
+    public ProductionTable getProductionTable() {
+        return production;
     }
 
     @Override
@@ -275,7 +565,7 @@ public class HexGridImpl implements HexGrid {
 
     @Override
     public boolean removeRoad(final TilePosition position0, final TilePosition position1) {
-        edges.get(Set.of(position0, position1)).getRoadOwnerProperty().setValue(null);
+        getEdge(position0, position1).getRoadOwnerProperty().setValue(null);
         return true;
     }
 
@@ -289,6 +579,12 @@ public class HexGridImpl implements HexGrid {
 
     @Override
     public void setRobberPosition(final TilePosition position) {
+        final TilePosition oldPosition = robberPosition;
         robberPosition = position;
+        if (!Objects.equals(oldPosition, position)) {
+            for (final BoardListener listener : boardListeners) {
+                listener.robberMoved(oldPosition, position);
+            }
+        }
     }
 }
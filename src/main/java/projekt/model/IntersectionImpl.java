@@ -5,7 +5,9 @@ import org.tudalgo.algoutils.student.annotation.StudentImplementationRequired;
 import projekt.model.buildings.Edge;
 import projekt.model.buildings.Port;
 import projekt.model.buildings.Settlement;
+import projekt.model.tiles.Tile;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,7 +25,11 @@ public class IntersectionImpl implements Intersection {
     private final TilePosition position1;
     private final TilePosition position2;
     private final HexGrid hexGrid;
+    private final Set<TilePosition> adjacentTilePositions;
     private Settlement settlement;
+    private Set<Intersection> adjacentIntersections;
+    private Set<Edge> connectedEdges;
+    private Set<Tile> adjacentTiles;
 
     /**
      * Creates a new intersection with the given positions.
@@ -62,6 +68,71 @@ public class IntersectionImpl implements Intersection {
         this.position1 = position1;
         this.position2 = position2;
         this.hexGrid = hexGrid;
+        this.adjacentTilePositions = Set.of(position0, position1, position2);
+    }
+
+    /**
+     * Resolves and caches the intersections, edges and tiles adjacent to this intersection.
+     * If the grid is a {@link HexGridImpl}, they are looked up in its {@link BoardTopology}.
+     * Otherwise, they are searched for in the grid's maps.
+     */
+    void resolveAdjacency() {
+        final int id = hexGrid instanceof HexGridImpl grid
+            ? grid.getTopology().intersectionId(position0, position1, position2)
+            : BoardTopology.NONE;
+
+        if (id != BoardTopology.NONE) {
+            final HexGridImpl grid = (HexGridImpl) hexGrid;
+            final BoardTopology topology = grid.getTopology();
+            final List<Intersection> intersections = new ArrayList<>(BoardTopology.INTERSECTION_DEGREE);
+            final List<Edge> edges = new ArrayList<>(BoardTopology.INTERSECTION_DEGREE);
+            final List<Tile> tiles = new ArrayList<>(BoardTopology.INTERSECTION_DEGREE);
+            for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+                final int neighbour = topology.intersectionNeighbour(id, i);
+                final int edge = topology.intersectionEdge(id, i);
+                final int tile = topology.intersectionTile(id, i);
+                if (neighbour != BoardTopology.NONE) {
+                    intersections.add(grid.getIntersectionById(neighbour));
+                }
+                if (edge != BoardTopology.NONE) {
+                    edges.add(grid.getEdgeById(edge));
+                }
+                if (tile != BoardTopology.NONE) {
+                    tiles.add(grid.getTileById(tile));
+                }
+            }
+            adjacentIntersections = Set.copyOf(intersections);
+            connectedEdges = Set.copyOf(edges);
+            adjacentTiles = Set.copyOf(tiles);
+        } else {
+            adjacentIntersections = hexGrid.getIntersections().entrySet().stream().filter(
+                    entry -> entry.getKey().containsAll(Set.of(position0, position1)) ||
+                        entry.getKey().containsAll(Set.of(position1, position2)) ||
+                        entry.getKey().containsAll(Set.of(position2, position0)))
+                .map(Map.Entry::getValue)
+                .filter(Predicate.not(this::equals))
+                .collect(Collectors.toUnmodifiableSet());
+            connectedEdges = Stream.of(
+                    Set.of(this.position1, this.position2),
+                    Set.of(this.position2, this.position0),
+                    Set.of(this.position0, this.position1)
+                )
+                .filter(this.hexGrid.getEdges()::containsKey)
+                .map(this.hexGrid.getEdges()::get)
+                .collect(Collectors.toUnmodifiableSet());
+            adjacentTiles = Intersection.super.getAdjacentTiles().stream()
+                .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    /**
+     * Discards the cached adjacency, it is resolved again on the next query.
+     * Used when the grid replaces one of its intersections, edges or tiles.
+     */
+    void invalidateAdjacency() {
+        adjacentIntersections = null;
+        connectedEdges = null;
+        adjacentTiles = null;
     }
 
     @Override
@@ -89,7 +160,7 @@ public class IntersectionImpl implements Intersection {
     public boolean placeVillage(final Player player, final boolean ignoreRoadCheck) {
         if (hasSettlement() || (!ignoreRoadCheck && !playerHasConnectedRoad(player))) return false;
 
-        settlement = new Settlement(player, VILLAGE, this);
+        setSettlement(new Settlement(player, VILLAGE, this));
 
         return true;
     }
@@ -99,7 +170,7 @@ public class IntersectionImpl implements Intersection {
     public boolean  upgradeSettlement(final Player player) {
         if (!playerHasSettlement(player) || !settlement.type().equals(VILLAGE)) return false;
 
-        settlement = new Settlement(player, CITY, this);
+        setSettlement(new Settlement(player, CITY, this));
 
         return true;
     }
@@ -114,65 +185,88 @@ public class IntersectionImpl implements Intersection {
         }
 
         if (settlement.type().equals(CITY_WITH_REACTOR)) {
-            settlement = new Settlement(player, CITY, this);
+            setSettlement(new Settlement(player, CITY, this));
         }
         if (settlement.type().equals(CITY)) {
-            settlement = new Settlement(player, VILLAGE, this);
+            setSettlement(new Settlement(player, VILLAGE, this));
+        }
+    }
+
+    /**
+     * Replaces the settlement on this intersection and notifies the grid's {@link BoardListener}s.
+     *
+     * @param newSettlement the new settlement
+     */
+    private void setSettlement(final Settlement newSettlement) {
+        final Settlement oldSettlement = settlement;
+        settlement = newSettlement;
+        if (hexGrid instanceof HexGridImpl grid) {
+            grid.fireSettlementChanged(this, oldSettlement, newSettlement);
         }
     }
 
     @Override
     public Port getPort() {
-        return getConnectedEdges().stream()
-            .filter(Edge::hasPort)
-            .map(Edge::getPort)
-            .findAny()
-            .orElse(null);
+        for (final Edge edge : getConnectedEdges()) {
+            if (edge.hasPort()) {
+                return edge.getPort();
+            }
+        }
+        return null;
     }
 
     @Override
     public Set<Edge> getConnectedEdges() {
-        return Stream.of(
-                Set.of(this.position1, this.position2),
-                Set.of(this.position2, this.position0),
-                Set.of(this.position0, this.position1)
-            )
-            .filter(this.hexGrid.getEdges()::containsKey)
-            .map(this.hexGrid.getEdges()::get)
-            .collect(Collectors.toUnmodifiableSet());
+        if (connectedEdges == null) {
+            resolveAdjacency();
+        }
+        return connectedEdges;
     }
 
     @Override
     public boolean playerHasConnectedRoad(final Player player) {
-        return getConnectedEdges().stream()
-            .anyMatch(edge -> edge.hasRoad() && edge.getRoadOwner().equals(player));
+        for (final Edge edge : getConnectedEdges()) {
+            if (edge.hasRoad() && edge.getRoadOwner().equals(player)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public Set<Intersection> getAdjacentIntersections() {
-        return hexGrid.getIntersections().entrySet().stream().filter(
-                entry -> entry.getKey().containsAll(Set.of(position0, position1)) ||
-                    entry.getKey().containsAll(Set.of(position1, position2)) ||
-                    entry.getKey().containsAll(Set.of(position2, position0)))
-            .map(Map.Entry::getValue)
-            .filter(Predicate.not(this::equals))
-            .collect(Collectors.toUnmodifiableSet());
+        if (adjacentIntersections == null) {
+            resolveAdjacency();
+        }
+        return adjacentIntersections;
+    }
+
+    @Override
+    public Set<Tile> getAdjacentTiles() {
+        if (adjacentTiles == null) {
+            resolveAdjacency();
+        }
+        return adjacentTiles;
     }
 
     @Override
     public Set<TilePosition> getAdjacentTilePositions() {
-        return Set.of(position0, position1, position2);
+        return adjacentTilePositions;
     }
 
     @Override
     public boolean isConnectedTo(final TilePosition... positions) {
-        return Stream.of(positions)
-            .allMatch(position -> this.position0.equals(position) || this.position1.equals(position) || this.position2.equals(position));
+        for (final TilePosition position : positions) {
+            if (!this.position0.equals(position) && !this.position1.equals(position) && !this.position2.equals(position)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return getAdjacentTilePositions().hashCode();
+        return adjacentTilePositions.hashCode();
     }
 
     @Override
@@ -182,6 +276,6 @@ public class IntersectionImpl implements Intersection {
         if (o == null || getClass() != o.getClass())
             return false;
         final IntersectionImpl intersection = (IntersectionImpl) o;
-        return getAdjacentTilePositions().equals(intersection.getAdjacentTilePositions());
+        return adjacentTilePositions.equals(intersection.adjacentTilePositions);
     }
 }
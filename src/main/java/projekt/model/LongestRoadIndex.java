@@ -0,0 +1,358 @@
+package projekt.model;
+
+import projekt.Config;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the longest road of every player and of the player holding the longest road.
+ * <p>
+ * A player's roads are split into components of roads connected by intersections.
+ * The longest road of a component is the longest trail through it, found by a depth-first search that may end,
+ * but not continue, at an intersection with a settlement of another player.
+ * The index listens to the {@link HexGridImpl} it was created for and, whenever a road or settlement changes,
+ * only recomputes the components touching the change.
+ * <p>
+ * A player holds the longest road if it has at least {@link Config#LONGEST_ROAD_MIN_LENGTH} roads.
+ * The holder keeps it on a tie and loses it only when another player's road becomes longer
+ * or its own road is broken; if then several players tie for the longest road, nobody holds it.
+ */
+final class LongestRoadIndex implements BoardListener {
+
+    private final HexGridImpl grid;
+    private final BoardTopology topology;
+    private final Map<Player, List<Component>> components = new LinkedHashMap<>();
+    private final Map<Player, Component> longest = new LinkedHashMap<>();
+    private Player holder;
+
+    private final BitSet searchEdges = new BitSet();
+    private final BitSet usedEdges = new BitSet();
+    private int[] path = new int[0];
+    private int[] bestPath = new int[0];
+    private Player searchPlayer;
+
+    /**
+     * Creates a new index and registers it with the given grid.
+     *
+     * @param grid the grid to index
+     */
+    LongestRoadIndex(final HexGridImpl grid) {
+        this.grid = grid;
+        this.topology = grid.getTopology();
+        rebuild();
+        grid.addBoardListener(this);
+    }
+
+    /**
+     * Returns the edges of the longest road of the given player, in the order they are traversed.
+     *
+     * @param player the player
+     * @return the edges of the longest road, empty if the player has no roads
+     */
+    List<Edge> getLongestRoad(final Player player) {
+        final Component component = longest.get(player);
+        if (component == null) {
+            return List.of();
+        }
+        if (component.longestRoadView == null) {
+            final List<Edge> edges = new ArrayList<>(component.longestRoad.length);
+            for (final int edge : component.longestRoad) {
+                edges.add(grid.getEdgeById(edge));
+            }
+            component.longestRoadView = Collections.unmodifiableList(edges);
+        }
+        return component.longestRoadView;
+    }
+
+    /**
+     * Returns the length of the longest road of the given player.
+     *
+     * @param player the player
+     * @return the number of edges of the longest road
+     */
+    int getLongestRoadLength(final Player player) {
+        final Component component = longest.get(player);
+        return component == null ? 0 : component.longestRoad.length;
+    }
+
+    /**
+     * Returns the player holding the longest road.
+     *
+     * @return the holder, {@code null} if nobody holds the longest road
+     */
+    Player getHolder() {
+        return holder;
+    }
+
+    /**
+     * Sets the player holding the longest road, e.g., when restoring a saved game in which several players tie.
+     *
+     * @param holder the holder, {@code null} if nobody holds the longest road
+     * @throws IllegalArgumentException if the player does not have a longest road of at least
+     *                                  {@link Config#LONGEST_ROAD_MIN_LENGTH} roads, another player's is longer,
+     *                                  or the holder is {@code null} although one player's road is the longest
+     */
+    void setHolder(final Player holder) {
+        int max = 0;
+        for (final Component component : longest.values()) {
+            max = Math.max(max, component.longestRoad.length);
+        }
+        final boolean valid = holder == null
+            ? this.holder == null
+            : max >= Config.LONGEST_ROAD_MIN_LENGTH && getLongestRoadLength(holder) == max;
+        if (!valid) {
+            throw new IllegalArgumentException("Player cannot hold the longest road: " + holder);
+        }
+        this.holder = holder;
+    }
+
+    @Override
+    public void roadChanged(final Edge edge, final Player oldOwner, final Player newOwner) {
+        final int id = topology.edgeId(edge.getPosition1(), edge.getPosition2());
+        final int intersection0 = topology.edgeIntersection(id, 0);
+        final int intersection1 = topology.edgeIntersection(id, 1);
+        if (oldOwner != null) {
+            updateComponentsAt(oldOwner, intersection0, intersection1);
+        }
+        if (newOwner != null) {
+            updateComponentsAt(newOwner, intersection0, intersection1);
+        }
+        updateHolder();
+    }
+
+    @Override
+    public void settlementChanged(
+        final Intersection intersection,
+        final Settlement oldSettlement,
+        final Settlement newSettlement
+    ) {
+        final Iterator<TilePosition> positions = intersection.getAdjacentTilePositions().iterator();
+        final int id = topology.intersectionId(positions.next(), positions.next(), positions.next());
+        final Set<Player> owners = new LinkedHashSet<>();
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int edge = topology.intersectionEdge(id, i);
+            if (edge != BoardTopology.NONE && grid.getEdgeById(edge).hasRoad()) {
+                owners.add(grid.getEdgeById(edge).getRoadOwner());
+            }
+        }
+        for (final Player owner : owners) {
+            updateComponentsAt(owner, id, id);
+        }
+        updateHolder();
+    }
+
+    @Override
+    public void elementsReplaced() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes the whole index from the current state of the grid.
+     */
+    private void rebuild() {
+        components.clear();
+        longest.clear();
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            final Player owner = grid.getEdgeById(edge).getRoadOwner();
+            if (owner != null && !contains(owner, edge)) {
+                addComponent(owner, edge);
+            }
+        }
+        for (final Player player : components.keySet()) {
+            updateLongest(player);
+        }
+        holder = null;
+        updateHolder();
+    }
+
+    /**
+     * Recomputes the components of the given player that touch the given intersections.
+     * Components are replaced as a whole, since adding or removing a road may join or split them.
+     *
+     * @param player        the player
+     * @param intersection0 the first intersection
+     * @param intersection1 the second intersection
+     */
+    private void updateComponentsAt(final Player player, final int intersection0, final int intersection1) {
+        final List<Component> playerComponents = components.computeIfAbsent(player, key -> new ArrayList<>());
+        playerComponents.removeIf(component -> component.touches(intersection0) || component.touches(intersection1));
+        for (final int intersection : new int[] {intersection0, intersection1}) {
+            for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+                final int edge = topology.intersectionEdge(intersection, i);
+                if (edge != BoardTopology.NONE && player.equals(grid.getEdgeById(edge).getRoadOwner())
+                    && !contains(player, edge)) {
+                    addComponent(player, edge);
+                }
+            }
+        }
+        updateLongest(player);
+    }
+
+    private boolean contains(final Player player, final int edge) {
+        final List<Component> playerComponents = components.get(player);
+        if (playerComponents != null) {
+            for (final Component component : playerComponents) {
+                if (component.edges.get(edge)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the component of the given player containing the given edge and computes its longest road.
+     *
+     * @param player the player
+     * @param start  an edge of the component
+     */
+    private void addComponent(final Player player, final int start) {
+        final Component component = new Component();
+        final List<Integer> queue = new ArrayList<>();
+        queue.add(start);
+        component.edges.set(start);
+        for (int head = 0; head < queue.size(); head++) {
+            final int edge = queue.get(head);
+            for (int side = 0; side < 2; side++) {
+                final int intersection = topology.edgeIntersection(edge, side);
+                component.intersections.set(intersection);
+                for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+                    final int next = topology.intersectionEdge(intersection, i);
+                    if (next != BoardTopology.NONE && !component.edges.get(next)
+                        && player.equals(grid.getEdgeById(next).getRoadOwner())) {
+                        component.edges.set(next);
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        component.longestRoad = searchLongestRoad(player, component);
+        components.computeIfAbsent(player, key -> new ArrayList<>()).add(component);
+    }
+
+    /**
+     * Updates the longest road of the given player from the longest roads of its components.
+     *
+     * @param player the player
+     */
+    private void updateLongest(final Player player) {
+        Component best = null;
+        for (final Component component : components.getOrDefault(player, List.of())) {
+            if (best == null || component.longestRoad.length > best.longestRoad.length) {
+                best = component;
+            }
+        }
+        if (best == null) {
+            longest.remove(player);
+        } else {
+            longest.put(player, best);
+        }
+    }
+
+    /**
+     * Re-evaluates which player holds the longest road.
+     */
+    private void updateHolder() {
+        int max = 0;
+        for (final Component component : longest.values()) {
+            max = Math.max(max, component.longestRoad.length);
+        }
+        if (max < Config.LONGEST_ROAD_MIN_LENGTH) {
+            holder = null;
+            return;
+        }
+        if (holder != null && getLongestRoadLength(holder) == max) {
+            return;
+        }
+        holder = null;
+        for (final Map.Entry<Player, Component> entry : longest.entrySet()) {
+            if (entry.getValue().longestRoad.length == max) {
+                if (holder != null) {
+                    holder = null;
+                    return;
+                }
+                holder = entry.getKey();
+            }
+        }
+    }
+
+    /**
+     * Finds the longest trail of the given player's roads in the given component.
+     *
+     * @param player    the player
+     * @param component the component
+     * @return the edges of the longest trail, in order
+     */
+    private int[] searchLongestRoad(final Player player, final Component component) {
+        searchPlayer = player;
+        searchEdges.clear();
+        searchEdges.or(component.edges);
+        usedEdges.clear();
+        if (path.length < component.edges.cardinality()) {
+            path = new int[component.edges.cardinality()];
+        }
+        bestPath = new int[0];
+        for (int start = component.intersections.nextSetBit(0); start >= 0;
+             start = component.intersections.nextSetBit(start + 1)) {
+            search(start, 0);
+        }
+        return bestPath;
+    }
+
+    /**
+     * Extends the current trail from the given intersection.
+     *
+     * @param intersection the intersection the trail ends at
+     * @param length       the length of the current trail
+     */
+    private void search(final int intersection, final int length) {
+        if (length > bestPath.length) {
+            bestPath = Arrays.copyOf(path, length);
+        }
+        if (length > 0 && isBlocked(intersection)) {
+            return;
+        }
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int edge = topology.intersectionEdge(intersection, i);
+            if (edge != BoardTopology.NONE && searchEdges.get(edge) && !usedEdges.get(edge)) {
+                usedEdges.set(edge);
+                path[length] = edge;
+                final int next = topology.edgeIntersection(edge, 0) == intersection
+                    ? topology.edgeIntersection(edge, 1)
+                    : topology.edgeIntersection(edge, 0);
+                search(next, length + 1);
+                usedEdges.clear(edge);
+            }
+        }
+    }
+
+    private boolean isBlocked(final int intersection) {
+        final Intersection element = grid.getIntersectionById(intersection);
+        return element.hasSettlement() && !element.playerHasSettlement(searchPlayer);
+    }
+
+    /**
+     * A set of roads of one player connected by intersections.
+     */
+    private static final class Component {
+        private final BitSet edges = new BitSet();
+        private final BitSet intersections = new BitSet();
+        private int[] longestRoad;
+        private List<Edge> longestRoadView;
+
+        private boolean touches(final int intersection) {
+            return intersections.get(intersection);
+        }
+    }
+}
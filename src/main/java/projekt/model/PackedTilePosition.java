@@ -0,0 +1,280 @@
+package projekt.model;
+
+import projekt.model.TilePosition.EdgeDirection;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Static helpers for {@link TilePosition} coordinates packed into a single {@code int}.
+ * The q-coordinate is stored in the upper and the r-coordinate in the lower 16 bits, so both must be within
+ * the range of a {@code short}. Arithmetic on packed positions neither allocates nor boxes, which makes them
+ * suitable for inner loops; {@link TilePosition} remains the type used at the API boundary.
+ * <p>
+ * Positions within {@link #CACHE_RADIUS} of the center are interned: {@link #toPosition(int)} and
+ * {@link #position(int, int)} return the same instance for the same coordinates instead of allocating a new one.
+ */
+public final class PackedTilePosition {
+
+    /**
+     * The maximum distance from the center up to which {@link TilePosition} instances are interned.
+     */
+    public static final int CACHE_RADIUS = 32;
+
+    /**
+     * The packed position {@code (0, 0)}.
+     */
+    public static final int CENTER = 0;
+
+    private static final int CACHE_SPAN = 2 * CACHE_RADIUS + 1;
+    private static final TilePosition[] CACHE = new TilePosition[CACHE_SPAN * CACHE_SPAN];
+    private static final EdgeDirection[] EDGE_DIRECTIONS = EdgeDirection.values();
+    private static final int[] DIRECTIONS = new int[EDGE_DIRECTIONS.length];
+    private static final EdgeDirection[] DIRECTION_BY_DELTA = new EdgeDirection[9];
+
+    static {
+        for (final EdgeDirection direction : EDGE_DIRECTIONS) {
+            DIRECTIONS[direction.ordinal()] = pack(direction.position);
+            DIRECTION_BY_DELTA[(direction.position.q() + 1) * 3 + direction.position.r() + 1] = direction;
+        }
+    }
+
+    private PackedTilePosition() {
+    }
+
+    /**
+     * Packs the given coordinates.
+     *
+     * @param q the q-coordinate
+     * @param r the r-coordinate
+     * @return the packed position
+     */
+    public static int pack(final int q, final int r) {
+        return q << 16 | r & 0xFFFF;
+    }
+
+    /**
+     * Packs the given position.
+     *
+     * @param position the position
+     * @return the packed position
+     */
+    public static int pack(final TilePosition position) {
+        return pack(position.q(), position.r());
+    }
+
+    /**
+     * Returns the q-coordinate of the given packed position.
+     *
+     * @param position the packed position
+     * @return the q-coordinate
+     */
+    public static int q(final int position) {
+        return position >> 16;
+    }
+
+    /**
+     * Returns the r-coordinate of the given packed position.
+     *
+     * @param position the packed position
+     * @return the r-coordinate
+     */
+    public static int r(final int position) {
+        return (short) position;
+    }
+
+    /**
+     * Returns the s-coordinate of the given packed position.
+     *
+     * @param position the packed position
+     * @return the s-coordinate
+     */
+    public static int s(final int position) {
+        return -q(position) - r(position);
+    }
+
+    /**
+     * Adds two packed positions together.
+     *
+     * @param position1 the first packed position
+     * @param position2 the second packed position
+     * @return the packed sum
+     */
+    public static int add(final int position1, final int position2) {
+        return pack(q(position1) + q(position2), r(position1) + r(position2));
+    }
+
+    /**
+     * Subtracts two packed positions from each other.
+     *
+     * @param position1 the first packed position
+     * @param position2 the second packed position
+     * @return the packed difference
+     */
+    public static int subtract(final int position1, final int position2) {
+        return pack(q(position1) - q(position2), r(position1) - r(position2));
+    }
+
+    /**
+     * Scales up the given packed position by the given amount.
+     *
+     * @param position the packed position
+     * @param scale    the amount to scale by
+     * @return the scaled packed position
+     */
+    public static int scale(final int position, final int scale) {
+        return pack(q(position) * scale, r(position) * scale);
+    }
+
+    /**
+     * Returns the packed position of the neighbour in the given direction.
+     *
+     * @param position  the packed position to start from
+     * @param direction the direction to go in
+     * @return the packed position of the neighbour
+     */
+    public static int neighbour(final int position, final EdgeDirection direction) {
+        return neighbour(position, direction.ordinal());
+    }
+
+    /**
+     * Returns the packed position of the neighbour in the direction with the given ordinal.
+     *
+     * @param position  the packed position to start from
+     * @param direction the ordinal of the {@link EdgeDirection} to go in
+     * @return the packed position of the neighbour
+     */
+    public static int neighbour(final int position, final int direction) {
+        return add(position, DIRECTIONS[direction]);
+    }
+
+    /**
+     * Returns the distance between two packed positions, in tiles.
+     *
+     * @param position1 the first packed position
+     * @param position2 the second packed position
+     * @return the distance
+     */
+    public static int distance(final int position1, final int position2) {
+        final int difference = subtract(position1, position2);
+        return Math.max(Math.abs(q(difference)), Math.max(Math.abs(r(difference)), Math.abs(s(difference))));
+    }
+
+    /**
+     * Returns the direction of the given coordinates relative to position (0, 0, 0),
+     * like {@link EdgeDirection#fromRelativePosition(TilePosition)} but without iterating over all directions.
+     *
+     * @param q the relative q-coordinate
+     * @param r the relative r-coordinate
+     * @return the direction or {@code null} if the coordinates are not a direction
+     */
+    public static EdgeDirection direction(final int q, final int r) {
+        if (q < -1 || q > 1 || r < -1 || r > 1) {
+            return null;
+        }
+        return DIRECTION_BY_DELTA[(q + 1) * 3 + r + 1];
+    }
+
+    /**
+     * Returns the position with the given coordinates, interned if it is within {@link #CACHE_RADIUS}.
+     *
+     * @param q the q-coordinate
+     * @param r the r-coordinate
+     * @return the position
+     */
+    public static TilePosition position(final int q, final int r) {
+        if (Math.abs(q) > CACHE_RADIUS || Math.abs(r) > CACHE_RADIUS || Math.abs(q + r) > CACHE_RADIUS) {
+            return new TilePosition(q, r);
+        }
+        final int index = (q + CACHE_RADIUS) * CACHE_SPAN + r + CACHE_RADIUS;
+        TilePosition position = CACHE[index];
+        if (position == null) {
+            // racing threads may create equal instances, which is harmless since positions are immutable
+            position = new TilePosition(q, r);
+            CACHE[index] = position;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the given packed position as a {@link TilePosition}, interned if it is within {@link #CACHE_RADIUS}.
+     *
+     * @param position the packed position
+     * @return the position
+     */
+    public static TilePosition toPosition(final int position) {
+        return position(q(position), r(position));
+    }
+
+    /**
+     * Executes the given function on each packed position on a ring with the given radius around the given center,
+     * in the same order as {@link TilePosition#forEachRing}.
+     *
+     * @param center   the packed center of the ring
+     * @param radius   the radius of the ring
+     * @param function the function to execute, gets the current packed position
+     */
+    public static void forEachRing(final int center, final int radius, final IntConsumer function) {
+        if (radius == 0) {
+            function.accept(center);
+            return;
+        }
+        int current = add(center, scale(DIRECTIONS[4], radius));
+        for (int side = 0; side < DIRECTIONS.length; side++) {
+            for (int tile = 0; tile < radius; tile++) {
+                function.accept(current);
+                current = neighbour(current, side);
+            }
+        }
+    }
+
+    /**
+     * Executes the given function on each packed position on a spiral with the given radius around the given center,
+     * in the same order as {@link TilePosition#forEachSpiral}.
+     *
+     * @param center   the packed center of the spiral
+     * @param radius   the radius of the spiral including the center
+     * @param function the function to execute, gets the current packed position
+     */
+    public static void forEachSpiral(final int center, final int radius, final IntConsumer function) {
+        for (int i = 0; i < radius; i++) {
+            forEachRing(center, i, function);
+        }
+    }
+
+    /**
+     * Returns the packed positions on a spiral with the given radius around the given center,
+     * in the order of {@link #forEachSpiral(int, int, IntConsumer)}.
+     *
+     * @param center the packed center of the spiral
+     * @param radius the radius of the spiral including the center
+     * @return the packed positions
+     */
+    public static int[] spiral(final int center, final int radius) {
+        final int[] positions = new int[spiralSize(radius)];
+        int size = 0;
+        for (int ring = 0; ring < radius; ring++) {
+            if (ring == 0) {
+                positions[size++] = center;
+                continue;
+            }
+            int current = add(center, scale(DIRECTIONS[4], ring));
+            for (int side = 0; side < DIRECTIONS.length; side++) {
+                for (int tile = 0; tile < ring; tile++) {
+                    positions[size++] = current;
+                    current = neighbour(current, side);
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the number of positions on a spiral with the given radius.
+     *
+     * @param radius the radius of the spiral including the center
+     * @return the number of positions
+     */
+    public static int spiralSize(final int radius) {
+        return radius <= 0 ? 0 : 3 * radius * (radius - 1) + 1;
+    }
+}
@@ -0,0 +1,183 @@
+package projekt.model;
+
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the settlements and roads every player owns on a {@link HexGridImpl}.
+ * The index listens to the grid and updates the owner's entry whenever a road or settlement changes,
+ * so counts can be read in constant time and sets in time proportional to the number of owned pieces.
+ * The collections it returns are immutable, iterate in id order and are reused until the player's pieces change.
+ */
+final class PieceIndex implements BoardListener {
+
+    private static final Settlement.Type[] SETTLEMENT_TYPES = Settlement.Type.values();
+
+    private final HexGridImpl grid;
+    private final BoardTopology topology;
+    private final Map<Player, Pieces> pieces = new LinkedHashMap<>();
+
+    /**
+     * Creates a new index and registers it with the given grid.
+     *
+     * @param grid the grid to index
+     */
+    PieceIndex(final HexGridImpl grid) {
+        this.grid = grid;
+        this.topology = grid.getTopology();
+        rebuild();
+        grid.addBoardListener(this);
+    }
+
+    /**
+     * Returns all settlements of the given player.
+     *
+     * @param player the player
+     * @return the settlements
+     */
+    Set<Settlement> getSettlements(final Player player) {
+        final Pieces entry = pieces.get(player);
+        if (entry == null) {
+            return Set.of();
+        }
+        if (entry.settlementsView == null) {
+            final Set<Settlement> settlements = new LinkedHashSet<>();
+            for (int id = entry.settlements.nextSetBit(0); id >= 0; id = entry.settlements.nextSetBit(id + 1)) {
+                settlements.add(grid.getIntersectionById(id).getSettlement());
+            }
+            entry.settlementsView = Collections.unmodifiableSet(settlements);
+        }
+        return entry.settlementsView;
+    }
+
+    /**
+     * Returns the number of settlements of the given type the given player owns.
+     *
+     * @param player the player
+     * @param type   the type of settlement
+     * @return the number of settlements
+     */
+    int countSettlements(final Player player, final Settlement.Type type) {
+        final Pieces entry = pieces.get(player);
+        return entry == null ? 0 : entry.settlementCounts[type.ordinal()];
+    }
+
+    /**
+     * Returns all roads of the given player, mapped by the positions of their edges.
+     *
+     * @param player the player
+     * @return the roads
+     */
+    Map<Set<TilePosition>, Edge> getRoads(final Player player) {
+        final Pieces entry = pieces.get(player);
+        if (entry == null) {
+            return Map.of();
+        }
+        if (entry.roadsView == null) {
+            final Map<Set<TilePosition>, Edge> roads = new LinkedHashMap<>();
+            for (int id = entry.roads.nextSetBit(0); id >= 0; id = entry.roads.nextSetBit(id + 1)) {
+                roads.put(topology.edgeKey(id), grid.getEdgeById(id));
+            }
+            entry.roadsView = Collections.unmodifiableMap(roads);
+        }
+        return entry.roadsView;
+    }
+
+    /**
+     * Returns the number of roads the given player owns.
+     *
+     * @param player the player
+     * @return the number of roads
+     */
+    int countRoads(final Player player) {
+        final Pieces entry = pieces.get(player);
+        return entry == null ? 0 : entry.roadCount;
+    }
+
+    @Override
+    public void roadChanged(final Edge edge, final Player oldOwner, final Player newOwner) {
+        final int id = topology.edgeId(edge.getPosition1(), edge.getPosition2());
+        if (oldOwner != null) {
+            pieces(oldOwner).setRoad(id, false);
+        }
+        if (newOwner != null) {
+            pieces(newOwner).setRoad(id, true);
+        }
+    }
+
+    @Override
+    public void settlementChanged(
+        final Intersection intersection,
+        final Settlement oldSettlement,
+        final Settlement newSettlement
+    ) {
+        final Iterator<TilePosition> positions = intersection.getAdjacentTilePositions().iterator();
+        final int id = topology.intersectionId(positions.next(), positions.next(), positions.next());
+        if (oldSettlement != null) {
+            pieces(oldSettlement.owner()).setSettlement(id, oldSettlement.type(), false);
+        }
+        if (newSettlement != null) {
+            pieces(newSettlement.owner()).setSettlement(id, newSettlement.type(), true);
+        }
+    }
+
+    @Override
+    public void elementsReplaced() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes the whole index from the current state of the grid.
+     */
+    private void rebuild() {
+        pieces.clear();
+        for (int id = 0; id < topology.intersectionCount(); id++) {
+            final Settlement settlement = grid.getIntersectionById(id).getSettlement();
+            if (settlement != null) {
+                pieces(settlement.owner()).setSettlement(id, settlement.type(), true);
+            }
+        }
+        for (int id = 0; id < topology.edgeCount(); id++) {
+            final Player owner = grid.getEdgeById(id).getRoadOwner();
+            if (owner != null) {
+                pieces(owner).setRoad(id, true);
+            }
+        }
+    }
+
+    private Pieces pieces(final Player player) {
+        return pieces.computeIfAbsent(player, key -> new Pieces());
+    }
+
+    /**
+     * The pieces of a single player.
+     */
+    private static final class Pieces {
+        private final BitSet settlements = new BitSet();
+        private final int[] settlementCounts = new int[SETTLEMENT_TYPES.length];
+        private final BitSet roads = new BitSet();
+        private int roadCount;
+        private Set<Settlement> settlementsView;
+        private Map<Set<TilePosition>, Edge> roadsView;
+
+        private void setSettlement(final int id, final Settlement.Type type, final boolean owned) {
+            settlements.set(id, owned);
+            settlementCounts[type.ordinal()] += owned ? 1 : -1;
+            settlementsView = null;
+        }
+
+        private void setRoad(final int id, final boolean owned) {
+            roads.set(id, owned);
+            roadCount += owned ? 1 : -1;
+            roadsView = null;
+        }
+    }
+}
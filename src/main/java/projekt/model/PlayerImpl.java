@@ -11,8 +11,11 @@ import projekt.model.buildings.Port;
 import projekt.model.buildings.Settlement;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 import static projekt.Config.*;
@@ -26,9 +29,10 @@ public class PlayerImpl implements Player {
     private final int id;
     private final Color color;
     private final boolean ai;
-    private final Map<ResourceType, Integer> resources = new HashMap<>();
-    private final Map<DevelopmentCardType, Integer> developmentCards = new HashMap<>();
-    private final Map<DevelopmentCardType, Integer> playedDevelopmentCards = new HashMap<>();
+    private final ResourceVector wallet = new ResourceVector();
+    private final Map<ResourceType, Integer> resources = wallet.asMap();
+    private final Map<DevelopmentCardType, Integer> developmentCards = new EnumMap<>(DevelopmentCardType.class);
+    private final Map<DevelopmentCardType, Integer> playedDevelopmentCards = new EnumMap<>(DevelopmentCardType.class);
 
     @DoNotTouch("Please don't create a public Contructor, use the Builder instead.")
     private PlayerImpl(final HexGrid hexGrid, final Color color, final int id, final String name, final boolean ai) {
@@ -66,6 +70,9 @@ public class PlayerImpl implements Player {
 
     @Override
     public int getVictoryPoints() {
+        if (hexGrid instanceof final HexGridImpl grid) {
+            return grid.getVictoryPointLedger().getVictoryPoints(this);
+        }
         final int buildingVictoryPoints = getSettlements().stream()
             .mapToInt(settlement -> settlement.type().resourceAmount)
             .sum();
@@ -74,6 +81,14 @@ public class PlayerImpl implements Player {
         return buildingVictoryPoints + developmentCardsVictoryPoints;
     }
 
+    @Override
+    public Set<Settlement> getSettlements() {
+        if (hexGrid instanceof final HexGridImpl grid) {
+            return grid.getSettlements(this);
+        }
+        return Player.super.getSettlements();
+    }
+
     @Override
     @StudentImplementationRequired("H1.1")
     public Map<ResourceType, Integer> getResources() {
@@ -83,8 +98,7 @@ public class PlayerImpl implements Player {
     @Override
     @StudentImplementationRequired("H1.1")
     public void addResource(final ResourceType resourceType, final int amount) {
-        int currentAmount = resources.getOrDefault(resourceType, 0);
-        resources.put(resourceType, currentAmount + amount);
+        wallet.add(resourceType, amount);
     }
 
     @Override
@@ -95,6 +109,15 @@ public class PlayerImpl implements Player {
         }
     }
 
+    /**
+     * Adds the given resources to the player.
+     *
+     * @param resources the resources to add
+     */
+    public void addResources(final ResourceVector resources) {
+        wallet.add(resources);
+    }
+
     @Override
     @StudentImplementationRequired("H1.1")
     public boolean hasResources(final Map<ResourceType, Integer> resources) {
@@ -106,11 +129,19 @@ public class PlayerImpl implements Player {
         return true;
     }
 
+    /**
+     * Returns whether the player has at least the given resources, e.g., a cost precompiled by
+     * {@link ResourceVector#costOf(Map)}. Unlike {@link #hasResources(Map)}, this does not unbox any amounts.
+     *
+     * @param resources the resources to check
+     * @return whether the player has the resources
+     */
+    public boolean hasResources(final ResourceVector resources) {
+        return wallet.covers(resources);
+    }
+
     private boolean hasResource(ResourceType resourceType, int amount) {
-        if (this.resources.get(resourceType) == null) {
-            return false;
-        }
-        return this.resources.get(resourceType) >= amount;
+        return wallet.contains(resourceType) && wallet.get(resourceType) >= amount;
     }
 
     @Override
@@ -119,7 +150,7 @@ public class PlayerImpl implements Player {
         if (!hasResource(resourceType, amount)) {
             return false;
         }
-        this.resources.put(resourceType, this.resources.get(resourceType) - amount);
+        wallet.add(resourceType, -amount);
         return true;
     }
 
@@ -135,6 +166,20 @@ public class PlayerImpl implements Player {
         return true;
     }
 
+    /**
+     * Removes the given resources from the player if the player has all of them.
+     *
+     * @param resources the resources to remove
+     * @return whether the resources were removed
+     */
+    public boolean removeResources(final ResourceVector resources) {
+        if (!wallet.covers(resources)) {
+            return false;
+        }
+        wallet.subtract(resources);
+        return true;
+    }
+
     @Override
     @StudentImplementationRequired("H1.1")
     public int getTradeRatio(final ResourceType resourceType) {
@@ -168,11 +213,17 @@ public class PlayerImpl implements Player {
 
     @Override
     public int getRemainingRoads() {
+        if (hexGrid instanceof final HexGridImpl grid) {
+            return MAX_ROADS - grid.countRoads(this);
+        }
         return MAX_ROADS - getRoads().size();
     }
 
     @Override
     public int getRemainingVillages() {
+        if (hexGrid instanceof final HexGridImpl grid) {
+            return MAX_VILLAGES - grid.countSettlements(this, Settlement.Type.VILLAGE);
+        }
         return (int) (
             MAX_VILLAGES - getSettlements().stream()
                 .filter(settlement -> settlement.type().equals(Settlement.Type.VILLAGE)).count()
@@ -181,6 +232,9 @@ public class PlayerImpl implements Player {
 
     @Override
     public int getRemainingCities() {
+        if (hexGrid instanceof final HexGridImpl grid) {
+            return MAX_CITIES - grid.countSettlements(this, Settlement.Type.CITY);
+        }
         return (int) (
             MAX_CITIES - getSettlements().stream()
                 .filter(settlement -> settlement.type().equals(Settlement.Type.CITY)).count()
@@ -198,6 +252,9 @@ public class PlayerImpl implements Player {
     public void addDevelopmentCard(final DevelopmentCardType developmentCardType) {
         int currentAmount = developmentCards.getOrDefault(developmentCardType, 0);
         developmentCards.put(developmentCardType, currentAmount+1);
+        if (hexGrid instanceof final HexGridImpl grid) {
+            grid.getVictoryPointLedger().developmentCardAdded(this, developmentCardType);
+        }
     }
     public boolean hasDevelopmentCard(DevelopmentCardType developmentCardType) {
         if (this.developmentCards.get(developmentCardType) == null)
@@ -213,6 +270,9 @@ public class PlayerImpl implements Player {
         developmentCards.put(developmentCardType, developmentCards.get(developmentCardType) - 1);
         // add card to played development cards
         playedDevelopmentCards.put(developmentCardType, playedDevelopmentCards.getOrDefault(developmentCardType, 0) + 1);
+        if (hexGrid instanceof final HexGridImpl grid) {
+            grid.getVictoryPointLedger().developmentCardPlayed(this, developmentCardType);
+        }
         return true;
     }
 
@@ -238,14 +298,28 @@ public class PlayerImpl implements Player {
         private Color color;
         private @Nullable String name;
         private final SimpleBooleanProperty ai = new SimpleBooleanProperty(false);
+        private final @Nullable RandomGenerator random;
 
         /**
          * Creates a new builder for a player with the given id.
+         * Random colors are picked from the {@link ThreadLocalRandom} of the thread picking them.
          *
          * @param id the id of the player to create
          */
         public Builder(final int id) {
+            this(id, null);
+        }
+
+        /**
+         * Creates a new builder for a player with the given id that picks random colors from the given stream.
+         *
+         * @param id     the id of the player to create
+         * @param random the source of randomness for colors, usually {@link GameRandom#colors()},
+         *               or {@code null} to use the {@link ThreadLocalRandom} of the thread picking them
+         */
+        public Builder(final int id, final @Nullable RandomGenerator random) {
             this.id = id;
+            this.random = random;
             color(null);
         }
 
@@ -260,16 +334,18 @@ public class PlayerImpl implements Player {
 
         /**
          * Sets the color of the player.
+         * If the given color is {@code null}, a random color is picked.
          *
          * @param playerColor the color of the player
          * @return this builder
          */
         public Builder color(final Color playerColor) {
+            final RandomGenerator colorRandom = random != null ? random : ThreadLocalRandom.current();
             this.color = playerColor == null
                 ? new Color(
-                Config.RANDOM.nextDouble(),
-                Config.RANDOM.nextDouble(),
-                Config.RANDOM.nextDouble(),
+                colorRandom.nextDouble(),
+                colorRandom.nextDouble(),
+                colorRandom.nextDouble(),
                 1
             )
                 : playerColor;
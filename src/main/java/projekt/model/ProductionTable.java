@@ -0,0 +1,179 @@
+package projekt.model;
+
+import projekt.Config;
+import projekt.model.buildings.Settlement;
+import projekt.model.tiles.Tile;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Precomputes which resources each dice roll produces on a {@link HexGridImpl}.
+ * For every roll number, the table holds a list of contributions, each a player, a resource type and an amount,
+ * so distributing the resources of a roll is a single pass over that list.
+ * <p>
+ * The table listens to the grid: when a settlement is placed or upgraded, or the robber moves,
+ * only the roll numbers of the tiles next to the change are marked stale and rebuilt on their next use.
+ * Tiles blocked by the robber do not contribute.
+ */
+public final class ProductionTable implements BoardListener {
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final int MAX_ROLL = Config.NUMBER_OF_DICE * Config.DICE_SIDES;
+
+    private final HexGridImpl grid;
+    private final BoardTopology topology;
+    private final int[][] tilesByRoll = new int[MAX_ROLL + 1][];
+    private final Player[][] players = new Player[MAX_ROLL + 1][];
+    private final int[][] resourceTypes = new int[MAX_ROLL + 1][];
+    private final int[][] amounts = new int[MAX_ROLL + 1][];
+    private final int[] sizes = new int[MAX_ROLL + 1];
+    private final boolean[] stale = new boolean[MAX_ROLL + 1];
+
+    /**
+     * Creates a new table and registers it with the given grid.
+     *
+     * @param grid the grid to compute the production of
+     */
+    ProductionTable(final HexGridImpl grid) {
+        this.grid = grid;
+        this.topology = grid.getTopology();
+        rebuild();
+        grid.addBoardListener(this);
+    }
+
+    /**
+     * Gives every player the resources produced by the given dice roll.
+     *
+     * @param roll the dice roll
+     */
+    public void distribute(final int roll) {
+        if (roll < 0 || roll > MAX_ROLL) {
+            return;
+        }
+        if (stale[roll]) {
+            update(roll);
+        }
+        final Player[] rollPlayers = players[roll];
+        final int[] rollResourceTypes = resourceTypes[roll];
+        final int[] rollAmounts = amounts[roll];
+        for (int i = 0; i < sizes[roll]; i++) {
+            rollPlayers[i].addResource(RESOURCE_TYPES[rollResourceTypes[i]], rollAmounts[i]);
+        }
+    }
+
+    /**
+     * Returns the tiles with the given roll number, as returned by {@link HexGrid#getTiles(int)}.
+     *
+     * @param roll the roll number
+     * @return the tiles
+     */
+    Set<Tile> getTiles(final int roll) {
+        final Set<Tile> tiles = new HashSet<>();
+        if (roll >= 0 && roll <= MAX_ROLL) {
+            for (final int tile : tilesByRoll[roll]) {
+                tiles.add(grid.getTileById(tile));
+            }
+        }
+        return tiles;
+    }
+
+    @Override
+    public void settlementChanged(
+        final Intersection intersection,
+        final Settlement oldSettlement,
+        final Settlement newSettlement
+    ) {
+        final Iterator<TilePosition> positions = intersection.getAdjacentTilePositions().iterator();
+        final int id = topology.intersectionId(positions.next(), positions.next(), positions.next());
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int tile = topology.intersectionTile(id, i);
+            if (tile != BoardTopology.NONE) {
+                markStale(tile);
+            }
+        }
+    }
+
+    @Override
+    public void robberMoved(final TilePosition oldPosition, final TilePosition newPosition) {
+        for (final TilePosition position : new TilePosition[] {oldPosition, newPosition}) {
+            final int tile = position == null ? BoardTopology.NONE : topology.tileId(position);
+            if (tile != BoardTopology.NONE) {
+                markStale(tile);
+            }
+        }
+    }
+
+    @Override
+    public void elementsReplaced() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes the tiles of each roll number and marks all roll numbers stale.
+     */
+    private void rebuild() {
+        final int[] counts = new int[MAX_ROLL + 1];
+        for (int tile = 0; tile < topology.tileCount(); tile++) {
+            final int roll = grid.getTileById(tile).getRollNumber();
+            if (roll >= 0 && roll <= MAX_ROLL) {
+                counts[roll]++;
+            }
+        }
+        for (int roll = 0; roll <= MAX_ROLL; roll++) {
+            tilesByRoll[roll] = new int[counts[roll]];
+            counts[roll] = 0;
+            stale[roll] = true;
+        }
+        for (int tile = 0; tile < topology.tileCount(); tile++) {
+            final int roll = grid.getTileById(tile).getRollNumber();
+            if (roll >= 0 && roll <= MAX_ROLL) {
+                tilesByRoll[roll][counts[roll]++] = tile;
+            }
+        }
+    }
+
+    private void markStale(final int tile) {
+        final int roll = grid.getTileById(tile).getRollNumber();
+        if (roll >= 0 && roll <= MAX_ROLL) {
+            stale[roll] = true;
+        }
+    }
+
+    /**
+     * Rebuilds the contributions of the given roll number.
+     *
+     * @param roll the roll number
+     */
+    private void update(final int roll) {
+        final int capacity = tilesByRoll[roll].length * BoardTopology.TILE_DEGREE;
+        if (players[roll] == null || players[roll].length < capacity) {
+            players[roll] = new Player[capacity];
+            resourceTypes[roll] = new int[capacity];
+            amounts[roll] = new int[capacity];
+        }
+        Arrays.fill(players[roll], null);
+        int size = 0;
+        for (final int tileId : tilesByRoll[roll]) {
+            final Tile tile = grid.getTileById(tileId);
+            final ResourceType resourceType = tile.getType().resourceType;
+            if (resourceType == null || tile.getPosition().equals(grid.getRobberPosition())) {
+                continue;
+            }
+            for (final TilePosition.IntersectionDirection direction : TilePosition.IntersectionDirection.values()) {
+                final Settlement settlement = grid.getIntersectionById(topology.tileIntersection(tileId, direction))
+                    .getSettlement();
+                if (settlement != null) {
+                    players[roll][size] = settlement.owner();
+                    resourceTypes[roll][size] = resourceType.ordinal();
+                    amounts[roll][size] = settlement.type().resourceAmount;
+                    size++;
+                }
+            }
+        }
+        sizes[roll] = size;
+        stale[roll] = false;
+    }
+}
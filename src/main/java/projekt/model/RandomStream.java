@@ -0,0 +1,127 @@
+package projekt.model;
+
+import java.nio.ByteBuffer;
+import java.util.random.RandomGenerator;
+
+/**
+ * A splittable stream of random values whose state can be copied, saved and restored.
+ * <p>
+ * Streams use the SplitMix64 algorithm of {@link java.util.SplittableRandom} and produce the same values and splits
+ * from the same seed, but unlike it, they expose their state, so a saved game continues with the same random values
+ * it would have drawn without being saved.
+ * <p>
+ * Streams are not thread-safe.
+ */
+public final class RandomStream implements RandomGenerator {
+
+    /**
+     * The number of bytes the state of a stream takes in a buffer.
+     */
+    public static final int ENCODED_SIZE = 2 * Long.BYTES;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private final long gamma;
+
+    /**
+     * Creates a new stream with the given seed.
+     *
+     * @param seed the seed
+     */
+    public RandomStream(final long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private RandomStream(final long seed, final long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Reads the state of a stream written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer the buffer to read from, positioned at the state
+     * @return the stream
+     * @throws IllegalArgumentException if the state is invalid
+     */
+    public static RandomStream readFrom(final ByteBuffer buffer) {
+        final long seed = buffer.getLong();
+        final long gamma = buffer.getLong();
+        if ((gamma & 1L) == 0) {
+            throw new IllegalArgumentException("Gamma of a random stream must be odd");
+        }
+        return new RandomStream(seed, gamma);
+    }
+
+    /**
+     * Writes the state of this stream to the given buffer.
+     *
+     * @param buffer the buffer to write to, with at least {@link #ENCODED_SIZE} bytes remaining
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        buffer.putLong(seed);
+        buffer.putLong(gamma);
+    }
+
+    /**
+     * Returns a new stream in the same state as this one, which produces the same values from now on.
+     *
+     * @return the copy
+     */
+    public RandomStream copy() {
+        return new RandomStream(seed, gamma);
+    }
+
+    /**
+     * Splits off a new stream that shares no state with this one.
+     *
+     * @return the new stream
+     * @see java.util.SplittableRandom#split()
+     */
+    public RandomStream split() {
+        return new RandomStream(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof RandomStream that && seed == that.seed && gamma == that.gamma;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + Long.hashCode(gamma);
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(final long z) {
+        final long a = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        final long b = (a ^ (a >>> 27)) * 0x94d049bb133111ebL;
+        return b ^ (b >>> 31);
+    }
+
+    private static int mix32(final long z) {
+        final long a = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((a ^ (a >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(final long z) {
+        final long a = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        final long b = (a ^ (a >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        final long gamma = (b ^ (b >>> 33)) | 1L;
+        return Long.bitCount(gamma ^ (gamma >>> 1)) < 24 ? gamma ^ 0xaaaaaaaaaaaaaaaaL : gamma;
+    }
+}
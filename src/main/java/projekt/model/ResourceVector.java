@@ -0,0 +1,308 @@
+package projekt.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An amount of each {@link ResourceType}, stored as an {@code int[]} indexed by the types' ordinals.
+ * Adding, subtracting and comparing vectors does not allocate or box, which makes this type suitable for
+ * resource accounting in the inner loop of simulated games. Maps are only needed at the API boundary,
+ * see {@link #of(Map)} and {@link #asMap()}.
+ * <p>
+ * Like a map, a vector distinguishes between a type that is absent and a type with an amount of {@code 0}:
+ * a type becomes present when an amount is added or set, and absent again when it is {@linkplain Map#remove removed}
+ * from the {@link #asMap() map view}. A vector covers another one only if it contains every type present in the other.
+ * <p>
+ * Vectors created by {@link #costOf(Map)} are immutable and can be shared, for example as precompiled costs.
+ */
+public final class ResourceVector {
+
+    private static final ResourceType[] TYPES = ResourceType.values();
+
+    private final int[] amounts = new int[TYPES.length];
+    private final boolean immutable;
+    private int present;
+    private Map<ResourceType, Integer> mapView;
+
+    /**
+     * Creates a new, empty vector.
+     */
+    public ResourceVector() {
+        this(false);
+    }
+
+    private ResourceVector(final boolean immutable) {
+        this.immutable = immutable;
+    }
+
+    /**
+     * Creates a new vector with the amounts of the given map.
+     *
+     * @param resources the resources mapped to their amount
+     * @return the new vector
+     */
+    public static ResourceVector of(final Map<ResourceType, Integer> resources) {
+        final ResourceVector vector = new ResourceVector();
+        for (final Map.Entry<ResourceType, Integer> entry : resources.entrySet()) {
+            vector.set(entry.getKey(), entry.getValue());
+        }
+        return vector;
+    }
+
+    /**
+     * Creates a new immutable vector with the amounts of the given map.
+     *
+     * @param resources the resources mapped to their amount
+     * @return the new vector
+     */
+    public static ResourceVector costOf(final Map<ResourceType, Integer> resources) {
+        final ResourceVector vector = new ResourceVector(true);
+        for (final Map.Entry<ResourceType, Integer> entry : resources.entrySet()) {
+            vector.amounts[entry.getKey().ordinal()] = entry.getValue();
+            vector.present |= 1 << entry.getKey().ordinal();
+        }
+        return vector;
+    }
+
+    /**
+     * Returns the amount of the given type.
+     *
+     * @param resourceType the type
+     * @return the amount, {@code 0} if the type is absent
+     */
+    public int get(final ResourceType resourceType) {
+        return amounts[resourceType.ordinal()];
+    }
+
+    /**
+     * Returns whether the given type is present.
+     *
+     * @param resourceType the type
+     * @return whether the type is present
+     */
+    public boolean contains(final ResourceType resourceType) {
+        return (present & 1 << resourceType.ordinal()) != 0;
+    }
+
+    /**
+     * Sets the amount of the given type.
+     *
+     * @param resourceType the type
+     * @param amount       the new amount
+     */
+    public void set(final ResourceType resourceType, final int amount) {
+        checkMutable();
+        amounts[resourceType.ordinal()] = amount;
+        present |= 1 << resourceType.ordinal();
+    }
+
+    /**
+     * Adds the given amount of the given type.
+     *
+     * @param resourceType the type
+     * @param amount       the amount to add, may be negative
+     */
+    public void add(final ResourceType resourceType, final int amount) {
+        checkMutable();
+        amounts[resourceType.ordinal()] += amount;
+        present |= 1 << resourceType.ordinal();
+    }
+
+    /**
+     * Adds the amounts of the given vector to this vector.
+     *
+     * @param other the vector to add
+     */
+    public void add(final ResourceVector other) {
+        checkMutable();
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] += other.amounts[i];
+        }
+        present |= other.present;
+    }
+
+    /**
+     * Subtracts the amounts of the given vector from this vector.
+     *
+     * @param other the vector to subtract
+     */
+    public void subtract(final ResourceVector other) {
+        checkMutable();
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] -= other.amounts[i];
+        }
+        present |= other.present;
+    }
+
+    /**
+     * Returns whether this vector contains at least the amounts of the given vector,
+     * for every type present in the given vector.
+     *
+     * @param other the vector to compare with, e.g., a cost
+     * @return whether this vector covers the given one
+     */
+    public boolean covers(final ResourceVector other) {
+        if ((other.present & ~present) != 0) {
+            return false;
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] < other.amounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the sum of all amounts.
+     *
+     * @return the total amount
+     */
+    public int total() {
+        int total = 0;
+        for (final int amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    /**
+     * Returns a map view of this vector containing the present types in ordinal order.
+     * Changes to the vector are visible in the view; the view of a mutable vector also supports
+     * {@link Map#put} and {@link Map#remove}.
+     *
+     * @return the map view
+     */
+    public Map<ResourceType, Integer> asMap() {
+        if (mapView == null) {
+            mapView = new MapView();
+        }
+        return mapView;
+    }
+
+    private void checkMutable() {
+        if (immutable) {
+            throw new UnsupportedOperationException("Resource vector is immutable");
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof final ResourceVector other
+            && present == other.present && Arrays.equals(amounts, other.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * present + Arrays.hashCode(amounts);
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    /**
+     * A map view of the vector.
+     */
+    private final class MapView extends AbstractMap<ResourceType, Integer> {
+
+        private final Set<Entry<ResourceType, Integer>> entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<ResourceType, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next = Integer.numberOfTrailingZeros(present);
+                    private int last = -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < TYPES.length;
+                    }
+
+                    @Override
+                    public Entry<ResourceType, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        last = next;
+                        next = Integer.numberOfTrailingZeros(present & -(1 << next + 1));
+                        final ResourceType type = TYPES[last];
+                        return new SimpleEntry<>(type, amounts[last]) {
+                            @Override
+                            public Integer setValue(final Integer value) {
+                                final Integer old = amounts[type.ordinal()];
+                                set(type, value);
+                                return old;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) {
+                            throw new IllegalStateException();
+                        }
+                        MapView.this.remove(TYPES[last]);
+                        last = -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return Integer.bitCount(present);
+            }
+        };
+
+        @Override
+        public Set<Entry<ResourceType, Integer>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return Integer.bitCount(present);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof final ResourceType type && ResourceVector.this.contains(type);
+        }
+
+        @Override
+        public Integer get(final Object key) {
+            return containsKey(key) ? amounts[((ResourceType) key).ordinal()] : null;
+        }
+
+        @Override
+        public Integer put(final ResourceType key, final Integer value) {
+            final Integer old = get(key);
+            set(key, value);
+            return old;
+        }
+
+        @Override
+        public Integer remove(final Object key) {
+            final Integer old = get(key);
+            if (old != null) {
+                checkMutable();
+                final int ordinal = ((ResourceType) key).ordinal();
+                amounts[ordinal] = 0;
+                present &= ~(1 << ordinal);
+            }
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            checkMutable();
+            Arrays.fill(amounts, 0);
+            present = 0;
+        }
+    }
+}
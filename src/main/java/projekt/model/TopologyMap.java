@@ -0,0 +1,137 @@
+package projekt.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * A fixed-size map view over an array of values indexed by {@link BoardTopology} ids.
+ * Keys are resolved to ids by the given function instead of being hashed.
+ * Existing mappings may be replaced with {@link #put(Object, Object)}, which writes through to the backing array
+ * and runs the replace action; new keys cannot be added and mappings cannot be removed.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class TopologyMap<K, V> extends AbstractMap<K, V> {
+
+    private final K[] keys;
+    private final V[] values;
+    private final ToIntFunction<Object> idOf;
+    private final Runnable onReplace;
+
+    /**
+     * Creates a new map view.
+     *
+     * @param keys      the keys, indexed by id
+     * @param values    the backing array of values, indexed by id
+     * @param idOf      a function returning the id of a key or {@link BoardTopology#NONE} if it is not mapped
+     * @param onReplace the action to run after a value has been replaced
+     */
+    TopologyMap(final K[] keys, final V[] values, final ToIntFunction<Object> idOf, final Runnable onReplace) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        this.keys = keys;
+        this.values = values;
+        this.idOf = idOf;
+        this.onReplace = onReplace;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return idOf.applyAsInt(key) != BoardTopology.NONE;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int id = idOf.applyAsInt(key);
+        return id == BoardTopology.NONE ? null : values[id];
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final int id = idOf.applyAsInt(key);
+        if (id == BoardTopology.NONE) {
+            throw new IllegalArgumentException(String.format("%s is not part of this grid", key));
+        }
+        final V oldValue = values[id];
+        values[id] = value;
+        onReplace.run();
+        return oldValue;
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final int id = next++;
+                        return new SimpleImmutableEntry<>(keys[id], values[id]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    /**
+     * Creates an id function for keys that are sets of tile positions, such as
+     * the keys of {@link HexGrid#getIntersections()} and {@link HexGrid#getEdges()}.
+     *
+     * @param topology the topology to resolve ids with
+     * @param size     the number of positions per key
+     * @return the id function
+     */
+    static ToIntFunction<Object> positionSetIds(final BoardTopology topology, final int size) {
+        return key -> {
+            if (!(key instanceof Set<?> set) || set.size() != size) {
+                return BoardTopology.NONE;
+            }
+            final TilePosition[] positions = new TilePosition[size];
+            int i = 0;
+            for (final Object position : set) {
+                if (!(position instanceof TilePosition tilePosition)) {
+                    return BoardTopology.NONE;
+                }
+                positions[i++] = tilePosition;
+            }
+            return size == 2
+                ? topology.edgeId(positions[0], positions[1])
+                : topology.intersectionId(positions[0], positions[1], positions[2]);
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package projekt.model;
+
+import projekt.Config;
+import projekt.model.buildings.Settlement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the victory points of every player of a {@link HexGridImpl}, so they can be read in constant time.
+ * <p>
+ * The ledger is updated by events instead of rescanning the board: it listens to settlement changes on the grid,
+ * and {@link PlayerImpl} reports drawn and played development cards. The longest road is taken from the grid's
+ * {@linkplain HexGridImpl#getLongestRoadHolder() longest road holder}.
+ * <p>
+ * A player holds the largest army if it has played at least {@link Config#LARGEST_ARMY_MIN_KNIGHTS} knights.
+ * Like the longest road, the holder keeps it on a tie and loses it only when another player has played more knights.
+ */
+public final class VictoryPointLedger implements BoardListener {
+
+    private final HexGridImpl grid;
+    private final Map<Player, Account> accounts = new LinkedHashMap<>();
+    private Player largestArmyHolder;
+
+    /**
+     * Creates a new ledger and registers it with the given grid.
+     *
+     * @param grid the grid to keep the victory points of
+     */
+    VictoryPointLedger(final HexGridImpl grid) {
+        this.grid = grid;
+        rebuildSettlements();
+        grid.addBoardListener(this);
+    }
+
+    /**
+     * Returns the victory points of the given player from settlements and victory point cards,
+     * as returned by {@link Player#getVictoryPoints()}.
+     *
+     * @param player the player
+     * @return the victory points without bonuses
+     */
+    public int getVictoryPoints(final Player player) {
+        final Account account = accounts.get(player);
+        return account == null ? 0 : account.settlementPoints + account.victoryPointCards;
+    }
+
+    /**
+     * Returns the victory points of the given player including the bonuses for the largest army
+     * and the longest road. These are the points that decide whether the player has won.
+     *
+     * @param player the player
+     * @return the victory points with bonuses
+     */
+    public int getTotalVictoryPoints(final Player player) {
+        return getVictoryPoints(player)
+            + (player == largestArmyHolder ? Config.BONUS_VICTORY_POINTS : 0)
+            + (player == grid.getLongestRoadHolder() ? Config.BONUS_VICTORY_POINTS : 0);
+    }
+
+    /**
+     * Returns the number of knights the given player has played.
+     *
+     * @param player the player
+     * @return the number of knights played
+     */
+    public int getKnightsPlayed(final Player player) {
+        final Account account = accounts.get(player);
+        return account == null ? 0 : account.knightsPlayed;
+    }
+
+    /**
+     * Returns the player holding the largest army.
+     *
+     * @return the holder, {@code null} if nobody holds the largest army
+     */
+    public Player getLargestArmyHolder() {
+        return largestArmyHolder;
+    }
+
+    /**
+     * Sets the player holding the largest army. When several players tie for the most knights played, the holder
+     * cannot be derived from the players, so restoring a saved game must set it explicitly.
+     *
+     * @param holder the holder, {@code null} if nobody holds the largest army
+     * @throws IllegalArgumentException if the player has not played at least {@link Config#LARGEST_ARMY_MIN_KNIGHTS}
+     *                                  knights, another player has played more, or the holder is {@code null}
+     *                                  although a player has played enough knights
+     */
+    public void setLargestArmyHolder(final Player holder) {
+        int max = 0;
+        for (final Account account : accounts.values()) {
+            max = Math.max(max, account.knightsPlayed);
+        }
+        final boolean valid = holder == null
+            ? max < Config.LARGEST_ARMY_MIN_KNIGHTS
+            : max >= Config.LARGEST_ARMY_MIN_KNIGHTS && getKnightsPlayed(holder) == max;
+        if (!valid) {
+            throw new IllegalArgumentException("Player cannot hold the largest army: " + holder);
+        }
+        largestArmyHolder = holder;
+    }
+
+    /**
+     * Records that the given player received a development card.
+     *
+     * @param player   the player
+     * @param cardType the type of the card
+     */
+    void developmentCardAdded(final Player player, final DevelopmentCardType cardType) {
+        if (cardType == DevelopmentCardType.VICTORY_POINTS) {
+            account(player).victoryPointCards++;
+        }
+    }
+
+    /**
+     * Records that the given player played a development card.
+     *
+     * @param player   the player
+     * @param cardType the type of the card
+     */
+    void developmentCardPlayed(final Player player, final DevelopmentCardType cardType) {
+        final Account account = account(player);
+        if (cardType == DevelopmentCardType.VICTORY_POINTS) {
+            account.victoryPointCards--;
+        } else if (cardType == DevelopmentCardType.KNIGHT) {
+            account.knightsPlayed++;
+            if (account.knightsPlayed >= Config.LARGEST_ARMY_MIN_KNIGHTS
+                && (largestArmyHolder == null || account.knightsPlayed > getKnightsPlayed(largestArmyHolder))) {
+                largestArmyHolder = player;
+            }
+        }
+    }
+
+    @Override
+    public void settlementChanged(
+        final Intersection intersection,
+        final Settlement oldSettlement,
+        final Settlement newSettlement
+    ) {
+        if (oldSettlement != null) {
+            account(oldSettlement.owner()).settlementPoints -= oldSettlement.type().resourceAmount;
+        }
+        if (newSettlement != null) {
+            account(newSettlement.owner()).settlementPoints += newSettlement.type().resourceAmount;
+        }
+    }
+
+    @Override
+    public void elementsReplaced() {
+        rebuildSettlements();
+    }
+
+    /**
+     * Recounts the points from settlements on the grid.
+     */
+    private void rebuildSettlements() {
+        for (final Account account : accounts.values()) {
+            account.settlementPoints = 0;
+        }
+        for (int id = 0; id < grid.getTopology().intersectionCount(); id++) {
+            final Settlement settlement = grid.getIntersectionById(id).getSettlement();
+            if (settlement != null) {
+                account(settlement.owner()).settlementPoints += settlement.type().resourceAmount;
+            }
+        }
+    }
+
+    private Account account(final Player player) {
+        return accounts.computeIfAbsent(player, key -> new Account());
+    }
+
+    /**
+     * The counters of a single player.
+     */
+    private static final class Account {
+        private int settlementPoints;
+        private int victoryPointCards;
+        private int knightsPlayed;
+    }
+}
@@ -3,13 +3,16 @@ package projekt.model.tiles;
 import javafx.beans.value.ObservableDoubleValue;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
 import projekt.model.Intersection;
 import projekt.model.Player;
 import projekt.model.TilePosition;
 import projekt.model.TilePosition.EdgeDirection;
+import projekt.model.TilePosition.IntersectionDirection;
 import projekt.model.buildings.Edge;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -85,8 +88,46 @@ public record TileImpl(
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public Intersection getIntersection(final IntersectionDirection direction) {
+        if (this.hexGrid instanceof HexGridImpl grid) {
+            return grid.getIntersectionAt(this.position, direction);
+        }
+        return Tile.super.getIntersection(direction);
+    }
+
+    @Override
+    public Set<Tile> getNeighbours() {
+        if (this.hexGrid instanceof HexGridImpl grid) {
+            final Set<Tile> neighbours = new HashSet<>();
+            for (final EdgeDirection direction : EdgeDirection.values()) {
+                final Tile neighbour = getNeighbour(grid, direction);
+                if (neighbour != null) {
+                    neighbours.add(neighbour);
+                }
+            }
+            return neighbours;
+        }
+        return Tile.super.getNeighbours();
+    }
+
+    @Override
+    public Tile getNeighbour(final EdgeDirection direction) {
+        if (this.hexGrid instanceof HexGridImpl grid) {
+            return getNeighbour(grid, direction);
+        }
+        return Tile.super.getNeighbour(direction);
+    }
+
+    private Tile getNeighbour(final HexGridImpl grid, final EdgeDirection direction) {
+        return grid.getTileAt(this.position.q() + direction.position.q(), this.position.r() + direction.position.r());
+    }
+
     @Override
     public Edge getEdge(final EdgeDirection direction) {
+        if (this.hexGrid instanceof HexGridImpl grid) {
+            return grid.getEdge(this.position, direction);
+        }
         final var neighbour = TilePosition.neighbour(this.position, direction);
         return this.hexGrid.getEdges().get(Set.of(this.position, neighbour));
     }
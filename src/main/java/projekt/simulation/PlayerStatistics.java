@@ -0,0 +1,61 @@
+package projekt.simulation;
+
+import projekt.model.Player;
+import projekt.model.ResourceType;
+import projekt.model.buildings.Settlement;
+
+/**
+ * Holds the statistics of a single player at the end of a simulated game.
+ *
+ * @param id            the player's id
+ * @param name          the player's name
+ * @param victoryPoints the player's victory points
+ * @param villages      the number of villages the player owns
+ * @param cities        the number of cities the player owns
+ * @param roads         the number of roads the player owns
+ * @param resources     the number of resource cards the player holds
+ * @param knightsPlayed the number of knight cards the player has played
+ */
+public record PlayerStatistics(
+    int id,
+    String name,
+    int victoryPoints,
+    int villages,
+    int cities,
+    int roads,
+    int resources,
+    int knightsPlayed
+) {
+
+    /**
+     * Collects the statistics of the given player.
+     *
+     * @param player the player
+     * @return the statistics of the player
+     */
+    public static PlayerStatistics of(final Player player) {
+        int villages = 0;
+        int cities = 0;
+        for (final Settlement settlement : player.getSettlements()) {
+            if (settlement.type() == Settlement.Type.VILLAGE) {
+                villages++;
+            } else {
+                cities++;
+            }
+        }
+        int resources = 0;
+        for (final ResourceType resourceType : ResourceType.values()) {
+            resources += player.getResources().getOrDefault(resourceType, 0);
+        }
+        return new PlayerStatistics(
+            player.getID(),
+            player.getName(),
+            player.getVictoryPoints(),
+            villages,
+            cities,
+            player.getRoads().size(),
+            resources,
+            player.getKnightsPlayed()
+        );
+    }
+}
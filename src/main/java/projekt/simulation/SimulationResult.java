@@ -0,0 +1,45 @@
+package projekt.simulation;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Holds the result of a simulated game.
+ *
+ * @param seed    the seed the game was generated and played with
+ * @param outcome the way the game ended
+ * @param winner  the statistics of the winner, {@code null} if there is none
+ * @param rounds  the number of completed regular rounds, the initial placement round is not counted
+ * @param players the statistics of all players, in turn order
+ */
+public record SimulationResult(
+    long seed,
+    Outcome outcome,
+    @Nullable PlayerStatistics winner,
+    int rounds,
+    List<PlayerStatistics> players
+) {
+
+    /**
+     * The ways a simulated game can end.
+     */
+    public enum Outcome {
+        /**
+         * A player reached the required victory points.
+         */
+        WON,
+        /**
+         * The round limit was reached without a winner.
+         */
+        ROUND_LIMIT,
+        /**
+         * A player did not provide an action it was asked for.
+         */
+        STALLED,
+        /**
+         * The game was cancelled by interrupting its thread, e.g., because its host was closed.
+         */
+        CANCELLED
+    }
+}
@@ -0,0 +1,259 @@
+package projekt.simulation;
+
+import projekt.Config;
+import projekt.controller.AiControllerFactory;
+import projekt.controller.BasicAiController;
+import projekt.controller.GameController;
+import projekt.controller.GameHost;
+import projekt.controller.GameScope;
+import projekt.controller.GameStalledException;
+import projekt.controller.SavedGame;
+import projekt.model.GameRandom;
+import projekt.model.GameState;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Plays complete games between AI players without a user interface.
+ * Each game is played on a single thread, either the calling one or the thread of its {@link GameScope} in a
+ * {@link GameHost}: the {@link GameController} runs {@linkplain GameController#setHeadless(boolean) headless},
+ * so the AI controllers answer every objective synchronously and no action is handed over to another thread.
+ * No JavaFX toolkit is started.
+ * <p>
+ * Every game is generated and played from a single seed: the tiles, roll numbers, ports, dice, development cards
+ * and AI decisions each draw from their own stream of a {@link GameRandom} seeded with it,
+ * so a game can be reproduced by {@linkplain #run(long) running} it with the same seed again.
+ * Runners hold no mutable state and may be used by several threads at once.
+ * <p>
+ * Instances are created with a {@link Builder}:
+ * <pre>{@code
+ * SimulationResult result = new SimulationRunner.Builder().players(4).roundLimit(200).build().run();
+ * }</pre>
+ */
+public final class SimulationRunner {
+
+    /**
+     * The default maximum number of regular rounds of a simulated game.
+     */
+    public static final int DEFAULT_ROUND_LIMIT = 500;
+
+    private final List<AiControllerFactory> aiControllers;
+    private final int roundLimit;
+    private final int gridRadius;
+
+    private SimulationRunner(final Builder builder) {
+        this.aiControllers = List.copyOf(builder.aiControllers);
+        this.roundLimit = builder.roundLimit;
+        this.gridRadius = builder.gridRadius;
+    }
+
+    /**
+     * Plays a single game with a random seed.
+     *
+     * @return the result of the game
+     */
+    public SimulationResult run() {
+        return run(GameRandom.create().seed());
+    }
+
+    /**
+     * Plays a single game with the given seed.
+     * Running the same game with the same seed again yields the same result.
+     *
+     * @param seed the seed
+     * @return the result of the game
+     */
+    public SimulationResult run(final long seed) {
+        final int players = aiControllers.size();
+        final GameRandom random = new GameRandom(seed);
+        final HexGridImpl grid = new HexGridImpl(gridRadius, random);
+        final GameState state = new GameState(grid, new ArrayList<>());
+        for (int i = 0; i < players; i++) {
+            state.addPlayer(new PlayerImpl.Builder(i + 1, random.colors()).ai(true).build(grid));
+        }
+        return play(new GameController(state, random), seed);
+    }
+
+    /**
+     * Resumes the given saved game and plays it to its end.
+     * The players are controlled by the AI controllers of this runner, the round limit counts the rounds played
+     * before the game was saved. Resuming a game saved when a turn starts yields the same result as playing the
+     * original game with the same AI controllers.
+     *
+     * @param savedGame the saved game
+     * @return the result of the game
+     * @throws IllegalArgumentException if the saved game has a different number of players than this runner
+     * @see GameController#GameController(SavedGame)
+     */
+    public SimulationResult resume(final SavedGame savedGame) {
+        if (savedGame.snapshot().getPlayerCount() != aiControllers.size()) {
+            throw new IllegalArgumentException(String.format("Saved game has %d players but the runner has %d",
+                                                             savedGame.snapshot().getPlayerCount(), aiControllers.size()
+            ));
+        }
+        return play(new GameController(savedGame), savedGame.random().seed());
+    }
+
+    /**
+     * Plays the given game headless to its end.
+     *
+     * @param gameController the game
+     * @param seed           the seed of the game
+     * @return the result of the game
+     */
+    private SimulationResult play(final GameController gameController, final long seed) {
+        final GameState state = gameController.getState();
+        final int players = state.getPlayers().size();
+        gameController.setHeadless(true);
+        gameController.setRoundLimit(roundLimit);
+        gameController.setAiControllerFactory((playerController, hexGrid, gameState, activePlayerController) ->
+            aiControllers.get(playerController.getPlayer().getID() - 1)
+                .create(playerController, hexGrid, gameState, activePlayerController));
+
+        SimulationResult.Outcome outcome;
+        try {
+            gameController.startGame();
+            outcome = state.isGameOver() ? SimulationResult.Outcome.WON : SimulationResult.Outcome.ROUND_LIMIT;
+        } catch (final GameStalledException e) {
+            outcome = SimulationResult.Outcome.STALLED;
+        } catch (final CancellationException e) {
+            outcome = SimulationResult.Outcome.CANCELLED;
+        }
+
+        final List<PlayerStatistics> statistics = new ArrayList<>(players);
+        PlayerStatistics winner = null;
+        for (final Player player : state.getPlayers()) {
+            final PlayerStatistics playerStatistics = PlayerStatistics.of(player);
+            statistics.add(playerStatistics);
+            if (player == state.getWinnerProperty().getValue()) {
+                winner = playerStatistics;
+            }
+        }
+        final int rounds = Math.max(gameController.getRoundCounterProperty().get() - 1, 0);
+        return new SimulationResult(seed, outcome, winner, rounds, List.copyOf(statistics));
+    }
+
+    /**
+     * Starts a single game with the given seed in a new {@link GameScope} of the given host and returns its
+     * result once it has ended. If the host is closed before, the game ends with the outcome
+     * {@link SimulationResult.Outcome#CANCELLED CANCELLED}.
+     *
+     * @param seed the seed
+     * @param host the host to run the game in
+     * @return the future result of the game, completed exceptionally if the game failed
+     * @throws IllegalStateException if the host is closed
+     */
+    public CompletableFuture<SimulationResult> start(final long seed, final GameHost host) {
+        final CompletableFuture<SimulationResult> result = new CompletableFuture<>();
+        host.start(() -> {
+            try {
+                result.complete(run(seed));
+            } catch (final RuntimeException | Error e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Plays the given number of games with random seeds one after another.
+     *
+     * @param games the number of games to play
+     * @return the results of the games, in the order they were played
+     */
+    public List<SimulationResult> run(final int games) {
+        final List<SimulationResult> results = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            results.add(run());
+        }
+        return results;
+    }
+
+    /**
+     * Builder for {@link SimulationRunner}.
+     */
+    public static class Builder {
+        private List<AiControllerFactory> aiControllers = Collections.nCopies(Config.MAX_PLAYERS, BasicAiController::new);
+        private int roundLimit = DEFAULT_ROUND_LIMIT;
+        private int gridRadius = Config.GRID_RADIUS;
+
+        /**
+         * Sets the number of AI players in each game, all of them controlled by a {@link BasicAiController}.
+         *
+         * @param players the number of players
+         * @return this builder
+         * @throws IllegalArgumentException if the number is not within the configured bounds
+         */
+        public Builder players(final int players) {
+            checkPlayers(players);
+            this.aiControllers = Collections.nCopies(players, BasicAiController::new);
+            return this;
+        }
+
+        /**
+         * Sets the AI controllers of the players in each game, one per player in turn order.
+         *
+         * @param aiControllers the factories creating the AI controllers
+         * @return this builder
+         * @throws IllegalArgumentException if the number of players is not within the configured bounds
+         */
+        public Builder aiControllers(final List<AiControllerFactory> aiControllers) {
+            checkPlayers(aiControllers.size());
+            this.aiControllers = List.copyOf(aiControllers);
+            return this;
+        }
+
+        private static void checkPlayers(final int players) {
+            if (players < Config.MIN_PLAYERS || players > Config.MAX_PLAYERS) {
+                throw new IllegalArgumentException(String.format("Number of players must be between %d and %d",
+                                                                 Config.MIN_PLAYERS, Config.MAX_PLAYERS
+                ));
+            }
+        }
+
+        /**
+         * Sets the maximum number of regular rounds of each game.
+         *
+         * @param roundLimit the round limit, {@code 0} for no limit
+         * @return this builder
+         */
+        public Builder roundLimit(final int roundLimit) {
+            if (roundLimit < 0) {
+                throw new IllegalArgumentException("Round limit must not be negative");
+            }
+            this.roundLimit = roundLimit;
+            return this;
+        }
+
+        /**
+         * Sets the radius of the grid, center is included.
+         *
+         * @param gridRadius the radius
+         * @return this builder
+         */
+        public Builder gridRadius(final int gridRadius) {
+            if (gridRadius < 1) {
+                throw new IllegalArgumentException("Grid radius must be positive");
+            }
+            this.gridRadius = gridRadius;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link SimulationRunner} with the current settings.
+         *
+         * @return the new runner
+         */
+        public SimulationRunner build() {
+            return new SimulationRunner(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package projekt.simulation;
+
+/**
+ * Holds the aggregated results of a single AI strategy over all games of a {@link Tournament}.
+ *
+ * @param name                 the name of the strategy
+ * @param games                the number of games the strategy played
+ * @param wins                 the number of games the strategy won
+ * @param averageVictoryPoints the average number of victory points the strategy had at the end of a game
+ */
+public record StrategyStatistics(String name, int games, int wins, double averageVictoryPoints) {
+
+    /**
+     * Returns the share of played games the strategy won.
+     *
+     * @return the win rate, between {@code 0} and {@code 1}
+     */
+    public double winRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+}
@@ -0,0 +1,257 @@
+package projekt.simulation;
+
+import projekt.Config;
+import projekt.controller.AiControllerFactory;
+import projekt.controller.GameHost;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.stream.LongStream;
+
+/**
+ * Plays AI strategies against each other over a set of seeds and aggregates the results.
+ * Every seed is one game in which each strategy controls one player.
+ * To even out the advantage of moving first, the seating is rotated from game to game:
+ * in the game with index {@code i}, the player in seat {@code s} is controlled by strategy {@code (s + i) % n}.
+ * <p>
+ * The games are independent of each other. Each is played in its own scope of a {@link GameHost}, and at most
+ * the configured parallelism of them run at the same time. Since each game draws from its own random streams (see {@link SimulationRunner}),
+ * the result of a tournament only depends on its strategies, seeds and settings, not on the parallelism.
+ * <p>
+ * Instances are created with a {@link Builder}:
+ * <pre>{@code
+ * TournamentResult result = new Tournament.Builder()
+ *     .strategy("basic", BasicAiController::new)
+ *     .strategy("other", OtherAiController::new)
+ *     .seeds(0, 1000)
+ *     .build()
+ *     .run();
+ * }</pre>
+ */
+public final class Tournament {
+
+    private final List<Strategy> strategies;
+    private final long[] seeds;
+    private final int roundLimit;
+    private final int gridRadius;
+    private final int parallelism;
+
+    private Tournament(final Builder builder) {
+        this.strategies = List.copyOf(builder.strategies);
+        this.seeds = builder.seeds.clone();
+        this.roundLimit = builder.roundLimit;
+        this.gridRadius = builder.gridRadius;
+        this.parallelism = builder.parallelism;
+    }
+
+    /**
+     * Plays all games and aggregates their results.
+     * If the calling thread is interrupted, the games still running are cancelled.
+     *
+     * @return the result of the tournament
+     * @throws CancellationException if the calling thread is interrupted
+     */
+    public TournamentResult run() {
+        final int n = strategies.size();
+        final List<SimulationRunner> runners = new ArrayList<>(n);
+        for (int rotation = 0; rotation < n; rotation++) {
+            final List<AiControllerFactory> seats = new ArrayList<>(n);
+            for (int seat = 0; seat < n; seat++) {
+                seats.add(strategies.get((seat + rotation) % n).factory());
+            }
+            runners.add(new SimulationRunner.Builder()
+                            .aiControllers(seats)
+                            .roundLimit(roundLimit)
+                            .gridRadius(gridRadius)
+                            .build());
+        }
+
+        final List<CompletableFuture<SimulationResult>> games = new ArrayList<>(seeds.length);
+        final Semaphore slots = new Semaphore(parallelism);
+        try (GameHost host = new GameHost()) {
+            for (int game = 0; game < seeds.length; game++) {
+                slots.acquire();
+                games.add(runners.get(game % n).start(seeds[game], host)
+                              .whenComplete((result, failure) -> slots.release()));
+            }
+            final SimulationResult[] results = new SimulationResult[seeds.length];
+            for (int game = 0; game < seeds.length; game++) {
+                results[game] = games.get(game).join();
+            }
+            return aggregate(results);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final CancellationException cancellation = new CancellationException("Tournament was cancelled");
+            cancellation.initCause(e);
+            throw cancellation;
+        }
+    }
+
+    /**
+     * Aggregates the results of the games into the result of the tournament.
+     *
+     * @param results the results of the games, in the order of their seeds
+     * @return the result of the tournament
+     */
+    private TournamentResult aggregate(final SimulationResult[] results) {
+        final int n = strategies.size();
+        final int[] games = new int[n];
+        final int[] wins = new int[n];
+        final long[] victoryPoints = new long[n];
+        final Map<SimulationResult.Outcome, Integer> outcomes = new EnumMap<>(SimulationResult.Outcome.class);
+        long rounds = 0;
+
+        for (int game = 0; game < results.length; game++) {
+            final SimulationResult result = results[game];
+            for (int seat = 0; seat < n; seat++) {
+                final int strategy = (seat + game) % n;
+                final PlayerStatistics player = result.players().get(seat);
+                games[strategy]++;
+                victoryPoints[strategy] += player.victoryPoints();
+                if (result.winner() != null && result.winner().id() == player.id()) {
+                    wins[strategy]++;
+                }
+            }
+            outcomes.merge(result.outcome(), 1, Integer::sum);
+            rounds += result.rounds();
+        }
+
+        final List<StrategyStatistics> statistics = new ArrayList<>(n);
+        for (int strategy = 0; strategy < n; strategy++) {
+            statistics.add(new StrategyStatistics(
+                strategies.get(strategy).name(),
+                games[strategy],
+                wins[strategy],
+                games[strategy] == 0 ? 0 : (double) victoryPoints[strategy] / games[strategy]
+            ));
+        }
+        return new TournamentResult(
+            List.copyOf(statistics),
+            results.length == 0 ? 0 : (double) rounds / results.length,
+            Collections.unmodifiableMap(outcomes),
+            List.of(results)
+        );
+    }
+
+    /**
+     * A named AI strategy taking part in the tournament.
+     *
+     * @param name    the name of the strategy
+     * @param factory the factory creating the strategy's AI controllers
+     */
+    private record Strategy(String name, AiControllerFactory factory) {}
+
+    /**
+     * Builder for {@link Tournament}.
+     */
+    public static class Builder {
+        private final List<Strategy> strategies = new ArrayList<>();
+        private long[] seeds = new long[0];
+        private int roundLimit = SimulationRunner.DEFAULT_ROUND_LIMIT;
+        private int gridRadius = Config.GRID_RADIUS;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Adds a strategy to the tournament.
+         * Each strategy controls one player in every game.
+         *
+         * @param name    the name of the strategy
+         * @param factory the factory creating the strategy's AI controllers
+         * @return this builder
+         */
+        public Builder strategy(final String name, final AiControllerFactory factory) {
+            strategies.add(new Strategy(name, factory));
+            return this;
+        }
+
+        /**
+         * Sets the seeds of the games, one game is played per seed.
+         *
+         * @param seeds the seeds
+         * @return this builder
+         */
+        public Builder seeds(final long... seeds) {
+            this.seeds = seeds.clone();
+            return this;
+        }
+
+        /**
+         * Sets the seeds of the games to {@code count} consecutive seeds, starting with {@code firstSeed}.
+         *
+         * @param firstSeed the first seed
+         * @param count     the number of games
+         * @return this builder
+         */
+        public Builder seeds(final long firstSeed, final int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Number of games must not be negative");
+            }
+            this.seeds = LongStream.range(firstSeed, firstSeed + count).toArray();
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of regular rounds of each game.
+         *
+         * @param roundLimit the round limit, {@code 0} for no limit
+         * @return this builder
+         */
+        public Builder roundLimit(final int roundLimit) {
+            if (roundLimit < 0) {
+                throw new IllegalArgumentException("Round limit must not be negative");
+            }
+            this.roundLimit = roundLimit;
+            return this;
+        }
+
+        /**
+         * Sets the radius of the grid, center is included.
+         *
+         * @param gridRadius the radius
+         * @return this builder
+         */
+        public Builder gridRadius(final int gridRadius) {
+            if (gridRadius < 1) {
+                throw new IllegalArgumentException("Grid radius must be positive");
+            }
+            this.gridRadius = gridRadius;
+            return this;
+        }
+
+        /**
+         * Sets the number of games played at the same time.
+         * Defaults to the number of available processors.
+         *
+         * @param parallelism the number of games
+         * @return this builder
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link Tournament} with the current settings.
+         *
+         * @return the new tournament
+         * @throws IllegalArgumentException if the number of strategies is not within the configured player bounds
+         */
+        public Tournament build() {
+            if (strategies.size() < Config.MIN_PLAYERS || strategies.size() > Config.MAX_PLAYERS) {
+                throw new IllegalArgumentException(String.format("Number of strategies must be between %d and %d",
+                                                                 Config.MIN_PLAYERS, Config.MAX_PLAYERS
+                ));
+            }
+            return new Tournament(this);
+        }
+    }
+}
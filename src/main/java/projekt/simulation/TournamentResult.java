@@ -0,0 +1,19 @@
+package projekt.simulation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the results of a {@link Tournament}.
+ *
+ * @param strategies    the statistics of each strategy, in the order they were added to the tournament
+ * @param averageRounds the average number of completed regular rounds per game
+ * @param outcomes      the number of games per outcome
+ * @param games         the results of all games, in the order of their seeds
+ */
+public record TournamentResult(
+    List<StrategyStatistics> strategies,
+    double averageRounds,
+    Map<SimulationResult.Outcome, Integer> outcomes,
+    List<SimulationResult> games
+) {}
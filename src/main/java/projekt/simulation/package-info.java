@@ -0,0 +1,4 @@
+/**
+ * Contains the headless game runner used for batch simulations of AI players.
+ */
+package projekt.simulation;
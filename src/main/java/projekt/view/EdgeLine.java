@@ -5,6 +5,7 @@ import javafx.geometry.Point2D;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Line;
+import projekt.model.Player;
 import projekt.model.buildings.Edge;
 import projekt.model.buildings.EdgeImpl;
 
@@ -20,6 +21,9 @@ public class EdgeLine extends Line {
     private final int strokeWidth = 5;
     private final double positionOffset = 10;
     private final Line outline = new Line();
+    private Player renderedRoadOwner;
+    private Consumer<MouseEvent> highlightHandler;
+    private Runnable highlightListener;
 
     /**
      * Creates a new EdgeLine for the given {@link EdgeImpl}.
@@ -76,6 +80,7 @@ public class EdgeLine extends Line {
     public void init(final double dashScale) {
         this.distance = new Point2D(getStartX(), getStartY()).distance(getEndX(), getEndY());
         setStrokeWidth(strokeWidth);
+        renderedRoadOwner = edge.getRoadOwner();
         setStroke(edge.hasRoad() ? edge.getRoadOwner().getColor() : Color.TRANSPARENT);
         setStrokeDashOffset(-positionOffset / 2);
         getStrokeDashArray().clear();
@@ -85,6 +90,20 @@ public class EdgeLine extends Line {
         }
     }
 
+    /**
+     * Initializes the EdgeLine again if the owner of its road changed since it was last initialized.
+     *
+     * @return whether the EdgeLine was initialized
+     * @see #init()
+     */
+    public boolean refresh() {
+        if (edge.getRoadOwner() == renderedRoadOwner) {
+            return false;
+        }
+        init();
+        return true;
+    }
+
     /**
      * Highlights the EdgeLine with the given handler.
      *
@@ -98,6 +117,10 @@ public class EdgeLine extends Line {
         getStrokeDashArray().add(10.0);
         setStrokeWidth(strokeWidth * 1.2);
         setOnMouseClicked(handler::accept);
+        highlightHandler = handler;
+        if (highlightListener != null) {
+            highlightListener.run();
+        }
     }
 
     /**
@@ -108,5 +131,27 @@ public class EdgeLine extends Line {
         setOnMouseClicked(null);
         getStyleClass().remove("selectable");
         init();
+        highlightHandler = null;
+        if (highlightListener != null) {
+            highlightListener.run();
+        }
+    }
+
+    /**
+     * Returns the handler of the current highlight.
+     *
+     * @return the handler or {@code null} if the EdgeLine is not highlighted
+     */
+    public Consumer<MouseEvent> getHighlightHandler() {
+        return highlightHandler;
+    }
+
+    /**
+     * Sets a listener that is called whenever the EdgeLine is highlighted or unhighlighted.
+     *
+     * @param listener the listener or {@code null}
+     */
+    public void setHighlightListener(final Runnable listener) {
+        this.highlightListener = listener;
     }
 }
@@ -2,7 +2,11 @@ package projekt.view;
 
 import javafx.beans.binding.Bindings;
 import javafx.event.Event;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
@@ -10,6 +14,7 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.util.Builder;
+import projekt.Config;
 import projekt.model.HexGrid;
 import projekt.model.Intersection;
 import projekt.model.TilePosition;
@@ -17,14 +22,15 @@ import projekt.model.buildings.Edge;
 import projekt.model.tiles.Tile;
 import projekt.view.tiles.TileBuilder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.function.BiFunction;
 import java.util.function.Consumer;
-import java.util.function.IntBinaryOperator;
 import java.util.function.Predicate;
-import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +38,17 @@ import java.util.stream.Collectors;
  * It creates a pane with the hex grid and handles the placement of the tiles,
  * intersections, edges and ports.
  * The hex grid pane can be zoomed, panned and centered.
+ * <p>
+ * Redrawing is incremental: only tiles, intersections and edges whose model state changed since they were last
+ * drawn are rendered again, and all redraws requested until the next flush of the {@link UiUpdateBus} are carried
+ * out together.
+ * <p>
+ * When the board is zoomed out, details are dropped according to the {@link LevelOfDetail}, and elements outside
+ * the visible part of the board, plus a margin of a tile, are neither laid out nor rendered. To find them, every
+ * element is indexed by the cell of a tile it lies on, and only the cells entering or leaving the viewport are
+ * updated when it moves.
+ * <p>
+ * If {@link Config#canvasRenderer()} is set, the hex grid is drawn by a {@link HexGridCanvas} instead.
  */
 public class HexGridBuilder implements Builder<Region> {
     private final HexGrid grid;
@@ -44,8 +61,20 @@ public class HexGridBuilder implements Builder<Region> {
     private final Set<IntersectionBuilder> intersectionBuilders;
     private final Set<EdgeLine> edgeLines;
     private final Set<TileBuilder> tileBuilders;
+    private final Set<PortBuilder> portBuilders = new HashSet<>();
+    private final Map<TilePosition, List<Node>> nodesByCell = new HashMap<>();
+    private Set<TilePosition> visibleCells = new HashSet<>();
+    private int maxCellDistance;
 
     private final Pane hexGridPane = new Pane();
+    private final HexGridCanvas canvas;
+    private Region viewport;
+    private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+
+    private boolean tilesOutdated;
+    private boolean intersectionsOutdated;
+    private boolean edgesOutdated;
+    private boolean viewportOutdated;
 
     /**
      * Creates a new hex grid builder with the given hex grid, intersection
@@ -79,33 +108,65 @@ public class HexGridBuilder implements Builder<Region> {
         this.draggedHandler = draggedHandler;
         this.centerButtonHandler = centerButtonHandler;
 
-        final BiFunction<ToIntFunction<TilePosition>, IntBinaryOperator, Integer> reduceTiles = (
-            positionFunction,
-            reduceFunction
-        ) -> grid.getTiles().values().stream().map(Tile::getPosition).mapToInt(positionFunction)
-            .reduce(reduceFunction).getAsInt();
-
-        this.maxPoint = new Point2D(
-            calculatePositionTranslation(new TilePosition(reduceTiles.apply(TilePosition::q, Integer::max), 0))
-                .getX(),
-            calculatePositionTranslation(new TilePosition(0, reduceTiles.apply(TilePosition::r, Integer::max)))
-                .getY()
-        );
-        this.minPoint = new Point2D(
-            calculatePositionTranslation(new TilePosition(reduceTiles.apply(TilePosition::q, Integer::min), 0))
-                .getX(),
-            calculatePositionTranslation(new TilePosition(0, reduceTiles.apply(TilePosition::r, Integer::min)))
-                .getY()
-        );
+        double minX = 0;
+        double minY = 0;
+        double maxX = 0;
+        double maxY = 0;
+        for (final TilePosition position : grid.getTiles().keySet()) {
+            final Point2D translation = calculatePositionTranslation(position);
+            minX = Math.min(minX, translation.getX());
+            minY = Math.min(minY, translation.getY());
+            maxX = Math.max(maxX, translation.getX());
+            maxY = Math.max(maxY, translation.getY());
+        }
+        this.maxPoint = new Point2D(maxX, maxY);
+        this.minPoint = new Point2D(minX, minY);
+        this.canvas = Config.canvasRenderer()
+            ? new HexGridCanvas(grid, tileBuilders, intersectionBuilders, edgeLines, hexGridPane,
+                                Math.abs(minX) + maxX + grid.getTileWidth(), Math.abs(minY) + maxY + grid.getTileHeight(),
+                                this::calculatePositionCenterOffset, this::calculateIntersectionTranslation
+            )
+            : null;
+        if (canvas == null) {
+            hexGridPane.scaleXProperty().addListener(observable -> drawViewport());
+            hexGridPane.translateXProperty().addListener(observable -> drawViewport());
+            hexGridPane.translateYProperty().addListener(observable -> drawViewport());
+        }
     }
 
+    /**
+     * Tints the resource icons, ports and the robber of the given hex grid in the background,
+     * so building its view does not have to.
+     *
+     * @param grid the hex grid
+     * @see SpriteCache
+     */
+    public static void preloadSprites(final HexGrid grid) {
+        grid.getTiles().values().forEach(TileBuilder::preloadSprites);
+        grid.getEdges().values().stream()
+            .filter(Edge::hasPort)
+            .forEach(edge -> PortBuilder.preloadSprites(edge, grid.getTileWidth()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With the {@link HexGridCanvas}, the board pane is not displayed; the handlers still zoom and pan it, and the
+     * canvas applies its scale and translation.
+     */
     @Override
     public Region build() {
+        if (canvas != null) {
+            return buildMapPane(canvas);
+        }
         hexGridPane.getChildren().clear();
+        portBuilders.clear();
+        nodesByCell.clear();
+        maxCellDistance = 0;
 
         edgeLines.stream().map(EdgeLine::getEdge).filter(Edge::hasPort).forEach(this::placePort);
 
-        hexGridPane.getChildren().addAll(tileBuilders.stream().map(this::placeTile).toList());
+        tileBuilders.forEach(this::placeTile);
 
         hexGridPane.maxWidthProperty().bind(Bindings
                                                 .createDoubleBinding(
@@ -114,16 +175,27 @@ public class HexGridBuilder implements Builder<Region> {
                                                 ));
         hexGridPane.maxHeightProperty().bind(Bindings
                                                  .createDoubleBinding(
-                                                     () -> Math.abs(minPoint.getY()) + maxPoint.getX() + grid.getTileHeight(),
+                                                     () -> Math.abs(minPoint.getY()) + maxPoint.getY() + grid.getTileHeight(),
                                                      grid.tileSizeProperty()
                                                  ));
         hexGridPane.minWidthProperty().bind(hexGridPane.maxWidthProperty());
         hexGridPane.minHeightProperty().bind(hexGridPane.maxHeightProperty());
 
         edgeLines.forEach(this::placeEdge);
-        hexGridPane.getChildren().addAll(intersectionBuilders.stream().map(this::placeIntersection).toList());
+        intersectionBuilders.forEach(this::placeIntersection);
+        visibleCells = new HashSet<>(nodesByCell.keySet());
 
-        final StackPane mapPane = new StackPane(hexGridPane);
+        return buildMapPane(hexGridPane);
+    }
+
+    /**
+     * Builds the pane holding the given view of the board, which handles zooming, panning and centering.
+     *
+     * @param board the view of the board
+     * @return the map pane
+     */
+    private Region buildMapPane(final Region board) {
+        final StackPane mapPane = new StackPane(board);
         mapPane.getStylesheets().add("css/hexmap.css");
         mapPane.getStyleClass().add("hex-grid");
         mapPane.setOnScroll(event -> scrollHandler.accept(event, hexGridPane));
@@ -145,23 +217,29 @@ public class HexGridBuilder implements Builder<Region> {
 
         mapPane.getChildren().add(centerButton);
 
+        if (canvas == null) {
+            viewport = mapPane;
+            mapPane.widthProperty().addListener(observable -> drawViewport());
+            mapPane.heightProperty().addListener(observable -> drawViewport());
+        }
         return mapPane;
     }
 
     /**
-     * Draws the tiles on the hex grid.
+     * Redraws the tiles whose robber changed.
+     * Must be called on the JavaFX application thread.
      */
     public void drawTiles() {
-        tileBuilders.forEach(TileBuilder::build);
+        tilesOutdated = true;
+        scheduleRedraw();
     }
 
     /**
      * Places a tile on the hex grid.
      *
      * @param builder The tile builder.
-     * @return The region of the tile.
      */
-    private Region placeTile(final TileBuilder builder) {
+    private void placeTile(final TileBuilder builder) {
         final Region tileView = builder.build();
         final Tile tile = builder.getTile();
         final TilePosition position = tile.getPosition();
@@ -170,37 +248,160 @@ public class HexGridBuilder implements Builder<Region> {
             Bindings.createDoubleBinding(() -> (translatedPoint.getX()), tile.widthProperty()));
         tileView.translateYProperty().bind(
             Bindings.createDoubleBinding(() -> translatedPoint.getY(), tile.heightProperty()));
-        return tileView;
+        addNode(position, tileView);
     }
 
     /**
-     * Draws the intersections on the hex grid.
+     * Redraws the intersections whose settlement changed.
+     * Must be called on the JavaFX application thread.
      */
     public void drawIntersections() {
-        intersectionBuilders.forEach(IntersectionBuilder::build);
+        intersectionsOutdated = true;
+        scheduleRedraw();
     }
 
     /**
      * Places an intersection on the hex grid.
      *
      * @param builder The intersection builder.
-     * @return The region of the intersection.
      */
-    private Region placeIntersection(final IntersectionBuilder builder) {
+    private void placeIntersection(final IntersectionBuilder builder) {
         final Region intersectionView = builder.build();
         final Point2D translatedPoint = calculateIntersectionTranslation(builder.getIntersection());
         intersectionView.translateXProperty().bind(Bindings.createDoubleBinding(
             () -> (translatedPoint.getX() - intersectionView.getWidth() / 2), intersectionView.widthProperty()));
         intersectionView.translateYProperty().bind(Bindings.createDoubleBinding(
             () -> (translatedPoint.getY() - intersectionView.getHeight() / 2), intersectionView.heightProperty()));
-        return intersectionView;
+        addNode(builder.getIntersection().getAdjacentTilePositions().iterator().next(), intersectionView);
     }
 
     /**
-     * Draws the edges on the hex grid.
+     * Redraws the edges whose road owner changed.
+     * Must be called on the JavaFX application thread.
      */
     public void drawEdges() {
-        edgeLines.forEach(EdgeLine::init);
+        edgesOutdated = true;
+        scheduleRedraw();
+    }
+
+    /**
+     * Updates the level of detail and the visible elements after the board was zoomed, panned or resized.
+     * Must be called on the JavaFX application thread.
+     */
+    private void drawViewport() {
+        viewportOutdated = true;
+        scheduleRedraw();
+    }
+
+    /**
+     * Schedules a redraw of the outdated parts of the hex grid with the next flush of the {@link UiUpdateBus}.
+     */
+    private void scheduleRedraw() {
+        if (canvas != null) {
+            canvas.requestDraw();
+        } else {
+            UiUpdateBus.getInstance().post(this, this::redraw);
+        }
+    }
+
+    /**
+     * Redraws the elements of the outdated parts of the hex grid whose model state changed.
+     */
+    private void redraw() {
+        if (tilesOutdated) {
+            tilesOutdated = false;
+            tileBuilders.forEach(TileBuilder::refresh);
+        }
+        if (intersectionsOutdated) {
+            intersectionsOutdated = false;
+            intersectionBuilders.forEach(IntersectionBuilder::refresh);
+        }
+        if (edgesOutdated) {
+            edgesOutdated = false;
+            edgeLines.forEach(EdgeLine::refresh);
+        }
+        if (viewportOutdated) {
+            viewportOutdated = false;
+            updateViewport();
+        }
+    }
+
+    /**
+     * Applies the level of detail of the current scale and hides the elements outside the viewport.
+     */
+    private void updateViewport() {
+        final LevelOfDetail newLevelOfDetail = LevelOfDetail.of(hexGridPane.getScaleX());
+        if (newLevelOfDetail != levelOfDetail) {
+            levelOfDetail = newLevelOfDetail;
+            tileBuilders.forEach(builder -> builder.setLevelOfDetail(newLevelOfDetail));
+            portBuilders.forEach(builder -> builder.setLevelOfDetail(newLevelOfDetail));
+        }
+        if (viewport == null) {
+            return;
+        }
+        final Bounds viewportBounds = hexGridPane.parentToLocal(viewport.getLayoutBounds());
+        final double margin = grid.getTileWidth();
+        final Bounds visibleBounds = new BoundingBox(
+            viewportBounds.getMinX() - margin,
+            viewportBounds.getMinY() - margin,
+            viewportBounds.getWidth() + 2 * margin,
+            viewportBounds.getHeight() + 2 * margin
+        );
+        final Set<TilePosition> newVisibleCells = findCells(visibleBounds);
+        visibleCells.stream()
+            .filter(Predicate.not(newVisibleCells::contains))
+            .forEach(cell -> setCellVisible(cell, false));
+        newVisibleCells.stream()
+            .filter(Predicate.not(visibleCells::contains))
+            .forEach(cell -> setCellVisible(cell, true));
+        visibleCells = newVisibleCells;
+    }
+
+    /**
+     * Returns the indexed cells whose center lies within the given bounds of the hex grid pane.
+     * The cells are found by converting the bounds to axial coordinates row by row, so only the cells within
+     * the bounds and the indexed area are visited.
+     *
+     * @param bounds The bounds in the coordinates of the hex grid pane.
+     * @return The positions of the cells.
+     */
+    private Set<TilePosition> findCells(final Bounds bounds) {
+        final Point2D origin = calculatePositionCenterOffset(new TilePosition(0, 0));
+        final double rowHeight = grid.getTileSize() * 3.0 / 2;
+        final double columnWidth = grid.getTileSize() * Math.sqrt(3);
+        final int minR = Math.max(-maxCellDistance, (int) Math.ceil((bounds.getMinY() - origin.getY()) / rowHeight));
+        final int maxR = Math.min(maxCellDistance, (int) Math.floor((bounds.getMaxY() - origin.getY()) / rowHeight));
+        final Set<TilePosition> cells = new HashSet<>();
+        for (int r = minR; r <= maxR; r++) {
+            final int minQ = Math.max(
+                Math.max(-maxCellDistance, -maxCellDistance - r),
+                (int) Math.ceil((bounds.getMinX() - origin.getX()) / columnWidth - r / 2.0)
+            );
+            final int maxQ = Math.min(
+                Math.min(maxCellDistance, maxCellDistance - r),
+                (int) Math.floor((bounds.getMaxX() - origin.getX()) / columnWidth - r / 2.0)
+            );
+            for (int q = minQ; q <= maxQ; q++) {
+                final TilePosition cell = new TilePosition(q, r);
+                if (nodesByCell.containsKey(cell)) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Shows or hides all nodes of the given cell, excluding hidden nodes from layout.
+     *
+     * @param cell    The position of the cell.
+     * @param visible Whether the nodes are shown.
+     */
+    private void setCellVisible(final TilePosition cell, final boolean visible) {
+        for (final Node node : nodesByCell.get(cell)) {
+            node.setVisible(visible);
+            node.setManaged(visible);
+        }
     }
 
     /**
@@ -217,12 +418,13 @@ public class HexGridBuilder implements Builder<Region> {
         edgeLine.setEndX(translatedEnd.getX());
         edgeLine.setEndY(translatedEnd.getY());
         edgeLine.init();
-        hexGridPane.getChildren().add(edgeLine.getOutline());
-        hexGridPane.getChildren().add(edgeLine);
+        final TilePosition cell = edgeLine.getEdge().getAdjacentTilePositions().iterator().next();
+        addNode(cell, edgeLine.getOutline());
+        addNode(cell, edgeLine);
     }
 
     /**
-     * Places a port on the hex grid.
+     * Places a port and its connections on the hex grid, grouped so they are hidden together.
      *
      * @param edge The edge the port is on.
      */
@@ -237,14 +439,33 @@ public class HexGridBuilder implements Builder<Region> {
         final PortBuilder portBuilder = new PortBuilder(edge, grid.tileWidthProperty(), grid.tileHeightProperty(),
                                                         node0, node1
         );
+        portBuilders.add(portBuilder);
         final Region portView = portBuilder.build();
         final Point2D translatedPoint = calculatePositionTranslationOffset(position);
         portView.translateXProperty().bind(Bindings.createDoubleBinding(
             () -> (translatedPoint.getX() - portView.getWidth() / 2), grid.tileWidthProperty()));
         portView.translateYProperty().bind(Bindings.createDoubleBinding(
             () -> (translatedPoint.getY() - portView.getHeight() / 2), grid.tileHeightProperty()));
-        hexGridPane.getChildren().addAll(portBuilder.initConnections(calculatePositionCenterOffset(position)));
-        hexGridPane.getChildren().addAll(portView);
+        final List<Node> portNodes = new ArrayList<>(
+            portBuilder.initConnections(calculatePositionCenterOffset(position))
+        );
+        portNodes.add(portView);
+        addNode(position, new Group(portNodes));
+    }
+
+    /**
+     * Adds a node to the hex grid pane and indexes it by the cell it is shown or hidden with.
+     *
+     * @param cell The position of the tile the node lies on.
+     * @param node The node.
+     */
+    private void addNode(final TilePosition cell, final Node node) {
+        hexGridPane.getChildren().add(node);
+        nodesByCell.computeIfAbsent(cell, position -> new ArrayList<>()).add(node);
+        maxCellDistance = Math.max(
+            maxCellDistance,
+            Math.max(Math.abs(cell.q()), Math.max(Math.abs(cell.r()), Math.abs(cell.q() + cell.r())))
+        );
     }
 
     /**
@@ -0,0 +1,472 @@
+package projekt.view;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import projekt.model.HexGrid;
+import projekt.model.Intersection;
+import projekt.model.TilePosition;
+import projekt.model.TilePosition.EdgeDirection;
+import projekt.model.TilePosition.IntersectionDirection;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Port;
+import projekt.model.buildings.Settlement;
+import projekt.model.tiles.Tile;
+import projekt.view.tiles.TileBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Draws the {@link HexGrid} on a single {@link Canvas} in immediate mode, instead of a node per tile,
+ * intersection and edge like {@link HexGridBuilder} does by default.
+ * Tiles, ports, roads, settlements and the robber are drawn straight from the model. Highlights and their handlers
+ * are taken from the {@link TileBuilder}s, {@link IntersectionBuilder}s and {@link EdgeLine}s, so the controllers
+ * work with both renderers.
+ * <p>
+ * Clicks are mapped to tiles, intersections and edges with axial coordinates. Zooming and panning are applied as a
+ * single transform of the graphics context, taken from the scale and translation of a region that is not displayed
+ * and is moved by the handlers of the hex grid instead.
+ * Details are dropped according to the {@link LevelOfDetail} of the scale, and only elements within a tile of the
+ * visible part of the board are drawn.
+ *
+ * @see projekt.Config#canvasRenderer()
+ */
+public class HexGridCanvas extends Region {
+    private static final double ROAD_WIDTH = 5;
+    private static final double ROAD_GAP = 10;
+    private static final double SETTLEMENT_WIDTH = 25;
+    private static final double HIGHLIGHT_RADIUS = 15;
+    private static final Color SELECTED_COLOR = Color.CRIMSON;
+    private static final Font LABEL_FONT = Font.font("Roboto Merged Icons Black", 18);
+    private static final Font PORT_FONT = Font.font("Roboto Merged Icons Black", 10);
+
+    private final HexGrid grid;
+    private final Region viewTransform;
+    private final double boardWidth;
+    private final double boardHeight;
+    private final Point2D origin;
+    private final Map<TilePosition, TileBuilder> tileBuilders;
+    private final Map<Intersection, IntersectionBuilder> intersectionBuilders;
+    private final Map<Edge, EdgeLine> edgeLines;
+    private final Map<TilePosition, Point2D> tileCenters;
+    private final Map<Intersection, Point2D> intersectionCenters;
+    private final Map<Edge, Point2D> portCenters;
+
+    private final Canvas canvas = new Canvas();
+    private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+    private Bounds visibleBounds;
+
+    /**
+     * Creates a new canvas for the given hex grid.
+     *
+     * @param grid                 the hex grid
+     * @param tileBuilders         the tile builders holding the highlights of the tiles
+     * @param intersectionBuilders the intersection builders holding the highlights of the intersections
+     * @param edgeLines            the edge lines holding the highlights of the edges
+     * @param viewTransform        the region whose scale and translation are applied to the board
+     * @param boardWidth           the width of the board at a scale of {@code 1}
+     * @param boardHeight          the height of the board at a scale of {@code 1}
+     * @param tileCenter           calculates the center of the tile at a position on the board
+     * @param intersectionCenter   calculates the center of an intersection on the board
+     */
+    public HexGridCanvas(
+        final HexGrid grid,
+        final Set<TileBuilder> tileBuilders,
+        final Set<IntersectionBuilder> intersectionBuilders,
+        final Set<EdgeLine> edgeLines,
+        final Region viewTransform,
+        final double boardWidth,
+        final double boardHeight,
+        final Function<TilePosition, Point2D> tileCenter,
+        final Function<Intersection, Point2D> intersectionCenter
+    ) {
+        this.grid = grid;
+        this.viewTransform = viewTransform;
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.origin = tileCenter.apply(new TilePosition(0, 0));
+        this.tileBuilders = tileBuilders.stream()
+            .collect(Collectors.toMap(builder -> builder.getTile().getPosition(), builder -> builder));
+        this.intersectionBuilders = intersectionBuilders.stream()
+            .collect(Collectors.toMap(IntersectionBuilder::getIntersection, builder -> builder));
+        this.edgeLines = edgeLines.stream().collect(Collectors.toMap(EdgeLine::getEdge, line -> line));
+        this.tileCenters = this.tileBuilders.keySet().stream()
+            .collect(Collectors.toMap(position -> position, tileCenter));
+        this.intersectionCenters = this.intersectionBuilders.keySet().stream()
+            .collect(Collectors.toMap(intersection -> intersection, intersectionCenter));
+        this.portCenters = this.edgeLines.keySet().stream()
+            .filter(Edge::hasPort)
+            .collect(Collectors.toMap(edge -> edge, edge -> tileCenter.apply(
+                edge.getAdjacentTilePositions().stream()
+                    .filter(Predicate.not(grid.getTiles()::containsKey))
+                    .findAny()
+                    .orElseThrow()
+            )));
+
+        tileBuilders.forEach(builder -> builder.setHighlightListener(this::requestDraw));
+        intersectionBuilders.forEach(builder -> builder.setHighlightListener(this::requestDraw));
+        edgeLines.forEach(line -> line.setHighlightListener(this::requestDraw));
+        viewTransform.scaleXProperty().addListener(observable -> requestDraw());
+        viewTransform.scaleYProperty().addListener(observable -> requestDraw());
+        viewTransform.translateXProperty().addListener(observable -> requestDraw());
+        viewTransform.translateYProperty().addListener(observable -> requestDraw());
+
+        canvas.setOnMouseClicked(this::handleClick);
+        getChildren().add(canvas);
+    }
+
+    /**
+     * Schedules drawing the board with the next flush of the {@link UiUpdateBus}.
+     * All requests made until then are carried out by a single draw.
+     */
+    public void requestDraw() {
+        UiUpdateBus.getInstance().post(this, this::draw);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            draw();
+        }
+    }
+
+    /**
+     * Draws the whole board.
+     */
+    private void draw() {
+        final GraphicsContext context = canvas.getGraphicsContext2D();
+        context.setTransform(1, 0, 0, 1, 0, 0);
+        context.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        context.setTransform(viewTransform.getScaleX(), 0, 0, viewTransform.getScaleY(), offsetX(), offsetY());
+        levelOfDetail = LevelOfDetail.of(viewTransform.getScaleX());
+        final double margin = grid.getTileWidth();
+        visibleBounds = new BoundingBox(
+            -offsetX() / viewTransform.getScaleX() - margin,
+            -offsetY() / viewTransform.getScaleY() - margin,
+            canvas.getWidth() / viewTransform.getScaleX() + 2 * margin,
+            canvas.getHeight() / viewTransform.getScaleY() + 2 * margin
+        );
+
+        tileBuilders.values().forEach(builder -> drawTile(context, builder));
+        portCenters.forEach((edge, center) -> drawPort(context, edge, center));
+        edgeLines.values().forEach(line -> drawEdge(context, line));
+        intersectionBuilders.values().forEach(builder -> drawIntersection(context, builder));
+    }
+
+    /**
+     * Draws a tile with its resource icon, roll number and the robber if present.
+     *
+     * @param context the graphics context
+     * @param builder the builder of the tile
+     */
+    private void drawTile(final GraphicsContext context, final TileBuilder builder) {
+        final Tile tile = builder.getTile();
+        final Point2D center = tileCenters.get(tile.getPosition());
+        if (!visibleBounds.contains(center)) {
+            return;
+        }
+        final double[] xs = new double[6];
+        final double[] ys = new double[6];
+        for (int corner = 0; corner < 6; corner++) {
+            final double angle = Math.toRadians(60 * corner - 30);
+            xs[corner] = center.getX() + grid.getTileSize() * Math.cos(angle);
+            ys[corner] = center.getY() + grid.getTileSize() * Math.sin(angle);
+        }
+        context.setFill(tile.getType().color);
+        context.fillPolygon(xs, ys, 6);
+        context.setStroke(builder.getHighlightHandler() != null ? SELECTED_COLOR : Color.BLACK);
+        context.setLineWidth(5);
+        context.strokePolygon(xs, ys, 6);
+
+        final double iconWidth = grid.getTileWidth() * 0.5;
+        if (tile.getType().resourceType != null && levelOfDetail.showsIcons()) {
+            drawSprite(context, Utils.resourcesSpriteSheet, tile.getType().resourceType.iconIndex,
+                       tile.getType().resourceType.color, center.subtract(0, iconWidth / 4), iconWidth
+            );
+        }
+        if (tile.hasRobber()) {
+            drawSprite(context, Utils.robberImage, SpriteCache.WHOLE_IMAGE, Color.BLACK,
+                       center.subtract(0, iconWidth / 4), grid.getTileWidth() * 0.3
+            );
+        }
+        if (tile.getRollNumber() > 0 && levelOfDetail.showsLabels()) {
+            drawLabel(context, Integer.toString(tile.getRollNumber()), LABEL_FONT, center.add(0, iconWidth / 2));
+        }
+    }
+
+    /**
+     * Draws a port with its connections to the intersections of its edge.
+     *
+     * @param context the graphics context
+     * @param edge    the edge of the port
+     * @param center  the center of the port
+     */
+    private void drawPort(final GraphicsContext context, final Edge edge, final Point2D center) {
+        if (!visibleBounds.contains(center)) {
+            return;
+        }
+        final Port port = edge.getPort();
+        context.setStroke(Color.BLACK);
+        context.setLineWidth(3);
+        if (levelOfDetail.showsLabels()) {
+            for (final Intersection intersection : edge.getIntersections()) {
+                final Point2D node = intersectionCenters.get(intersection);
+                context.strokeLine(center.getX(), center.getY(), node.getX(), node.getY());
+            }
+        }
+        final double radius = grid.getTileWidth() / 2 * 0.6;
+        context.setFill(
+            levelOfDetail.showsIcons() || port.resourceType() == null ? Color.WHITE : port.resourceType().color
+        );
+        context.fillOval(center.getX() - radius, center.getY() - radius, radius * 2, radius * 2);
+        context.strokeOval(center.getX() - radius, center.getY() - radius, radius * 2, radius * 2);
+        if (!levelOfDetail.showsIcons()) {
+            return;
+        }
+        if (port.resourceType() != null) {
+            drawSprite(context, Utils.resourcesSpriteSheet, port.resourceType().iconIndex, port.resourceType().color,
+                       center.subtract(0, radius / 4), radius
+            );
+        } else {
+            drawLabel(context, "?", LABEL_FONT, center.subtract(0, radius / 4));
+        }
+        drawLabel(context, String.format("%d:1", port.ratio()), PORT_FONT, center.add(0, radius / 2));
+    }
+
+    /**
+     * Draws the road on an edge, or the edge's highlight.
+     *
+     * @param context the graphics context
+     * @param line    the edge line holding the highlight
+     */
+    private void drawEdge(final GraphicsContext context, final EdgeLine line) {
+        final Edge edge = line.getEdge();
+        final boolean highlighted = line.getHighlightHandler() != null;
+        if (!edge.hasRoad() && !highlighted) {
+            return;
+        }
+        final List<Point2D> ends = edgeEnds(edge);
+        final Point2D start = ends.get(0);
+        final Point2D end = ends.get(1);
+        if (!visibleBounds.contains(start)) {
+            return;
+        }
+        if (highlighted) {
+            context.setLineDashes(start.distance(end) * 0.1, ROAD_GAP);
+        }
+        context.setStroke(Color.BLACK);
+        context.setLineWidth(ROAD_WIDTH * (highlighted ? 1.6 : 1.4));
+        context.strokeLine(start.getX(), start.getY(), end.getX(), end.getY());
+        if (edge.hasRoad()) {
+            context.setStroke(edge.getRoadOwner().getColor());
+            context.setLineWidth(ROAD_WIDTH * (highlighted ? 1.2 : 1));
+            context.strokeLine(start.getX(), start.getY(), end.getX(), end.getY());
+        }
+        context.setLineDashes();
+    }
+
+    /**
+     * Draws the settlement on an intersection and the intersection's highlight.
+     *
+     * @param context the graphics context
+     * @param builder the builder of the intersection holding the highlight
+     */
+    private void drawIntersection(final GraphicsContext context, final IntersectionBuilder builder) {
+        final Point2D center = intersectionCenters.get(builder.getIntersection());
+        if (!visibleBounds.contains(center)) {
+            return;
+        }
+        final Settlement settlement = builder.getIntersection().getSettlement();
+        if (settlement != null) {
+            drawSprite(context, Utils.settlementsSpriteSheet, settlement.type().ordinal(),
+                       settlement.owner().getColor(), center, SETTLEMENT_WIDTH
+            );
+        }
+        if (builder.getHighlightHandler() != null) {
+            context.setStroke(Color.RED);
+            context.setLineWidth(4);
+            context.strokeOval(center.getX() - HIGHLIGHT_RADIUS, center.getY() - HIGHLIGHT_RADIUS,
+                               HIGHLIGHT_RADIUS * 2, HIGHLIGHT_RADIUS * 2
+            );
+        }
+    }
+
+    /**
+     * Draws a single image of a sprite sheet, tinted by the {@link SpriteCache}.
+     *
+     * @param context     the graphics context
+     * @param spriteSheet the sprite sheet, with all images in a single column
+     * @param index       the index of the image
+     * @param color       the color of the image
+     * @param center      the center of the image on the board
+     * @param width       the width of the image on the board
+     */
+    private void drawSprite(
+        final GraphicsContext context,
+        final Image spriteSheet,
+        final int index,
+        final Color color,
+        final Point2D center,
+        final double width
+    ) {
+        final Image image = SpriteCache.get(spriteSheet, index, color, width);
+        final double height = image.getHeight() * width / image.getWidth();
+        context.drawImage(image, center.getX() - width / 2, center.getY() - height / 2, width, height);
+    }
+
+    /**
+     * Draws a label in the style of the {@code highlighted-label} css class.
+     *
+     * @param context the graphics context
+     * @param text    the text of the label
+     * @param font    the font of the label
+     * @param center  the center of the label on the board
+     */
+    private void drawLabel(final GraphicsContext context, final String text, final Font font, final Point2D center) {
+        context.setFont(font);
+        context.setTextAlign(TextAlignment.CENTER);
+        context.setTextBaseline(VPos.CENTER);
+        context.setFill(Color.WHITE);
+        context.fillText(text, center.getX(), center.getY());
+        context.setStroke(Color.BLACK);
+        context.setLineWidth(1);
+        context.strokeText(text, center.getX(), center.getY());
+    }
+
+    // Hit testing
+
+    /**
+     * Calls the handler of the highlighted intersection, edge or tile that was clicked, in this order.
+     * Clicks that end a drag are ignored.
+     *
+     * @param event the mouse event
+     */
+    private void handleClick(final MouseEvent event) {
+        if (!event.isStillSincePress()) {
+            return;
+        }
+        final Point2D point = toBoard(event.getX(), event.getY());
+        final TilePosition position = positionAt(point);
+
+        for (final IntersectionDirection direction : IntersectionDirection.values()) {
+            final Intersection intersection = grid.getIntersections().get(Set.of(
+                position,
+                TilePosition.neighbour(position, direction.leftDirection),
+                TilePosition.neighbour(position, direction.rightDirection)
+            ));
+            final Consumer<MouseEvent> handler = intersection == null
+                ? null
+                : intersectionBuilders.get(intersection).getHighlightHandler();
+            if (handler != null && intersectionCenters.get(intersection).distance(point) <= HIGHLIGHT_RADIUS) {
+                handler.accept(event);
+                return;
+            }
+        }
+        for (final EdgeDirection direction : EdgeDirection.values()) {
+            final Edge edge = grid.getEdges().get(Set.of(position, TilePosition.neighbour(position, direction)));
+            final Consumer<MouseEvent> handler = edge == null ? null : edgeLines.get(edge).getHighlightHandler();
+            if (handler != null && distanceToSegment(point, edgeEnds(edge)) <= ROAD_WIDTH * 1.6) {
+                handler.accept(event);
+                return;
+            }
+        }
+        final TileBuilder tileBuilder = tileBuilders.get(position);
+        if (tileBuilder != null && tileBuilder.getHighlightHandler() != null) {
+            tileBuilder.getHighlightHandler().run();
+        }
+    }
+
+    /**
+     * Returns the position of the tile containing the given point on the board.
+     * This inverts the calculation of the tile positions in {@link HexGridBuilder} and rounds
+     * to the nearest position in cube coordinates.
+     *
+     * @param point the point on the board
+     * @return the position, which may not be part of the grid
+     */
+    private TilePosition positionAt(final Point2D point) {
+        final double r = (point.getY() - origin.getY()) / grid.getTileSize() * 2 / 3;
+        final double q = (point.getX() - origin.getX()) / grid.getTileSize() / Math.sqrt(3) - r / 2;
+        final double s = -q - r;
+        long roundedQ = Math.round(q);
+        long roundedR = Math.round(r);
+        final long roundedS = Math.round(s);
+        final double diffQ = Math.abs(roundedQ - q);
+        final double diffR = Math.abs(roundedR - r);
+        final double diffS = Math.abs(roundedS - s);
+        if (diffQ > diffR && diffQ > diffS) {
+            roundedQ = -roundedR - roundedS;
+        } else if (diffR > diffS) {
+            roundedR = -roundedQ - roundedS;
+        }
+        return new TilePosition((int) roundedQ, (int) roundedR);
+    }
+
+    /**
+     * Converts a point on the canvas to a point on the board.
+     *
+     * @param x the x coordinate on the canvas
+     * @param y the y coordinate on the canvas
+     * @return the point on the board
+     */
+    private Point2D toBoard(final double x, final double y) {
+        return new Point2D((x - offsetX()) / viewTransform.getScaleX(), (y - offsetY()) / viewTransform.getScaleY());
+    }
+
+    /**
+     * Returns the x coordinate on the canvas of the left border of the board.
+     * Like the board pane of {@link HexGridBuilder}, the board is centered, translated and scaled around its center.
+     *
+     * @return the x coordinate
+     */
+    private double offsetX() {
+        return canvas.getWidth() / 2 + viewTransform.getTranslateX() - viewTransform.getScaleX() * boardWidth / 2;
+    }
+
+    /**
+     * Returns the y coordinate on the canvas of the upper border of the board.
+     *
+     * @return the y coordinate
+     * @see #offsetX()
+     */
+    private double offsetY() {
+        return canvas.getHeight() / 2 + viewTransform.getTranslateY() - viewTransform.getScaleY() * boardHeight / 2;
+    }
+
+    /**
+     * Returns the ends of the road on an edge, which keep a gap to the intersections.
+     *
+     * @param edge the edge
+     * @return the two ends
+     */
+    private List<Point2D> edgeEnds(final Edge edge) {
+        final List<Point2D> nodes = edge.getIntersections().stream().map(intersectionCenters::get).toList();
+        final Point2D gap = nodes.get(1).subtract(nodes.get(0)).normalize().multiply(ROAD_GAP / 2);
+        return List.of(nodes.get(0).add(gap), nodes.get(1).subtract(gap));
+    }
+
+    private static double distanceToSegment(final Point2D point, final List<Point2D> segment) {
+        final Point2D start = segment.get(0);
+        final Point2D direction = segment.get(1).subtract(start);
+        final double t = Math.max(0, Math.min(1, point.subtract(start).dotProduct(direction)
+            / direction.dotProduct(direction)));
+        return point.distance(start.add(direction.multiply(t)));
+    }
+}
@@ -1,5 +1,6 @@
 package projekt.view;
 
+import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
@@ -7,6 +8,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.util.Builder;
 import projekt.model.Intersection;
+import projekt.model.Player;
 import projekt.model.buildings.Settlement;
 
 import java.util.function.Consumer;
@@ -14,12 +16,18 @@ import java.util.function.Consumer;
 /**
  * A Builder to create views for {@link Intersection}s.
  * Renders the {@link Settlement} of the intersection with a sprite from
- * {@link Utils#settlementsSpriteSheet}
+ * {@link Utils#settlementsSpriteSheet}, tinted by the {@link SpriteCache}
  * Has methods to highlight and unhighlight the intersection.
  */
 public class IntersectionBuilder implements Builder<Region> {
+    private static final double SETTLEMENT_WIDTH = 25;
+
     private final Intersection intersection;
     private final StackPane pane = new StackPane();
+    private ImageView settlementSprite;
+    private Settlement renderedSettlement;
+    private Consumer<MouseEvent> highlightHandler;
+    private Runnable highlightListener;
 
     /**
      * Creates a new IntersectionBuilder for the given {@link Intersection}.
@@ -40,21 +48,52 @@ public class IntersectionBuilder implements Builder<Region> {
     }
 
     /**
-     * Adds the {@link Settlement} of the {@link Intersection} to the pane.
+     * Redraws the {@link Settlement} of the {@link Intersection} if it changed since it was last drawn.
+     * Unlike {@link #build()}, a highlight is kept.
+     *
+     * @return whether the intersection was redrawn
+     */
+    public boolean refresh() {
+        final Settlement settlement = intersection.getSettlement();
+        final boolean unchanged = settlement == null || renderedSettlement == null
+            ? settlement == renderedSettlement
+            : settlement.owner() == renderedSettlement.owner() && settlement.type() == renderedSettlement.type();
+        if (unchanged) {
+            return false;
+        }
+        pane.getChildren().remove(settlementSprite);
+        addSettlement();
+        return true;
+    }
+
+    /**
+     * Adds the {@link Settlement} of the {@link Intersection} to the pane, below a highlight.
      */
     private void addSettlement() {
         final Settlement settlement = intersection.getSettlement();
+        renderedSettlement = settlement;
+        settlementSprite = null;
         if (settlement == null) {
             return;
         }
 
-        final Sprite settlementSprite = new Sprite(Utils.settlementsSpriteSheet, settlement.type().ordinal(),
-                                                   settlement.owner().getColor()
+        settlementSprite = SpriteCache.createView(Utils.settlementsSpriteSheet, settlement.type().ordinal(),
+                                                  settlement.owner().getColor(), SETTLEMENT_WIDTH
         );
-        settlementSprite.setFitWidth(25);
-        settlementSprite.setPreserveRatio(true);
 
-        pane.getChildren().add(settlementSprite);
+        pane.getChildren().add(0, settlementSprite);
+    }
+
+    /**
+     * Tints the settlements of the given player in the background.
+     *
+     * @param player the player
+     * @see SpriteCache#preload(javafx.scene.image.Image, int, Color, double)
+     */
+    public static void preloadSprites(final Player player) {
+        for (final Settlement.Type type : Settlement.Type.values()) {
+            SpriteCache.preload(Utils.settlementsSpriteSheet, type.ordinal(), player.getColor(), SETTLEMENT_WIDTH);
+        }
     }
 
     /**
@@ -79,6 +118,10 @@ public class IntersectionBuilder implements Builder<Region> {
         circle.getStyleClass().add("selectable");
         pane.getChildren().add(circle);
         pane.setOnMouseClicked(handler::accept);
+        highlightHandler = handler;
+        if (highlightListener != null) {
+            highlightListener.run();
+        }
     }
 
     /**
@@ -87,5 +130,27 @@ public class IntersectionBuilder implements Builder<Region> {
     public void unhighlight() {
         pane.getChildren().removeIf(Circle.class::isInstance);
         pane.setOnMouseClicked(null);
+        highlightHandler = null;
+        if (highlightListener != null) {
+            highlightListener.run();
+        }
+    }
+
+    /**
+     * Returns the handler of the current highlight.
+     *
+     * @return the handler or {@code null} if the intersection is not highlighted
+     */
+    public Consumer<MouseEvent> getHighlightHandler() {
+        return highlightHandler;
+    }
+
+    /**
+     * Sets a listener that is called whenever the intersection is highlighted or unhighlighted.
+     *
+     * @param listener the listener or {@code null}
+     */
+    public void setHighlightListener(final Runnable listener) {
+        this.highlightListener = listener;
     }
 }
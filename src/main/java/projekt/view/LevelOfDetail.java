@@ -0,0 +1,55 @@
+package projekt.view;
+
+import projekt.Config;
+
+/**
+ * The level of detail the board is rendered with, depending on how far it is zoomed out.
+ *
+ * @see Config#labelMinScale()
+ * @see Config#iconMinScale()
+ */
+public enum LevelOfDetail {
+    /**
+     * Everything is rendered.
+     */
+    FULL,
+    /**
+     * Labels and the connections of ports are not rendered.
+     */
+    REDUCED,
+    /**
+     * Icons are not rendered either, tiles and ports are plain fills.
+     */
+    MINIMAL;
+
+    /**
+     * Returns the level of detail of the board at the given scale.
+     *
+     * @param scale the scale of the board
+     * @return the level of detail
+     */
+    public static LevelOfDetail of(final double scale) {
+        if (scale < Config.iconMinScale()) {
+            return MINIMAL;
+        }
+        return scale < Config.labelMinScale() ? REDUCED : FULL;
+    }
+
+    /**
+     * Returns whether labels and the connections of ports are rendered.
+     *
+     * @return whether labels are rendered
+     */
+    public boolean showsLabels() {
+        return this == FULL;
+    }
+
+    /**
+     * Returns whether icons are rendered.
+     *
+     * @return whether icons are rendered
+     */
+    public boolean showsIcons() {
+        return this != MINIMAL;
+    }
+}
@@ -6,7 +6,6 @@ import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
@@ -25,6 +24,7 @@ import java.util.List;
  * Renders the {@link Port} as a circle with a resource icon and a label for the
  * ratio.
  * Has methods to initialize the connections to the nodes.
+ * Depending on the {@link LevelOfDetail}, the connections, the icon and the label are hidden.
  */
 public class PortBuilder implements Builder<Region> {
 
@@ -33,6 +33,10 @@ public class PortBuilder implements Builder<Region> {
     private final ObservableDoubleValue height;
     private final Point2D node0;
     private final Point2D node1;
+    private Circle background;
+    private VBox iconBox;
+    private List<Node> connections = List.of();
+    private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
 
     /**
      * Creates a new PortBuilder on the given {@link Edge}.
@@ -64,17 +68,14 @@ public class PortBuilder implements Builder<Region> {
         mainPane.minWidthProperty().bind(width);
         mainPane.maxHeightProperty().bind(height);
         mainPane.maxWidthProperty().bind(width);
-        final Circle background = new Circle((width.get() / 2) * 0.6, Color.WHITE);
+        background = new Circle((width.get() / 2) * 0.6, Color.WHITE);
         background.setStroke(Color.BLACK);
         background.setStrokeWidth(3);
         final Node icon;
         if (edge.getPort().resourceType() != null) {
-            final ImageView resourceImage = new Sprite(Utils.resourcesSpriteSheet, edge.getPort().resourceType().iconIndex,
-                                                       edge.getPort().resourceType().color
+            icon = SpriteCache.createView(Utils.resourcesSpriteSheet, edge.getPort().resourceType().iconIndex,
+                                          edge.getPort().resourceType().color, iconWidth(width.get())
             );
-            resourceImage.setFitWidth(background.getRadius() * 2 * 0.5);
-            resourceImage.setPreserveRatio(true);
-            icon = resourceImage;
         } else {
             final Label missingLabel = new Label("?");
             missingLabel.setFont(new Font(30));
@@ -86,12 +87,32 @@ public class PortBuilder implements Builder<Region> {
         final Label ratioLabel = new Label(String.format("%d:1", edge.getPort().ratio()));
         ratioLabel.setFont(Font.font(10));
         ratioLabel.getStyleClass().add("highlighted-label");
-        final VBox iconBox = new VBox(icon, ratioLabel);
+        iconBox = new VBox(icon, ratioLabel);
         iconBox.setAlignment(Pos.CENTER);
         mainPane.getChildren().addAll(background, iconBox);
+        setLevelOfDetail(levelOfDetail);
         return mainPane;
     }
 
+    /**
+     * Tints the resource icon of the port on the given edge in the background.
+     *
+     * @param edge      the edge of the port
+     * @param tileWidth the width of a tile
+     * @see SpriteCache#preload(javafx.scene.image.Image, int, Color, double)
+     */
+    public static void preloadSprites(final Edge edge, final double tileWidth) {
+        if (edge.getPort().resourceType() != null) {
+            SpriteCache.preload(Utils.resourcesSpriteSheet, edge.getPort().resourceType().iconIndex,
+                                edge.getPort().resourceType().color, iconWidth(tileWidth)
+            );
+        }
+    }
+
+    private static double iconWidth(final double tileWidth) {
+        return tileWidth / 2 * 0.6;
+    }
+
     /**
      * Initializes the connections to the nodes.
      *
@@ -105,6 +126,27 @@ public class PortBuilder implements Builder<Region> {
         connection1.setStrokeWidth(3);
         connection0.setStroke(Color.BLACK);
         connection1.setStroke(Color.BLACK);
-        return List.of(connection0, connection1);
+        connections = List.of(connection0, connection1);
+        setLevelOfDetail(levelOfDetail);
+        return connections;
+    }
+
+    /**
+     * Shows or hides the connections, the icon and the label as required by the given level of detail.
+     * Without the icon, the port is filled with the color of its resource.
+     *
+     * @param levelOfDetail the level of detail
+     */
+    public void setLevelOfDetail(final LevelOfDetail levelOfDetail) {
+        this.levelOfDetail = levelOfDetail;
+        connections.forEach(connection -> connection.setVisible(levelOfDetail.showsLabels()));
+        if (background != null) {
+            background.setFill(
+                levelOfDetail.showsIcons() || edge.getPort().resourceType() == null
+                    ? Color.WHITE
+                    : edge.getPort().resourceType().color
+            );
+            iconBox.setVisible(levelOfDetail.showsIcons());
+        }
     }
 }
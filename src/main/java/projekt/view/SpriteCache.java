@@ -0,0 +1,174 @@
+package projekt.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of tinted and scaled images of sprite sheets, shared by all views.
+ * <p>
+ * A {@link Sprite} or {@link ColoredImageView} colors its image with a {@link javafx.scene.effect.Lighting} effect,
+ * which is applied every time the node is rendered. The images of this cache are tinted once, with the same result
+ * as the effect, and scaled to the size they are displayed at, so views only need a plain {@link ImageView}.
+ * Images can be {@linkplain #preload(Image, int, Color, double) preloaded} off the JavaFX application thread.
+ */
+public final class SpriteCache {
+
+    /**
+     * The index selecting the whole image instead of a single image of a sprite sheet.
+     */
+    public static final int WHOLE_IMAGE = -1;
+
+    /**
+     * The factor by which images are rendered larger than their size in the view, so they stay sharp when the
+     * board is zoomed in or the screen is scaled.
+     */
+    private static final int OVERSAMPLING = 2;
+
+    private static final Map<Key, CompletableFuture<Image>> CACHE = new ConcurrentHashMap<>();
+
+    private SpriteCache() {
+    }
+
+    /**
+     * Returns the image of the given sprite sheet at the given index, tinted with the given color like a {@link Sprite}.
+     * The image is created on the calling thread if it has not been cached or preloaded.
+     *
+     * @param spriteSheet the sprite sheet, with all images in a single column of square cells
+     * @param index       the index of the image or {@link #WHOLE_IMAGE}
+     * @param color       the color of the image, {@code null} to keep its colors
+     * @param width       the width the image is displayed at
+     * @return the tinted image
+     */
+    public static Image get(final Image spriteSheet, final int index, final Color color, final double width) {
+        return CACHE.computeIfAbsent(
+            new Key(spriteSheet, index, color, pixelWidth(width)),
+            key -> CompletableFuture.completedFuture(render(key))
+        ).join();
+    }
+
+    /**
+     * Creates the image of the given sprite sheet at the given index in the background, unless it is cached already.
+     *
+     * @param spriteSheet the sprite sheet, with all images in a single column of square cells
+     * @param index       the index of the image or {@link #WHOLE_IMAGE}
+     * @param color       the color of the image, {@code null} to keep its colors
+     * @param width       the width the image is displayed at
+     * @return a future completed with the tinted image
+     * @see #get(Image, int, Color, double)
+     */
+    public static CompletableFuture<Image> preload(
+        final Image spriteSheet,
+        final int index,
+        final Color color,
+        final double width
+    ) {
+        return CACHE.computeIfAbsent(
+            new Key(spriteSheet, index, color, pixelWidth(width)),
+            key -> CompletableFuture.supplyAsync(() -> render(key))
+        );
+    }
+
+    /**
+     * Creates a view displaying the image of the given sprite sheet at the given index at the given width.
+     *
+     * @param spriteSheet the sprite sheet, with all images in a single column of square cells
+     * @param index       the index of the image or {@link #WHOLE_IMAGE}
+     * @param color       the color of the image, {@code null} to keep its colors
+     * @param width       the width the image is displayed at
+     * @return the view
+     * @see #get(Image, int, Color, double)
+     */
+    public static ImageView createView(final Image spriteSheet, final int index, final Color color, final double width) {
+        final ImageView view = new ImageView(get(spriteSheet, index, color, width));
+        view.setPreserveRatio(true);
+        view.setFitWidth(width);
+        return view;
+    }
+
+    private static int pixelWidth(final double width) {
+        return Math.max(1, (int) Math.ceil(width * OVERSAMPLING));
+    }
+
+    /**
+     * Scales the image of the given key to its width, averaging the covered pixels, and tints it.
+     * Like a {@link javafx.scene.effect.Lighting} effect with a distant light from above and a flat surface,
+     * tinting multiplies every color channel with the one of the color and keeps the opacity.
+     *
+     * @param key the key
+     * @return the tinted image
+     */
+    private static Image render(final Key key) {
+        final PixelReader reader = key.spriteSheet().getPixelReader();
+        final int cellWidth = (int) key.spriteSheet().getWidth();
+        final int cellHeight = key.index() == WHOLE_IMAGE ? (int) key.spriteSheet().getHeight() : cellWidth;
+        final int top = key.index() == WHOLE_IMAGE ? 0 : cellWidth * key.index();
+        final int width = key.width();
+        final int height = Math.max(1, (int) Math.round((double) cellHeight * width / cellWidth));
+        final double scaleX = (double) cellWidth / width;
+        final double scaleY = (double) cellHeight / height;
+        final double red = key.color() == null ? 1 : key.color().getRed();
+        final double green = key.color() == null ? 1 : key.color().getGreen();
+        final double blue = key.color() == null ? 1 : key.color().getBlue();
+
+        final WritableImage image = new WritableImage(width, height);
+        final PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < height; y++) {
+            final double y0 = y * scaleY;
+            final double y1 = y0 + scaleY;
+            for (int x = 0; x < width; x++) {
+                final double x0 = x * scaleX;
+                final double x1 = x0 + scaleX;
+                double coverage = 0;
+                double alpha = 0;
+                double sumRed = 0;
+                double sumGreen = 0;
+                double sumBlue = 0;
+                for (int sourceY = (int) y0; sourceY < Math.min(Math.ceil(y1), cellHeight); sourceY++) {
+                    final double weightY = Math.min(y1, sourceY + 1) - Math.max(y0, sourceY);
+                    for (int sourceX = (int) x0; sourceX < Math.min(Math.ceil(x1), cellWidth); sourceX++) {
+                        final double weight = weightY * (Math.min(x1, sourceX + 1) - Math.max(x0, sourceX));
+                        final int argb = reader.getArgb(sourceX, top + sourceY);
+                        final double pixelAlpha = (argb >>> 24) / 255.0 * weight;
+                        coverage += weight;
+                        alpha += pixelAlpha;
+                        sumRed += (argb >> 16 & 0xFF) * pixelAlpha;
+                        sumGreen += (argb >> 8 & 0xFF) * pixelAlpha;
+                        sumBlue += (argb & 0xFF) * pixelAlpha;
+                    }
+                }
+                if (alpha == 0) {
+                    writer.setArgb(x, y, 0);
+                    continue;
+                }
+                writer.setArgb(x, y, channel(alpha / coverage * 255) << 24
+                    | channel(sumRed / alpha * red) << 16
+                    | channel(sumGreen / alpha * green) << 8
+                    | channel(sumBlue / alpha * blue));
+            }
+        }
+        return image;
+    }
+
+    private static int channel(final double value) {
+        return Math.max(0, Math.min(255, (int) Math.round(value)));
+    }
+
+    /**
+     * Identifies a tinted image.
+     *
+     * @param spriteSheet the sprite sheet
+     * @param index       the index of the image or {@link #WHOLE_IMAGE}
+     * @param color       the color, {@code null} to keep the image's colors
+     * @param width       the width of the image in pixels
+     */
+    private record Key(Image spriteSheet, int index, Color color, int width) {
+    }
+}
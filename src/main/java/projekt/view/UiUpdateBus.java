@@ -0,0 +1,168 @@
+package projekt.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Carries updates of the user interface from the game loop and the JavaFX application thread to the JavaFX
+ * application thread, merged and at most once per frame.
+ * <p>
+ * Every update is posted with a key and replaces the pending update with the same key, so, e.g., only the latest
+ * state of a player is rendered. Once per pulse, an {@link AnimationTimer} flushes all pending updates with a single
+ * {@link Platform#runLater(Runnable)}, in the order their keys were last posted. Running them outside the pulse
+ * keeps dialogs that wait for the user legal in updates.
+ * <p>
+ * Threads other than the JavaFX application thread are held back to the speed of the user interface: after posting
+ * {@link #getCapacity()} updates since the last flush, they wait until the next flush. The flush is queued behind all
+ * runnables posted before it, so a fast game loop cannot grow the queue of the JavaFX application thread without
+ * bound. If the user interface does not flush for a second, e.g., because it was closed, the game goes on.
+ * Waiting threads wait on a {@link ReentrantLock} rather than a monitor, so a game loop on a virtual thread
+ * unmounts from its carrier while it is held back.
+ */
+public final class UiUpdateBus {
+
+    /**
+     * The number of updates other threads may post between two flushes of the shared bus.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final long MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static UiUpdateBus instance;
+
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(final long now) {
+            scheduleFlush();
+        }
+    };
+    private int postedSinceFlush;
+    private boolean flushScheduled;
+
+    /**
+     * Creates a new bus and starts flushing it on every pulse.
+     *
+     * @param capacity the number of updates other threads may post between two flushes
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public UiUpdateBus(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        if (Platform.isFxApplicationThread()) {
+            timer.start();
+        } else {
+            Platform.runLater(timer::start);
+        }
+    }
+
+    /**
+     * Returns the bus shared by the views of the game, creating it with the {@link #DEFAULT_CAPACITY} if necessary.
+     *
+     * @return the shared bus
+     */
+    public static synchronized UiUpdateBus getInstance() {
+        if (instance == null) {
+            instance = new UiUpdateBus(DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the number of updates other threads may post between two flushes.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Posts an update, replacing the pending update with the same key.
+     * If called from another thread than the JavaFX application thread, this method waits until the next flush
+     * once the {@linkplain #getCapacity() capacity} is used up.
+     *
+     * @param key    the key of the update, e.g., the view it updates
+     * @param update the update, run on the JavaFX application thread
+     */
+    public void post(final Object key, final Runnable update) {
+        final boolean fxApplicationThread = Platform.isFxApplicationThread();
+        lock.lock();
+        try {
+            if (!fxApplicationThread) {
+                awaitCapacity();
+                postedSinceFlush++;
+            }
+            pending.remove(key);
+            pending.put(key, update);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until an update may be posted or the user interface has not flushed for too long.
+     * Must be called while holding the lock of this bus.
+     */
+    private void awaitCapacity() {
+        long remaining = MAX_WAIT_NANOS;
+        while (postedSinceFlush >= capacity) {
+            if (remaining <= 0) {
+                return;
+            }
+            try {
+                remaining = flushed.awaitNanos(remaining);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Schedules a flush if there are pending updates and none is scheduled yet.
+     */
+    private void scheduleFlush() {
+        lock.lock();
+        try {
+            if (pending.isEmpty() || flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        } finally {
+            lock.unlock();
+        }
+        Platform.runLater(this::flush);
+    }
+
+    /**
+     * Runs all pending updates and releases the threads waiting for capacity.
+     */
+    private void flush() {
+        final List<Runnable> updates;
+        lock.lock();
+        try {
+            updates = new ArrayList<>(pending.values());
+            pending.clear();
+            postedSinceFlush = 0;
+            flushScheduled = false;
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        updates.forEach(Runnable::run);
+    }
+}
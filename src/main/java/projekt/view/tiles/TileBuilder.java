@@ -10,20 +10,29 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.util.Builder;
 import projekt.model.tiles.Tile;
-import projekt.view.ColoredImageView;
-import projekt.view.Sprite;
+import projekt.view.LevelOfDetail;
+import projekt.view.SpriteCache;
 import projekt.view.Utils;
 
 /**
  * A Builder to create views for {@link Tile}s.
  * Renders the {@link Tile} with a resource icon, a label for the roll number
  * and the robber if present.
+ * The nodes are created once; afterwards only the robber is shown or hidden.
+ * Depending on the {@link LevelOfDetail}, the labels and the resource icon are hidden.
  * Has methods to highlight and unhighlight the tile.
  */
 public class TileBuilder implements Builder<Region> {
     private final Tile tile;
     private final StackPane pane = new StackPane();
-    private final Sprite resourceIcon;
+    private final ImageView resourceIcon;
+    private final StackPane resourcePane = new StackPane();
+    private VBox labels;
+    private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+    private ImageView robber;
+    private boolean renderedRobber;
+    private Runnable highlightHandler;
+    private Runnable highlightListener;
 
     /**
      * Creates a new TileBuilder for the given {@link Tile}.
@@ -34,18 +43,40 @@ public class TileBuilder implements Builder<Region> {
         this.tile = tile;
         styleAndSizeTile(pane);
         if (tile.getType().resourceType != null) {
-            this.resourceIcon = new Sprite(
+            this.resourceIcon = SpriteCache.createView(
                 Utils.resourcesSpriteSheet,
                 tile.getType().resourceType.iconIndex,
-                tile.getType().resourceType.color
+                tile.getType().resourceType.color,
+                resourceIconWidth(tile)
             );
-            resourceIcon.setPreserveRatio(true);
-            resourceIcon.setFitWidth(tile.widthProperty().get() * 0.5);
         } else {
             this.resourceIcon = null;
         }
     }
 
+    /**
+     * Tints the resource icon and the robber of the given tile in the background.
+     *
+     * @param tile the tile
+     * @see SpriteCache#preload(javafx.scene.image.Image, int, Color, double)
+     */
+    public static void preloadSprites(final Tile tile) {
+        if (tile.getType().resourceType != null) {
+            SpriteCache.preload(Utils.resourcesSpriteSheet, tile.getType().resourceType.iconIndex,
+                                tile.getType().resourceType.color, resourceIconWidth(tile)
+            );
+        }
+        SpriteCache.preload(Utils.robberImage, SpriteCache.WHOLE_IMAGE, Color.BLACK, robberWidth(tile));
+    }
+
+    private static double resourceIconWidth(final Tile tile) {
+        return tile.widthProperty().get() * 0.5;
+    }
+
+    private static double robberWidth(final Tile tile) {
+        return tile.widthProperty().get() * 0.3;
+    }
+
     /**
      * Returns the {@link Tile} this builder renders.
      *
@@ -57,22 +88,72 @@ public class TileBuilder implements Builder<Region> {
 
     @Override
     public Region build() {
-        pane.getChildren().clear();
-        final VBox mainBox = new VBox();
-        final StackPane resourcePane = new StackPane();
+        if (pane.getChildren().isEmpty()) {
+            final VBox mainBox = new VBox();
+            if (resourceIcon != null) {
+                resourcePane.getChildren().add(resourceIcon);
+            }
+            labels = createLabels();
+            mainBox.getChildren().addAll(resourcePane, labels);
+            mainBox.setAlignment(Pos.CENTER);
+            pane.getChildren().addAll(mainBox);
+            setLevelOfDetail(levelOfDetail);
+        }
+        showRobber(tile.hasRobber());
+        return pane;
+    }
+
+    /**
+     * Redraws the robber if it was placed on or removed from the tile since the tile was last drawn.
+     *
+     * @return whether the tile was redrawn
+     */
+    public boolean refresh() {
+        if (pane.getChildren().isEmpty()) {
+            build();
+            return true;
+        }
+        if (tile.hasRobber() == renderedRobber) {
+            return false;
+        }
+        showRobber(tile.hasRobber());
+        return true;
+    }
+
+    /**
+     * Shows or hides the labels and the resource icon as required by the given level of detail.
+     * The robber is always shown.
+     *
+     * @param levelOfDetail the level of detail
+     */
+    public void setLevelOfDetail(final LevelOfDetail levelOfDetail) {
+        this.levelOfDetail = levelOfDetail;
+        if (labels != null) {
+            labels.setVisible(levelOfDetail.showsLabels());
+            labels.setManaged(levelOfDetail.showsLabels());
+        }
         if (resourceIcon != null) {
-            resourcePane.getChildren().add(resourceIcon);
+            resourceIcon.setVisible(levelOfDetail.showsIcons());
+            resourceIcon.setManaged(levelOfDetail.showsIcons());
         }
-        if (tile.hasRobber()) {
-            final ImageView robber = new ColoredImageView(Utils.robberImage, Color.BLACK);
-            robber.setPreserveRatio(true);
-            robber.setFitWidth(tile.widthProperty().get() * 0.3);
+    }
+
+    /**
+     * Shows or hides the robber. The robber's view is created when it is shown for the first time.
+     *
+     * @param visible whether the robber is shown
+     */
+    private void showRobber(final boolean visible) {
+        renderedRobber = visible;
+        if (robber == null) {
+            if (!visible) {
+                return;
+            }
+            robber = SpriteCache.createView(Utils.robberImage, SpriteCache.WHOLE_IMAGE, Color.BLACK, robberWidth(tile));
             resourcePane.getChildren().add(robber);
         }
-        mainBox.getChildren().addAll(resourcePane, createLabels());
-        mainBox.setAlignment(Pos.CENTER);
-        pane.getChildren().addAll(mainBox);
-        return pane;
+        robber.setVisible(visible);
+        robber.setManaged(visible);
     }
 
     /**
@@ -119,6 +200,10 @@ public class TileBuilder implements Builder<Region> {
     public void highlight(final Runnable hanlder) {
         pane.getStyleClass().add("selectable");
         pane.setOnMouseClicked(e -> hanlder.run());
+        highlightHandler = hanlder;
+        if (highlightListener != null) {
+            highlightListener.run();
+        }
     }
 
     /**
@@ -127,5 +212,27 @@ public class TileBuilder implements Builder<Region> {
     public void unhighlight() {
         pane.getStyleClass().remove("selectable");
         pane.setOnMouseClicked(null);
+        highlightHandler = null;
+        if (highlightListener != null) {
+            highlightListener.run();
+        }
+    }
+
+    /**
+     * Returns the handler of the current highlight.
+     *
+     * @return the handler or {@code null} if the tile is not highlighted
+     */
+    public Runnable getHighlightHandler() {
+        return highlightHandler;
+    }
+
+    /**
+     * Sets a listener that is called whenever the tile is highlighted or unhighlighted.
+     *
+     * @param listener the listener or {@code null}
+     */
+    public void setHighlightListener(final Runnable listener) {
+        this.highlightListener = listener;
     }
 }
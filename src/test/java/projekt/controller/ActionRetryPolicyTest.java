@@ -0,0 +1,78 @@
+package projekt.controller;
+
+import javafx.beans.property.Property;
+import org.junit.jupiter.api.Test;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.model.GameRandom;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.PlayerImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an {@link ActionRetryPolicy} always ends the wait for a player that only sends illegal actions.
+ */
+public class ActionRetryPolicyTest {
+
+    @Test
+    public void testPolicyWithoutLimitIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ActionRetryPolicy(0, Duration.ZERO, ActionRetryPolicy.Fallback.END_TURN));
+    }
+
+    @Test
+    public void testTimeoutEndsIllegalActionsInHeadlessGame() {
+        final GameRandom random = new GameRandom(7);
+        final HexGridImpl grid = new HexGridImpl(3, random);
+        final GameState state = new GameState(grid, new ArrayList<>());
+        for (int id = 1; id <= 3; id++) {
+            state.addPlayer(new PlayerImpl.Builder(id, random.colors()).ai(true).build(grid));
+        }
+        final GameController gameController = new GameController(state, random);
+        gameController.setHeadless(true);
+        gameController.setRoundLimit(2);
+        gameController.setAiControllerFactory(IllegalAiController::new);
+        gameController.setActionRetryPolicy(
+            new ActionRetryPolicy(0, Duration.ofMillis(5), ActionRetryPolicy.Fallback.RANDOM_ACTION)
+        );
+
+        gameController.startGame();
+
+        assertEquals(3, gameController.getRoundCounterProperty().get());
+        for (final PlayerController playerController : gameController.getPlayerControllers().values()) {
+            final ActionMetrics metrics = playerController.getActionMetrics();
+            assertTrue(metrics.getTimeouts() > 0);
+            assertEquals(metrics.getTimeouts(), metrics.getFallbacks());
+        }
+    }
+
+    /**
+     * Always sends an action the current objective does not allow.
+     */
+    private static class IllegalAiController extends AiController {
+
+        IllegalAiController(
+            final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+            final Property<PlayerController> activePlayerController
+        ) {
+            super(playerController, hexGrid, gameState, activePlayerController);
+        }
+
+        @Override
+        protected void executeActionBasedOnObjective(final PlayerObjective objective) {
+            if (objective != PlayerObjective.IDLE) {
+                playerController.triggerAction(
+                    objective == PlayerObjective.DICE_ROLL ? new EndTurnAction() : new RollDiceAction()
+                );
+            }
+        }
+    }
+}
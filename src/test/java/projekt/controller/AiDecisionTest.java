@@ -0,0 +1,107 @@
+package projekt.controller;
+
+import javafx.beans.property.Property;
+import org.junit.jupiter.api.Test;
+import projekt.model.GameRandom;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.PlayerImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a game does not depend on an AI decision returning: decisions that miss the timeout of the
+ * {@link ActionRetryPolicy} are replaced by fallback actions, and a game waiting for a decision can be cancelled.
+ */
+public class AiDecisionTest {
+
+    private static final int HUNG_PLAYER = 2;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testHungDecisionFallsBackAfterTimeout() {
+        try {
+            final GameController gameController = createGame(Duration.ofMillis(20));
+            gameController.startGame();
+
+            assertEquals(6, gameController.getRoundCounterProperty().get());
+            for (final PlayerController playerController : gameController.getPlayerControllers().values()) {
+                final ActionMetrics metrics = playerController.getActionMetrics();
+                if (playerController.getPlayer().getID() == HUNG_PLAYER) {
+                    assertEquals(5, metrics.getTimeouts());
+                    assertEquals(5, metrics.getFallbacks());
+                } else {
+                    assertEquals(0, metrics.getTimeouts());
+                }
+            }
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testGameWaitingForHungDecisionCanBeCancelled() throws InterruptedException {
+        try (GameHost host = new GameHost()) {
+            final GameScope scope = host.start(createGame(Duration.ZERO));
+            Thread.sleep(200);
+            assertFalse(scope.isDone());
+
+            scope.close();
+
+            assertTrue(scope.isDone());
+            assertNull(scope.getFailure());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Creates a headless game of three basic AI players with a round limit of five,
+     * in which the second player never returns from deciding on its regular turns.
+     */
+    private GameController createGame(final Duration timeout) {
+        final GameRandom random = new GameRandom(7);
+        final HexGridImpl grid = new HexGridImpl(3, random);
+        final GameState state = new GameState(grid, new ArrayList<>());
+        for (int id = 1; id <= 3; id++) {
+            state.addPlayer(new PlayerImpl.Builder(id, random.colors()).ai(true).build(grid));
+        }
+        final GameController gameController = new GameController(state, random);
+        gameController.setHeadless(true);
+        gameController.setRoundLimit(5);
+        gameController.setAiControllerFactory(HungAiController::new);
+        gameController.setActionRetryPolicy(new ActionRetryPolicy(100, timeout, ActionRetryPolicy.Fallback.END_TURN));
+        return gameController;
+    }
+
+    private class HungAiController extends BasicAiController {
+
+        HungAiController(
+            final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+            final Property<PlayerController> activePlayerController
+        ) {
+            super(playerController, hexGrid, gameState, activePlayerController);
+        }
+
+        @Override
+        protected void executeActionBasedOnObjective(final PlayerObjective objective) {
+            if (playerController.getPlayer().getID() == HUNG_PLAYER && objective == PlayerObjective.REGULAR_TURN) {
+                // ignores interrupts, like an AI stuck in a loop
+                while (release.getCount() > 0) {
+                    Thread.onSpinWait();
+                }
+                return;
+            }
+            super.executeActionBasedOnObjective(objective);
+        }
+    }
+}
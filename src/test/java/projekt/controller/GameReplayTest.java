@@ -0,0 +1,53 @@
+package projekt.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that replaying the {@link GameEventLog} of a game through a {@link GameReplay} yields the game's state.
+ */
+public class GameReplayTest {
+
+    @Test
+    public void testReplayOfLogMatchesFinalState() throws IOException {
+        for (long seed = 0; seed < 5; seed++) {
+            final GameController gameController = TestGames.create(seed, 50);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GameEventLog log = new GameEventLog(out, gameController)) {
+                gameController.setEventLog(log);
+                gameController.startGame();
+            }
+
+            final GameReplay replay = GameReplay.read(new ByteArrayInputStream(out.toByteArray()), 64);
+
+            assertArrayEquals(TestGames.encode(GameSnapshot.of(gameController.getState())),
+                              TestGames.encode(replay.getFinalState()), "seed " + seed);
+        }
+    }
+
+    @Test
+    public void testStatesMatchReplayFromStart() throws IOException {
+        final GameController gameController = TestGames.create(7, 50);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GameEventLog log = new GameEventLog(out, gameController)) {
+            gameController.setEventLog(log);
+            gameController.startGame();
+        }
+        final GameReplay replay = GameReplay.read(new ByteArrayInputStream(out.toByteArray()), 64);
+
+        for (int events = 0; events <= replay.getEvents().size(); events += 37) {
+            final GameReplay prefix = new GameReplay(
+                replay.getInitialState(), replay.getEvents().subList(0, events), Integer.MAX_VALUE
+            );
+            assertArrayEquals(TestGames.encode(prefix.getFinalState()), TestGames.encode(replay.getState(events)),
+                              "after " + events + " events");
+        }
+        assertEquals(4 * (gameController.getRoundCounterProperty().get() - 1), replay.getTurnCount());
+    }
+}
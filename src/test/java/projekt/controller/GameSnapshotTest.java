@@ -0,0 +1,98 @@
+package projekt.controller;
+
+import org.junit.jupiter.api.Test;
+import projekt.model.DevelopmentCardType;
+import projekt.model.GameState;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.ResourceType;
+import projekt.model.buildings.Settlement;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that a {@link GameSnapshot} restores the game state it was taken of.
+ */
+public class GameSnapshotTest {
+
+    @Test
+    public void testToGameStateRestoresState() {
+        for (long seed = 0; seed < 5; seed++) {
+            final GameController gameController = TestGames.create(seed, 30);
+            gameController.startGame();
+            final GameState state = gameController.getState();
+            final Player first = state.getPlayers().get(0);
+            first.addDevelopmentCard(DevelopmentCardType.VICTORY_POINTS);
+            first.addDevelopmentCard(DevelopmentCardType.KNIGHT);
+            first.addDevelopmentCard(DevelopmentCardType.KNIGHT);
+            first.removeDevelopmentCard(DevelopmentCardType.KNIGHT);
+
+            final GameSnapshot snapshot = GameSnapshot.of(state);
+            final GameState restored = snapshot.toGameState();
+
+            assertStateEquals(state, restored, "seed " + seed);
+            assertArrayEquals(TestGames.encode(snapshot), TestGames.encode(GameSnapshot.of(restored)), "seed " + seed);
+        }
+    }
+
+    @Test
+    public void testToGameStateOfInitialState() {
+        final GameState state = TestGames.create(42, 0).getState();
+
+        final GameState restored = GameSnapshot.of(state, true).toGameState();
+
+        assertStateEquals(state, restored, "initial state");
+    }
+
+    private static void assertStateEquals(final GameState expected, final GameState actual, final String message) {
+        final HexGridImpl expectedGrid = (HexGridImpl) expected.getGrid();
+        final HexGridImpl actualGrid = (HexGridImpl) actual.getGrid();
+        assertEquals(expectedGrid.getTiles().keySet(), actualGrid.getTiles().keySet(), message);
+        expectedGrid.getTiles().forEach((position, tile) -> {
+            assertEquals(tile.getType(), actualGrid.getTileAt(position).getType(), message);
+            assertEquals(tile.getRollNumber(), actualGrid.getTileAt(position).getRollNumber(), message);
+        });
+        assertEquals(expectedGrid.getRobberPosition(), actualGrid.getRobberPosition(), message);
+
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size(), message);
+        for (int i = 0; i < expected.getPlayers().size(); i++) {
+            final Player expectedPlayer = expected.getPlayers().get(i);
+            final Player actualPlayer = actual.getPlayers().get(i);
+            assertEquals(expectedPlayer.getID(), actualPlayer.getID(), message);
+            assertEquals(expectedPlayer.getName(), actualPlayer.getName(), message);
+            assertEquals(expectedPlayer.getColor(), actualPlayer.getColor(), message);
+            for (final ResourceType resourceType : ResourceType.values()) {
+                assertEquals(expectedPlayer.getResources().getOrDefault(resourceType, 0),
+                             actualPlayer.getResources().getOrDefault(resourceType, 0), message);
+            }
+            for (final DevelopmentCardType cardType : DevelopmentCardType.values()) {
+                assertEquals(expectedPlayer.getDevelopmentCards().getOrDefault(cardType, 0),
+                             actualPlayer.getDevelopmentCards().getOrDefault(cardType, 0), message);
+            }
+            assertEquals(expectedPlayer.getKnightsPlayed(), actualPlayer.getKnightsPlayed(), message);
+            assertEquals(expectedPlayer.getVictoryPoints(), actualPlayer.getVictoryPoints(), message);
+        }
+
+        for (int edge = 0; edge < expectedGrid.getTopology().edgeCount(); edge++) {
+            assertEquals(playerIndex(expected, expectedGrid.getEdgeById(edge).getRoadOwner()),
+                         playerIndex(actual, actualGrid.getEdgeById(edge).getRoadOwner()), message);
+        }
+        for (int intersection = 0; intersection < expectedGrid.getTopology().intersectionCount(); intersection++) {
+            final Settlement expectedSettlement = expectedGrid.getIntersectionById(intersection).getSettlement();
+            final Settlement actualSettlement = actualGrid.getIntersectionById(intersection).getSettlement();
+            if (expectedSettlement == null) {
+                assertNull(actualSettlement, message);
+            } else {
+                assertEquals(expectedSettlement.type(), actualSettlement.type(), message);
+                assertEquals(playerIndex(expected, expectedSettlement.owner()),
+                             playerIndex(actual, actualSettlement.owner()), message);
+            }
+        }
+    }
+
+    private static int playerIndex(final GameState state, final Player player) {
+        return state.getPlayers().indexOf(player);
+    }
+}
@@ -0,0 +1,120 @@
+package projekt.controller;
+
+import org.junit.jupiter.api.Test;
+import projekt.model.GameRandom;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the incremental {@link LegalMoveIndex} returns the same legal moves as scanning the whole grid,
+ * the way {@link PlayerController} did before the index existed.
+ */
+public class LegalMoveIndexTest {
+
+    private static final int STEPS = 300;
+
+    @Test
+    public void testMatchesScansAfterRandomBuilds() {
+        for (long seed = 0; seed < 10; seed++) {
+            final SplittableRandom random = new SplittableRandom(seed);
+            final HexGridImpl grid = new HexGridImpl(3, new GameRandom(seed));
+            final List<Player> players = new ArrayList<>();
+            final List<LegalMoveIndex> indexes = new ArrayList<>();
+            for (int id = 1; id <= 3; id++) {
+                final Player player = new PlayerImpl.Builder(id).build(grid);
+                players.add(player);
+                indexes.add(new LegalMoveIndex(grid, player));
+            }
+            final List<Intersection> intersections = List.copyOf(grid.getIntersections().values());
+            final List<Edge> edges = List.copyOf(grid.getEdges().values());
+
+            for (int step = 0; step < STEPS; step++) {
+                final Player player = players.get(random.nextInt(players.size()));
+                final int kind = random.nextInt(10);
+                if (kind < 2) {
+                    intersections.get(random.nextInt(intersections.size())).placeVillage(player, true);
+                } else if (kind < 3) {
+                    final Intersection intersection = intersections.get(random.nextInt(intersections.size()));
+                    if (intersection.hasSettlement()) {
+                        intersection.upgradeSettlement(intersection.getSettlement().owner());
+                    }
+                } else if (kind < 9) {
+                    final Edge edge = edges.get(random.nextInt(edges.size()));
+                    if (!edge.hasRoad()) {
+                        edge.getRoadOwnerProperty().setValue(player);
+                    }
+                } else {
+                    grid.removeRoad(edges.get(random.nextInt(edges.size())));
+                }
+
+                for (int i = 0; i < players.size(); i++) {
+                    assertMatchesScans(grid, players.get(i), indexes.get(i), "seed " + seed + ", step " + step);
+                }
+            }
+        }
+    }
+
+    private static void assertMatchesScans(
+        final HexGridImpl grid,
+        final Player player,
+        final LegalMoveIndex index,
+        final String message
+    ) {
+        for (final boolean firstRound : new boolean[] {true, false}) {
+            assertEquals(scanVillageIntersections(grid, player, firstRound),
+                         index.getBuildableVillageIntersections(firstRound), message);
+            assertEquals(scanRoadEdges(grid, player, firstRound), index.getBuildableRoadEdges(firstRound), message);
+        }
+        assertEquals(
+            player.getSettlements().stream()
+                .filter(settlement -> settlement.type() == Settlement.Type.VILLAGE)
+                .map(Settlement::intersection)
+                .collect(Collectors.toSet()),
+            index.getUpgradeableVillageIntersections(),
+            message
+        );
+    }
+
+    private static Set<Intersection> scanVillageIntersections(
+        final HexGridImpl grid,
+        final Player player,
+        final boolean firstRound
+    ) {
+        Stream<Intersection> intersections = grid.getIntersections().values().stream()
+            .filter(intersection -> intersection.getSettlement() == null)
+            .filter(intersection -> intersection.getAdjacentIntersections().stream()
+                .noneMatch(Intersection::hasSettlement));
+        if (!firstRound) {
+            intersections = intersections.filter(intersection -> intersection.getConnectedEdges().stream()
+                .anyMatch(edge -> edge.hasRoad() && edge.getRoadOwner().equals(player)));
+        }
+        return intersections.collect(Collectors.toSet());
+    }
+
+    private static Set<Edge> scanRoadEdges(final HexGridImpl grid, final Player player, final boolean firstRound) {
+        Stream<Edge> edges = grid.getEdges().values().stream()
+            .filter(edge -> !edge.hasRoad());
+        if (firstRound) {
+            edges = edges.filter(edge -> edge.getIntersections().stream()
+                .anyMatch(intersection -> intersection.playerHasSettlement(player)
+                    && intersection.getConnectedEdges().stream().noneMatch(Edge::hasRoad)));
+        } else {
+            edges = edges.filter(edge -> edge.getConnectedRoads(player).size() < 4)
+                .filter(edge -> !edge.getConnectedRoads(player).isEmpty());
+        }
+        return edges.collect(Collectors.toSet());
+    }
+}
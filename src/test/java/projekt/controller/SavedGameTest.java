@@ -0,0 +1,122 @@
+package projekt.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link SavedGame}s survive being written to and read from a file and resume the saved game.
+ */
+public class SavedGameTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSaveAllAndLoadAll() throws IOException {
+        final List<SavedGame> games = new ArrayList<>();
+        for (long seed = 0; seed < 5; seed++) {
+            final GameController gameController = TestGames.create(seed, (int) (10 + 5 * seed));
+            gameController.startGame();
+            games.add(SavedGame.of(gameController));
+        }
+        final Path path = directory.resolve("games.bin");
+
+        SavedGame.saveAll(path, games);
+        final List<SavedGame> loaded = SavedGame.loadAll(path);
+
+        assertEquals(games.size(), loaded.size());
+        for (int i = 0; i < games.size(); i++) {
+            assertSavedGameEquals(games.get(i), loaded.get(i));
+        }
+    }
+
+    @Test
+    public void testLoadRejectsTruncatedFile() throws IOException {
+        final Path path = saveOneGame();
+        final byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 10));
+
+        final IOException e = assertThrows(IOException.class, () -> SavedGame.load(path));
+        assertEquals("Saved game is truncated", e.getMessage());
+    }
+
+    @Test
+    public void testLoadRejectsUnsupportedVersion() throws IOException {
+        final Path path = saveOneGame();
+        final byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putShort(Integer.BYTES, (short) (SavedGame.VERSION + 1));
+        Files.write(path, bytes);
+
+        final IOException e = assertThrows(IOException.class, () -> SavedGame.load(path));
+        assertEquals("Unsupported saved game version " + (SavedGame.VERSION + 1), e.getMessage());
+    }
+
+    @Test
+    public void testLoadRejectsOtherFiles() throws IOException {
+        final Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+        assertThrows(IOException.class, () -> SavedGame.load(path));
+    }
+
+    @Test
+    public void testResumeContinuesLikeOriginalGame() throws IOException {
+        for (long seed = 0; seed < 5; seed++) {
+            final int saveRound = (int) (seed * 7);
+            final GameController original = TestGames.create(seed, 40);
+            final SavedGame[] saved = new SavedGame[1];
+            original.initPlayerControllers();
+            for (final PlayerController playerController : original.getPlayerControllers().values()) {
+                playerController.getPlayerObjectiveProperty().addListener((observable, oldValue, newValue) -> {
+                    final boolean turnStarts = newValue == PlayerObjective.DICE_ROLL
+                        || newValue == PlayerObjective.PLACE_VILLAGE;
+                    if (turnStarts && saved[0] == null && original.getRoundCounterProperty().get() == saveRound) {
+                        saved[0] = SavedGame.of(original);
+                    }
+                });
+            }
+            original.startGame();
+            final Path path = directory.resolve("game-" + seed + ".bin");
+            saved[0].save(path);
+
+            final GameController resumed = new GameController(SavedGame.load(path));
+            resumed.setHeadless(true);
+            resumed.setRoundLimit(40);
+            resumed.startGame();
+
+            assertArrayEquals(TestGames.encode(GameSnapshot.of(original.getState())),
+                              TestGames.encode(GameSnapshot.of(resumed.getState())), "seed " + seed);
+            assertEquals(original.getRoundCounterProperty().get(), resumed.getRoundCounterProperty().get());
+        }
+    }
+
+    private Path saveOneGame() throws IOException {
+        final GameController gameController = TestGames.create(1, 10);
+        gameController.startGame();
+        final Path path = directory.resolve("game.bin");
+        SavedGame.of(gameController).save(path);
+        return path;
+    }
+
+    private static void assertSavedGameEquals(final SavedGame expected, final SavedGame actual) {
+        assertArrayEquals(TestGames.encode(expected.snapshot()), TestGames.encode(actual.snapshot()));
+        assertEquals(expected.roundCounter(), actual.roundCounter());
+        assertEquals(expected.activePlayer(), actual.activePlayer());
+        assertEquals(expected.longestRoadHolder(), actual.longestRoadHolder());
+        assertEquals(expected.largestArmyHolder(), actual.largestArmyHolder());
+        assertEquals(expected.random(), actual.random());
+        assertEquals(expected.playerRandoms(), actual.playerRandoms());
+    }
+}
@@ -0,0 +1,53 @@
+package projekt.controller;
+
+import projekt.model.GameRandom;
+import projekt.model.GameState;
+import projekt.model.HexGridImpl;
+import projekt.model.PlayerImpl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * Creates seeded games between AI players for tests.
+ */
+final class TestGames {
+
+    private TestGames() {
+    }
+
+    /**
+     * Creates a headless game between four {@link BasicAiController}s on a grid of radius 3.
+     * Games created with the same seed play the same moves.
+     *
+     * @param seed       the seed
+     * @param roundLimit the number of rounds to play
+     * @return the game, not started yet
+     */
+    static GameController create(final long seed, final int roundLimit) {
+        final GameRandom random = new GameRandom(seed);
+        final HexGridImpl grid = new HexGridImpl(3, random);
+        final GameState state = new GameState(grid, new ArrayList<>());
+        for (int id = 1; id <= 4; id++) {
+            state.addPlayer(new PlayerImpl.Builder(id, random.colors()).ai(true).build(grid));
+        }
+        final GameController gameController = new GameController(state, random);
+        gameController.setHeadless(true);
+        gameController.setRoundLimit(roundLimit);
+        return gameController;
+    }
+
+    /**
+     * Returns the binary encoding of the given snapshot. Snapshots taken of different game states are never
+     * {@linkplain GameSnapshot#equals(Object) equal}, but their encodings are if they describe the same grid,
+     * players and state.
+     *
+     * @param snapshot the snapshot
+     * @return the encoding
+     */
+    static byte[] encode(final GameSnapshot snapshot) {
+        final ByteBuffer buffer = ByteBuffer.allocate(snapshot.encodedSize());
+        snapshot.writeTo(buffer);
+        return buffer.array();
+    }
+}
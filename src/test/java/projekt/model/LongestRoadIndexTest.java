@@ -0,0 +1,187 @@
+package projekt.model;
+
+import org.junit.jupiter.api.Test;
+import projekt.model.TilePosition.EdgeDirection;
+import projekt.model.TilePosition.IntersectionDirection;
+import projekt.model.buildings.Edge;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the longest roads and the longest road holder that {@link LongestRoadIndex} maintains for a
+ * {@link HexGridImpl}.
+ */
+public class LongestRoadIndexTest {
+
+    private final HexGridImpl grid = new HexGridImpl(4, new GameRandom(0));
+    private final BoardTopology topology = grid.getTopology();
+    private final Player red = new PlayerImpl.Builder(1).build(grid);
+    private final Player blue = new PlayerImpl.Builder(2).build(grid);
+    private final Player green = new PlayerImpl.Builder(3).build(grid);
+
+    @Test
+    public void testBranchCountsOnlyOneArm() {
+        final int[] trail = buildTrail(red, intersection(0, 0, IntersectionDirection.NORTH), 5);
+        buildRoad(red, freeEdge(trail[2]));
+
+        assertEquals(6, grid.getRoads(red).size());
+        assertLongestRoad(red, 5);
+    }
+
+    @Test
+    public void testLoopWithTail() {
+        final int tile = topology.tileId(0, 0);
+        for (final EdgeDirection direction : EdgeDirection.values()) {
+            buildRoad(red, topology.tileEdge(tile, direction));
+        }
+        assertLongestRoad(red, 6);
+
+        buildRoad(red, freeEdge(topology.tileIntersection(tile, IntersectionDirection.NORTH)));
+
+        assertLongestRoad(red, 7);
+    }
+
+    @Test
+    public void testSettlementOfAnotherPlayerCutsRoad() {
+        final int[] trail = buildTrail(red, intersection(0, 0, IntersectionDirection.NORTH), 6);
+        assertLongestRoad(red, 6);
+        assertSame(red, grid.getLongestRoadHolder());
+
+        grid.getIntersectionById(trail[2]).placeVillage(blue, true);
+
+        assertLongestRoad(red, 4);
+        assertNull(grid.getLongestRoadHolder());
+    }
+
+    @Test
+    public void testOwnSettlementDoesNotCutRoad() {
+        final int[] trail = buildTrail(red, intersection(0, 0, IntersectionDirection.NORTH), 6);
+
+        grid.getIntersectionById(trail[2]).placeVillage(red, true);
+
+        assertLongestRoad(red, 6);
+    }
+
+    @Test
+    public void testHolderNeedsMinimumLength() {
+        buildTrail(red, intersection(0, 0, IntersectionDirection.NORTH), 4);
+        assertNull(grid.getLongestRoadHolder());
+
+        buildTrail(blue, intersection(-3, 3, IntersectionDirection.SOUTH), 5);
+        assertSame(blue, grid.getLongestRoadHolder());
+    }
+
+    @Test
+    public void testHolderKeepsRoadOnTie() {
+        buildTrail(red, intersection(0, 0, IntersectionDirection.NORTH), 5);
+        final int[] blueTrail = buildTrail(blue, intersection(-3, 3, IntersectionDirection.SOUTH), 5);
+        assertSame(red, grid.getLongestRoadHolder());
+
+        buildRoad(blue, freeEdge(blueTrail[blueTrail.length - 1]));
+        assertSame(blue, grid.getLongestRoadHolder());
+    }
+
+    @Test
+    public void testNobodyHoldsRoadWhenHolderIsCutAndOthersTie() {
+        final int[] redTrail = buildTrail(red, intersection(0, 0, IntersectionDirection.NORTH), 6);
+        buildTrail(blue, intersection(-3, 3, IntersectionDirection.SOUTH), 5);
+        buildTrail(green, intersection(3, -3, IntersectionDirection.NORTH), 5);
+        assertSame(red, grid.getLongestRoadHolder());
+
+        grid.getIntersectionById(redTrail[3]).placeVillage(blue, true);
+
+        assertNull(grid.getLongestRoadHolder());
+    }
+
+    @Test
+    public void testRemovingRoadGivesLongestRoadToNextPlayer() {
+        final int[] redTrail = buildTrail(red, intersection(0, 0, IntersectionDirection.NORTH), 6);
+        buildTrail(blue, intersection(-3, 3, IntersectionDirection.SOUTH), 5);
+        assertSame(red, grid.getLongestRoadHolder());
+
+        grid.removeRoad(grid.getEdgeById(edgeBetween(redTrail[2], redTrail[3])));
+
+        assertSame(blue, grid.getLongestRoadHolder());
+    }
+
+    /**
+     * Builds a trail of roads that does not visit an intersection twice or touch other roads,
+     * always taking the first free edge.
+     *
+     * @return the intersections of the trail, in order
+     */
+    private int[] buildTrail(final Player player, final int start, final int length) {
+        final int[] intersections = new int[length + 1];
+        final Set<Integer> visited = new HashSet<>();
+        intersections[0] = start;
+        visited.add(start);
+        for (int i = 0; i < length; i++) {
+            final int current = intersections[i];
+            int next = BoardTopology.NONE;
+            for (int j = 0; j < BoardTopology.INTERSECTION_DEGREE && next == BoardTopology.NONE; j++) {
+                final int edge = topology.intersectionEdge(current, j);
+                final int neighbour = topology.intersectionNeighbour(current, j);
+                if (edge != BoardTopology.NONE && !hasRoadAt(neighbour) && visited.add(neighbour)) {
+                    buildRoad(player, edge);
+                    next = neighbour;
+                }
+            }
+            assertTrue(next != BoardTopology.NONE, "trail is stuck");
+            intersections[i + 1] = next;
+        }
+        return intersections;
+    }
+
+    private boolean hasRoadAt(final int intersection) {
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int edge = topology.intersectionEdge(intersection, i);
+            if (edge != BoardTopology.NONE && grid.getEdgeById(edge).hasRoad()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void buildRoad(final Player player, final int edge) {
+        grid.getEdgeById(edge).getRoadOwnerProperty().setValue(player);
+    }
+
+    private int freeEdge(final int intersection) {
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            final int edge = topology.intersectionEdge(intersection, i);
+            if (edge != BoardTopology.NONE && !grid.getEdgeById(edge).hasRoad()) {
+                return edge;
+            }
+        }
+        throw new AssertionError("No free edge at intersection " + intersection);
+    }
+
+    private int edgeBetween(final int intersection0, final int intersection1) {
+        for (int i = 0; i < BoardTopology.INTERSECTION_DEGREE; i++) {
+            if (topology.intersectionNeighbour(intersection0, i) == intersection1) {
+                return topology.intersectionEdge(intersection0, i);
+            }
+        }
+        throw new AssertionError("Intersections are not adjacent");
+    }
+
+    private int intersection(final int q, final int r, final IntersectionDirection direction) {
+        return topology.tileIntersection(topology.tileId(q, r), direction);
+    }
+
+    private void assertLongestRoad(final Player player, final int length) {
+        final List<Edge> road = grid.getLongestRoad(player);
+        assertEquals(length, road.size());
+        assertEquals(length, road.stream().distinct().count());
+        for (int i = 1; i < road.size(); i++) {
+            assertTrue(road.get(i - 1).connectsTo(road.get(i)), "longest road is not a trail");
+        }
+    }
+}